@@ -0,0 +1,56 @@
+package com.connectcv.coding.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Runs the benchmarks of this module from the JMH command line, adding the {@code gc} profiler and a JSON result file unless
+ * the command line asks for something else. Every run therefore reports the allocation per operation as well as the time, in
+ * a form that can be compared between runs and JVMs by a program rather than by eye.
+ * </p>
+ */
+public final class BenchmarkRunner
+{
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    private BenchmarkRunner()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    public static void main(String[] inArgs) throws CommandLineOptionException, IOException, RunnerException
+    {
+        CommandLineOptions commandLine = new CommandLineOptions(inArgs);
+
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams() ||
+            commandLine.shouldListProfilers() || commandLine.shouldListResultFormats())
+        {
+            org.openjdk.jmh.Main.main(inArgs);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getProfilers().isEmpty())
+            options.addProfiler(GCProfiler.class);
+
+        if (!commandLine.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+
+        if (!commandLine.getResult().hasValue())
+        {
+            new File(DEFAULT_RESULT).getParentFile().mkdirs();
+            options.result(DEFAULT_RESULT);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+/**
+ * <p>
+ * Measures the object creation guidance of {@code ProgrammingPractices}: {@link Boolean#valueOf(boolean)} rather than
+ * {@code new Boolean()}, {@link String#valueOf(int)} to make a {@code String} from a primitive, and using a {@code String}
+ * literal (as in {@link ProgrammingPractices#createStringLiteral()}) rather than {@code new String("blah")}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoxingBenchmark
+{
+    private boolean mIsFlagged = true;
+    private int mNumber = 1234567;
+
+    @Benchmark
+    public Boolean booleanValueOf()
+    {
+        return(Boolean.valueOf(mIsFlagged));
+    }
+
+    @Benchmark
+    public Boolean newBoolean()
+    {
+        return(new Boolean(mIsFlagged));
+    }
+
+    @Benchmark
+    public String stringValueOf()
+    {
+        return(String.valueOf(mNumber));
+    }
+
+    @Benchmark
+    public String emptyStringConcatenation()
+    {
+        return("" + mNumber);
+    }
+
+    @Benchmark
+    public String stringLiteral()
+    {
+        return("blah");
+    }
+
+    @Benchmark
+    public String newString()
+    {
+        return(new String("blah"));
+    }
+}
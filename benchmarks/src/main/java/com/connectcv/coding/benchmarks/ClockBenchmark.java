@@ -0,0 +1,77 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.util.CoarseClock;
+
+/**
+ * <p>
+ * Measures stamping the current time as {@link DateTime#toString()} formats it, as {@code Declarations} does, with a new
+ * {@code DateTime} formatted every time against a {@link CoarseClock}, which formats once a second, and reading the time from
+ * the system clock against reading it from the coarse clock, from four threads at once.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ClockBenchmark
+{
+    private static final long GRANULARITY_MILLIS = 1;
+
+    private CoarseClock mClock;
+
+    @Setup
+    public void setUp()
+    {
+        mClock = new CoarseClock(GRANULARITY_MILLIS, DateTimeZone.getDefault());
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        mClock.stop();
+    }
+
+    @Benchmark
+    public String dateTimeToString()
+    {
+        return(new DateTime().toString());
+    }
+
+    @Benchmark
+    public String coarseIsoString()
+    {
+        return(mClock.getIsoString());
+    }
+
+    @Benchmark
+    public long systemMillis()
+    {
+        return(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public long coarseMillis()
+    {
+        return(mClock.getMillis());
+    }
+}
@@ -0,0 +1,114 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.examples.ClassWithFewProperties;
+import com.connectcv.coding.examples.ClassWithFewPropertiesTable;
+import com.connectcv.coding.examples.ClassWithFewPropertiesTable.Property;
+
+/**
+ * <p>
+ * Compares counting the records with a given value of one property in a {@link List} of {@link ClassWithFewProperties} with
+ * counting them in a {@link ClassWithFewPropertiesTable}. The records are shuffled in memory, as they are once a heap has been
+ * in use for a while, so that the list chases a pointer to each record and another to each string.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarScanBenchmark
+{
+    private static final int DISTINCT_VALUES = 64;
+
+    @Param({ "100000", "1000000" })
+    public int mSize;
+
+    private List<ClassWithFewProperties> mRecords;
+    private ClassWithFewPropertiesTable mTable;
+    private String mValue;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(mSize);
+        ClassWithFewProperties[] records = new ClassWithFewProperties[mSize];
+
+        for (int idx = 0; idx < mSize; idx++)
+        {
+            records[idx] = new ClassWithFewProperties("id" + idx, "state" + random.nextInt(DISTINCT_VALUES), null);
+
+            if (random.nextBoolean())
+                records[idx].setOptionalMutableProperty("note" + random.nextInt(DISTINCT_VALUES));
+        }
+
+        mRecords = new ArrayList<ClassWithFewProperties>(mSize);
+        mTable = new ClassWithFewPropertiesTable(mSize);
+
+        for (int idx = 0; idx < mSize; idx++)
+        {
+            ClassWithFewProperties record = records[random.nextInt(mSize)];
+            mRecords.add(record);
+            mTable.add(record);
+        }
+
+        mValue = new String("state7");
+    }
+
+    @Benchmark
+    public int listCount()
+    {
+        int count = 0;
+
+        for (ClassWithFewProperties record : mRecords)
+        {
+            if (mValue.equals(record.getRequiredMutableProperty()))
+                count++;
+        }
+
+        return(count);
+    }
+
+    @Benchmark
+    public int tableCount()
+    {
+        return(mTable.count(Property.REQUIRED_MUTABLE, mValue));
+    }
+
+    @Benchmark
+    public int listCountUnset()
+    {
+        int count = 0;
+
+        for (ClassWithFewProperties record : mRecords)
+        {
+            if (record.getOptionalMutableProperty() == null)
+                count++;
+        }
+
+        return(count);
+    }
+
+    @Benchmark
+    public int tableCountUnset()
+    {
+        return(mTable.count(Property.OPTIONAL_MUTABLE, null));
+    }
+}
@@ -0,0 +1,108 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices.EnumWithField;
+import com.connectcv.coding.standards.WhitespaceAndIndentation.Weather;
+import com.connectcv.coding.util.EnumValues;
+
+/**
+ * <p>
+ * Measures, over a batch of random inputs, finding an {@link EnumWithField} from its field by looping over {@code values()}
+ * against {@link EnumWithField#forField(String)}, and finding a {@link Weather} by ordinal from {@code values()} against
+ * {@link EnumValues}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLookupBenchmark
+{
+    private static final int BATCH = 1024;
+
+    private static final EnumValues<Weather> WEATHERS = EnumValues.of(Weather.class);
+
+    private final String[] mFields = new String[BATCH];
+    private final int[] mOrdinals = new int[BATCH];
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(BATCH);
+        EnumWithField[] constants = EnumWithField.values();
+
+        for (int idx = 0; idx < BATCH; idx++)
+        {
+            mFields[idx] = constants[random.nextInt(constants.length)].getField();
+            mOrdinals[idx] = random.nextInt(WEATHERS.size());
+        }
+    }
+
+    @Benchmark
+    public int valuesLoop()
+    {
+        int found = 0;
+
+        for (String field : mFields)
+        {
+            for (EnumWithField constant : EnumWithField.values())
+            {
+                if (constant.getField().equals(field))
+                {
+                    found += constant.ordinal();
+                    break;
+                }
+            }
+        }
+
+        return(found);
+    }
+
+    @Benchmark
+    public int enumIndex()
+    {
+        int found = 0;
+
+        for (String field : mFields)
+            found += EnumWithField.forField(field).ordinal();
+
+        return(found);
+    }
+
+    @Benchmark
+    public int valuesByOrdinal()
+    {
+        int found = 0;
+
+        for (int ordinal : mOrdinals)
+            found += Weather.values()[ordinal].name().length();
+
+        return(found);
+    }
+
+    @Benchmark
+    public int enumValuesByOrdinal()
+    {
+        int found = 0;
+
+        for (int ordinal : mOrdinals)
+            found += WEATHERS.get(ordinal).name().length();
+
+        return(found);
+    }
+}
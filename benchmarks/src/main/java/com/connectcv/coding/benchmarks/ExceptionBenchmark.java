@@ -0,0 +1,130 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+import com.connectcv.coding.util.ControlFlowException;
+import com.connectcv.coding.util.Exceptions;
+
+/**
+ * <p>
+ * Measures throwing an exception from {@code mDepth} calls down and catching it, for a new exception from
+ * {@link ProgrammingPractices#newException()}, a cached one from {@link ProgrammingPractices#newCachedException(String)} and a
+ * new {@link ControlFlowException}, with debug off and on. A new exception walks the stack as it is created, so its cost grows
+ * with the depth.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionBenchmark
+{
+    private static final String MESSAGE = "Not found";
+
+    @Param({ "1", "50" })
+    public int mDepth;
+
+    @Param({ "false", "true" })
+    public boolean mIsDebug;
+
+    @Setup
+    public void setUp()
+    {
+        Exceptions.setDebug(mIsDebug);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        Exceptions.setDebug(false);
+    }
+
+    @Benchmark
+    public Object newException()
+    {
+        try
+        {
+            return(throwNew(mDepth));
+        }
+        catch (Exception e)
+        {
+            return(e);
+        }
+    }
+
+    @Benchmark
+    public Object cachedException()
+    {
+        try
+        {
+            return(throwCached(mDepth));
+        }
+        catch (Exception e)
+        {
+            return(e);
+        }
+    }
+
+    @Benchmark
+    public Object controlFlowException()
+    {
+        try
+        {
+            return(throwControlFlow(mDepth));
+        }
+        catch (NotFoundException nfe)
+        {
+            return(nfe);
+        }
+    }
+
+    private static Object throwNew(int inDepth) throws Exception
+    {
+        if (inDepth == 0)
+            throw ProgrammingPractices.newException();
+
+        return(throwNew(inDepth - 1));
+    }
+
+    private static Object throwCached(int inDepth) throws Exception
+    {
+        if (inDepth == 0)
+            throw ProgrammingPractices.newCachedException(MESSAGE);
+
+        return(throwCached(inDepth - 1));
+    }
+
+    private static Object throwControlFlow(int inDepth)
+    {
+        if (inDepth == 0)
+            throw new NotFoundException(MESSAGE);
+
+        return(throwControlFlow(inDepth - 1));
+    }
+
+    private static final class NotFoundException extends ControlFlowException
+    {
+        private static final long serialVersionUID = 1L;
+
+        NotFoundException(String inMessage)
+        {
+            super(inMessage);
+        }
+    }
+}
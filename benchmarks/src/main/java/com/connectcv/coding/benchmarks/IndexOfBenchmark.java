@@ -0,0 +1,58 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the guidance of {@code ProgrammingPractices} to avoid single character {@code String} objects, by searching for
+ * {@code ';'} rather than {@code ";"}. The semicolon is the last character of the text, so the whole text is searched.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexOfBenchmark
+{
+    @Param({ "16", "256", "4096" })
+    public int mLength;
+
+    private String mText;
+
+    @Setup
+    public void setUp()
+    {
+        char[] text = new char[mLength];
+        Arrays.fill(text, 'x');
+        text[mLength - 1] = ';';
+
+        mText = new String(text);
+    }
+
+    @Benchmark
+    public int indexOfChar()
+    {
+        return(mText.indexOf(';'));
+    }
+
+    @Benchmark
+    public int indexOfString()
+    {
+        return(mText.indexOf(";"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.connectcv.coding.benchmarks;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.util.InternPool;
+
+/**
+ * <p>
+ * Compares {@link InternPool} with the usual ways of interning, a synchronized {@link WeakHashMap} and a
+ * {@link ConcurrentHashMap}, which holds its instances forever, with four threads interning duplicates of the same values at
+ * once. Each thread works through the values from a different starting point, so that they meet in the same segments.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class InternPoolBenchmark
+{
+    private static final int DISTINCT_VALUES = 4096;
+
+    private final InternPool<String> mPool = new InternPool<String>();
+
+    private final Map<String, WeakReference<String>> mWeakHashMap =
+        Collections.synchronizedMap(new WeakHashMap<String, WeakReference<String>>());
+
+    private final ConcurrentMap<String, String> mConcurrentMap = new ConcurrentHashMap<String, String>();
+
+    private String[] mCanonical;
+    private String[] mDuplicates;
+
+    @Setup
+    public void setUp()
+    {
+        mCanonical = new String[DISTINCT_VALUES];
+        mDuplicates = new String[DISTINCT_VALUES];
+
+        for (int idx = 0; idx < DISTINCT_VALUES; idx++)
+        {
+            mCanonical[idx] = "value-" + idx;
+            mDuplicates[idx] = new String(mCanonical[idx]);
+
+            mPool.intern(mCanonical[idx]);
+            mWeakHashMap.put(mCanonical[idx], new WeakReference<String>(mCanonical[idx]));
+            mConcurrentMap.put(mCanonical[idx], mCanonical[idx]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        private int mNext = (int) (Thread.currentThread().getId() * 997);
+
+        int next()
+        {
+            return(mNext++ & (DISTINCT_VALUES - 1));
+        }
+    }
+
+    @Benchmark
+    public String internPool(Cursor inMdCursor)
+    {
+        return(mPool.intern(mDuplicates[inMdCursor.next()]));
+    }
+
+    @Benchmark
+    public String synchronizedWeakHashMap(Cursor inMdCursor)
+    {
+        String value = mDuplicates[inMdCursor.next()];
+
+        synchronized (mWeakHashMap)
+        {
+            WeakReference<String> reference = mWeakHashMap.get(value);
+            String existing = reference == null ? null : reference.get();
+
+            if (existing != null)
+                return(existing);
+
+            mWeakHashMap.put(value, new WeakReference<String>(value));
+            return(value);
+        }
+    }
+
+    @Benchmark
+    public String concurrentHashMap(Cursor inMdCursor)
+    {
+        String value = mDuplicates[inMdCursor.next()];
+        String existing = mConcurrentMap.putIfAbsent(value, value);
+
+        return(existing == null ? value : existing);
+    }
+}
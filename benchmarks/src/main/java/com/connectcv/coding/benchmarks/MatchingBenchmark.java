@@ -0,0 +1,93 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices.MatchingObject;
+import com.connectcv.coding.util.MatchingEngine;
+
+/**
+ * <p>
+ * Compares reconciling two batches of {@link MatchingObject} by calling {@code matches()} on every pair with matching them
+ * through a {@link MatchingEngine}, on one thread and on a thread for each processor. Each object in one batch matches about
+ * one in the other.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchingBenchmark
+{
+    @Param({ "1000", "10000" })
+    public int mSize;
+
+    private List<MatchingObject> mLeft;
+    private List<MatchingObject> mRight;
+    private MatchingEngine<MatchingObject> mEngine;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(mSize);
+
+        mLeft = objects(random);
+        mRight = objects(random);
+        mEngine = new MatchingEngine<MatchingObject>(MatchingObject.MATCH_KEY);
+    }
+
+    @Benchmark
+    public int pairwise()
+    {
+        int matches = 0;
+
+        for (MatchingObject left : mLeft)
+        {
+            for (MatchingObject right : mRight)
+            {
+                if (left.matches(right))
+                    matches++;
+            }
+        }
+
+        return(matches);
+    }
+
+    @Benchmark
+    public long[] engine()
+    {
+        return(mEngine.match(mLeft, mRight));
+    }
+
+    @Benchmark
+    public long[] engineParallel()
+    {
+        return(mEngine.matchParallel(mLeft, mRight, Runtime.getRuntime().availableProcessors()));
+    }
+
+    private List<MatchingObject> objects(Random inRandom)
+    {
+        List<MatchingObject> objects = new ArrayList<MatchingObject>(mSize);
+
+        for (int idx = 0; idx < mSize; idx++)
+            objects.add(new MatchingObject(inRandom.nextInt(mSize), inRandom.nextBoolean(), "ref" + inRandom.nextInt(2)));
+
+        return(objects);
+    }
+}
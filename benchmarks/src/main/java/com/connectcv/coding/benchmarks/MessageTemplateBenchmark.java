@@ -0,0 +1,82 @@
+package com.connectcv.coding.benchmarks;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+import com.connectcv.coding.util.MessageTemplate;
+
+/**
+ * <p>
+ * Measures assembling the message of {@link ProgrammingPractices#printPlacingSummary(String[])} from a {@link MessageTemplate},
+ * to a new string, to a reused builder and to a reused byte array, against concatenation, {@link String#format} and
+ * {@link MessageFormat}, which parse their pattern on every call.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark
+{
+    private static final MessageTemplate TEMPLATE =
+        MessageTemplate.compile("{0} was in first place, {1} came second, followed by {2}");
+
+    private static final int BUFFER_SIZE = 256;
+
+    private String mFirst = "Alice";
+    private String mSecond = "Bob";
+    private String mThird = "Carol";
+    private final StringBuilder mBuffer = new StringBuilder(BUFFER_SIZE);
+    private final byte[] mBytes = new byte[BUFFER_SIZE];
+
+    @Benchmark
+    public String concatenation()
+    {
+        return(mFirst + " was in first place, " + mSecond + " came second, followed by " + mThird);
+    }
+
+    @Benchmark
+    public String stringFormat()
+    {
+        return(String.format("%s was in first place, %s came second, followed by %s", mFirst, mSecond, mThird));
+    }
+
+    @Benchmark
+    public String messageFormat()
+    {
+        return(MessageFormat.format("{0} was in first place, {1} came second, followed by {2}", mFirst, mSecond, mThird));
+    }
+
+    @Benchmark
+    public String template()
+    {
+        return(TEMPLATE.format(mFirst, mSecond, mThird));
+    }
+
+    @Benchmark
+    public int templateToBuffer()
+    {
+        mBuffer.setLength(0);
+
+        return(TEMPLATE.appendTo(mBuffer, mFirst, mSecond, mThird).length());
+    }
+
+    @Benchmark
+    public int templateToBytes()
+    {
+        return(TEMPLATE.encodeTo(mBytes, 0, mFirst, mSecond, mThird));
+    }
+}
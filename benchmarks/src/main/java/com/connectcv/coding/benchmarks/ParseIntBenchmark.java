@@ -0,0 +1,51 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the guidance of {@code ProgrammingPractices} to use {@link Integer#parseInt(String)} rather than
+ * {@code new Integer(stringValue).intValue()}, with {@link Integer#valueOf(String)} for comparison, over numbers of
+ * increasing length.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseIntBenchmark
+{
+    @Param({ "7", "65536", "-2147483648" })
+    public String mValue;
+
+    @Benchmark
+    public int parseInt()
+    {
+        return(Integer.parseInt(mValue));
+    }
+
+    @Benchmark
+    public int newIntegerIntValue()
+    {
+        return(new Integer(mValue).intValue());
+    }
+
+    @Benchmark
+    public int valueOfIntValue()
+    {
+        return(Integer.valueOf(mValue).intValue());
+    }
+}
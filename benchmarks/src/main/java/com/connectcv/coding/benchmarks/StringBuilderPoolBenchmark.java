@@ -0,0 +1,68 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.util.StringBuilderPool;
+
+/**
+ * <p>
+ * Compares building a short string in a new {@link StringBuilder}, in a builder kept in a {@link ThreadLocal}, and in a builder
+ * from a {@link StringBuilderPool}, from four threads at once. Run with {@code -prof gc} to see the builders that the pool saves.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class StringBuilderPoolBenchmark
+{
+    private static final String PREFIX = "Booking reference ";
+
+    private final StringBuilderPool mPool = new StringBuilderPool();
+
+    private final ThreadLocal<StringBuilder> mThreadBuilder = new ThreadLocal<StringBuilder>()
+    {
+        @Override
+        protected StringBuilder initialValue()
+        {
+            return(new StringBuilder(64));
+        }
+    };
+
+    private long mCounter = System.nanoTime();
+
+    @Benchmark
+    public String newBuilder()
+    {
+        return(new StringBuilder(64).append(PREFIX).append(mCounter).toString());
+    }
+
+    @Benchmark
+    public String threadLocalBuilder()
+    {
+        StringBuilder builder = mThreadBuilder.get();
+        builder.setLength(0);
+
+        return(builder.append(PREFIX).append(mCounter).toString());
+    }
+
+    @Benchmark
+    public String pooledBuilder()
+    {
+        return(mPool.toStringAndRelease(mPool.acquire().append(PREFIX).append(mCounter)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.connectcv.coding.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+import com.connectcv.coding.util.LineStream;
+
+/**
+ * <p>
+ * Measures {@link ProgrammingPractices#reusingStringBuilder()}, which reuses one {@link StringBuilder} for every line by
+ * calling {@code setLength(0)}, against creating a new builder for each line. {@link #programmingPractices()} runs the
+ * method itself, which always generates 99 lines.
+ * </p>
+ * <p>
+ * The streamed benchmarks write the same lines through a {@link LineStream} to a {@link Writer} and to a channel that discard
+ * them, as a report would be written to a file. Run with {@code -prof gc} to compare the memory allocated for each operation,
+ * which for a {@code List} grows with the number of lines and for a stream stays at the size of one batch.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBuilderReuseBenchmark
+{
+    private static final Writer DISCARDING_WRITER = new Writer()
+    {
+        @Override
+        public void write(char[] inChars, int inOffset, int inLength)
+        { }
+
+        @Override
+        public void flush()
+        { }
+
+        @Override
+        public void close()
+        { }
+    };
+
+    private static final WritableByteChannel DISCARDING_CHANNEL = new WritableByteChannel()
+    {
+        public int write(ByteBuffer inMdBuffer)
+        {
+            int length = inMdBuffer.remaining();
+            inMdBuffer.position(inMdBuffer.limit());
+            return(length);
+        }
+
+        public boolean isOpen()
+        {
+            return(true);
+        }
+
+        public void close()
+        { }
+    };
+
+    @Param({ "10", "99", "1000", "100000" })
+    public int mLines;
+
+    private final ProgrammingPractices mPractices = new ProgrammingPractices();
+
+    @Benchmark
+    public List<String> reusedBuilder()
+    {
+        List<String> strings = new ArrayList<String>(mLines);
+        StringBuilder builder = new StringBuilder();
+
+        for (int idx = mLines; idx > 0; idx--)
+        {
+            appendLine(builder, idx);
+            strings.add(builder.toString());
+            builder.setLength(0);
+        }
+
+        return(strings);
+    }
+
+    @Benchmark
+    public List<String> newBuilderPerLine()
+    {
+        List<String> strings = new ArrayList<String>(mLines);
+
+        for (int idx = mLines; idx > 0; idx--)
+        {
+            StringBuilder builder = new StringBuilder();
+            appendLine(builder, idx);
+            strings.add(builder.toString());
+        }
+
+        return(strings);
+    }
+
+    @Benchmark
+    public List<String> programmingPractices()
+    {
+        return(mPractices.reusingStringBuilder());
+    }
+
+    @Benchmark
+    public long streamedToWriter() throws IOException
+    {
+        LineStream stream = new LineStream(new ProgrammingPractices.BottlesOfBeer(mLines));
+        stream.writeTo(DISCARDING_WRITER);
+
+        return(stream.getLines());
+    }
+
+    @Benchmark
+    public long streamedToChannel() throws IOException
+    {
+        LineStream stream = new LineStream(new ProgrammingPractices.BottlesOfBeer(mLines));
+        stream.writeTo(DISCARDING_CHANNEL);
+
+        return(stream.getLines());
+    }
+
+    private static void appendLine(StringBuilder inMdBuilder, int inBottles)
+    {
+        inMdBuilder.append(inBottles);
+        inMdBuilder.append(" bottles of beer on the wall,");
+        inMdBuilder.append(inBottles);
+        inMdBuilder.append(" bottles of beer. Take one down and pass it around, ");
+        inMdBuilder.append((inBottles - 1));
+        inMdBuilder.append(" bottles of beer on the wall.");
+    }
+}
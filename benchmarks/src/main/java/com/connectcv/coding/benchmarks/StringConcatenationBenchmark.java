@@ -0,0 +1,102 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+/**
+ * <p>
+ * Measures the {@code String} processing guidance of {@link ProgrammingPractices#stringProcessing(String, String)}: use a
+ * {@link StringBuilder} rather than {@code +=}, prefer {@code StringBuilder} to {@link StringBuffer}, and append each part
+ * separately rather than appending a concatenation.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringConcatenationBenchmark
+{
+    @Param({ "10", "100", "1000" })
+    public int mParts;
+
+    private String[] mStrings;
+
+    @Setup
+    public void setUp()
+    {
+        mStrings = new String[mParts];
+
+        for (int idx = 0; idx < mParts; idx++)
+            mStrings[idx] = "part" + idx;
+    }
+
+    @Benchmark
+    public String plusEquals()
+    {
+        String result = "";
+
+        for (String string : mStrings)
+            result += string;
+
+        return(result);
+    }
+
+    @Benchmark
+    public String stringBuilder()
+    {
+        StringBuilder result = new StringBuilder();
+
+        for (String string : mStrings)
+            result.append(string);
+
+        return(result.toString());
+    }
+
+    @Benchmark
+    public String stringBuffer()
+    {
+        StringBuffer result = new StringBuffer();
+
+        for (String string : mStrings)
+            result.append(string);
+
+        return(result.toString());
+    }
+
+    @Benchmark
+    public String appendSeparately()
+    {
+        StringBuilder result = new StringBuilder();
+
+        for (String string : mStrings)
+            result.append("The parameter is: ").append(string);
+
+        return(result.toString());
+    }
+
+    @Benchmark
+    public String appendConcatenation()
+    {
+        StringBuilder result = new StringBuilder();
+
+        for (String string : mStrings)
+            result.append("The parameter is: " + string);
+
+        return(result.toString());
+    }
+}
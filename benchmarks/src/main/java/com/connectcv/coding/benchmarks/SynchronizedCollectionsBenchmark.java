@@ -0,0 +1,103 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the guidance of {@code ProgrammingPractices} to use the unsynchronized collections in preference to
+ * {@link Vector} and {@link Hashtable}, and {@code Collections.synchronizedXXX()} where synchronization is needed. Each
+ * operation fills a collection of {@code mSize} elements and reads every element back, from a single thread, so the
+ * synchronized collections only pay for uncontended locking.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SynchronizedCollectionsBenchmark
+{
+    @Param({ "16", "1024", "65536" })
+    public int mSize;
+
+    @Benchmark
+    public int arrayList()
+    {
+        return(fillAndRead(new ArrayList<Integer>()));
+    }
+
+    @Benchmark
+    public int vector()
+    {
+        return(fillAndRead(new Vector<Integer>()));
+    }
+
+    @Benchmark
+    public int synchronizedList()
+    {
+        return(fillAndRead(Collections.synchronizedList(new ArrayList<Integer>())));
+    }
+
+    @Benchmark
+    public int hashMap()
+    {
+        return(fillAndRead(new HashMap<Integer, Integer>()));
+    }
+
+    @Benchmark
+    public int hashtable()
+    {
+        return(fillAndRead(new Hashtable<Integer, Integer>()));
+    }
+
+    @Benchmark
+    public int synchronizedMap()
+    {
+        return(fillAndRead(Collections.synchronizedMap(new HashMap<Integer, Integer>())));
+    }
+
+    private int fillAndRead(List<Integer> inMdList)
+    {
+        for (int idx = 0; idx < mSize; idx++)
+            inMdList.add(Integer.valueOf(idx));
+
+        int sum = 0;
+
+        for (int idx = 0; idx < mSize; idx++)
+            sum += inMdList.get(idx).intValue();
+
+        return(sum);
+    }
+
+    private int fillAndRead(Map<Integer, Integer> inMdMap)
+    {
+        for (int idx = 0; idx < mSize; idx++)
+            inMdMap.put(Integer.valueOf(idx), Integer.valueOf(idx));
+
+        int sum = 0;
+
+        for (int idx = 0; idx < mSize; idx++)
+            sum += inMdMap.get(Integer.valueOf(idx)).intValue();
+
+        return(sum);
+    }
+}
@@ -0,0 +1,91 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.standards.ToStringMethods;
+import com.connectcv.coding.util.Rendering;
+import com.connectcv.coding.util.ToStringRenderer;
+
+/**
+ * <p>
+ * Compares {@link ReflectionToStringBuilder} with {@link ToStringRenderer} for the objects of {@code ToStringMethods}, and
+ * rendering into a new {@code String} with rendering into a reused buffer. Run with the GC profiler to see the allocation
+ * per operation.
+ * </p>
+ * <p>
+ * The {@code logLine} benchmarks append a message to a reused buffer, as a logger would, first built with {@code +} and then
+ * streamed through {@link Rendering#deferred(Object...)}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToStringBenchmark
+{
+    private ToStringMethods.SimpleObject mSimple = new ToStringMethods.SimpleObject();
+    private ToStringMethods.ComplexObject mComplex = new ToStringMethods.ComplexObject();
+    private StringBuilder mBuffer = new StringBuilder(256);
+
+    @Benchmark
+    public String simpleReflection()
+    {
+        return(ReflectionToStringBuilder.toString(mSimple, ToStringStyle.SIMPLE_STYLE));
+    }
+
+    @Benchmark
+    public String simpleRenderer()
+    {
+        return(ToStringRenderer.toString(mSimple, ToStringStyle.SIMPLE_STYLE));
+    }
+
+    @Benchmark
+    public String complexReflection()
+    {
+        return(ReflectionToStringBuilder.toString(mComplex, ToStringStyle.MULTI_LINE_STYLE));
+    }
+
+    @Benchmark
+    public String complexRenderer()
+    {
+        return(ToStringRenderer.toString(mComplex, ToStringStyle.MULTI_LINE_STYLE));
+    }
+
+    @Benchmark
+    public int complexRendererReusedBuffer()
+    {
+        mBuffer.setLength(0);
+
+        return(ToStringRenderer.appendTo(mBuffer, mComplex, ToStringStyle.MULTI_LINE_STYLE).length());
+    }
+
+    @Benchmark
+    public int logLineConcatenated()
+    {
+        mBuffer.setLength(0);
+
+        return(mBuffer.append("Rendering " + mComplex).length());
+    }
+
+    @Benchmark
+    public int logLineStreamed()
+    {
+        mBuffer.setLength(0);
+
+        return(Rendering.append(mBuffer, Rendering.deferred("Rendering ", mComplex)).length());
+    }
+}
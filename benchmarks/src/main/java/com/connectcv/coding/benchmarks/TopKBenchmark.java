@@ -0,0 +1,91 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.util.TopK;
+
+/**
+ * <p>
+ * Compares three ways of finding the ten highest of a million scores: sorting them all, keeping the best in a
+ * {@link PriorityQueue} of boxed scores, and keeping the best in a {@link TopK}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopKBenchmark
+{
+    private static final int ENTRANTS = 1000000;
+
+    @Param({ "10" })
+    public int mK;
+
+    private long[] mScores;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(ENTRANTS);
+        mScores = new long[ENTRANTS];
+
+        for (int idx = 0; idx < ENTRANTS; idx++)
+            mScores[idx] = random.nextLong();
+    }
+
+    @Benchmark
+    public long sortAll()
+    {
+        long[] sorted = mScores.clone();
+        Arrays.sort(sorted);
+
+        return(sorted[ENTRANTS - mK]);
+    }
+
+    @Benchmark
+    public long priorityQueue()
+    {
+        PriorityQueue<Long> best = new PriorityQueue<Long>(mK);
+
+        for (long score : mScores)
+        {
+            if (best.size() < mK)
+                best.add(Long.valueOf(score));
+            else if (score > best.peek().longValue())
+            {
+                best.poll();
+                best.add(Long.valueOf(score));
+            }
+        }
+
+        return(best.peek().longValue());
+    }
+
+    @Benchmark
+    public long topK()
+    {
+        TopK<Object> best = new TopK<Object>(mK);
+
+        for (long score : mScores)
+            best.offer(null, score);
+
+        return(best.threshold());
+    }
+}
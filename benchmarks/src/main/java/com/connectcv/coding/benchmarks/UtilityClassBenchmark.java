@@ -0,0 +1,87 @@
+package com.connectcv.coding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.examples.UtilityClass;
+
+/**
+ * <p>
+ * Measures the {@link CharSequence} operations of {@link UtilityClass} on a {@link StringBuilder}, such as a line being read,
+ * against their {@link StringUtils} equivalents, which need the builder turned into a {@code String} first.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityClassBenchmark
+{
+    private static final int RANGES = 64;
+
+    private StringBuilder mLine = new StringBuilder("  ConnectCV,Coding Standards,,Version 0.3,Adelaide,South Australia ");
+    private StringBuilder mUpper = new StringBuilder("  CONNECTCV,CODING STANDARDS,,VERSION 0.3,ADELAIDE,SOUTH AUSTRALIA ");
+    private char mSeparator = ',';
+    private char mMissing = '|';
+    private final int[] mRanges = new int[RANGES];
+
+    @Benchmark
+    public boolean isBlankStringUtils()
+    {
+        return(StringUtils.isBlank(mLine.toString()));
+    }
+
+    @Benchmark
+    public boolean isBlankUtilityClass()
+    {
+        return(UtilityClass.isBlank(mLine));
+    }
+
+    @Benchmark
+    public boolean equalsIgnoreCaseStringUtils()
+    {
+        return(StringUtils.equalsIgnoreCase(mLine.toString(), mUpper.toString()));
+    }
+
+    @Benchmark
+    public boolean equalsIgnoreCaseUtilityClass()
+    {
+        return(UtilityClass.equalsIgnoreCase(mLine, mUpper));
+    }
+
+    @Benchmark
+    public int indexOfStringUtils()
+    {
+        return(StringUtils.indexOf(mLine.toString(), mMissing));
+    }
+
+    @Benchmark
+    public int indexOfUtilityClass()
+    {
+        return(UtilityClass.indexOf(mLine, mMissing));
+    }
+
+    @Benchmark
+    public int splitStringUtils()
+    {
+        return(StringUtils.split(mLine.toString(), mSeparator).length);
+    }
+
+    @Benchmark
+    public int splitUtilityClass()
+    {
+        return(UtilityClass.split(mLine, mSeparator, mRanges));
+    }
+}
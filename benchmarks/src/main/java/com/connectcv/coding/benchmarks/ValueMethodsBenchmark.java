@@ -0,0 +1,86 @@
+package com.connectcv.coding.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.examples.DataClass;
+
+/**
+ * <p>
+ * Compares the {@code equals()} and {@code hashCode()} that the {@code ValueObject} processor generates for {@link DataClass}
+ * with the reflective {@link EqualsBuilder} and {@link HashCodeBuilder} of commons-lang.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueMethodsBenchmark
+{
+    private DataClass mFirst;
+    private DataClass mSecond;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        mFirst = dataClass(42, "forty two");
+        mSecond = dataClass(42, new String("forty two"));
+    }
+
+    @Benchmark
+    public boolean generatedEquals()
+    {
+        return(mFirst.equals(mSecond));
+    }
+
+    @Benchmark
+    public boolean reflectionEquals()
+    {
+        return(EqualsBuilder.reflectionEquals(mFirst, mSecond));
+    }
+
+    @Benchmark
+    public int generatedHashCode()
+    {
+        return(mFirst.hashCode());
+    }
+
+    @Benchmark
+    public int reflectionHashCode()
+    {
+        return(HashCodeBuilder.reflectionHashCode(mFirst));
+    }
+
+    /*
+     * DataClass has no setters, so its fields are set directly.
+     */
+    private static DataClass dataClass(int inIntValue, String inStringValue) throws Exception
+    {
+        DataClass value = new DataClass();
+
+        Field intValue = DataClass.class.getDeclaredField("mIntValue");
+        intValue.setAccessible(true);
+        intValue.setInt(value, inIntValue);
+
+        Field stringValue = DataClass.class.getDeclaredField("mStringValue");
+        stringValue.setAccessible(true);
+        stringValue.set(value, inStringValue);
+
+        return(value);
+    }
+}
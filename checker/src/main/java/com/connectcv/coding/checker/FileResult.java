@@ -0,0 +1,49 @@
+package com.connectcv.coding.checker;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * The outcome of checking a single file: either its violations, in line order, or the reason it could not be checked.
+ * </p>
+ */
+public final class FileResult
+{
+    private final File mFile;
+    private final List<Violation> mViolations;
+    private final String mError;
+
+    public FileResult(File inFile, List<Violation> inViolations)
+    {
+        mFile = inFile;
+        mViolations = Collections.unmodifiableList(inViolations);
+        mError = null;
+    }
+
+    public FileResult(File inFile, String inError)
+    {
+        mFile = inFile;
+        mViolations = Collections.emptyList();
+        mError = inError;
+    }
+
+    public File getFile()
+    {
+        return(mFile);
+    }
+
+    public List<Violation> getViolations()
+    {
+        return(mViolations);
+    }
+
+    /**
+     * Returns the reason this file could not be checked, or {@code null} if it was checked.
+     */
+    public String getError()
+    {
+        return(mError);
+    }
+}
@@ -0,0 +1,519 @@
+package com.connectcv.coding.checker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.connectcv.coding.checker.cache.ResultCache;
+import com.connectcv.coding.checker.cleanup.CleanUpResult;
+import com.connectcv.coding.checker.cleanup.CleanUpSettings;
+import com.connectcv.coding.checker.cleanup.StandardsCleaner;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.format.FormatResult;
+import com.connectcv.coding.checker.format.FormatterSettings;
+import com.connectcv.coding.checker.format.Region;
+import com.connectcv.coding.checker.format.StandardsFormatter;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Command line entry point of the standards checker:
+ *
+ * <pre>
+ * java -jar standards-checker.jar [-c configuration.xml] [-t threads] [-tier tier] [-cache directory [-cacheSize megabytes]]
+ *     file-or-directory...
+ * </pre>
+ *
+ * Directories are searched recursively for {@code .java} files. With {@code -cache}, results are kept in a
+ * {@link ResultCache} in the given directory, which may be shared by every workspace on the machine, and unchanged files are
+ * not checked again. With {@code -tier}, such as {@code -tier LINES} for a pre-commit run, only the checks at or below that
+ * {@link Tier} are run. Violations are written to standard output in the plain
+ * Checkstyle format, and the process exits with status {@code 1} if there were any, or {@code 2} if the checker could not run.
+ * </p>
+ * <p>
+ * With {@code -format}, the files are instead formatted with an Eclipse formatter profile, by default
+ * {@code ccv_coding_style_v0.3.xml}:
+ *
+ * <pre>
+ * java -jar standards-checker.jar -format [-p profile.xml] [-n] [-t threads] [-cache directory [-cacheSize megabytes]]
+ *     file-or-directory...
+ * </pre>
+ *
+ * The name of each file that is changed is written to standard output as soon as it is done. With {@code -n} no file is written,
+ * and the changes that would be made are written as a unified diff instead, and the process exits with status {@code 1} if
+ * there were any. With {@code -cache}, files whose content is known to be formatted already are skipped.
+ * </p>
+ * <p>
+ * With {@code -cleanup}, the actions of an Eclipse clean-up profile, by default {@code ccv_coding_clean-up.xml}, are applied
+ * instead, and the files are formatted with the formatter profile if the clean-up profile asks for it:
+ *
+ * <pre>
+ * java -jar standards-checker.jar -cleanup [-c clean-up.xml] [-p profile.xml] [-n] [-t threads] file-or-directory...
+ * </pre>
+ *
+ * Each file that is changed is written to standard output with the number of changes each action made to it, and once every
+ * file is done, the changes and time of each action are written to standard error. With {@code -n} no file is written, and the
+ * process exits with status {@code 1} if any file would be changed.
+ * </p>
+ */
+public final class Main
+{
+    private static final String DEFAULT_CONFIGURATION = "ccv_checkstyle_definition_v0.3.xml";
+
+    private static final String DEFAULT_PROFILE = "ccv_coding_style_v0.3.xml";
+
+    private static final String DEFAULT_CLEAN_UP = "ccv_coding_clean-up.xml";
+
+    private static final Charset FORMAT_CHARSET = Charset.forName("UTF-8");
+
+    private static final long DEFAULT_CACHE_MEGABYTES = 256;
+
+    private static final String USAGE =
+        "Usage: [-c configuration.xml] [-t threads] [-tier tier] [-cache directory [-cacheSize megabytes]] file-or-directory...\n" +
+        "       -format [-p profile.xml] [-n] [-t threads] [-cache directory [-cacheSize megabytes]] file-or-directory...\n" +
+        "       -cleanup [-c clean-up.xml] [-p profile.xml] [-n] [-t threads] file-or-directory...";
+
+    private Main()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    public static void main(String[] inArgs)
+    {
+        System.exit(run(inArgs, System.out, System.err));
+    }
+
+    static int run(String[] inArgs, PrintStream inOut, PrintStream inErr)
+    {
+        Options options = parse(inArgs, inErr);
+
+        if (options == null)
+            return(2);
+
+        if (options.mIsCleaning)
+            return(cleanUp(options, inOut, inErr));
+
+        if (options.mIsFormatting)
+            return(format(options, inOut, inErr));
+
+        return(check(options, inOut, inErr));
+    }
+
+    /*
+     * Returns the options given by inArgs, with the sources of each file or directory collected, or null if an option is not
+     * known or has a bad value, after writing why and the usage to inErr.
+     */
+    private static Options parse(String[] inArgs, PrintStream inErr)
+    {
+        Options options = new Options();
+
+        for (int idx = 0; idx < inArgs.length; idx++)
+        {
+            String arg = inArgs[idx];
+
+            if ("-c".equals(arg) && idx + 1 < inArgs.length)
+            {
+                options.mConfiguration = new File(inArgs[++idx]);
+            }
+            else if ("-t".equals(arg) && idx + 1 < inArgs.length)
+            {
+                try
+                {
+                    options.mThreads = Integer.parseInt(inArgs[++idx]);
+                }
+                catch (NumberFormatException nfe)
+                {
+                    options.mThreads = 0;
+                }
+
+                if (options.mThreads <= 0)
+                {
+                    inErr.println("The number of threads must be a whole number above zero, not " + inArgs[idx]);
+                    inErr.println(USAGE);
+                    return(null);
+                }
+            }
+            else if ("-tier".equals(arg) && idx + 1 < inArgs.length)
+            {
+                try
+                {
+                    options.mTier = Tier.valueOf(inArgs[++idx].toUpperCase());
+                }
+                catch (IllegalArgumentException iae)
+                {
+                    inErr.println("Unknown tier " + inArgs[idx] + ", expected one of " + Arrays.toString(Tier.values()));
+                    inErr.println(USAGE);
+                    return(null);
+                }
+            }
+            else if ("-cache".equals(arg) && idx + 1 < inArgs.length)
+            {
+                options.mCacheDirectory = new File(inArgs[++idx]);
+            }
+            else if ("-cacheSize".equals(arg) && idx + 1 < inArgs.length)
+            {
+                try
+                {
+                    options.mCacheMegabytes = Long.parseLong(inArgs[++idx]);
+                }
+                catch (NumberFormatException nfe)
+                {
+                    options.mCacheMegabytes = 0;
+                }
+
+                if (options.mCacheMegabytes <= 0)
+                {
+                    inErr.println("The cache size must be a whole number of megabytes above zero, not " + inArgs[idx]);
+                    inErr.println(USAGE);
+                    return(null);
+                }
+            }
+            else if ("-format".equals(arg))
+            {
+                options.mIsFormatting = true;
+            }
+            else if ("-cleanup".equals(arg))
+            {
+                options.mIsCleaning = true;
+            }
+            else if ("-p".equals(arg) && idx + 1 < inArgs.length)
+            {
+                options.mProfile = new File(inArgs[++idx]);
+            }
+            else if ("-n".equals(arg))
+            {
+                options.mIsDryRun = true;
+            }
+            else if (arg.startsWith("-"))
+            {
+                inErr.println(USAGE);
+                return(null);
+            }
+            else
+            {
+                collectSources(new File(arg), options.mFiles);
+            }
+        }
+
+        return(options);
+    }
+
+    private static int check(Options inOptions, PrintStream inOut, PrintStream inErr)
+    {
+        File configuration = (inOptions.mConfiguration != null) ? inOptions.mConfiguration : new File(DEFAULT_CONFIGURATION);
+        StandardsChecker checker;
+        ResultCache cache = null;
+
+        try
+        {
+            ModuleConfiguration root = ConfigurationLoader.load(configuration);
+
+            if (inOptions.mCacheDirectory != null)
+                cache = new ResultCache(inOptions.mCacheDirectory, inOptions.mCacheMegabytes * 1024 * 1024, root, inOptions.mTier);
+
+            checker = new StandardsChecker(root, cache, inOptions.mTier);
+        }
+        catch (ConfigurationException ce)
+        {
+            inErr.println(ce.getMessage());
+            return(2);
+        }
+        catch (IOException ioe)
+        {
+            inErr.println("Unable to create the cache in " + inOptions.mCacheDirectory + ": " + ioe.getMessage());
+            return(2);
+        }
+
+        if (!checker.getUnsupportedModules().isEmpty())
+            inErr.println("Modules not supported, and so not checked: " + checker.getUnsupportedModules());
+
+        if (!checker.getSkippedModules().isEmpty())
+            inErr.println("Modules above tier " + inOptions.mTier + ", and so not checked: " + checker.getSkippedModules());
+
+        ForkJoinPool pool = new ForkJoinPool(inOptions.mThreads);
+        int violations = 0;
+
+        try
+        {
+            for (FileResult result : checker.check(inOptions.mFiles, pool))
+            {
+                if (result.getError() != null)
+                    inErr.println(result.getFile() + ": " + result.getError());
+
+                for (Violation violation : result.getViolations())
+                {
+                    inOut.println(result.getFile() + ":" + violation);
+                    violations++;
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        inErr.println("Checked " + inOptions.mFiles.size() + " file(s), found " + violations + " violation(s)");
+
+        if (cache != null)
+            inErr.println("Cache hits: " + cache.getHits() + ", misses: " + cache.getMisses() + ", evicted: " + cache.evict());
+
+        return(violations == 0 ? 0 : 1);
+    }
+
+    private static int format(Options inOptions, final PrintStream inOut, final PrintStream inErr)
+    {
+        StandardsFormatter formatter;
+        ResultCache cache = null;
+
+        try
+        {
+            FormatterSettings settings = new FormatterSettings(ConfigurationLoader.loadProfile(inOptions.mProfile));
+
+            if (!settings.getUnsupportedSettings().isEmpty())
+                inErr.println("Formatter settings not supported, and so not applied: " + settings.getUnsupportedSettings());
+
+            if (inOptions.mCacheDirectory != null)
+                cache = new ResultCache(inOptions.mCacheDirectory, inOptions.mCacheMegabytes * 1024 * 1024, settings.getProfile());
+
+            formatter = new StandardsFormatter(settings, cache, FORMAT_CHARSET, !inOptions.mIsDryRun);
+        }
+        catch (ConfigurationException ce)
+        {
+            inErr.println(ce.getMessage());
+            return(2);
+        }
+        catch (IOException ioe)
+        {
+            inErr.println("Unable to create the cache in " + inOptions.mCacheDirectory + ": " + ioe.getMessage());
+            return(2);
+        }
+
+        final boolean isDryRun = inOptions.mIsDryRun;
+        ForkJoinPool pool = new ForkJoinPool(inOptions.mThreads);
+        int changed = 0;
+        int cached = 0;
+        int errors = 0;
+
+        try
+        {
+            List<FormatResult> results = formatter.format(inOptions.mFiles, pool, new StandardsFormatter.Listener()
+            {
+                @Override
+                public void formatted(FormatResult inResult)
+                {
+                    print(inResult, isDryRun, inOut, inErr);
+                }
+            });
+
+            for (FormatResult result : results)
+            {
+                if (result.getError() != null)
+                    errors++;
+                else if (result.isChanged())
+                    changed++;
+                else if (result.isCached())
+                    cached++;
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        inErr.println("Formatted " + inOptions.mFiles.size() + " file(s): " + changed + (isDryRun ? " to change, " : " changed, ") +
+                      cached + " known to be formatted, " + errors + " failed");
+
+        if (cache != null)
+            inErr.println("Cache hits: " + cache.getHits() + ", misses: " + cache.getMisses() + ", evicted: " + cache.evict());
+
+        if (errors > 0)
+            return(2);
+
+        return(isDryRun && changed > 0 ? 1 : 0);
+    }
+
+    /*
+     * Writes the outcome of one file in a single call, since files finish on several threads at once.
+     */
+    private static void print(FormatResult inResult, boolean inIsDryRun, PrintStream inOut, PrintStream inErr)
+    {
+        if (inResult.getError() != null)
+        {
+            inErr.println(inResult.getFile() + ": " + inResult.getError());
+        }
+        else if (inResult.isChanged() && !inIsDryRun)
+        {
+            inOut.println(inResult.getFile());
+        }
+        else if (inResult.isChanged())
+        {
+            StringBuilder diff = new StringBuilder();
+
+            diff.append("--- ").append(inResult.getFile()).append('\n');
+            diff.append("+++ ").append(inResult.getFile()).append('\n');
+
+            for (Region region : inResult.getRegions())
+                diff.append(region);
+
+            inOut.print(diff);
+            inOut.flush();
+        }
+    }
+
+    private static int cleanUp(Options inOptions, final PrintStream inOut, final PrintStream inErr)
+    {
+        File cleanUp = (inOptions.mConfiguration != null) ? inOptions.mConfiguration : new File(DEFAULT_CLEAN_UP);
+        StandardsCleaner cleaner;
+
+        try
+        {
+            CleanUpSettings settings = new CleanUpSettings(ConfigurationLoader.loadProfile(cleanUp));
+            FormatterSettings format = null;
+
+            if (settings.getFormatting() != null)
+                format = new FormatterSettings(ConfigurationLoader.loadProfile(inOptions.mProfile));
+
+            if (!settings.getUnsupportedSettings().isEmpty())
+                inErr.println("Settings not supported, and so not applied: " + settings.getUnsupportedSettings());
+
+            if (format != null && !format.getUnsupportedSettings().isEmpty())
+                inErr.println("Formatter settings not supported, and so not applied: " + format.getUnsupportedSettings());
+
+            cleaner = new StandardsCleaner(settings, format, FORMAT_CHARSET, !inOptions.mIsDryRun);
+        }
+        catch (ConfigurationException ce)
+        {
+            inErr.println(ce.getMessage());
+            return(2);
+        }
+
+        final List<String> actions = cleaner.getActions();
+        ForkJoinPool pool = new ForkJoinPool(inOptions.mThreads);
+        int[] changes = new int[actions.size()];
+        int[] changedFiles = new int[actions.size()];
+        long[] nanos = new long[actions.size()];
+        long[] slowestNanos = new long[actions.size()];
+        File[] slowestFiles = new File[actions.size()];
+        int changed = 0;
+        int errors = 0;
+
+        try
+        {
+            List<CleanUpResult> results = cleaner.clean(inOptions.mFiles, pool, new StandardsCleaner.Listener()
+            {
+                @Override
+                public void cleaned(CleanUpResult inResult)
+                {
+                    print(inResult, actions, inOut, inErr);
+                }
+            });
+
+            for (CleanUpResult result : results)
+            {
+                if (result.getError() != null)
+                    errors++;
+                else if (result.isChanged())
+                    changed++;
+
+                for (int action = 0; action < actions.size(); action++)
+                {
+                    changes[action] += result.getChanges(action);
+                    changedFiles[action] += (result.getChanges(action) > 0) ? 1 : 0;
+                    nanos[action] += result.getNanos(action);
+
+                    if (result.getNanos(action) > slowestNanos[action])
+                    {
+                        slowestNanos[action] = result.getNanos(action);
+                        slowestFiles[action] = result.getFile();
+                    }
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        inErr.println("Cleaned up " + inOptions.mFiles.size() + " file(s): " + changed +
+                      (inOptions.mIsDryRun ? " to change, " : " changed, ") + errors + " failed");
+
+        for (int action = 0; action < actions.size(); action++)
+        {
+            inErr.println("  " + actions.get(action) + ": " + changes[action] + " change(s) in " + changedFiles[action] +
+                          " file(s), " + TimeUnit.NANOSECONDS.toMillis(nanos[action]) + " ms" +
+                          (slowestFiles[action] == null ? "" : ", slowest " + slowestFiles[action] + " at " +
+                                                               TimeUnit.NANOSECONDS.toMicros(slowestNanos[action]) + " us"));
+        }
+
+        if (errors > 0)
+            return(2);
+
+        return(inOptions.mIsDryRun && changed > 0 ? 1 : 0);
+    }
+
+    /*
+     * Writes the outcome of one file in a single call, since files finish on several threads at once.
+     */
+    private static void print(CleanUpResult inResult, List<String> inActions, PrintStream inOut, PrintStream inErr)
+    {
+        if (inResult.getError() != null)
+        {
+            inErr.println(inResult.getFile() + ": " + inResult.getError());
+        }
+        else if (inResult.isChanged())
+        {
+            StringBuilder line = new StringBuilder().append(inResult.getFile()).append(':');
+
+            for (int action = 0; action < inActions.size(); action++)
+            {
+                if (inResult.getChanges(action) > 0)
+                    line.append(' ').append(inActions.get(action)).append(" (").append(inResult.getChanges(action)).append(')');
+            }
+
+            inOut.println(line);
+        }
+    }
+
+    static void collectSources(File inFile, List<File> inMdFiles)
+    {
+        if (inFile.isDirectory())
+        {
+            File[] children = inFile.listFiles();
+
+            if (children == null)
+                return;
+
+            Arrays.sort(children);
+
+            for (File child : children)
+                collectSources(child, inMdFiles);
+        }
+        else if (inFile.getName().endsWith(".java"))
+        {
+            inMdFiles.add(inFile);
+        }
+    }
+
+    /*
+     * The options given on the command line, with the default of each that is not given.
+     */
+    private static final class Options
+    {
+        private File mConfiguration;
+        private int mThreads = Runtime.getRuntime().availableProcessors();
+        private Tier mTier = Tier.SYMBOLS;
+        private File mCacheDirectory;
+        private long mCacheMegabytes = DEFAULT_CACHE_MEGABYTES;
+        private boolean mIsFormatting;
+        private boolean mIsCleaning;
+        private File mProfile = new File(DEFAULT_PROFILE);
+        private boolean mIsDryRun;
+        private final List<File> mFiles = new ArrayList<File>();
+    }
+}
@@ -0,0 +1,32 @@
+package com.connectcv.coding.checker;
+
+import com.connectcv.coding.checker.config.ConfigurationException;
+
+/**
+ * <p>
+ * The severity levels of a Checkstyle module, in increasing order.
+ * </p>
+ */
+public enum Severity
+{
+    IGNORE,
+    INFO,
+    WARNING,
+    ERROR;
+
+    public String getName()
+    {
+        return(name().toLowerCase());
+    }
+
+    public static Severity forName(String inName) throws ConfigurationException
+    {
+        for (Severity severity : values())
+        {
+            if (severity.getName().equalsIgnoreCase(inName.trim()))
+                return(severity);
+        }
+
+        throw new ConfigurationException("Unknown severity '" + inName + "'");
+    }
+}
@@ -0,0 +1,312 @@
+package com.connectcv.coding.checker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.connectcv.coding.checker.cache.ResultCache;
+import com.connectcv.coding.checker.checks.AbstractCheck;
+import com.connectcv.coding.checker.checks.CheckFactory;
+import com.connectcv.coding.checker.checks.SuppressionCommentFilter;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceBuffers;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Runs the rules declared by a Checkstyle configuration (such as {@code ccv_checkstyle_definition_v0.3.xml}) over Java source
+ * files, without Checkstyle itself.
+ * </p>
+ * <p>
+ * Files are checked in parallel on a {@link ForkJoinPool}. Each file is checked by a single thread from start to finish, and the
+ * configured checks hold no per-file state, so the threads share nothing but the list of results they write into. Each thread
+ * reads, decodes and tokenizes its files in its own {@link SourceBuffers}, which it reuses from one file to the next. Modules of
+ * the configuration that this checker does not implement are skipped, and reported by {@link #getUnsupportedModules()}.
+ * </p>
+ * <p>
+ * The checks are run in order of their {@link Tier}, and each file is taken no further than the highest tier of any check, so
+ * a configuration of line level rules never lexes or parses a file. A checker may also be limited to a tier, in which case the
+ * checks above it are skipped, and reported by {@link #getSkippedModules()}.
+ * </p>
+ * <p>
+ * If it is given a {@link ResultCache}, the checker looks up the content of each file before checking it, and skips any file
+ * whose results are already cached.
+ * </p>
+ */
+public final class StandardsChecker
+{
+    private static final int DEFAULT_TAB_WIDTH = 8;
+
+    private final List<AbstractCheck> mChecks;
+    private final List<SuppressionCommentFilter> mFilters;
+    private final List<String> mUnsupportedModules;
+    private final List<String> mSkippedModules;
+    private final Charset mCharset;
+    private final int mTabWidth;
+    private final Tier mTier;
+    private final ResultCache mCache;
+
+    /*
+     * The buffers of each thread that checks files, which are kept for as long as the thread lives, so that the workers of a pool
+     * reuse them for every file they check.
+     */
+    private final ThreadLocal<SourceBuffers> mBuffers = new ThreadLocal<SourceBuffers>()
+    {
+        @Override
+        protected SourceBuffers initialValue()
+        {
+            return(new SourceBuffers(mCharset));
+        }
+    };
+
+    public StandardsChecker(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        this(inConfiguration, null, Tier.SYMBOLS);
+    }
+
+    /**
+     * Creates a checker that runs only the checks at or below {@code inMaxTier}, and that reuses and records results in
+     * {@code inCache}, which must have been created for the same configuration and tier, or may be {@code null}.
+     */
+    public StandardsChecker(ModuleConfiguration inConfiguration, ResultCache inCache, Tier inMaxTier)
+        throws ConfigurationException
+    {
+        if (!"Checker".equals(inConfiguration.getName()))
+            throw new ConfigurationException("The root module must be 'Checker', not '" + inConfiguration.getName() + "'");
+
+        mChecks = new ArrayList<AbstractCheck>();
+        mFilters = new ArrayList<SuppressionCommentFilter>();
+        mUnsupportedModules = new ArrayList<String>();
+        mSkippedModules = new ArrayList<String>();
+        mCharset = charset(inConfiguration.getProperty("charset", "UTF-8"));
+
+        int tabWidth = DEFAULT_TAB_WIDTH;
+
+        for (ModuleConfiguration module : inConfiguration.getChildren())
+        {
+            if ("TreeWalker".equals(module.getName()))
+            {
+                tabWidth = module.getIntProperty("tabWidth", DEFAULT_TAB_WIDTH);
+
+                for (ModuleConfiguration child : module.getChildren())
+                    addModule(child);
+            }
+            else
+            {
+                addModule(module);
+            }
+        }
+
+        Tier tier = mFilters.isEmpty() ? Tier.RAW : Tier.LINES;
+
+        for (Iterator<AbstractCheck> checks = mChecks.iterator(); checks.hasNext();)
+        {
+            AbstractCheck check = checks.next();
+
+            if (check.getTier().compareTo(inMaxTier) > 0)
+            {
+                mSkippedModules.add(check.getModule());
+                checks.remove();
+            }
+            else
+            {
+                tier = tier.max(check.getTier());
+            }
+        }
+
+        Collections.sort(mChecks, new Comparator<AbstractCheck>()
+        {
+            @Override
+            public int compare(AbstractCheck inFirst, AbstractCheck inSecond)
+            {
+                return(inFirst.getTier().compareTo(inSecond.getTier()));
+            }
+        });
+
+        mTabWidth = tabWidth;
+        mTier = tier;
+        mCache = inCache;
+    }
+
+    /**
+     * Returns the names of the configured modules that this checker does not implement, and so did not run.
+     */
+    public List<String> getUnsupportedModules()
+    {
+        return(Collections.unmodifiableList(mUnsupportedModules));
+    }
+
+    /**
+     * Returns the names of the configured modules that were not run because they need a higher tier than this checker was
+     * limited to.
+     */
+    public List<String> getSkippedModules()
+    {
+        return(Collections.unmodifiableList(mSkippedModules));
+    }
+
+    /**
+     * Returns the highest tier that any file is taken to by this checker.
+     */
+    public Tier getTier()
+    {
+        return(mTier);
+    }
+
+    /**
+     * Checks {@code inFiles} in parallel on {@code inPool}, returning one result per file in the same order as the files.
+     */
+    public List<FileResult> check(List<File> inFiles, ForkJoinPool inPool)
+    {
+        File[] files = inFiles.toArray(new File[inFiles.size()]);
+        FileResult[] results = new FileResult[files.length];
+
+        if (files.length > 0)
+            inPool.invoke(new CheckTask(files, results, 0, files.length));
+
+        return(Arrays.asList(results));
+    }
+
+    public FileResult check(File inFile)
+    {
+        SourceBuffers buffers = mBuffers.get();
+
+        try
+        {
+            buffers.read(inFile);
+        }
+        catch (IOException ioe)
+        {
+            return(new FileResult(inFile, "Unable to read file: " + ioe.getMessage()));
+        }
+
+        String key = (mCache == null) ? null : mCache.key(buffers.getContent());
+        List<Violation> violations = (key == null) ? null : mCache.get(key);
+
+        if (violations == null)
+        {
+            violations = check(new SourceFile(inFile.getPath(), buffers, mTabWidth, mTier));
+
+            if (key != null)
+                mCache.put(key, violations);
+        }
+
+        return(new FileResult(inFile, violations));
+    }
+
+    /**
+     * Checks source text that has already been read, returning its violations in line order.
+     */
+    public List<Violation> check(String inPath, char[] inText, int inLength)
+    {
+        return(check(new SourceFile(inPath, inText, inLength, mTabWidth, mTier)));
+    }
+
+    private List<Violation> check(SourceFile inSource)
+    {
+        List<Violation> violations = new ArrayList<Violation>();
+
+        for (AbstractCheck check : mChecks)
+            check.check(inSource, violations);
+
+        for (SuppressionCommentFilter filter : mFilters)
+            filter.filter(inSource, violations);
+
+        Collections.sort(violations);
+
+        return(violations);
+    }
+
+    private void addModule(ModuleConfiguration inModule) throws ConfigurationException
+    {
+        String name = inModule.getName();
+
+        if (Severity.forName(inModule.getSeverity()) == Severity.IGNORE || CheckFactory.isInfrastructure(name))
+            return;
+
+        if ("SuppressionCommentFilter".equals(name))
+        {
+            SuppressionCommentFilter filter = new SuppressionCommentFilter();
+            filter.configure(inModule);
+            mFilters.add(filter);
+
+            return;
+        }
+
+        AbstractCheck check = CheckFactory.create(name);
+
+        if (check == null)
+        {
+            mUnsupportedModules.add(name);
+
+            return;
+        }
+
+        check.configure(inModule);
+        mChecks.add(check);
+    }
+
+    private static Charset charset(String inName) throws ConfigurationException
+    {
+        try
+        {
+            return(Charset.forName(inName));
+        }
+        catch (IllegalCharsetNameException icne)
+        {
+            throw new ConfigurationException("Unknown charset '" + inName + "'", icne);
+        }
+        catch (UnsupportedCharsetException uce)
+        {
+            throw new ConfigurationException("Unsupported charset '" + inName + "'", uce);
+        }
+    }
+
+    /*
+     * Splits a range of files in half until a single file remains, so that the pool can balance files of very different sizes
+     * by stealing.
+     */
+    private final class CheckTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final File[] mFiles;
+        private final FileResult[] mResults;
+        private final int mFrom;
+        private final int mTo;
+
+        CheckTask(File[] inFiles, FileResult[] inResults, int inFrom, int inTo)
+        {
+            mFiles = inFiles;
+            mResults = inResults;
+            mFrom = inFrom;
+            mTo = inTo;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (mTo - mFrom == 1)
+            {
+                mResults[mFrom] = check(mFiles[mFrom]);
+                return;
+            }
+
+            int middle = (mFrom + mTo) >>> 1;
+
+            invokeAll(new CheckTask(mFiles, mResults, mFrom, middle), new CheckTask(mFiles, mResults, middle, mTo));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.connectcv.coding.checker;
+
+/**
+ * <p>
+ * A single breach of a configured rule. The line is one based, and the column is the one based column after tab expansion, or
+ * zero if the rule applies to the line as a whole.
+ * </p>
+ */
+public final class Violation implements Comparable<Violation>
+{
+    private final int mLine;
+    private final int mColumn;
+    private final Severity mSeverity;
+    private final String mMessage;
+    private final String mModule;
+
+    public Violation(int inLine, int inColumn, Severity inSeverity, String inMessage, String inModule)
+    {
+        mLine = inLine;
+        mColumn = inColumn;
+        mSeverity = inSeverity;
+        mMessage = inMessage;
+        mModule = inModule;
+    }
+
+    public int getLine()
+    {
+        return(mLine);
+    }
+
+    public int getColumn()
+    {
+        return(mColumn);
+    }
+
+    public Severity getSeverity()
+    {
+        return(mSeverity);
+    }
+
+    public String getMessage()
+    {
+        return(mMessage);
+    }
+
+    /**
+     * Returns the name of the configured module that reported this {@code Violation}, such as {@code LineLength}.
+     */
+    public String getModule()
+    {
+        return(mModule);
+    }
+
+    @Override
+    public int compareTo(Violation inViolation)
+    {
+        if (mLine != inViolation.mLine)
+            return(mLine < inViolation.mLine ? -1 : 1);
+
+        if (mColumn != inViolation.mColumn)
+            return(mColumn < inViolation.mColumn ? -1 : 1);
+
+        return(mModule.compareTo(inViolation.mModule));
+    }
+
+    @Override
+    public boolean equals(Object inObject)
+    {
+        if (this == inObject) return(true);
+        if (!(inObject instanceof Violation)) return(false);
+        final Violation other = (Violation) inObject;
+        return(mLine == other.mLine && mColumn == other.mColumn && mSeverity == other.mSeverity &&
+               mMessage.equals(other.mMessage) && mModule.equals(other.mModule));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + mLine;
+        result = prime * result + mColumn;
+        result = prime * result + mMessage.hashCode();
+        result = prime * result + mModule.hashCode();
+        return(result);
+    }
+
+    /**
+     * Returns this {@code Violation} in the plain Checkstyle format, e.g. {@code 12:5: warning: '+' should be on the previous
+     * line.}, without the file name.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder str = new StringBuilder();
+        str.append(mLine);
+
+        if (mColumn > 0)
+            str.append(':').append(mColumn);
+
+        str.append(": ").append(mSeverity.getName()).append(": ").append(mMessage);
+        return(str.toString());
+    }
+}
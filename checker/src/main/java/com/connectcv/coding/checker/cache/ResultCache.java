@@ -0,0 +1,392 @@
+package com.connectcv.coding.checker.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.connectcv.coding.checker.Severity;
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * A persistent, content addressed cache of the violations found in source files. An entry is keyed by the SHA-256 digest of the
+ * raw bytes of a file together with a digest of the active configuration, so the key depends on neither the path nor the time
+ * stamp of the file. The same directory can therefore be shared by every branch and workspace on a machine: a file that has
+ * been checked anywhere under the same configuration is never checked again.
+ * </p>
+ * <p>
+ * Each entry is a small file in a two level directory tree below the cache directory, written to a temporary file and then
+ * renamed into place, so that concurrent checker processes never see a partial entry. A hit touches the entry's modification
+ * time, and {@link #evict()} deletes the least recently used entries until the cache fits in its size budget again.
+ * </p>
+ * <p>
+ * The key also holds a format version, which must be increased whenever the semantics of a check or of the formatter change,
+ * that is whenever the same source and configuration could give different violations or a different formatted result. Entries
+ * written by older checkers are then never reused, and are evicted in time.
+ * </p>
+ */
+public final class ResultCache
+{
+    /*
+     * Part of every key. Increase it whenever the semantics of a check or of the formatter change, as described above.
+     * Version 2 has the table driven naming rules and the byte level line scan.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int ENTRY_MAGIC = 0x43435643;
+
+    private static final long STALE_TEMPORARY_MILLIS = 60000;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File mDirectory;
+    private final long mMaxBytes;
+    private final byte[] mConfigurationDigest;
+    private final AtomicInteger mHits;
+    private final AtomicInteger mMisses;
+    private final AtomicLong mWrittenBytes;
+
+    public ResultCache(File inDirectory, long inMaxBytes, ModuleConfiguration inConfiguration) throws IOException
+    {
+        this(inDirectory, inMaxBytes, inConfiguration, Tier.SYMBOLS);
+    }
+
+    /**
+     * Creates a cache in {@code inDirectory}, which is created if necessary, for results found under {@code inConfiguration} by
+     * a checker limited to {@code inMaxTier}.
+     *
+     * @param inMaxBytes the size budget enforced by {@link #evict()}.
+     */
+    public ResultCache(File inDirectory, long inMaxBytes, ModuleConfiguration inConfiguration, Tier inMaxTier)
+        throws IOException
+    {
+        if (inMaxBytes <= 0)
+            throw new IllegalArgumentException("The cache size must be positive, not " + inMaxBytes);
+
+        Files.createDirectories(inDirectory.toPath());
+
+        mDirectory = inDirectory;
+        mMaxBytes = inMaxBytes;
+        mConfigurationDigest = digest(inConfiguration, inMaxTier);
+        mHits = new AtomicInteger();
+        mMisses = new AtomicInteger();
+        mWrittenBytes = new AtomicLong();
+    }
+
+    /**
+     * Returns the key under which the results for a file with the content {@code inContent} are cached.
+     */
+    public String key(byte[] inContent)
+    {
+        return(key(ByteBuffer.wrap(inContent)));
+    }
+
+    /**
+     * Returns the key under which the results for a file with the remaining bytes of {@code inContent} are cached, leaving the
+     * position of the buffer where it was.
+     */
+    public String key(ByteBuffer inContent)
+    {
+        int position = inContent.position();
+        MessageDigest digest = sha256();
+        digest.update(mConfigurationDigest);
+        digest.update(inContent);
+        inContent.position(position);
+
+        return(hex(digest.digest()));
+    }
+
+    /**
+     * Returns the violations cached under {@code inKey}, or {@code null} if there are none or the entry cannot be read. A missing
+     * or damaged entry is only ever a miss.
+     */
+    public List<Violation> get(String inKey)
+    {
+        File entry = entry(inKey);
+
+        try
+        {
+            List<Violation> violations = read(Files.readAllBytes(entry.toPath()));
+
+            entry.setLastModified(System.currentTimeMillis());
+            mHits.incrementAndGet();
+
+            return(violations);
+        }
+        catch (IOException ioe)
+        {
+            mMisses.incrementAndGet();
+
+            return(null);
+        }
+    }
+
+    /**
+     * Caches {@code inViolations} under {@code inKey}. Failing to write the entry is not an error; the file will simply be checked
+     * again next time.
+     */
+    public void put(String inKey, List<Violation> inViolations)
+    {
+        File entry = entry(inKey);
+        File temporary = null;
+
+        try
+        {
+            byte[] bytes = write(inViolations);
+
+            Files.createDirectories(entry.getParentFile().toPath());
+            temporary = File.createTempFile(inKey, ".tmp", entry.getParentFile());
+            Files.write(temporary.toPath(), bytes);
+
+            try
+            {
+                Files.move(temporary.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException amnse)
+            {
+                Files.move(temporary.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            mWrittenBytes.addAndGet(bytes.length);
+        }
+        catch (IOException ioe)
+        {
+            if (temporary != null)
+                temporary.delete();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries, and any temporary files left behind by an interrupted process, until the cache is
+     * no larger than its size budget. Returns the number of files deleted.
+     */
+    public int evict()
+    {
+        List<File> entries = new ArrayList<File>();
+        long total = 0;
+        int deleted = 0;
+
+        File[] fanOut = mDirectory.listFiles();
+
+        for (File directory : fanOut == null ? new File[0] : fanOut)
+        {
+            File[] files = directory.listFiles();
+
+            if (files == null)
+                continue;
+
+            for (File file : files)
+            {
+                if (file.getName().endsWith(".tmp"))
+                {
+                    // Leave young temporary files alone, as another process may be about to rename them.
+                    if (file.lastModified() < System.currentTimeMillis() - STALE_TEMPORARY_MILLIS && file.delete())
+                        deleted++;
+                }
+                else
+                {
+                    entries.add(file);
+                    total += file.length();
+                }
+            }
+        }
+
+        if (total <= mMaxBytes)
+            return(deleted);
+
+        final Map<File, Long> lastUsed = new HashMap<File, Long>();
+
+        for (File entry : entries)
+            lastUsed.put(entry, Long.valueOf(entry.lastModified()));
+
+        Collections.sort(entries, new Comparator<File>()
+        {
+            @Override
+            public int compare(File inFirst, File inSecond)
+            {
+                return(lastUsed.get(inFirst).compareTo(lastUsed.get(inSecond)));
+            }
+        });
+
+        for (File entry : entries)
+        {
+            if (total <= mMaxBytes)
+                break;
+
+            long length = entry.length();
+
+            if (entry.delete())
+            {
+                total -= length;
+                deleted++;
+            }
+        }
+
+        return(deleted);
+    }
+
+    public int getHits()
+    {
+        return(mHits.get());
+    }
+
+    public int getMisses()
+    {
+        return(mMisses.get());
+    }
+
+    /**
+     * Returns the number of bytes of entries written by this instance.
+     */
+    public long getWrittenBytes()
+    {
+        return(mWrittenBytes.get());
+    }
+
+    private File entry(String inKey)
+    {
+        return(new File(new File(mDirectory, inKey.substring(0, 2)), inKey.substring(2)));
+    }
+
+    private static byte[] write(List<Violation> inViolations) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + inViolations.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(ENTRY_MAGIC);
+        out.writeInt(inViolations.size());
+
+        for (Violation violation : inViolations)
+        {
+            out.writeInt(violation.getLine());
+            out.writeInt(violation.getColumn());
+            out.writeByte(violation.getSeverity().ordinal());
+            out.writeUTF(violation.getModule());
+            out.writeUTF(violation.getMessage());
+        }
+
+        out.flush();
+
+        return(bytes.toByteArray());
+    }
+
+    private static List<Violation> read(byte[] inBytes) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(inBytes));
+
+        if (in.readInt() != ENTRY_MAGIC)
+            throw new IOException("Not a cache entry");
+
+        int count = in.readInt();
+        List<Violation> violations = new ArrayList<Violation>(count);
+
+        for (int idx = 0; idx < count; idx++)
+        {
+            int line = in.readInt();
+            int column = in.readInt();
+            int severity = in.readUnsignedByte();
+            String module = in.readUTF();
+            String message = in.readUTF();
+
+            if (severity >= Severity.values().length)
+                throw new IOException("Unknown severity " + severity);
+
+            violations.add(new Violation(line, column, Severity.values()[severity], message, module));
+        }
+
+        if (in.available() > 0)
+            throw new IOException("Trailing bytes in cache entry");
+
+        return(violations);
+    }
+
+    /*
+     * Digests the tier and the whole module tree, including the order of the modules, since that is the order in which
+     * violations of the same line and column are reported.
+     */
+    private static byte[] digest(ModuleConfiguration inConfiguration, Tier inMaxTier)
+    {
+        MessageDigest digest = sha256();
+        digest.update(intBytes(FORMAT_VERSION));
+        update(digest, inMaxTier.name());
+        update(digest, inConfiguration);
+
+        return(digest.digest());
+    }
+
+    private static void update(MessageDigest inMdDigest, ModuleConfiguration inModule)
+    {
+        update(inMdDigest, "<" + inModule.getName());
+
+        for (Map.Entry<String, String> property : inModule.getProperties().entrySet())
+        {
+            update(inMdDigest, property.getKey());
+            update(inMdDigest, property.getValue());
+        }
+
+        for (ModuleConfiguration child : inModule.getChildren())
+            update(inMdDigest, child);
+
+        update(inMdDigest, ">");
+    }
+
+    private static void update(MessageDigest inMdDigest, String inText)
+    {
+        byte[] bytes = inText.getBytes(UTF_8);
+
+        inMdDigest.update(intBytes(bytes.length));
+        inMdDigest.update(bytes);
+    }
+
+    private static MessageDigest sha256()
+    {
+        try
+        {
+            return(MessageDigest.getInstance("SHA-256"));
+        }
+        catch (NoSuchAlgorithmException nsae)
+        {
+            throw new IllegalStateException("Every Java platform must support SHA-256", nsae);
+        }
+    }
+
+    private static byte[] intBytes(int inValue)
+    {
+        return(new byte[] { (byte) (inValue >>> 24), (byte) (inValue >>> 16), (byte) (inValue >>> 8), (byte) inValue });
+    }
+
+    private static String hex(byte[] inBytes)
+    {
+        char[] hex = new char[inBytes.length * 2];
+
+        for (int idx = 0; idx < inBytes.length; idx++)
+        {
+            hex[idx * 2] = HEX_DIGITS[(inBytes[idx] >> 4) & 0xf];
+            hex[idx * 2 + 1] = HEX_DIGITS[inBytes[idx] & 0xf];
+        }
+
+        return(new String(hex));
+    }
+}
@@ -0,0 +1,163 @@
+package com.connectcv.coding.checker.checks;
+
+import java.text.MessageFormat;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.connectcv.coding.checker.Severity;
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * The base class of every rule the checker can run. A check is configured once from its {@link ModuleConfiguration} and is then
+ * shared by all of the threads checking files, so subclasses must not hold any per-file state in their fields.
+ * </p>
+ * <p>
+ * Messages use the same wording as the corresponding Checkstyle messages, so that output can be compared line for line with a
+ * Checkstyle run over the same configuration.
+ * </p>
+ */
+public abstract class AbstractCheck
+{
+    private String mModule;
+    private Severity mSeverity;
+
+    public final void configure(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mModule = inConfiguration.getName();
+        mSeverity = Severity.forName(inConfiguration.getSeverity());
+
+        configureProperties(inConfiguration);
+    }
+
+    public String getModule()
+    {
+        return(mModule);
+    }
+
+    public Severity getSeverity()
+    {
+        return(mSeverity);
+    }
+
+    /**
+     * Returns the highest {@link Tier} of {@link SourceFile} that this check uses. The check must not ask its source for
+     * anything beyond that tier.
+     */
+    public abstract Tier getTier();
+
+    /**
+     * Reports any violations of this check in {@code inSource} by adding them to {@code inMdViolations}.
+     */
+    public abstract void check(SourceFile inSource, List<Violation> inMdViolations);
+
+    /**
+     * Reads the properties specific to this check. The default implementation reads none.
+     *
+     * @throws ConfigurationException if a property has a value this check cannot use.
+     */
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    { }
+
+    protected void log(List<Violation> inMdViolations, int inLine, int inColumn, String inPattern, Object... inArguments)
+    {
+        String message = new MessageFormat(inPattern, Locale.ENGLISH).format(inArguments);
+
+        inMdViolations.add(new Violation(inLine, inColumn, mSeverity, message, mModule));
+    }
+
+    /**
+     * Logs a violation at the character {@code inOffset} characters after the start of token {@code inToken}.
+     */
+    protected void logAtToken(List<Violation> inMdViolations,
+                              SourceFile inSource,
+                              TokenStream inTokens,
+                              int inToken,
+                              int inOffset,
+                              String inPattern,
+                              Object... inArguments)
+    {
+        int line = inTokens.line(inToken);
+        int column = inSource.expandedColumn(line, inTokens.start(inToken) + inOffset);
+
+        log(inMdViolations, line, column, inPattern, inArguments);
+    }
+
+    /**
+     * Returns the character immediately before token {@code inToken} on its line, or a line feed if the token starts the line.
+     */
+    protected static char charBefore(SourceFile inSource, TokenStream inTokens, int inToken)
+    {
+        int start = inTokens.start(inToken);
+
+        return(start > inSource.lineStart(inTokens.line(inToken)) ? inSource.getText()[start - 1] : '\n');
+    }
+
+    /**
+     * Returns the character immediately after token {@code inToken} on its line, or a line feed if the token ends the line.
+     */
+    protected static char charAfter(SourceFile inSource, TokenStream inTokens, int inToken)
+    {
+        int end = inTokens.end(inToken);
+
+        return(end < inSource.lineEnd(inTokens.line(inToken)) ? inSource.getText()[end] : '\n');
+    }
+
+    protected static String text(SourceFile inSource, TokenStream inTokens, int inToken)
+    {
+        return(inSource.text(inTokens.start(inToken), inTokens.end(inToken)));
+    }
+
+    protected static Pattern compile(ModuleConfiguration inConfiguration, String inProperty, String inDefault, int inFlags)
+        throws ConfigurationException
+    {
+        String regex = inConfiguration.getProperty(inProperty, inDefault);
+
+        try
+        {
+            return(Pattern.compile(regex, inFlags));
+        }
+        catch (PatternSyntaxException pse)
+        {
+            throw new ConfigurationException("Property '" + inProperty + "' of module '" + inConfiguration.getName() +
+                                             "' is not a valid regular expression: " + regex, pse);
+        }
+    }
+
+    /**
+     * Reads a comma separated {@code tokens} property, falling back to {@code inDefaults} if the property is absent. Token names
+     * that have no counterpart in {@link TokenType} are ignored.
+     */
+    protected static EnumSet<TokenType> tokens(ModuleConfiguration inConfiguration, TokenType... inDefaults)
+    {
+        String value = inConfiguration.getProperty("tokens", null);
+        EnumSet<TokenType> tokens = EnumSet.noneOf(TokenType.class);
+
+        if (value == null)
+        {
+            for (TokenType type : inDefaults)
+                tokens.add(type);
+
+            return(tokens);
+        }
+
+        for (String name : value.split(","))
+        {
+            TokenType type = TokenType.forName(name);
+
+            if (type != null)
+                tokens.add(type);
+        }
+
+        return(tokens);
+    }
+}
@@ -0,0 +1,54 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that no import uses the on-demand {@code .*} form.
+ * </p>
+ */
+public class AvoidStarImportCheck extends AbstractCheck
+{
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (tokens.type(idx) != TokenType.IMPORT)
+                continue;
+
+            int first = tokens.is(idx + 1, TokenType.LITERAL_STATIC) ? idx + 2 : idx + 1;
+            int end = first;
+
+            while (end < tokens.size() && tokens.type(end) != TokenType.SEMI)
+                end++;
+
+            if (end - first >= 2 && tokens.is(end - 1, TokenType.STAR) && tokens.is(end - 2, TokenType.DOT))
+            {
+                StringBuilder name = new StringBuilder();
+
+                for (int part = first; part < end; part++)
+                    name.append(text(inSource, tokens, part));
+
+                logAtToken(inMdViolations, inSource, tokens, end - 2, 0,
+                           "Using the ''.*'' form of import should be avoided - {0}.", name);
+            }
+
+            idx = end;
+        }
+    }
+}
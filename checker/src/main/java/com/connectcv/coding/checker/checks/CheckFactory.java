@@ -0,0 +1,103 @@
+package com.connectcv.coding.checker.checks;
+
+/**
+ * <p>
+ * Creates the check that implements a Checkstyle module, by module name. {@code NamingConvention} is the one module that
+ * Checkstyle does not have, and only this checker runs it.
+ * </p>
+ */
+public final class CheckFactory
+{
+    private CheckFactory()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    /**
+     * Returns {@code true} if the named module only exists to support other modules in Checkstyle, and so needs no
+     * counterpart in this checker.
+     */
+    public static boolean isInfrastructure(String inModule)
+    {
+        return("Checker".equals(inModule) || "TreeWalker".equals(inModule) || "FileContentsHolder".equals(inModule));
+    }
+
+    /**
+     * Returns a new, unconfigured check for the named module, or {@code null} if this checker has no implementation of it.
+     */
+    public static AbstractCheck create(String inModule)
+    {
+        switch (inModule)
+        {
+            case "AvoidStarImport":
+                return(new AvoidStarImportCheck());
+
+            case "ConstantName":
+                return(new NameCheck(NameCheck.Scope.CONSTANT));
+
+            case "FileLength":
+                return(new FileLengthCheck());
+
+            case "LineLength":
+                return(new LineLengthCheck());
+
+            case "LocalFinalVariableName":
+                return(new NameCheck(NameCheck.Scope.LOCAL_FINAL_VARIABLE));
+
+            case "LocalVariableName":
+                return(new NameCheck(NameCheck.Scope.LOCAL_VARIABLE));
+
+            case "MemberName":
+                return(new NameCheck(NameCheck.Scope.MEMBER));
+
+            case "MethodLength":
+                return(new MethodLengthCheck());
+
+            case "MethodName":
+                return(new NameCheck(NameCheck.Scope.METHOD));
+
+            case "NamingConvention":
+                return(new NamingConventionCheck());
+
+            case "NoWhitespaceAfter":
+                return(new NoWhitespaceAfterCheck());
+
+            case "NoWhitespaceBefore":
+                return(new NoWhitespaceBeforeCheck());
+
+            case "OperatorWrap":
+                return(new OperatorWrapCheck());
+
+            case "ParameterName":
+                return(new NameCheck(NameCheck.Scope.PARAMETER));
+
+            case "ParameterNumber":
+                return(new ParameterNumberCheck());
+
+            case "ParenPad":
+                return(new ParenPadCheck());
+
+            case "RegexpSingleline":
+                return(new RegexpSinglelineCheck());
+
+            case "StaticVariableName":
+                return(new NameCheck(NameCheck.Scope.STATIC_VARIABLE));
+
+            case "TypeName":
+                return(new NameCheck(NameCheck.Scope.TYPE));
+
+            case "TypecastParenPad":
+                return(new TypecastParenPadCheck());
+
+            case "UpperEll":
+                return(new UpperEllCheck());
+
+            case "WhitespaceAfter":
+                return(new WhitespaceAfterCheck());
+
+            case "WhitespaceAround":
+                return(new WhitespaceAroundCheck());
+
+            default:
+                return(null);
+        }
+    }
+}
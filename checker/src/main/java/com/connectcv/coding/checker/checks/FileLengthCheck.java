@@ -0,0 +1,41 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Checks that a file has no more than {@code max} lines.
+ * </p>
+ */
+public class FileLengthCheck extends AbstractCheck
+{
+    private int mMax;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mMax = inConfiguration.getIntProperty("max", 2000);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.RAW);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        if (inSource.getLineCount() > mMax)
+        {
+            log(inMdViolations, 1, 0, "File length is {0,number,integer} lines (max allowed is {1,number,integer}).",
+                inSource.getLineCount(), mMax);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.LineScan;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Checks that no line is longer than {@code max} characters once tabs are expanded, ignoring lines that match
+ * {@code ignorePattern}.
+ * </p>
+ * <p>
+ * Where the file has a {@link LineScan}, the length of every line is already known from its raw bytes, so a file whose longest
+ * line is short enough is passed without looking at its lines, and only the lines that are too long are decoded to be matched
+ * against the ignore pattern.
+ * </p>
+ */
+public class LineLengthCheck extends AbstractCheck
+{
+    private int mMax;
+    private Pattern mIgnorePattern;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mMax = inConfiguration.getIntProperty("max", 80);
+        mIgnorePattern = compile(inConfiguration, "ignorePattern", "^$", 0);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.LINES);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        LineScan scan = inSource.getLineScan();
+
+        if (scan != null)
+        {
+            if (scan.getMaxColumns() > mMax)
+                check(inSource, scan, inMdViolations);
+
+            return;
+        }
+
+        for (int line = 1; line <= inSource.getLineCount(); line++)
+        {
+            // A line cannot expand to more than tabWidth characters per character, so most lines need no further work
+            int rawLength = inSource.lineEnd(line) - inSource.lineStart(line);
+
+            if (rawLength * inSource.getTabWidth() <= mMax)
+                continue;
+
+            if (inSource.expandedLength(line) > mMax && !mIgnorePattern.matcher(inSource.line(line)).find())
+                log(inMdViolations, line, 0, "Line is longer than {0,number,integer} characters.", mMax);
+        }
+    }
+
+    private void check(SourceFile inSource, LineScan inScan, List<Violation> inMdViolations)
+    {
+        for (int line = 1; line <= inScan.getLineCount(); line++)
+        {
+            if (inScan.columns(line) > mMax && !mIgnorePattern.matcher(inSource.line(line)).find())
+                log(inMdViolations, line, 0, "Line is longer than {0,number,integer} characters.", mMax);
+        }
+    }
+}
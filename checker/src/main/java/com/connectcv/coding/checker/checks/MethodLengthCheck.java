@@ -0,0 +1,57 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that no method or constructor body spans more than {@code max} lines, counted from its opening brace to its closing
+ * brace.
+ * </p>
+ */
+public class MethodLengthCheck extends AbstractCheck
+{
+    private int mMax;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mMax = inConfiguration.getIntProperty("max", 150);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (Declaration declaration : inSource.getStructure().getDeclarations())
+        {
+            int close = declaration.getLastToken();
+
+            if (!declaration.getKind().isMethod() || !tokens.is(close, TokenType.RCURLY) || tokens.match(close) < 0)
+                continue;
+
+            int length = tokens.line(close) - tokens.line(tokens.match(close)) + 1;
+
+            if (length > mMax)
+            {
+                logAtToken(inMdViolations, inSource, tokens, declaration.getFirstToken(), 0,
+                           "Method length is {0,number,integer} lines (max allowed is {1,number,integer}).", length, mMax);
+            }
+        }
+    }
+}
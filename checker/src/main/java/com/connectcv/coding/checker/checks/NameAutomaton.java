@@ -0,0 +1,678 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A set of naming rules, each a regular expression, compiled together into a single deterministic automaton that finds every
+ * rule a name matches in one pass over its characters. Each rule has the meaning it would have with
+ * {@link java.util.regex.Matcher#find()}: a rule that is not anchored with {@code ^} and {@code $} matches anywhere in the name.
+ * </p>
+ * <p>
+ * The automaton is held as primitive tables. Each character of the name is mapped to a class of characters that no rule tells
+ * apart, and the next state is then a single lookup in a table of transitions, indexed by state and class. There is no
+ * backtracking, and classifying a name allocates nothing. Every non-ASCII character is treated alike, as a character that no
+ * rule names but that {@code .} and negated classes match.
+ * </p>
+ * <p>
+ * Only the part of the regular expression syntax that naming rules use is supported: literal ASCII characters, character
+ * classes with ranges and negation, {@code .}, the escapes {@code \d \D \w \W \s \S} and escaped punctuation, groups
+ * (capturing or not), alternation, the greedy or reluctant quantifiers {@code * + ?}, and the anchors {@code ^} and
+ * {@code $} at the ends of the expression or of its top level alternatives. Anything else is rejected by
+ * {@link #compile(String...)}, so that a caller can fall back to {@link java.util.regex.Pattern}.
+ * </p>
+ */
+public final class NameAutomaton
+{
+    /** The greatest number of rules a single automaton can hold, one for each bit of the mask that it returns. */
+    public static final int MAX_RULES = 64;
+
+    /*
+     * The states of an automaton compiled from rules written to be run against names stay in the tens; this only guards
+     * against an expression that would make the subset construction explode.
+     */
+    private static final int MAX_STATES = 4096;
+
+    private static final int OTHER = 128;
+    private static final int ALPHABET = OTHER + 1;
+
+    private final String[] mRules;
+    private final int[] mClasses;
+    private final int mClassCount;
+    private final int[] mTransitions;
+    private final long[] mAccepts;
+    private final int mStart;
+
+    private NameAutomaton(String[] inRules, int[] inClasses, int inClassCount, int[] inTransitions, long[] inAccepts)
+    {
+        mRules = inRules;
+        mClasses = inClasses;
+        mClassCount = inClassCount;
+        mTransitions = inTransitions;
+        mAccepts = inAccepts;
+        mStart = inClassCount;
+    }
+
+    /**
+     * Compiles {@code inRules} into a single automaton, in which rule {@code n} is reported by bit {@code n} of the mask that
+     * {@link #classify(CharSequence)} returns.
+     *
+     * @throws IllegalArgumentException if there are more than {@link #MAX_RULES} rules, or a rule uses syntax that is not
+     *                                  supported.
+     */
+    public static NameAutomaton compile(String... inRules)
+    {
+        if (inRules.length > MAX_RULES)
+            throw new IllegalArgumentException("At most " + MAX_RULES + " rules can be compiled together, not " + inRules.length);
+
+        Nfa nfa = new Nfa();
+        int start = nfa.state();
+
+        for (int rule = 0; rule < inRules.length; rule++)
+        {
+            int[] fragment = new RuleParser(inRules[rule], nfa).parse();
+
+            nfa.epsilon(start, fragment[0]);
+            nfa.accept(fragment[1], rule);
+        }
+
+        return(nfa.determinize(inRules.clone(), start));
+    }
+
+    /**
+     * Returns {@code true} if {@code inRule} only uses syntax that an automaton supports.
+     */
+    public static boolean isSupported(String inRule)
+    {
+        try
+        {
+            new RuleParser(inRule, new Nfa()).parse();
+            return(true);
+        }
+        catch (IllegalArgumentException iae)
+        {
+            return(false);
+        }
+    }
+
+    public int getRuleCount()
+    {
+        return(mRules.length);
+    }
+
+    public String getRule(int inRule)
+    {
+        return(mRules[inRule]);
+    }
+
+    /**
+     * Returns the number of states of the automaton, including the state from which no rule can match.
+     */
+    public int getStateCount()
+    {
+        return(mAccepts.length);
+    }
+
+    /**
+     * Returns the mask of the rules that {@code inName} matches.
+     */
+    public long classify(CharSequence inName)
+    {
+        int[] transitions = mTransitions;
+        int row = mStart;
+
+        for (int idx = 0; idx < inName.length() && row != 0; idx++)
+        {
+            char ch = inName.charAt(idx);
+
+            row = transitions[row + mClasses[ch < OTHER ? ch : OTHER]];
+        }
+
+        return(mAccepts[row / mClassCount]);
+    }
+
+    /**
+     * Returns the mask of the rules that the characters of {@code inText} from {@code inStart} up to (but excluding)
+     * {@code inEnd} match.
+     */
+    public long classify(char[] inText, int inStart, int inEnd)
+    {
+        int[] transitions = mTransitions;
+        int row = mStart;
+
+        for (int idx = inStart; idx < inEnd && row != 0; idx++)
+        {
+            char ch = inText[idx];
+
+            row = transitions[row + mClasses[ch < OTHER ? ch : OTHER]];
+        }
+
+        return(mAccepts[row / mClassCount]);
+    }
+
+    /*
+     * A Thompson automaton, in which every state has at most one transition on a set of characters, and any number of empty
+     * transitions.
+     */
+    private static final class Nfa
+    {
+        private final List<BitSet> mSets = new ArrayList<BitSet>();
+        private final List<int[]> mEpsilons = new ArrayList<int[]>();
+        private final List<Integer> mSetOf = new ArrayList<Integer>();
+        private final List<Integer> mTargets = new ArrayList<Integer>();
+        private final Map<Integer, Integer> mAccepts = new HashMap<Integer, Integer>();
+
+        int state()
+        {
+            mEpsilons.add(new int[0]);
+            mSetOf.add(-1);
+            mTargets.add(-1);
+
+            return(mEpsilons.size() - 1);
+        }
+
+        void epsilon(int inFrom, int inTo)
+        {
+            int[] epsilons = mEpsilons.get(inFrom);
+            int[] grown = Arrays.copyOf(epsilons, epsilons.length + 1);
+
+            grown[epsilons.length] = inTo;
+            mEpsilons.set(inFrom, grown);
+        }
+
+        void accept(int inState, int inRule)
+        {
+            mAccepts.put(inState, inRule);
+        }
+
+        void transition(int inFrom, BitSet inSet, int inTo)
+        {
+            int set = mSets.indexOf(inSet);
+
+            if (set < 0)
+            {
+                set = mSets.size();
+                mSets.add(inSet);
+            }
+
+            mSetOf.set(inFrom, set);
+            mTargets.set(inFrom, inTo);
+        }
+
+        NameAutomaton determinize(String[] inRules, int inStart)
+        {
+            // Characters that every set either contains or does not share a class
+            int[] classes = new int[ALPHABET];
+            int[] representatives = new int[ALPHABET];
+            Map<BitSet, Integer> signatures = new HashMap<BitSet, Integer>();
+
+            for (int symbol = 0; symbol < ALPHABET; symbol++)
+            {
+                BitSet signature = new BitSet(mSets.size());
+
+                for (int set = 0; set < mSets.size(); set++)
+                    signature.set(set, mSets.get(set).get(symbol));
+
+                Integer known = signatures.get(signature);
+
+                if (known == null)
+                {
+                    known = signatures.size();
+                    signatures.put(signature, known);
+                    representatives[known] = symbol;
+                }
+
+                classes[symbol] = known;
+            }
+
+            int classCount = signatures.size();
+            Map<BitSet, Integer> states = new HashMap<BitSet, Integer>();
+            List<BitSet> pending = new ArrayList<BitSet>();
+            List<int[]> rows = new ArrayList<int[]>();
+
+            // State 0 has no way to match, so that classification can stop as soon as it is reached
+            states.put(new BitSet(), 0);
+            pending.add(new BitSet());
+
+            BitSet first = new BitSet();
+            first.set(inStart);
+            closure(first);
+            states.put(first, 1);
+            pending.add(first);
+
+            for (int state = 0; state < pending.size(); state++)
+            {
+                int[] row = new int[classCount];
+
+                for (int cls = 0; cls < classCount; cls++)
+                {
+                    BitSet next = new BitSet();
+                    BitSet current = pending.get(state);
+
+                    for (int nfa = current.nextSetBit(0); nfa >= 0; nfa = current.nextSetBit(nfa + 1))
+                    {
+                        int set = mSetOf.get(nfa);
+
+                        if (set >= 0 && mSets.get(set).get(representatives[cls]))
+                            next.set(mTargets.get(nfa));
+                    }
+
+                    closure(next);
+
+                    Integer target = states.get(next);
+
+                    if (target == null)
+                    {
+                        if (pending.size() == MAX_STATES)
+                            throw new IllegalArgumentException("The rules need more than " + MAX_STATES + " states");
+
+                        target = pending.size();
+                        states.put(next, target);
+                        pending.add(next);
+                    }
+
+                    row[cls] = target;
+                }
+
+                rows.add(row);
+            }
+
+            int[] transitions = new int[rows.size() * classCount];
+            long[] accepts = new long[rows.size()];
+
+            for (int state = 0; state < rows.size(); state++)
+            {
+                BitSet current = pending.get(state);
+
+                for (int cls = 0; cls < classCount; cls++)
+                    transitions[state * classCount + cls] = rows.get(state)[cls] * classCount;
+
+                for (int nfa = current.nextSetBit(0); nfa >= 0; nfa = current.nextSetBit(nfa + 1))
+                {
+                    Integer rule = mAccepts.get(nfa);
+
+                    if (rule != null)
+                        accepts[state] |= 1L << rule;
+                }
+            }
+
+            return(new NameAutomaton(inRules, classes, classCount, transitions, accepts));
+        }
+
+        private void closure(BitSet inMdStates)
+        {
+            int[] stack = new int[mEpsilons.size()];
+            int size = 0;
+
+            for (int nfa = inMdStates.nextSetBit(0); nfa >= 0; nfa = inMdStates.nextSetBit(nfa + 1))
+                stack[size++] = nfa;
+
+            while (size > 0)
+            {
+                for (int next : mEpsilons.get(stack[--size]))
+                {
+                    if (!inMdStates.get(next))
+                    {
+                        inMdStates.set(next);
+                        stack[size++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Parses a single rule by recursive descent, building its fragment of the automaton as it goes. A fragment is the pair of
+     * its start and end states.
+     */
+    private static final class RuleParser
+    {
+        private final String mRule;
+        private final Nfa mNfa;
+        private int mPosition;
+
+        RuleParser(String inRule, Nfa inNfa)
+        {
+            mRule = inRule;
+            mNfa = inNfa;
+        }
+
+        int[] parse()
+        {
+            int[] fragment = branch();
+
+            while (mPosition < mRule.length() && mRule.charAt(mPosition) == '|')
+            {
+                mPosition++;
+                fragment = alternate(fragment, branch());
+            }
+
+            if (mPosition < mRule.length())
+                throw unsupported();
+
+            return(fragment);
+        }
+
+        /*
+         * A top level alternative, which may be anchored at either end. An end that is not anchored matches any characters.
+         */
+        private int[] branch()
+        {
+            boolean isAnchoredAtStart = peek('^');
+
+            if (isAnchoredAtStart)
+                mPosition++;
+
+            int[] fragment = sequence();
+            boolean isAnchoredAtEnd = peek('$');
+
+            if (isAnchoredAtEnd)
+                mPosition++;
+
+            if (!isAnchoredAtStart)
+                fragment = concatenate(star(set(any())), fragment);
+
+            if (!isAnchoredAtEnd)
+                fragment = concatenate(fragment, star(set(any())));
+
+            return(fragment);
+        }
+
+        private int[] alternation()
+        {
+            int[] fragment = sequence();
+
+            while (peek('|'))
+            {
+                mPosition++;
+                fragment = alternate(fragment, sequence());
+            }
+
+            return(fragment);
+        }
+
+        private int[] sequence()
+        {
+            int state = mNfa.state();
+            int[] fragment = { state, state };
+
+            while (mPosition < mRule.length() && !peek('|') && !peek(')') && !peek('$'))
+                fragment = concatenate(fragment, repetition());
+
+            return(fragment);
+        }
+
+        private int[] repetition()
+        {
+            int[] fragment = atom();
+
+            if (mPosition < mRule.length())
+            {
+                switch (mRule.charAt(mPosition))
+                {
+                    case '*':
+                        fragment = star(fragment);
+                        break;
+
+                    case '+':
+                        fragment = plus(fragment);
+                        break;
+
+                    case '?':
+                        fragment = optional(fragment);
+                        break;
+
+                    case '{':
+                        throw unsupported();
+
+                    default:
+                        return(fragment);
+                }
+
+                mPosition++;
+
+                // A reluctant quantifier accepts the same names, but a possessive one may not
+                if (peek('?'))
+                    mPosition++;
+
+                if (peek('*') || peek('+') || peek('?') || peek('{'))
+                    throw unsupported();
+            }
+
+            return(fragment);
+        }
+
+        private int[] atom()
+        {
+            char ch = mRule.charAt(mPosition++);
+
+            switch (ch)
+            {
+                case '(':
+                    if (peek('?'))
+                    {
+                        if (!mRule.startsWith("?:", mPosition))
+                            throw unsupported();
+
+                        mPosition += 2;
+                    }
+
+                    int[] group = alternation();
+
+                    if (!peek(')'))
+                        throw unsupported();
+
+                    mPosition++;
+
+                    return(group);
+
+                case '[':
+                    return(set(characterClass()));
+
+                case '.':
+                    BitSet any = any();
+                    any.clear('\n');
+                    any.clear('\r');
+
+                    return(set(any));
+
+                case '\\':
+                    return(set(escape()));
+
+                case '^':
+                case ')':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw unsupported();
+
+                default:
+                    return(set(single(ch)));
+            }
+        }
+
+        private BitSet characterClass()
+        {
+            boolean isNegated = peek('^');
+            BitSet set = new BitSet(ALPHABET);
+
+            if (isNegated)
+                mPosition++;
+
+            if (peek(']'))
+                throw unsupported();
+
+            while (!peek(']'))
+            {
+                if (mPosition >= mRule.length() || peek('[') || mRule.startsWith("&&", mPosition))
+                    throw unsupported();
+
+                char ch = mRule.charAt(mPosition++);
+
+                if (ch == '\\')
+                {
+                    set.or(escape());
+                }
+                else if (peek('-') && mPosition + 1 < mRule.length() && mRule.charAt(mPosition + 1) != ']')
+                {
+                    char last = mRule.charAt(mPosition + 1);
+
+                    if (last < ch || last >= OTHER)
+                        throw unsupported();
+
+                    set.or(single(ch));
+                    set.set(ch, last + 1);
+                    mPosition += 2;
+                }
+                else
+                {
+                    set.or(single(ch));
+                }
+            }
+
+            mPosition++;
+
+            if (isNegated)
+                set.flip(0, ALPHABET);
+
+            return(set);
+        }
+
+        private BitSet escape()
+        {
+            if (mPosition >= mRule.length())
+                throw unsupported();
+
+            char ch = mRule.charAt(mPosition++);
+            BitSet set = new BitSet(ALPHABET);
+
+            switch (Character.toLowerCase(ch))
+            {
+                case 'd':
+                    set.set('0', '9' + 1);
+                    break;
+
+                case 'w':
+                    set.set('a', 'z' + 1);
+                    set.set('A', 'Z' + 1);
+                    set.set('0', '9' + 1);
+                    set.set('_');
+                    break;
+
+                case 's':
+                    set.set(' ');
+                    set.set('\t', '\r' + 1);
+                    break;
+
+                default:
+                    if (Character.isLetterOrDigit(ch))
+                        throw unsupported();
+
+                    return(single(ch));
+            }
+
+            if (Character.isUpperCase(ch))
+                set.flip(0, ALPHABET);
+
+            return(set);
+        }
+
+        private BitSet single(char inChar)
+        {
+            if (inChar >= OTHER)
+                throw unsupported();
+
+            BitSet set = new BitSet(ALPHABET);
+            set.set(inChar);
+
+            return(set);
+        }
+
+        private boolean peek(char inChar)
+        {
+            return(mPosition < mRule.length() && mRule.charAt(mPosition) == inChar);
+        }
+
+        private IllegalArgumentException unsupported()
+        {
+            return(new IllegalArgumentException("Unsupported syntax at index " + mPosition + " of " + mRule));
+        }
+
+        private static BitSet any()
+        {
+            BitSet set = new BitSet(ALPHABET);
+            set.set(0, ALPHABET);
+
+            return(set);
+        }
+
+        private int[] set(BitSet inSet)
+        {
+            int start = mNfa.state();
+            int end = mNfa.state();
+
+            mNfa.transition(start, inSet, end);
+
+            return(new int[] { start, end });
+        }
+
+        private int[] concatenate(int[] inFirst, int[] inSecond)
+        {
+            mNfa.epsilon(inFirst[1], inSecond[0]);
+
+            return(new int[] { inFirst[0], inSecond[1] });
+        }
+
+        private int[] alternate(int[] inFirst, int[] inSecond)
+        {
+            int start = mNfa.state();
+            int end = mNfa.state();
+
+            mNfa.epsilon(start, inFirst[0]);
+            mNfa.epsilon(start, inSecond[0]);
+            mNfa.epsilon(inFirst[1], end);
+            mNfa.epsilon(inSecond[1], end);
+
+            return(new int[] { start, end });
+        }
+
+        private int[] star(int[] inFragment)
+        {
+            int[] fragment = plus(inFragment);
+
+            mNfa.epsilon(fragment[0], fragment[1]);
+
+            return(fragment);
+        }
+
+        private int[] plus(int[] inFragment)
+        {
+            int start = mNfa.state();
+            int end = mNfa.state();
+
+            mNfa.epsilon(start, inFragment[0]);
+            mNfa.epsilon(inFragment[1], inFragment[0]);
+            mNfa.epsilon(inFragment[1], end);
+
+            return(new int[] { start, end });
+        }
+
+        private int[] optional(int[] inFragment)
+        {
+            int start = mNfa.state();
+            int end = mNfa.state();
+
+            mNfa.epsilon(start, inFragment[0]);
+            mNfa.epsilon(start, end);
+            mNfa.epsilon(inFragment[1], end);
+
+            return(new int[] { start, end });
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.DeclarationKind;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+
+/**
+ * <p>
+ * Checks that the names of one kind of declaration match {@code format}. A single class serves all of the Checkstyle naming
+ * modules, each of which is represented by a {@link Scope}.
+ * </p>
+ * <p>
+ * The format is compiled into a {@link NameAutomaton}, which matches each name in a single pass over the characters of its
+ * token, without making a string of it. A format that uses syntax the automaton does not support is matched with a
+ * {@link Pattern} instead.
+ * </p>
+ */
+public class NameCheck extends AbstractCheck
+{
+    /**
+     * The declarations covered by each of the Checkstyle naming modules, with the default format of that module.
+     */
+    public static enum Scope
+    {
+        CONSTANT ("^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$"),
+        STATIC_VARIABLE ("^[a-z][a-zA-Z0-9]*$"),
+        MEMBER ("^[a-z][a-zA-Z0-9]*$"),
+        METHOD ("^[a-z][a-zA-Z0-9]*$"),
+        PARAMETER ("^[a-z][a-zA-Z0-9]*$"),
+        LOCAL_VARIABLE ("^[a-z][a-zA-Z0-9]*$"),
+        LOCAL_FINAL_VARIABLE ("^[a-z][a-zA-Z0-9]*$"),
+        TYPE ("^[A-Z][a-zA-Z0-9]*$");
+
+        private final String mDefaultFormat;
+
+        Scope(String inDefaultFormat)
+        {
+            mDefaultFormat = inDefaultFormat;
+        }
+
+        public String getDefaultFormat()
+        {
+            return(mDefaultFormat);
+        }
+
+        boolean covers(Declaration inDeclaration)
+        {
+            DeclarationKind kind = inDeclaration.getKind();
+
+            switch (this)
+            {
+                case CONSTANT:
+                    return(kind == DeclarationKind.FIELD && inDeclaration.isStatic() && inDeclaration.isFinal() &&
+                           !"serialVersionUID".equals(inDeclaration.getName()) &&
+                           !"serialPersistentFields".equals(inDeclaration.getName()));
+
+                case STATIC_VARIABLE:
+                    return(kind == DeclarationKind.FIELD && inDeclaration.isStatic() && !inDeclaration.isFinal());
+
+                case MEMBER:
+                    return(kind == DeclarationKind.FIELD && !inDeclaration.isStatic());
+
+                case METHOD:
+                    return(kind == DeclarationKind.METHOD);
+
+                case PARAMETER:
+                    return(kind == DeclarationKind.PARAMETER);
+
+                case LOCAL_VARIABLE:
+                    return(kind == DeclarationKind.LOCAL_VARIABLE && !inDeclaration.isFinal());
+
+                case LOCAL_FINAL_VARIABLE:
+                    return(kind == DeclarationKind.LOCAL_VARIABLE && inDeclaration.isFinal());
+
+                default:
+                    return(kind.isType() && kind != DeclarationKind.ANONYMOUS_CLASS);
+            }
+        }
+    }
+
+    private final Scope mScope;
+    private Pattern mFormat;
+    private NameAutomaton mAutomaton;
+
+    public NameCheck(Scope inScope)
+    {
+        mScope = inScope;
+    }
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mFormat = compile(inConfiguration, "format", mScope.getDefaultFormat(), 0);
+        mAutomaton = NameAutomaton.isSupported(mFormat.pattern()) ? NameAutomaton.compile(mFormat.pattern()) : null;
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+        char[] text = inSource.getText();
+
+        for (Declaration declaration : inSource.getStructure().getDeclarations())
+        {
+            if (!mScope.covers(declaration))
+                continue;
+
+            int name = declaration.getNameToken();
+            boolean isMatched = (mAutomaton != null) ? mAutomaton.classify(text, tokens.start(name), tokens.end(name)) != 0 :
+                                mFormat.matcher(declaration.getName()).find();
+
+            if (!isMatched)
+            {
+                logAtToken(inMdViolations, inSource, tokens, declaration.getNameToken(), 0,
+                           "Name ''{0}'' must match pattern ''{1}''.", declaration.getName(), mFormat.pattern());
+            }
+        }
+    }
+}
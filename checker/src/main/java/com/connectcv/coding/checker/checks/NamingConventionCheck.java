@@ -0,0 +1,302 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.DeclarationKind;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks the naming conventions of {@code com.connectcv.coding.standards.NamingConventions} that the Checkstyle naming modules
+ * cannot express:
+ * <ul>
+ * <li>instance fields start with {@code m}, static fields that are not constants with {@code s}, and parameters with
+ * {@code in}, each followed by a capital</li>
+ * <li>{@code boolean} fields and parameters add {@code Is}, {@code Are}, {@code Can} or {@code Has} to that prefix</li>
+ * <li>acronyms are written in upper lower case, so that {@code isUrlValid} is accepted but {@code isURLValid} is not, while a
+ * word of a single letter, as in {@code TopKTest}, is not taken for an acronym</li>
+ * <li>the variable of a catch clause is named with the lower case initials of its exception type, such as {@code iae} for an
+ * {@code IllegalArgumentException}, followed by a digit where it would otherwise hide another. An acronym in the type may
+ * count as a single initial, as in {@code se} for a {@code SAXException}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Every rule that concerns the characters of a name alone is compiled into a single {@link NameAutomaton}, so each name is
+ * classified in one pass over the characters of its token, and the declaration then decides which of the rules apply. This is
+ * not a Checkstyle module, and Checkstyle rejects a configuration that names it, so it is only run from a configuration
+ * written for this checker.
+ * </p>
+ * <p>
+ * The prefixes are set by the {@code memberPrefix}, {@code staticPrefix} and {@code parameterPrefix} properties, an empty
+ * prefix turning its rule off, and the boolean prefixes by the comma separated {@code booleanPrefixes}, which turns the boolean
+ * rule off when it is empty. The acronym and catch
+ * variable rules are turned off by setting {@code checkAcronyms} or {@code checkCatchVariables} to {@code false}.
+ * </p>
+ */
+public class NamingConventionCheck extends AbstractCheck
+{
+    private static final int MEMBER = 0;
+    private static final int STATIC = 1;
+    private static final int PARAMETER = 2;
+    private static final int BOOLEAN = 3;
+    private static final int ACRONYM = 6;
+    private static final int INITIALS = 7;
+
+    private static final int RULE_COUNT = 8;
+
+    private NameAutomaton mAutomaton;
+    private String[] mPrefixes;
+    private String mBooleanPrefixes;
+    private boolean mIsCheckingAcronyms;
+    private boolean mIsCheckingCatchVariables;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mPrefixes = new String[] { prefix(inConfiguration, "memberPrefix", "m"), prefix(inConfiguration, "staticPrefix", "s"),
+                                   prefix(inConfiguration, "parameterPrefix", "in") };
+        mBooleanPrefixes = inConfiguration.getProperty("booleanPrefixes", "Is,Are,Can,Has").trim();
+        mIsCheckingAcronyms = inConfiguration.getBooleanProperty("checkAcronyms", true);
+        mIsCheckingCatchVariables = inConfiguration.getBooleanProperty("checkCatchVariables", true);
+
+        if (!mBooleanPrefixes.matches("([A-Z][a-zA-Z]*(\\s*,\\s*[A-Z][a-zA-Z]*)*)?"))
+        {
+            throw new ConfigurationException("Property 'booleanPrefixes' of module '" + inConfiguration.getName() +
+                                             "' must be a list of capitalised words: " + mBooleanPrefixes);
+        }
+
+        String booleans = mBooleanPrefixes.isEmpty() ? "" : "(" + mBooleanPrefixes.replaceAll("\\s*,\\s*", "|") + ")";
+        String[] rules = new String[RULE_COUNT];
+
+        for (int rule = MEMBER; rule <= PARAMETER; rule++)
+        {
+            rules[rule] = "^" + mPrefixes[rule] + "[A-Z0-9]";
+            rules[rule + BOOLEAN] = "^" + mPrefixes[rule] + booleans + "[A-Z0-9]";
+        }
+
+        rules[ACRONYM] = "[A-Z][A-Z][A-Z]|[A-Z][A-Z]$";
+        rules[INITIALS] = "^[a-z]+[0-9]*$";
+
+        mAutomaton = NameAutomaton.compile(rules);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+        char[] text = inSource.getText();
+
+        for (Declaration declaration : inSource.getStructure().getDeclarations())
+        {
+            int name = declaration.getNameToken();
+            int rule = prefixRule(declaration);
+            DeclarationKind kind = declaration.getKind();
+
+            if (rule < 0 && !mIsCheckingAcronyms && kind != DeclarationKind.CATCH_PARAMETER)
+                continue;
+
+            long mask = mAutomaton.classify(text, tokens.start(name), tokens.end(name));
+
+            if (rule >= 0 && !mPrefixes[rule].isEmpty())
+            {
+                if (!mBooleanPrefixes.isEmpty() && isBoolean(tokens, name) && (mask & (1L << (rule + BOOLEAN))) == 0)
+                {
+                    logAtToken(inMdViolations, inSource, tokens, name, 0,
+                               "Boolean name ''{0}'' must start with ''{1}'' followed by one of ''{2}''.", declaration.getName(),
+                               mPrefixes[rule], mBooleanPrefixes);
+                }
+                else if ((mask & (1L << rule)) == 0)
+                {
+                    logAtToken(inMdViolations, inSource, tokens, name, 0, "Name ''{0}'' must start with ''{1}''.",
+                               declaration.getName(), mPrefixes[rule]);
+                }
+            }
+
+            if (kind == DeclarationKind.CATCH_PARAMETER)
+            {
+                if (mIsCheckingCatchVariables)
+                    checkCatchVariable(inSource, tokens, declaration, (mask & (1L << INITIALS)) != 0, inMdViolations);
+            }
+            else if (mIsCheckingAcronyms && (mask & (1L << ACRONYM)) != 0 && isCamelCase(declaration))
+            {
+                logAtToken(inMdViolations, inSource, tokens, name, 0,
+                           "Name ''{0}'' must write acronym ''{1}'' in upper lower case.", declaration.getName(),
+                           acronym(declaration.getName()));
+            }
+        }
+    }
+
+    private static String prefix(ModuleConfiguration inConfiguration, String inProperty, String inDefault)
+        throws ConfigurationException
+    {
+        String prefix = inConfiguration.getProperty(inProperty, inDefault).trim();
+
+        if (!prefix.matches("[a-z]*"))
+        {
+            throw new ConfigurationException("Property '" + inProperty + "' of module '" + inConfiguration.getName() +
+                                             "' must be lower case letters: " + prefix);
+        }
+
+        return(prefix);
+    }
+
+    /*
+     * Returns the prefix rule that applies to inDeclaration, or -1 if none does. Constants, which include every field of an
+     * interface, are named by ConstantName instead.
+     */
+    private static int prefixRule(Declaration inDeclaration)
+    {
+        Declaration owner = inDeclaration.getOwner();
+
+        switch (inDeclaration.getKind())
+        {
+            case FIELD:
+                if (owner != null && (owner.getKind() == DeclarationKind.INTERFACE ||
+                                      owner.getKind() == DeclarationKind.ANNOTATION))
+                {
+                    return(-1);
+                }
+
+                if (!inDeclaration.isStatic())
+                    return(MEMBER);
+
+                return(inDeclaration.isFinal() ? -1 : STATIC);
+
+            case PARAMETER:
+                return(PARAMETER);
+
+            default:
+                return(-1);
+        }
+    }
+
+    /*
+     * Returns true if the declaration whose name is the token inName has the primitive type boolean.
+     */
+    private static boolean isBoolean(TokenStream inTokens, int inName)
+    {
+        return(inTokens.type(inName - 1) == TokenType.LITERAL_BOOLEAN);
+    }
+
+    /*
+     * Constants and enum constants are written in upper case, and constructors and anonymous classes are named after a type
+     * that is checked where it is declared.
+     */
+    private static boolean isCamelCase(Declaration inDeclaration)
+    {
+        switch (inDeclaration.getKind())
+        {
+            case ENUM_CONSTANT:
+            case CONSTRUCTOR:
+            case ANONYMOUS_CLASS:
+                return(false);
+
+            case FIELD:
+                return(prefixRule(inDeclaration) >= 0);
+
+            default:
+                return(true);
+        }
+    }
+
+    /*
+     * Returns the first run of three capitals in inName, or the two that end it, leaving out the last capital of the run if
+     * that starts the next word.
+     */
+    private static String acronym(String inName)
+    {
+        int start = 0;
+        int end = 0;
+
+        while (end - start < 3 && end < inName.length())
+        {
+            if (!Character.isUpperCase(inName.charAt(end++)))
+                start = end;
+        }
+
+        while (end < inName.length() && Character.isUpperCase(inName.charAt(end)))
+            end++;
+
+        if (end < inName.length() && end - start > 2)
+            end--;
+
+        return(inName.substring(start, end));
+    }
+
+    /*
+     * Compares the letters of a catch variable with the initials of its exception type, first taking every capital of the type
+     * as an initial and then only the first of each acronym. A variable that catches several types of exception is not checked.
+     */
+    private void checkCatchVariable(SourceFile inSource, TokenStream inTokens, Declaration inDeclaration, boolean inIsInitials,
+                                    List<Violation> inMdViolations)
+    {
+        int name = inDeclaration.getNameToken();
+        int type = name - 1;
+        int first = type;
+
+        while (inTokens.type(first - 1) == TokenType.DOT && inTokens.type(first - 2) == TokenType.IDENT)
+            first -= 2;
+
+        if (inTokens.type(type) != TokenType.IDENT || inTokens.type(first - 1) == TokenType.BOR)
+            return;
+
+        char[] text = inSource.getText();
+        int start = inTokens.start(type);
+        int end = inTokens.end(type);
+
+        if (!inIsInitials || !(isInitials(text, start, end, inTokens.start(name), inTokens.end(name), false) ||
+                               isInitials(text, start, end, inTokens.start(name), inTokens.end(name), true)))
+        {
+            StringBuilder initials = new StringBuilder();
+
+            for (int idx = inTokens.start(type); idx < inTokens.end(type); idx++)
+            {
+                if (Character.isUpperCase(text[idx]))
+                    initials.append(Character.toLowerCase(text[idx]));
+            }
+
+            logAtToken(inMdViolations, inSource, inTokens, name, 0, "Catch variable ''{0}'' must be named ''{1}'' after its type.",
+                       inDeclaration.getName(), initials);
+        }
+    }
+
+    /*
+     * Returns true if the letters of the name from inName to inNameEnd are the initials of the type from inType to inTypeEnd.
+     * When inIsCollapsing is true, a capital that follows another and is not followed by a lower case letter is part of an
+     * acronym and is not an initial.
+     */
+    private static boolean isInitials(char[] inText, int inType, int inTypeEnd, int inName, int inNameEnd, boolean inIsCollapsing)
+    {
+        int letter = inName;
+
+        for (int idx = inType; idx < inTypeEnd; idx++)
+        {
+            if (!Character.isUpperCase(inText[idx]))
+                continue;
+
+            if (inIsCollapsing && idx > inType && Character.isUpperCase(inText[idx - 1]) &&
+                !(idx + 1 < inTypeEnd && Character.isLowerCase(inText[idx + 1])))
+            {
+                continue;
+            }
+
+            if (letter == inNameEnd || inText[letter++] != Character.toLowerCase(inText[idx]))
+                return(false);
+        }
+
+        return(letter == inNameEnd || Character.isDigit(inText[letter]));
+    }
+}
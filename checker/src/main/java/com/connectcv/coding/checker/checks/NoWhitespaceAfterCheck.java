@@ -0,0 +1,57 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that there is no whitespace after the configured tokens. A line break after the token is allowed unless
+ * {@code allowLineBreaks} is {@code false}.
+ * </p>
+ */
+public class NoWhitespaceAfterCheck extends AbstractCheck
+{
+    private EnumSet<TokenType> mTokens;
+    private boolean mIsLineBreakAllowed;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mTokens = tokens(inConfiguration,
+                         TokenType.ARRAY_INIT, TokenType.BNOT, TokenType.DEC, TokenType.DOT, TokenType.INC,
+                         TokenType.LNOT, TokenType.UNARY_MINUS, TokenType.UNARY_PLUS);
+        mIsLineBreakAllowed = inConfiguration.getBooleanProperty("allowLineBreaks", true);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (!mTokens.contains(tokens.type(idx)) || !Character.isWhitespace(charAfter(inSource, tokens, idx)))
+                continue;
+
+            if (!mIsLineBreakAllowed || !inSource.isBlankAfter(tokens.line(idx), tokens.end(idx)))
+            {
+                logAtToken(inMdViolations, inSource, tokens, idx, tokens.length(idx), "''{0}'' is followed by whitespace.",
+                           tokens.type(idx).getText());
+            }
+        }
+    }
+}
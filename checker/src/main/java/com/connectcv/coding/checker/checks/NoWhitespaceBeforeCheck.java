@@ -0,0 +1,59 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that there is no whitespace before the configured tokens. Unless {@code allowLineBreaks} is {@code true}, the token
+ * may not start a line either.
+ * </p>
+ */
+public class NoWhitespaceBeforeCheck extends AbstractCheck
+{
+    private EnumSet<TokenType> mTokens;
+    private boolean mIsLineBreakAllowed;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mTokens = tokens(inConfiguration, TokenType.SEMI, TokenType.POST_DEC, TokenType.POST_INC);
+        mIsLineBreakAllowed = inConfiguration.getBooleanProperty("allowLineBreaks", false);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (!mTokens.contains(tokens.type(idx)) || !Character.isWhitespace(charBefore(inSource, tokens, idx)))
+                continue;
+
+            if (tokens.type(idx) == TokenType.SEMI && tokens.is(idx - 1, TokenType.LPAREN) &&
+                tokens.is(idx - 2, TokenType.LITERAL_FOR))
+                continue;       // An empty for initialiser
+
+            if (!mIsLineBreakAllowed || !inSource.isBlankBefore(tokens.line(idx), tokens.start(idx)))
+            {
+                logAtToken(inMdViolations, inSource, tokens, idx, 0, "''{0}'' is preceded with whitespace.",
+                           tokens.type(idx).getText());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks the placement of an operator when an expression is wrapped. With {@code option} {@code eol} (the ConnectCV setting) the
+ * operator must end the first line; with {@code nl} it must start the second.
+ * </p>
+ */
+public class OperatorWrapCheck extends AbstractCheck
+{
+    private boolean mIsEndOfLine;
+    private EnumSet<TokenType> mTokens;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        String option = inConfiguration.getProperty("option", "nl").trim();
+
+        if (!"eol".equalsIgnoreCase(option) && !"nl".equalsIgnoreCase(option))
+            throw new ConfigurationException("Unknown OperatorWrap option '" + option + "'");
+
+        mIsEndOfLine = "eol".equalsIgnoreCase(option);
+        mTokens = tokens(inConfiguration,
+                         TokenType.QUESTION, TokenType.COLON, TokenType.EQUAL, TokenType.NOT_EQUAL, TokenType.DIV,
+                         TokenType.PLUS, TokenType.MINUS, TokenType.STAR, TokenType.MOD, TokenType.SR, TokenType.BSR,
+                         TokenType.GE, TokenType.GT, TokenType.SL, TokenType.LE, TokenType.LT, TokenType.BXOR, TokenType.BOR,
+                         TokenType.LOR, TokenType.BAND, TokenType.LAND, TokenType.TYPE_EXTENSION_AND,
+                         TokenType.LITERAL_INSTANCEOF);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (!mTokens.contains(tokens.type(idx)))
+                continue;
+
+            int line = tokens.line(idx);
+            String text = tokens.type(idx).getText();
+
+            if (mIsEndOfLine)
+            {
+                if (inSource.isBlankBefore(line, tokens.start(idx)))
+                    logAtToken(inMdViolations, inSource, tokens, idx, 0, "''{0}'' should be on the previous line.", text);
+            }
+            else if (inSource.isBlankAfter(line, tokens.end(idx)) && !inSource.isBlankBefore(line, tokens.start(idx)))
+            {
+                logAtToken(inMdViolations, inSource, tokens, idx, 0, "''{0}'' should be on a new line.", text);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Checks that no method or constructor declares more than {@code max} parameters.
+ * </p>
+ */
+public class ParameterNumberCheck extends AbstractCheck
+{
+    private int mMax;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mMax = inConfiguration.getIntProperty("max", 7);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        for (Declaration declaration : inSource.getStructure().getDeclarations())
+        {
+            if (declaration.getKind().isMethod() && declaration.getParameterCount() > mMax)
+            {
+                logAtToken(inMdViolations, inSource, inSource.getTokens(), declaration.getNameToken(), 0,
+                           "More than {0,number,integer} parameters.", mMax);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that there is no whitespace just inside parentheses. The parentheses of a typecast are left to
+ * {@link TypecastParenPadCheck}.
+ * </p>
+ */
+public class ParenPadCheck extends AbstractCheck
+{
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            TokenType type = tokens.type(idx);
+
+            if (type == TokenType.LPAREN && !isEmptyForInitialiser(tokens, idx))
+                checkOpen(inSource, tokens, idx, inMdViolations);
+            else if (type == TokenType.RPAREN && !tokens.is(tokens.match(idx), TokenType.TYPECAST) &&
+                     !isEmptyForIterator(tokens, idx))
+                checkClose(inSource, tokens, idx, inMdViolations);
+        }
+    }
+
+    void checkOpen(SourceFile inSource, TokenStream inTokens, int inToken, List<Violation> inMdViolations)
+    {
+        if (Character.isWhitespace(charAfter(inSource, inTokens, inToken)) &&
+            !inSource.isBlankAfter(inTokens.line(inToken), inTokens.end(inToken)))
+        {
+            logAtToken(inMdViolations, inSource, inTokens, inToken, 0, "''{0}'' is followed by whitespace.", "(");
+        }
+    }
+
+    void checkClose(SourceFile inSource, TokenStream inTokens, int inToken, List<Violation> inMdViolations)
+    {
+        if (Character.isWhitespace(charBefore(inSource, inTokens, inToken)) &&
+            !inSource.isBlankBefore(inTokens.line(inToken), inTokens.start(inToken)))
+        {
+            logAtToken(inMdViolations, inSource, inTokens, inToken, 0, "''{0}'' is preceded with whitespace.", ")");
+        }
+    }
+
+    private static boolean isEmptyForInitialiser(TokenStream inTokens, int inOpen)
+    {
+        return(inTokens.is(inOpen - 1, TokenType.LITERAL_FOR) && inTokens.is(inOpen + 1, TokenType.SEMI));
+    }
+
+    private static boolean isEmptyForIterator(TokenStream inTokens, int inClose)
+    {
+        return(inTokens.is(inClose - 1, TokenType.SEMI) && inTokens.is(inTokens.match(inClose) - 1, TokenType.LITERAL_FOR));
+    }
+}
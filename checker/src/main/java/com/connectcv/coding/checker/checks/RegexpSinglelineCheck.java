@@ -0,0 +1,59 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Reports every line that matches {@code format}. The ConnectCV configuration uses this for trailing whitespace and for
+ * boilerplate section comments.
+ * </p>
+ */
+public class RegexpSinglelineCheck extends AbstractCheck
+{
+    private Pattern mFormat;
+    private String mMessage;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        boolean isIgnoreCase = inConfiguration.getBooleanProperty("ignoreCase", false);
+
+        mFormat = compile(inConfiguration, "format", "$^", isIgnoreCase ? Pattern.CASE_INSENSITIVE : 0);
+        mMessage = inConfiguration.getProperty("message", null);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.LINES);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        Matcher matcher = mFormat.matcher("");
+
+        for (int line = 1; line <= inSource.getLineCount(); line++)
+        {
+            matcher.reset(inSource.line(line));
+
+            if (matcher.find())
+            {
+                int column = inSource.expandedColumn(line, inSource.lineStart(line) + matcher.start());
+
+                if (mMessage == null)
+                    log(inMdViolations, line, column, "Line matches the illegal pattern ''{0}''.", mFormat.pattern());
+                else
+                    log(inMdViolations, line, column, "{0}", mMessage);
+            }
+        }
+    }
+}
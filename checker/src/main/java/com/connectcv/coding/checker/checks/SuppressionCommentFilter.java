@@ -0,0 +1,69 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+
+/**
+ * <p>
+ * Removes the violations reported between a {@code CHECKSTYLE:OFF} comment and the following {@code CHECKSTYLE:ON} comment (or
+ * the end of the file). The comment formats can be changed with the {@code offCommentFormat} and {@code onCommentFormat}
+ * properties.
+ * </p>
+ */
+public class SuppressionCommentFilter
+{
+    private Pattern mOffFormat;
+    private Pattern mOnFormat;
+
+    public void configure(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mOffFormat = AbstractCheck.compile(inConfiguration, "offCommentFormat", "CHECKSTYLE\\:OFF", 0);
+        mOnFormat = AbstractCheck.compile(inConfiguration, "onCommentFormat", "CHECKSTYLE\\:ON", 0);
+    }
+
+    public void filter(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        if (inMdViolations.isEmpty())
+            return;
+
+        boolean[] isSuppressed = null;
+        boolean isOff = false;
+
+        for (int line = 1; line <= inSource.getLineCount(); line++)
+        {
+            CharSequence text = inSource.line(line);
+
+            if (!isOff && mOffFormat.matcher(text).find())
+            {
+                isOff = true;
+
+                if (isSuppressed == null)
+                    isSuppressed = new boolean[inSource.getLineCount() + 1];
+            }
+            else if (isOff && mOnFormat.matcher(text).find())
+            {
+                isOff = false;
+            }
+
+            if (isOff)
+                isSuppressed[line] = true;
+        }
+
+        if (isSuppressed == null)
+            return;
+
+        for (Iterator<Violation> violations = inMdViolations.iterator(); violations.hasNext();)
+        {
+            int line = violations.next().getLine();
+
+            if (line < isSuppressed.length && isSuppressed[line])
+                violations.remove();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that there is no whitespace just inside the parentheses of a typecast.
+ * </p>
+ */
+public class TypecastParenPadCheck extends ParenPadCheck
+{
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (tokens.type(idx) == TokenType.TYPECAST)
+            {
+                checkOpen(inSource, tokens, idx, inMdViolations);
+                checkClose(inSource, tokens, tokens.match(idx), inMdViolations);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that {@code long} literals use an upper case {@code L}, which cannot be mistaken for the digit {@code 1}.
+ * </p>
+ */
+public class UpperEllCheck extends AbstractCheck
+{
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+        char[] text = inSource.getText();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (tokens.type(idx) == TokenType.NUM_LITERAL && text[tokens.end(idx) - 1] == 'l')
+                logAtToken(inMdViolations, inSource, tokens, idx, tokens.length(idx) - 1, "Should use uppercase ''L''.");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that commas, semicolons and typecasts are followed by whitespace.
+ * </p>
+ */
+public class WhitespaceAfterCheck extends AbstractCheck
+{
+    private EnumSet<TokenType> mTokens;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mTokens = tokens(inConfiguration, TokenType.COMMA, TokenType.SEMI, TokenType.TYPECAST);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            TokenType type = tokens.type(idx);
+
+            if (!mTokens.contains(type))
+                continue;
+
+            int target = (type == TokenType.TYPECAST) ? tokens.match(idx) : idx;
+
+            if (target < 0)
+                continue;
+
+            char after = charAfter(inSource, tokens, target);
+
+            if (Character.isWhitespace(after))
+                continue;
+
+            if (type == TokenType.SEMI && (after == ';' || after == ')'))
+                continue;
+
+            logAtToken(inMdViolations, inSource, tokens, target, tokens.length(target), "''{0}'' is not followed by whitespace.",
+                       (type == TokenType.TYPECAST) ? "cast" : type.getText());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.connectcv.coding.checker.checks;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Checks that the configured tokens are surrounded by whitespace. As in Checkstyle, the braces of array initialisers, the
+ * colons of {@code case} and {@code default} labels and the {@code *} of an on-demand import are never checked, and a closing
+ * brace may be followed directly by {@code )}, {@code ;}, {@code ,} or {@code .}.
+ * </p>
+ * <p>
+ * Checkstyle distinguishes the {@code SLIST} brace of a statement block from the {@code LCURLY} brace of a class body. The
+ * lexer does not, so either name in the {@code tokens} property enables the check of every non array initialiser brace.
+ * </p>
+ */
+public class WhitespaceAroundCheck extends AbstractCheck
+{
+    private EnumSet<TokenType> mTokens;
+
+    @Override
+    protected void configureProperties(ModuleConfiguration inConfiguration) throws ConfigurationException
+    {
+        mTokens = tokens(inConfiguration,
+                         TokenType.ASSIGN, TokenType.BAND, TokenType.BAND_ASSIGN, TokenType.BOR, TokenType.BOR_ASSIGN,
+                         TokenType.BSR, TokenType.BSR_ASSIGN, TokenType.BXOR, TokenType.BXOR_ASSIGN, TokenType.COLON,
+                         TokenType.DIV, TokenType.DIV_ASSIGN, TokenType.EQUAL, TokenType.GE, TokenType.GT, TokenType.LAND,
+                         TokenType.LCURLY, TokenType.LE, TokenType.LITERAL_ASSERT, TokenType.LITERAL_CATCH,
+                         TokenType.LITERAL_DO, TokenType.LITERAL_ELSE, TokenType.LITERAL_FINALLY, TokenType.LITERAL_FOR,
+                         TokenType.LITERAL_IF, TokenType.LITERAL_RETURN, TokenType.LITERAL_SYNCHRONIZED,
+                         TokenType.LITERAL_TRY, TokenType.LITERAL_WHILE, TokenType.LOR, TokenType.LT, TokenType.MINUS,
+                         TokenType.MINUS_ASSIGN, TokenType.MOD, TokenType.MOD_ASSIGN, TokenType.NOT_EQUAL, TokenType.PLUS,
+                         TokenType.PLUS_ASSIGN, TokenType.QUESTION, TokenType.RCURLY, TokenType.SL, TokenType.SL_ASSIGN,
+                         TokenType.SR, TokenType.SR_ASSIGN, TokenType.STAR, TokenType.STAR_ASSIGN,
+                         TokenType.TYPE_EXTENSION_AND);
+
+        // The lexer makes no distinction between the braces of a class body and those of a statement list
+        if (inConfiguration.getProperty("tokens", "").contains("SLIST"))
+            mTokens.add(TokenType.LCURLY);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.TOKENS);
+    }
+
+    @Override
+    public void check(SourceFile inSource, List<Violation> inMdViolations)
+    {
+        TokenStream tokens = inSource.getTokens();
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            TokenType type = tokens.type(idx);
+
+            if (!mTokens.contains(type) || isExempt(tokens, idx))
+                continue;
+
+            if (!Character.isWhitespace(charBefore(inSource, tokens, idx)))
+                logAtToken(inMdViolations, inSource, tokens, idx, 0, "''{0}'' is not preceded with whitespace.", type.getText());
+
+            char after = charAfter(inSource, tokens, idx);
+
+            if (Character.isWhitespace(after))
+                continue;
+
+            if (type == TokenType.LITERAL_RETURN && tokens.is(idx + 1, TokenType.SEMI))
+                continue;
+
+            if (type == TokenType.RCURLY && (after == ')' || after == ';' || after == ',' || after == '.'))
+                continue;
+
+            logAtToken(inMdViolations, inSource, tokens, idx, tokens.length(idx), "''{0}'' is not followed by whitespace.",
+                       type.getText());
+        }
+    }
+
+    private static boolean isExempt(TokenStream inTokens, int inToken)
+    {
+        switch (inTokens.type(inToken))
+        {
+            case RCURLY:
+                return(inTokens.is(inTokens.match(inToken), TokenType.ARRAY_INIT));
+
+            case STAR:
+                return(inTokens.is(inToken - 1, TokenType.DOT));
+
+            default:
+                return(false);
+        }
+    }
+}
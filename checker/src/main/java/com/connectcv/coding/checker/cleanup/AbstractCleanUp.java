@@ -0,0 +1,221 @@
+package com.connectcv.coding.checker.cleanup;
+
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * The base class of every action of an Eclipse clean-up profile that {@link StandardsCleaner} can apply. A clean-up is created
+ * once from the settings of the profile and is then shared by all of the threads cleaning files, so subclasses must not hold
+ * any per-file state in their fields.
+ * </p>
+ * <p>
+ * A clean-up never changes the text of a file itself. It records the changes it would make in a {@link TextEdits}, against the
+ * original text, and the cleaner applies the edits of all of its clean-ups together once they have all run.
+ * </p>
+ */
+public abstract class AbstractCleanUp
+{
+    private final String mName;
+
+    protected AbstractCleanUp(String inName)
+    {
+        mName = inName;
+    }
+
+    /**
+     * Returns the name of the profile setting that enables this clean-up, without its {@code cleanup.} prefix.
+     */
+    public String getName()
+    {
+        return(mName);
+    }
+
+    /**
+     * Returns the highest {@link Tier} of {@link SourceFile} that this clean-up uses.
+     */
+    public abstract Tier getTier();
+
+    /**
+     * Records the changes this clean-up makes to {@code inSource} in {@code inMdEdits}.
+     *
+     * @return the number of changes that were recorded, not counting any that overlapped the edits of another clean-up.
+     */
+    public abstract int clean(SourceFile inSource, TextEdits inMdEdits);
+
+    /**
+     * Returns the index of the first token of the declaration of which {@code inDeclaration} is part, including its annotations,
+     * modifiers and type.
+     */
+    protected static int memberStart(TokenStream inTokens, Declaration inDeclaration)
+    {
+        int idx = inDeclaration.getFirstToken() - 1;
+
+        while (idx >= 0)
+        {
+            switch (inTokens.type(idx))
+            {
+                case SEMI:
+                case LCURLY:
+                case RCURLY:
+                case COMMA:
+                    return(idx + 1);
+
+                case RPAREN:
+                case RBRACK:
+                case GENERIC_END:
+                    idx = (inTokens.match(idx) >= 0 && inTokens.match(idx) < idx) ? inTokens.match(idx) - 1 : idx - 1;
+                    break;
+
+                default:
+                    idx--;
+                    break;
+            }
+        }
+
+        return(0);
+    }
+
+    /**
+     * Returns {@code true} if one of the tokens from {@code inFrom} up to (but excluding) {@code inTo} starts an annotation whose
+     * simple name is {@code inName}, or any annotation at all if {@code inName} is {@code null}.
+     */
+    protected static boolean isAnnotated(SourceFile inSource, TokenStream inTokens, int inFrom, int inTo, String inName)
+    {
+        for (int idx = inFrom; idx < inTo; idx++)
+        {
+            if (inTokens.type(idx) != TokenType.AT || inTokens.type(idx + 1) != TokenType.IDENT)
+                continue;
+
+            if (inName == null)
+                return(true);
+
+            int name = idx + 1;
+
+            while (inTokens.type(name + 1) == TokenType.DOT && inTokens.type(name + 2) == TokenType.IDENT)
+                name += 2;
+
+            if (matches(inSource, inTokens, name, inName))
+                return(true);
+        }
+
+        return(false);
+    }
+
+    /**
+     * Returns the offset at which a block comment that ends on the line before the token {@code inToken}, and starts a line of
+     * its own, begins, or {@code -1} if there is no such comment.
+     */
+    protected static int commentBefore(SourceFile inSource, TokenStream inTokens, int inToken)
+    {
+        char[] text = inSource.getText();
+        int idx = inSource.lineStart(inTokens.line(inToken));
+
+        if (!inSource.isBlankBefore(inTokens.line(inToken), inTokens.start(inToken)))
+            return(-1);
+
+        idx = skipBackOverLine(text, idx);
+
+        while (idx > 0 && (text[idx - 1] == ' ' || text[idx - 1] == '\t'))
+            idx--;
+
+        if (idx < 2 || text[idx - 1] != '/' || text[idx - 2] != '*')
+            return(-1);
+
+        idx -= 2;
+
+        while (idx > 1 && !(text[idx - 2] == '/' && text[idx - 1] == '*'))
+            idx--;
+
+        if (idx < 2)
+            return(-1);
+
+        int start = idx - 2;
+        int lineStart = start;
+
+        while (lineStart > 0 && (text[lineStart - 1] == ' ' || text[lineStart - 1] == '\t'))
+            lineStart--;
+
+        return(lineStart == 0 || text[lineStart - 1] == '\n' || text[lineStart - 1] == '\r' ? start : -1);
+    }
+
+    /**
+     * Records the insertion of {@code inAnnotation} before the token {@code inToken}, on a line of its own with the same
+     * indentation if the token starts its line.
+     */
+    protected static boolean annotate(SourceFile inSource, TokenStream inTokens, int inToken, String inAnnotation,
+                                      TextEdits inMdEdits)
+    {
+        int line = inTokens.line(inToken);
+        int offset = inTokens.start(inToken);
+
+        if (!inSource.isBlankBefore(line, offset))
+            return(inMdEdits.insert(offset, inAnnotation + ' '));
+
+        String indentation = inSource.text(inSource.lineStart(line), offset);
+
+        return(inMdEdits.insert(offset, inAnnotation + separator(inSource, line) + indentation));
+    }
+
+    /**
+     * Returns {@code true} if the text of the token {@code inToken} is {@code inText}, without making a string of the token.
+     */
+    protected static boolean matches(SourceFile inSource, TokenStream inTokens, int inToken, String inText)
+    {
+        int start = inTokens.start(inToken);
+        int length = inTokens.length(inToken);
+
+        if (length != inText.length())
+            return(false);
+
+        char[] text = inSource.getText();
+
+        for (int idx = 0; idx < length; idx++)
+        {
+            if (text[start + idx] != inText.charAt(idx))
+                return(false);
+        }
+
+        return(true);
+    }
+
+    /**
+     * Returns the terminator of line {@code inLine}, or of the line before it if it is the last line and has none.
+     */
+    protected static String separator(SourceFile inSource, int inLine)
+    {
+        int line = inLine;
+
+        while (line >= 1)
+        {
+            int end = inSource.lineEnd(line);
+            int next = (line < inSource.getLineCount()) ? inSource.lineStart(line + 1) : inSource.getLength();
+
+            if (next > end)
+                return(inSource.text(end, next));
+
+            line--;
+        }
+
+        return("\n");
+    }
+
+    /*
+     * Returns the offset of the line terminator that ends the line before the one starting at inLineStart.
+     */
+    private static int skipBackOverLine(char[] inText, int inLineStart)
+    {
+        int idx = inLineStart;
+
+        if (idx > 0 && inText[idx - 1] == '\n')
+            idx--;
+
+        if (idx > 0 && inText[idx - 1] == '\r')
+            idx--;
+
+        return(idx);
+    }
+}
@@ -0,0 +1,73 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.io.File;
+
+/**
+ * <p>
+ * The outcome of cleaning up a single file: how many changes each action made to it and how long each took, or the reason the
+ * file could not be cleaned up. Actions are numbered as they are by {@link StandardsCleaner#getActions()}.
+ * </p>
+ */
+public final class CleanUpResult
+{
+    private final File mFile;
+    private final int[] mChanges;
+    private final long[] mNanos;
+    private final String mError;
+
+    public CleanUpResult(File inFile, int[] inChanges, long[] inNanos)
+    {
+        mFile = inFile;
+        mChanges = inChanges;
+        mNanos = inNanos;
+        mError = null;
+    }
+
+    public CleanUpResult(File inFile, int[] inChanges, long[] inNanos, String inError)
+    {
+        mFile = inFile;
+        mChanges = inChanges;
+        mNanos = inNanos;
+        mError = inError;
+    }
+
+    public File getFile()
+    {
+        return(mFile);
+    }
+
+    /**
+     * Returns the number of changes that action {@code inAction} made to this file.
+     */
+    public int getChanges(int inAction)
+    {
+        return(mChanges[inAction]);
+    }
+
+    /**
+     * Returns the time that action {@code inAction} took over this file, in nanoseconds.
+     */
+    public long getNanos(int inAction)
+    {
+        return(mNanos[inAction]);
+    }
+
+    public boolean isChanged()
+    {
+        for (int changes : mChanges)
+        {
+            if (changes > 0)
+                return(true);
+        }
+
+        return(false);
+    }
+
+    /**
+     * Returns the reason this file could not be cleaned up, or {@code null} if it was.
+     */
+    public String getError()
+    {
+        return(mError);
+    }
+}
@@ -0,0 +1,147 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.DeclarationKind;
+
+/**
+ * <p>
+ * The clean-ups enabled by an Eclipse clean-up profile (such as {@code ccv_coding_clean-up.xml}), read from the module that
+ * {@link com.connectcv.coding.checker.config.ConfigurationLoader#loadProfile(java.io.File)} makes of the profile. Each
+ * enabled setting that {@link StandardsCleaner} implements becomes an {@link AbstractCleanUp}, except for formatting and
+ * correcting indentation, which are done by a {@link com.connectcv.coding.checker.format.SourceFormatter} once the clean-ups
+ * have been applied. Enabled settings that have no implementation are reported by {@link #getUnsupportedSettings()}.
+ * </p>
+ * <p>
+ * Each setting is taken on its own, so the removal of unused private types, methods and fields, and the qualification of
+ * static members accessed through instances, are applied whenever their own settings are, whatever the settings that group
+ * them in the Eclipse preferences.
+ * </p>
+ */
+public final class CleanUpSettings
+{
+    private static final String KIND = "CleanUpProfile";
+
+    private static final String PREFIX = "cleanup.";
+
+    /*
+     * Settings that only refine another, or that groups others, and so need no implementation of their own.
+     */
+    private static final Set<String> QUALIFIERS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+        "remove_trailing_whitespaces_all", "remove_trailing_whitespaces_ignore_empty", "add_missing_annotations",
+        "add_missing_override_annotations_interface_methods", "remove_unused_private_members",
+        "qualify_static_member_accesses_with_declaring_class", "format_source_code_changes_only")));
+
+    private final ModuleConfiguration mProfile;
+    private final List<AbstractCleanUp> mCleanUps;
+    private final String mFormatting;
+    private final List<String> mUnsupportedSettings;
+
+    public CleanUpSettings(ModuleConfiguration inProfile) throws ConfigurationException
+    {
+        if (!KIND.equals(inProfile.getName()))
+            throw new ConfigurationException("The profile must be a " + KIND + ", not a " + inProfile.getName());
+
+        mProfile = inProfile;
+        mCleanUps = new ArrayList<AbstractCleanUp>();
+        mUnsupportedSettings = new ArrayList<String>();
+
+        Set<String> supported = new HashSet<String>(QUALIFIERS);
+
+        // Removals run first, so that nothing is added to a member that is about to be removed
+        add(supported, new UnusedPrivateMembersCleanUp("remove_unused_private_types", DeclarationKind.CLASS,
+                                                       DeclarationKind.INTERFACE, DeclarationKind.ENUM,
+                                                       DeclarationKind.ANNOTATION));
+        add(supported, new UnusedPrivateMembersCleanUp("remove_unused_private_methods", DeclarationKind.METHOD));
+        add(supported, new UnusedPrivateMembersCleanUp("remove_unused_private_fields", DeclarationKind.FIELD));
+
+        if (isEnabled("add_missing_annotations"))
+        {
+            add(supported, new MissingOverrideCleanUp(isEnabled("add_missing_override_annotations_interface_methods")));
+            add(supported, new MissingDeprecatedCleanUp());
+        }
+        else
+        {
+            supported.add("add_missing_override_annotations");
+            supported.add("add_missing_deprecated_annotations");
+        }
+
+        add(supported, new StaticAccessCleanUp());
+        add(supported, new TrailingWhitespaceCleanUp(!isEnabled("remove_trailing_whitespaces_all") &&
+                                                     isEnabled("remove_trailing_whitespaces_ignore_empty")));
+
+        supported.add("format_source_code");
+        supported.add("correct_indentation");
+
+        if (isEnabled("format_source_code"))
+            mFormatting = "format_source_code";
+        else if (isEnabled("correct_indentation"))
+            mFormatting = "correct_indentation";
+        else
+            mFormatting = null;
+
+        for (Map.Entry<String, String> setting : inProfile.getProperties().entrySet())
+        {
+            String name = setting.getKey().startsWith(PREFIX) ? setting.getKey().substring(PREFIX.length()) : setting.getKey();
+
+            if ("true".equals(setting.getValue().trim()) && !supported.contains(name))
+                mUnsupportedSettings.add(name);
+        }
+
+        Collections.sort(mUnsupportedSettings);
+    }
+
+    /**
+     * Returns the profile these settings were read from.
+     */
+    public ModuleConfiguration getProfile()
+    {
+        return(mProfile);
+    }
+
+    /**
+     * Returns the enabled clean-ups, in the order in which they are run.
+     */
+    public List<AbstractCleanUp> getCleanUps()
+    {
+        return(Collections.unmodifiableList(mCleanUps));
+    }
+
+    /**
+     * Returns the name of the setting that asks for the source to be formatted or its indentation corrected, or {@code null} if
+     * neither is enabled.
+     */
+    public String getFormatting()
+    {
+        return(mFormatting);
+    }
+
+    /**
+     * Returns the names of the enabled settings that have no implementation, and so are not applied.
+     */
+    public List<String> getUnsupportedSettings()
+    {
+        return(Collections.unmodifiableList(mUnsupportedSettings));
+    }
+
+    private boolean isEnabled(String inSetting)
+    {
+        return(mProfile.getBooleanProperty(PREFIX + inSetting, false));
+    }
+
+    private void add(Set<String> inMdSupported, AbstractCleanUp inCleanUp)
+    {
+        inMdSupported.add(inCleanUp.getName());
+
+        if (isEnabled(inCleanUp.getName()))
+            mCleanUps.add(inCleanUp);
+    }
+}
@@ -0,0 +1,112 @@
+package com.connectcv.coding.checker.cleanup;
+
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+
+/**
+ * <p>
+ * Adds {@code @Deprecated} to the types, members and enum constants whose doc comment has a {@code @deprecated} tag, so that
+ * the compiler warns their users too.
+ * </p>
+ */
+public class MissingDeprecatedCleanUp extends AbstractCleanUp
+{
+    private static final String ANNOTATION = "@Deprecated";
+
+    private static final String TAG = "@deprecated";
+
+    public MissingDeprecatedCleanUp()
+    {
+        super("add_missing_deprecated_annotations");
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public int clean(SourceFile inSource, TextEdits inMdEdits)
+    {
+        TokenStream tokens = inSource.getTokens();
+        int changes = 0;
+
+        for (Declaration declaration : inSource.getStructure().getDeclarations())
+        {
+            switch (declaration.getKind())
+            {
+                case ANONYMOUS_CLASS:
+                case PARAMETER:
+                case CATCH_PARAMETER:
+                case LOCAL_VARIABLE:
+                    continue;
+
+                default:
+                    break;
+            }
+
+            int start = memberStart(tokens, declaration);
+            int comment = commentBefore(inSource, tokens, start);
+
+            if (comment < 0 || !isDeprecated(inSource, comment, tokens.start(start)) ||
+                isAnnotated(inSource, tokens, start, declaration.getNameToken(), "Deprecated"))
+            {
+                continue;
+            }
+
+            if (annotate(inSource, tokens, start, ANNOTATION, inMdEdits))
+                changes++;
+        }
+
+        return(changes);
+    }
+
+    /*
+     * Returns true if the doc comment starting at inFrom, before inTo, has a deprecated tag.
+     */
+    private static boolean isDeprecated(SourceFile inSource, int inFrom, int inTo)
+    {
+        char[] text = inSource.getText();
+
+        if (inFrom + 2 >= inTo || text[inFrom + 2] != '*')
+            return(false);
+
+        int last = inTo - TAG.length();
+
+        for (int idx = inFrom; idx <= last; idx++)
+        {
+            if (text[idx] == '@' && isBlockTag(text, inFrom, idx) && isTag(text, idx))
+                return(true);
+        }
+
+        return(false);
+    }
+
+    /*
+     * Returns true if the character at inAt is the first on its line of the comment that starts at inFrom, other than the
+     * asterisks that lead each line, and so starts a block tag.
+     */
+    private static boolean isBlockTag(char[] inText, int inFrom, int inAt)
+    {
+        int idx = inAt;
+
+        while (idx > inFrom && (inText[idx - 1] == ' ' || inText[idx - 1] == '\t' || inText[idx - 1] == '*'))
+            idx--;
+
+        return(idx == inFrom + 1 || inText[idx - 1] == '\n' || inText[idx - 1] == '\r');
+    }
+
+    private static boolean isTag(char[] inText, int inAt)
+    {
+        for (int idx = 1; idx < TAG.length(); idx++)
+        {
+            if (inText[inAt + idx] != TAG.charAt(idx))
+                return(false);
+        }
+
+        return(!Character.isJavaIdentifierPart(inText[inAt + TAG.length()]));
+    }
+}
@@ -0,0 +1,383 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.connectcv.coding.checker.config.SourceLevels;
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.DeclarationKind;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Adds {@code @Override} to the methods of a class that override a method of a superclass, and, if
+ * {@code cleanup.add_missing_override_annotations_interface_methods} is also set, to those that implement a method of an
+ * interface. As in Eclipse, interface methods are only annotated in a file whose {@link SourceLevels source level} is Java 6 or
+ * later, since Java 5 only allows {@code @Override} on a method that overrides a method of a class. A file whose level cannot
+ * be found is taken to be at a later level.
+ * </p>
+ * <p>
+ * Without resolving names across files, a method is only known to override another if it overrides a method of
+ * {@code Object}, of a few well known types of the JDK that are commonly implemented by anonymous classes, or of a type declared
+ * in the same file. Methods are matched by name and by the text of their parameter types, or by the number of parameters for
+ * the JDK types, so a method of a generic supertype whose parameters are type variables is not matched, and is left alone.
+ * </p>
+ */
+public class MissingOverrideCleanUp extends AbstractCleanUp
+{
+    private static final String ANNOTATION = "@Override";
+
+    private static final int INTERFACE_METHODS_LEVEL = 6;
+
+    private static final Map<String, Set<String>> JDK_CLASSES = new HashMap<String, Set<String>>();
+
+    private static final Map<String, Set<String>> JDK_INTERFACES = new HashMap<String, Set<String>>();
+
+    static
+    {
+        add(JDK_CLASSES, "Thread", "run/0");
+        add(JDK_CLASSES, "ThreadLocal", "initialValue/0");
+        add(JDK_CLASSES, "TimerTask", "run/0");
+        add(JDK_CLASSES, "RecursiveAction", "compute/0");
+        add(JDK_CLASSES, "RecursiveTask", "compute/0");
+
+        add(JDK_INTERFACES, "Runnable", "run/0");
+        add(JDK_INTERFACES, "Callable", "call/0");
+        add(JDK_INTERFACES, "Comparable", "compareTo/1");
+        add(JDK_INTERFACES, "Comparator", "compare/2");
+        add(JDK_INTERFACES, "Iterable", "iterator/0");
+        add(JDK_INTERFACES, "Iterator", "hasNext/0", "next/0", "remove/0");
+        add(JDK_INTERFACES, "AutoCloseable", "close/0");
+        add(JDK_INTERFACES, "Closeable", "close/0");
+        add(JDK_INTERFACES, "CharSequence", "length/0", "charAt/1", "subSequence/2");
+    }
+
+    private final boolean mIsAnnotatingInterfaceMethods;
+    private final SourceLevels mLevels;
+
+    public MissingOverrideCleanUp(boolean inIsAnnotatingInterfaceMethods)
+    {
+        this(inIsAnnotatingInterfaceMethods, new SourceLevels());
+    }
+
+    public MissingOverrideCleanUp(boolean inIsAnnotatingInterfaceMethods, SourceLevels inLevels)
+    {
+        super("add_missing_override_annotations");
+
+        mIsAnnotatingInterfaceMethods = inIsAnnotatingInterfaceMethods;
+        mLevels = inLevels;
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public int clean(SourceFile inSource, TextEdits inMdEdits)
+    {
+        TokenStream tokens = inSource.getTokens();
+        List<Declaration> declarations = inSource.getStructure().getDeclarations();
+        Map<String, Declaration> types = new HashMap<String, Declaration>();
+        Map<Declaration, List<Declaration>> members = new IdentityHashMap<Declaration, List<Declaration>>();
+        boolean isAnnotatingInterfaceMethods = mIsAnnotatingInterfaceMethods && isInterfaceOverrideAllowed(inSource);
+        int changes = 0;
+
+        for (Declaration declaration : declarations)
+        {
+            if (declaration.getKind().isType() && declaration.getKind() != DeclarationKind.ANONYMOUS_CLASS)
+                types.put(declaration.getName(), types.containsKey(declaration.getName()) ? null : declaration);
+
+            if (declaration.getOwner() != null)
+            {
+                List<Declaration> owned = members.get(declaration.getOwner());
+
+                if (owned == null)
+                    members.put(declaration.getOwner(), owned = new ArrayList<Declaration>());
+
+                owned.add(declaration);
+            }
+        }
+
+        Context context = new Context(inSource, tokens, types, members);
+
+        for (Declaration method : declarations)
+        {
+            if (method.getKind() != DeclarationKind.METHOD || method.isStatic() || method.isPrivate() ||
+                !isClass(method.getOwner()))
+            {
+                continue;
+            }
+
+            int start = memberStart(tokens, method);
+
+            if (isAnnotated(inSource, tokens, start, method.getNameToken(), "Override"))
+                continue;
+
+            Boolean isInterfaceMethod = context.overridden(method.getOwner(), method, new HashSet<Declaration>());
+
+            if (isInterfaceMethod == null || (isInterfaceMethod && !isAnnotatingInterfaceMethods))
+                continue;
+
+            if (annotate(inSource, tokens, start, ANNOTATION, inMdEdits))
+                changes++;
+        }
+
+        return(changes);
+    }
+
+    private boolean isInterfaceOverrideAllowed(SourceFile inSource)
+    {
+        int level = mLevels.getLevel(new File(inSource.getPath()));
+
+        return(level == SourceLevels.UNKNOWN || level >= INTERFACE_METHODS_LEVEL);
+    }
+
+    private static boolean isClass(Declaration inType)
+    {
+        if (inType == null)
+            return(false);
+
+        switch (inType.getKind())
+        {
+            case CLASS:
+            case ENUM:
+            case ANONYMOUS_CLASS:
+                return(true);
+
+            default:
+                return(false);
+        }
+    }
+
+    private static void add(Map<String, Set<String>> inMdTypes, String inType, String... inMethods)
+    {
+        Set<String> methods = new HashSet<String>();
+        Collections.addAll(methods, inMethods);
+
+        inMdTypes.put(inType, methods);
+    }
+
+    /*
+     * The declarations of the file being cleaned, indexed for looking up supertypes and their methods.
+     */
+    private static final class Context
+    {
+        private final SourceFile mSource;
+        private final TokenStream mTokens;
+        private final Map<String, Declaration> mTypes;
+        private final Map<Declaration, List<Declaration>> mMembers;
+
+        Context(SourceFile inSource, TokenStream inTokens, Map<String, Declaration> inTypes,
+                Map<Declaration, List<Declaration>> inMembers)
+        {
+            mSource = inSource;
+            mTokens = inTokens;
+            mTypes = inTypes;
+            mMembers = inMembers;
+        }
+
+        /*
+         * Returns whether inMethod, declared in or inherited by inType, overrides a method of a supertype of inType: TRUE if it
+         * implements a method of an interface, FALSE if it overrides a method of a class, or null if it overrides nothing
+         * that can be found.
+         */
+        Boolean overridden(Declaration inType, Declaration inMethod, Set<Declaration> inMdVisited)
+        {
+            if (!inMdVisited.add(inType))
+                return(null);
+
+            if (isObjectMethod(inMethod))
+                return(Boolean.FALSE);
+
+            if (inType.getKind() == DeclarationKind.ANONYMOUS_CLASS && inType.getOwner().getKind() == DeclarationKind.ENUM_CONSTANT)
+            {
+                Declaration enumeration = inType.getOwner().getOwner();
+
+                return(declares(enumeration, inMethod) ? Boolean.FALSE : overridden(enumeration, inMethod, inMdVisited));
+            }
+
+            String signature = inMethod.getName() + '/' + inMethod.getParameterCount();
+
+            for (int name : supertypes(inType))
+            {
+                Declaration supertype = mTypes.get(mSource.text(mTokens.start(name), mTokens.end(name)));
+
+                if (supertype != null)
+                {
+                    if (declares(supertype, inMethod))
+                        return(supertype.getKind() == DeclarationKind.INTERFACE);
+
+                    Boolean inherited = overridden(supertype, inMethod, inMdVisited);
+
+                    if (inherited != null)
+                        return(inherited);
+                }
+                else if (isJdkMethod(JDK_CLASSES, name, signature))
+                {
+                    return(Boolean.FALSE);
+                }
+                else if (isJdkMethod(JDK_INTERFACES, name, signature))
+                {
+                    return(Boolean.TRUE);
+                }
+            }
+
+            return(null);
+        }
+
+        private boolean isObjectMethod(Declaration inMethod)
+        {
+            String name = inMethod.getName();
+
+            if (inMethod.getParameterCount() == 0)
+                return("toString".equals(name) || "hashCode".equals(name) || "clone".equals(name) || "finalize".equals(name));
+
+            if (inMethod.getParameterCount() == 1 && "equals".equals(name))
+            {
+                String type = parameterTypes(inMethod).get(0);
+
+                return("Object".equals(type) || "java.lang.Object".equals(type));
+            }
+
+            return(false);
+        }
+
+        private boolean isJdkMethod(Map<String, Set<String>> inTypes, int inName, String inSignature)
+        {
+            Set<String> methods = inTypes.get(mSource.text(mTokens.start(inName), mTokens.end(inName)));
+
+            return(methods != null && methods.contains(inSignature));
+        }
+
+        /*
+         * Returns true if inType itself declares a method that inMethod overrides.
+         */
+        private boolean declares(Declaration inType, Declaration inMethod)
+        {
+            List<Declaration> members = mMembers.get(inType);
+
+            if (members == null)
+                return(false);
+
+            for (Declaration member : members)
+            {
+                if (member.getKind() == DeclarationKind.METHOD && !member.isPrivate() && !member.isStatic() &&
+                    member.getName().equals(inMethod.getName()) &&
+                    member.getParameterCount() == inMethod.getParameterCount() &&
+                    parameterTypes(member).equals(parameterTypes(inMethod)))
+                {
+                    return(true);
+                }
+            }
+
+            return(false);
+        }
+
+        /*
+         * Returns the text of the parameter types of a method or constructor, without whitespace, annotations or modifiers.
+         */
+        private List<String> parameterTypes(Declaration inMethod)
+        {
+            List<String> types = new ArrayList<String>(inMethod.getParameterCount());
+            List<Declaration> members = mMembers.get(inMethod);
+
+            if (members == null)
+                return(types);
+
+            for (Declaration parameter : members)
+            {
+                if (parameter.getKind() != DeclarationKind.PARAMETER)
+                    continue;
+
+                int idx = parameter.getNameToken() - 1;
+
+                while (idx >= 0 && mTokens.type(idx) != TokenType.COMMA && mTokens.type(idx) != TokenType.LPAREN)
+                {
+                    boolean isClosing = (mTokens.type(idx) == TokenType.GENERIC_END || mTokens.type(idx) == TokenType.RPAREN);
+                    idx = (isClosing && mTokens.match(idx) >= 0 && mTokens.match(idx) < idx) ? mTokens.match(idx) - 1 : idx - 1;
+                }
+
+                StringBuilder type = new StringBuilder();
+
+                for (int token = idx + 1; token < parameter.getNameToken(); token++)
+                {
+                    if (mTokens.type(token) == TokenType.AT)
+                        token = skipAnnotation(token);
+                    else if (mTokens.type(token) != TokenType.FINAL)
+                        type.append(mSource.getText(), mTokens.start(token), mTokens.length(token));
+                }
+
+                types.add(type.toString());
+            }
+
+            return(types);
+        }
+
+        private int skipAnnotation(int inAt)
+        {
+            int idx = inAt + 1;
+
+            while (mTokens.type(idx + 1) == TokenType.DOT && mTokens.type(idx + 2) == TokenType.IDENT)
+                idx += 2;
+
+            if (mTokens.type(idx + 1) == TokenType.LPAREN && mTokens.match(idx + 1) > idx)
+                idx = mTokens.match(idx + 1);
+
+            return(idx);
+        }
+
+        /*
+         * Returns the indexes of the simple names of the direct supertypes of inType, as written in its header, or of the
+         * type that an anonymous class instantiates.
+         */
+        private List<Integer> supertypes(Declaration inType)
+        {
+            List<Integer> names = new ArrayList<Integer>();
+
+            if (inType.getKind() == DeclarationKind.ANONYMOUS_CLASS)
+            {
+                if (mTokens.type(inType.getNameToken()) == TokenType.IDENT)
+                    names.add(inType.getNameToken());
+
+                return(names);
+            }
+
+            int idx = inType.getNameToken() + 1;
+            boolean isInList = false;
+
+            while (idx < mTokens.size() && mTokens.type(idx) != TokenType.LCURLY)
+            {
+                TokenType type = mTokens.type(idx);
+
+                if (type == TokenType.GENERIC_START && mTokens.match(idx) > idx)
+                {
+                    idx = mTokens.match(idx);
+                }
+                else if (type == TokenType.LITERAL_EXTENDS || type == TokenType.LITERAL_IMPLEMENTS)
+                {
+                    isInList = true;
+                }
+                else if (isInList && type == TokenType.IDENT && mTokens.type(idx + 1) != TokenType.DOT)
+                {
+                    names.add(idx);
+                }
+
+                idx++;
+            }
+
+            return(names);
+        }
+    }
+}
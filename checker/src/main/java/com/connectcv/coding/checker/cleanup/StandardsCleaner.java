@@ -0,0 +1,296 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.connectcv.coding.checker.format.FormatterSettings;
+import com.connectcv.coding.checker.format.Region;
+import com.connectcv.coding.checker.format.SourceFormatter;
+import com.connectcv.coding.checker.source.ReferenceIndex;
+import com.connectcv.coding.checker.source.SourceBuffers;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Applies the actions of an Eclipse clean-up profile (such as {@code ccv_coding_clean-up.xml}) to Java source files, without
+ * Eclipse.
+ * </p>
+ * <p>
+ * Each file is read, tokenized and parsed once, and every clean-up works from that same {@link SourceFile}, recording its
+ * changes in a {@link TextEdits} rather than rewriting the text. The edits are then applied in a single copy of the text, and
+ * if the profile asks for the source to be formatted, or its indentation corrected, the result is laid out by a
+ * {@link SourceFormatter}. A file that no action changes is never written; one that is changed is replaced with
+ * {@link SourceBuffers#replace(File, ByteBuffer)}, so that an interrupted run never leaves half a source file behind.
+ * </p>
+ * <p>
+ * Files are cleaned up in parallel on a {@link ForkJoinPool}, each by a single thread that reuses its buffers from one file to
+ * the next, as {@link com.connectcv.coding.checker.StandardsChecker} does. The time each action takes over each file is
+ * measured, so that the cost of a profile can be attributed to its actions, and each result is handed to a {@link Listener}
+ * as soon as its file is done.
+ * </p>
+ * <p>
+ * The removal of unused private members looks names up in the {@link com.connectcv.coding.checker.source.ReferenceTable} of
+ * each file. A cleaner given a {@link ReferenceIndex} takes the table of each file from the index if the file is unchanged
+ * since it was indexed, and records the table it builds otherwise, so that a cleaner that is run over the same project again
+ * only builds tables for the files that have changed.
+ * </p>
+ */
+public final class StandardsCleaner
+{
+    private static final int DEFAULT_TAB_WIDTH = 4;
+
+    private final List<AbstractCleanUp> mCleanUps;
+    private final SourceFormatter mFormatter;
+    private final ReferenceIndex mIndex;
+    private final List<String> mActions;
+    private final Charset mCharset;
+    private final int mTabWidth;
+    private final Tier mTier;
+    private final boolean mIsWriting;
+
+    private final ThreadLocal<SourceBuffers> mBuffers = new ThreadLocal<SourceBuffers>()
+    {
+        @Override
+        protected SourceBuffers initialValue()
+        {
+            return(new SourceBuffers(mCharset));
+        }
+    };
+
+    private final ThreadLocal<TextEdits> mEdits = new ThreadLocal<TextEdits>()
+    {
+        @Override
+        protected TextEdits initialValue()
+        {
+            return(new TextEdits());
+        }
+    };
+
+    private final ThreadLocal<StringBuilder[]> mOutputs = new ThreadLocal<StringBuilder[]>()
+    {
+        @Override
+        protected StringBuilder[] initialValue()
+        {
+            return(new StringBuilder[] { new StringBuilder(), new StringBuilder() });
+        }
+    };
+
+    /**
+     * Receives the result of each file as soon as it has been cleaned up, on the thread that cleaned it up.
+     */
+    public interface Listener
+    {
+        void cleaned(CleanUpResult inResult);
+    }
+
+    /**
+     * Creates a cleaner that applies the clean-ups of {@code inSettings} to files in {@code inCharset}, and that formats them with
+     * {@code inFormat} if the settings ask for it. If {@code inFormat} is {@code null}, files are never formatted.
+     *
+     * @param inIsWriting {@code false} to find the changes that would be made without writing any file.
+     */
+    public StandardsCleaner(CleanUpSettings inSettings, FormatterSettings inFormat, Charset inCharset, boolean inIsWriting)
+    {
+        this(inSettings, inFormat, null, inCharset, inIsWriting);
+    }
+
+    /**
+     * Creates a cleaner as above that keeps the table of references of each file it cleans up in {@code inIndex}, which may
+     * be shared with other cleaners.
+     */
+    public StandardsCleaner(CleanUpSettings inSettings, FormatterSettings inFormat, ReferenceIndex inIndex, Charset inCharset,
+                            boolean inIsWriting)
+    {
+        mCleanUps = inSettings.getCleanUps();
+        mIndex = inIndex;
+        mFormatter = (inFormat != null && inSettings.getFormatting() != null) ? new SourceFormatter(inFormat) : null;
+        mCharset = inCharset;
+        mTabWidth = (inFormat != null) ? inFormat.getTabSize() : DEFAULT_TAB_WIDTH;
+        mIsWriting = inIsWriting;
+
+        List<String> actions = new ArrayList<String>();
+        Tier tier = (mFormatter != null) ? Tier.TOKENS : Tier.RAW;
+
+        for (AbstractCleanUp cleanUp : mCleanUps)
+        {
+            actions.add(cleanUp.getName());
+            tier = tier.max(cleanUp.getTier());
+        }
+
+        if (mFormatter != null)
+            actions.add(inSettings.getFormatting());
+
+        mActions = Collections.unmodifiableList(actions);
+        mTier = tier;
+    }
+
+    /**
+     * Returns the names of the actions this cleaner applies, in the order in which it applies them. The position of each name
+     * in the list is the number by which a {@link CleanUpResult} refers to the action.
+     */
+    public List<String> getActions()
+    {
+        return(mActions);
+    }
+
+    /**
+     * Cleans up {@code inFiles} in parallel on {@code inPool}, passing each result to {@code inListener}, which may be
+     * {@code null}, as it is done, and returning them all in the same order as the files.
+     */
+    public List<CleanUpResult> clean(List<File> inFiles, ForkJoinPool inPool, Listener inListener)
+    {
+        File[] files = inFiles.toArray(new File[inFiles.size()]);
+        CleanUpResult[] results = new CleanUpResult[files.length];
+
+        if (files.length > 0)
+            inPool.invoke(new CleanUpTask(files, results, inListener, 0, files.length));
+
+        return(Arrays.asList(results));
+    }
+
+    public CleanUpResult clean(File inFile)
+    {
+        SourceBuffers buffers = mBuffers.get();
+        int[] changes = new int[mActions.size()];
+        long[] nanos = new long[mActions.size()];
+        long lastModified = inFile.lastModified();
+        long length = inFile.length();
+
+        try
+        {
+            buffers.read(inFile);
+        }
+        catch (IOException ioe)
+        {
+            return(new CleanUpResult(inFile, changes, nanos, "Unable to read file: " + ioe.getMessage()));
+        }
+
+        SourceFile source = new SourceFile(inFile.getPath(), buffers, mTabWidth, mTier);
+
+        if (mIndex != null && mTier == Tier.SYMBOLS)
+            source.setReferences(mIndex.references(inFile, lastModified, length, source));
+        TextEdits edits = mEdits.get();
+        StringBuilder[] outputs = mOutputs.get();
+        StringBuilder result = null;
+
+        edits.clear();
+
+        for (int action = 0; action < mCleanUps.size(); action++)
+        {
+            long start = System.nanoTime();
+            changes[action] = mCleanUps.get(action).clean(source, edits);
+            nanos[action] = System.nanoTime() - start;
+        }
+
+        if (!edits.isEmpty())
+        {
+            result = outputs[0];
+            result.setLength(0);
+            edits.apply(source.getText(), source.getLength(), result);
+        }
+
+        if (mFormatter != null)
+        {
+            int action = mCleanUps.size();
+            long start = System.nanoTime();
+            StringBuilder formatted = outputs[1];
+            List<Region> regions;
+
+            if (result != null)
+            {
+                char[] text = new char[result.length()];
+                result.getChars(0, text.length, text, 0);
+                source = new SourceFile(inFile.getPath(), text, text.length, mTabWidth, Tier.TOKENS);
+            }
+
+            formatted.setLength(0);
+
+            try
+            {
+                regions = mFormatter.format(source, formatted);
+            }
+            catch (IllegalStateException ise)
+            {
+                return(new CleanUpResult(inFile, changes, nanos, ise.getMessage()));
+            }
+
+            changes[action] = regions.size();
+            nanos[action] = System.nanoTime() - start;
+
+            if (!regions.isEmpty())
+                result = formatted;
+        }
+
+        if (result != null && mIsWriting)
+        {
+            try
+            {
+                SourceBuffers.replace(inFile, mCharset.newEncoder().encode(CharBuffer.wrap(result)));
+            }
+            catch (CharacterCodingException cce)
+            {
+                return(new CleanUpResult(inFile, changes, nanos, "Unable to encode file in " + mCharset + ": " + cce));
+            }
+            catch (IOException ioe)
+            {
+                return(new CleanUpResult(inFile, changes, nanos, "Unable to write file: " + ioe.getMessage()));
+            }
+        }
+
+        return(new CleanUpResult(inFile, changes, nanos));
+    }
+
+    /*
+     * Splits a range of files in half until a single file remains, so that the pool can balance files of very different sizes
+     * by stealing.
+     */
+    private final class CleanUpTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final File[] mFiles;
+        private final CleanUpResult[] mResults;
+        private final Listener mListener;
+        private final int mFrom;
+        private final int mTo;
+
+        CleanUpTask(File[] inFiles, CleanUpResult[] inResults, Listener inListener, int inFrom, int inTo)
+        {
+            mFiles = inFiles;
+            mResults = inResults;
+            mListener = inListener;
+            mFrom = inFrom;
+            mTo = inTo;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (mTo - mFrom == 1)
+            {
+                mResults[mFrom] = clean(mFiles[mFrom]);
+
+                if (mListener != null)
+                    mListener.cleaned(mResults[mFrom]);
+
+                return;
+            }
+
+            int middle = (mFrom + mTo) >>> 1;
+
+            invokeAll(new CleanUpTask(mFiles, mResults, mListener, mFrom, middle),
+                      new CleanUpTask(mFiles, mResults, mListener, middle, mTo));
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.DeclarationKind;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Qualifies the static fields and methods that are accessed through an instance with the class that declares them instead,
+ * so that {@code this.sCount} and {@code other.sCount} both become {@code Counter.sCount}.
+ * </p>
+ * <p>
+ * Without resolving names across files, the instance is only understood if it is {@code this}, or a field, parameter or local
+ * variable whose type is named by a single identifier and is declared in the same file, and the member is only known to be
+ * static if that type itself declares it. A variable whose scope cannot be told from the declarations, such as one that a
+ * lambda parameter or a field of an anonymous class may hide, is left alone.
+ * </p>
+ */
+public class StaticAccessCleanUp extends AbstractCleanUp
+{
+    public StaticAccessCleanUp()
+    {
+        super("qualify_static_member_accesses_through_instances_with_declaring_class");
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.AST);
+    }
+
+    @Override
+    public int clean(SourceFile inSource, TextEdits inMdEdits)
+    {
+        List<Declaration> declarations = inSource.getStructure().getDeclarations();
+        List<Declaration> statics = new ArrayList<Declaration>();
+
+        for (Declaration declaration : declarations)
+        {
+            if (declaration.isStatic() && isMember(declaration) && isNamedType(declaration.getOwner()))
+                statics.add(declaration);
+        }
+
+        if (statics.isEmpty())
+            return(0);
+
+        TokenStream tokens = inSource.getTokens();
+        int changes = 0;
+
+        for (int idx = 1; idx + 2 < tokens.size(); idx++)
+        {
+            if (tokens.type(idx) != TokenType.DOT || tokens.type(idx + 1) != TokenType.IDENT ||
+                tokens.type(idx - 2) == TokenType.DOT || tokens.type(idx - 2) == TokenType.DOUBLE_COLON)
+            {
+                continue;
+            }
+
+            Declaration type;
+
+            if (tokens.type(idx - 1) == TokenType.LITERAL_THIS)
+                type = enclosingType(declarations, idx);
+            else if (tokens.type(idx - 1) == TokenType.IDENT && isNamed(inSource, tokens, statics, idx + 1))
+                type = variableType(inSource, tokens, declarations, idx - 1);
+            else
+                continue;
+
+            if (type != null && isStaticMember(inSource, tokens, declarations, type, idx + 1) &&
+                inMdEdits.replace(tokens.start(idx - 1), tokens.end(idx - 1), qualifiedName(type)))
+            {
+                changes++;
+            }
+        }
+
+        return(changes);
+    }
+
+    private static boolean isMember(Declaration inDeclaration)
+    {
+        switch (inDeclaration.getKind())
+        {
+            case FIELD:
+            case METHOD:
+            case ENUM_CONSTANT:
+                return(true);
+
+            default:
+                return(false);
+        }
+    }
+
+    private static boolean isNamedType(Declaration inDeclaration)
+    {
+        return(inDeclaration != null && inDeclaration.getKind().isType() &&
+               inDeclaration.getKind() != DeclarationKind.ANONYMOUS_CLASS);
+    }
+
+    private static boolean isNamed(SourceFile inSource, TokenStream inTokens, List<Declaration> inDeclarations, int inToken)
+    {
+        for (Declaration declaration : inDeclarations)
+        {
+            if (matches(inSource, inTokens, inToken, declaration.getName()))
+                return(true);
+        }
+
+        return(false);
+    }
+
+    /*
+     * Returns true if inType declares a static member named by inToken, of the kind its use calls for, and no instance member
+     * of the same name and kind.
+     */
+    private static boolean isStaticMember(SourceFile inSource, TokenStream inTokens, List<Declaration> inDeclarations,
+                                          Declaration inType, int inToken)
+    {
+        boolean isCall = (inTokens.type(inToken + 1) == TokenType.LPAREN);
+        boolean isStatic = false;
+
+        for (Declaration member : inDeclarations)
+        {
+            if (member.getOwner() != inType || !isMember(member) || (member.getKind() == DeclarationKind.METHOD) != isCall ||
+                !matches(inSource, inTokens, inToken, member.getName()))
+            {
+                continue;
+            }
+
+            if (!member.isStatic())
+                return(false);
+
+            isStatic = true;
+        }
+
+        return(isStatic);
+    }
+
+    /*
+     * Returns the named type whose instance this refers to at inToken, or null if it is an anonymous class or cannot be found
+     * with certainty.
+     */
+    private static Declaration enclosingType(List<Declaration> inDeclarations, int inToken)
+    {
+        Declaration member = null;
+
+        for (Declaration declaration : inDeclarations)
+        {
+            DeclarationKind kind = declaration.getKind();
+
+            if ((kind.isMethod() || kind == DeclarationKind.FIELD) && contains(declaration, inToken) &&
+                (member == null || declaration.getFirstToken() > member.getFirstToken()))
+            {
+                member = declaration;
+            }
+        }
+
+        if (member == null || !isNamedType(member.getOwner()))
+            return(null);
+
+        for (Declaration declaration : inDeclarations)
+        {
+            // A local class whose initializer refers to this, where no member of its own encloses the reference
+            if (isNamedType(declaration) && contains(declaration, inToken) &&
+                declaration.getFirstToken() > member.getFirstToken())
+            {
+                return(null);
+            }
+        }
+
+        return(member.getOwner());
+    }
+
+    /*
+     * Returns the type declared in this file of the variable named by inToken, or null if the variable or its type cannot be
+     * found with certainty.
+     */
+    private static Declaration variableType(SourceFile inSource, TokenStream inTokens, List<Declaration> inDeclarations,
+                                            int inToken)
+    {
+        Declaration local = null;
+        Declaration field = null;
+
+        for (Declaration declaration : inDeclarations)
+        {
+            if (!matches(inSource, inTokens, inToken, declaration.getName()))
+                continue;
+
+            switch (declaration.getKind())
+            {
+                case PARAMETER:
+                    if (contains(declaration.getOwner(), inToken) && isLater(declaration, local))
+                        local = declaration;
+                    break;
+
+                case LOCAL_VARIABLE:
+                    if (declaration.getNameToken() < inToken && contains(declaration.getOwner(), inToken) &&
+                        scopeEnd(inTokens, declaration.getNameToken()) > inToken && isLater(declaration, local))
+                    {
+                        local = declaration;
+                    }
+                    break;
+
+                case FIELD:
+                    if (!isNamedType(declaration.getOwner()))
+                        return(null);
+
+                    if (contains(declaration.getOwner(), inToken) &&
+                        (field == null || declaration.getOwner().getFirstToken() > field.getOwner().getFirstToken()))
+                    {
+                        field = declaration;
+                    }
+                    break;
+
+                case CATCH_PARAMETER:
+                    return(null);
+
+                default:
+                    if (declaration.getKind().isType())
+                        return(null);
+                    break;
+            }
+        }
+
+        Declaration variable = (local != null) ? local : field;
+
+        if (variable == null || isLambdaParameter(inSource, inTokens, inDeclarations, inToken))
+            return(null);
+
+        int type = variable.getNameToken() - 1;
+
+        if (inTokens.type(type) != TokenType.IDENT || inTokens.type(type - 1) == TokenType.DOT)
+            return(null);
+
+        Declaration found = null;
+
+        for (Declaration declaration : inDeclarations)
+        {
+            if (isNamedType(declaration) && matches(inSource, inTokens, type, declaration.getName()))
+            {
+                if (found != null)
+                    return(null);
+
+                found = declaration;
+            }
+        }
+
+        return(found);
+    }
+
+    /*
+     * Returns true if a lambda within the method that contains inToken has a parameter with the name of inToken, which the
+     * declarations do not record.
+     */
+    private static boolean isLambdaParameter(SourceFile inSource, TokenStream inTokens, List<Declaration> inDeclarations,
+                                             int inToken)
+    {
+        String name = inSource.text(inTokens.start(inToken), inTokens.end(inToken));
+        int from = 0;
+
+        for (Declaration declaration : inDeclarations)
+        {
+            if (declaration.getKind().isMethod() && contains(declaration, inToken))
+                from = Math.max(from, declaration.getFirstToken());
+        }
+
+        for (int idx = from + 1; idx < inToken; idx++)
+        {
+            if (inTokens.type(idx) != TokenType.LAMBDA)
+                continue;
+
+            int last = idx - 1;
+            int first = (inTokens.type(last) == TokenType.RPAREN && inTokens.match(last) >= 0) ? inTokens.match(last) : last;
+
+            for (int parameter = first; parameter <= last; parameter++)
+            {
+                if (inTokens.type(parameter) == TokenType.IDENT && matches(inSource, inTokens, parameter, name))
+                    return(true);
+            }
+        }
+
+        return(false);
+    }
+
+    /*
+     * Returns the index of the token that ends the scope of the local variable named at inNameToken: the closing brace of the
+     * block that declares it, or the end of the statement whose header declares it.
+     */
+    private static int scopeEnd(TokenStream inTokens, int inNameToken)
+    {
+        int idx = inNameToken - 1;
+
+        while (idx >= 0)
+        {
+            TokenType type = inTokens.type(idx);
+            int match = inTokens.match(idx);
+
+            if ((type == TokenType.LCURLY || type == TokenType.LPAREN) && match > idx)
+                return(type == TokenType.LCURLY ? match : statementEnd(inTokens, match + 1));
+
+            boolean isClosed = (type == TokenType.RCURLY || type == TokenType.RPAREN || type == TokenType.RBRACK);
+
+            idx = (isClosed && match >= 0 && match < idx) ? match - 1 : idx - 1;
+        }
+
+        return(inTokens.size());
+    }
+
+    private static int statementEnd(TokenStream inTokens, int inStart)
+    {
+        int idx = inStart;
+
+        while (idx < inTokens.size())
+        {
+            TokenType type = inTokens.type(idx);
+            int match = inTokens.match(idx);
+
+            if (type == TokenType.SEMI || (type == TokenType.LCURLY && idx == inStart))
+                return(type == TokenType.SEMI ? idx : match);
+
+            if (type == TokenType.RCURLY)
+                return(idx);
+
+            idx = (match > idx) ? match + 1 : idx + 1;
+        }
+
+        return(idx);
+    }
+
+    private static boolean contains(Declaration inDeclaration, int inToken)
+    {
+        return(inDeclaration != null && inDeclaration.getFirstToken() <= inToken && inToken <= inDeclaration.getLastToken());
+    }
+
+    private static boolean isLater(Declaration inDeclaration, Declaration inOther)
+    {
+        return(inOther == null || inDeclaration.getNameToken() > inOther.getNameToken());
+    }
+
+    /*
+     * Returns the name by which inType can be referred to throughout the file: qualified by the types that enclose it, up to
+     * the top level or to the method that declares it.
+     */
+    private static String qualifiedName(Declaration inType)
+    {
+        StringBuilder name = new StringBuilder(inType.getName());
+
+        for (Declaration owner = inType.getOwner(); isNamedType(owner); owner = owner.getOwner())
+            name.insert(0, '.').insert(0, owner.getName());
+
+        return(name.toString());
+    }
+}
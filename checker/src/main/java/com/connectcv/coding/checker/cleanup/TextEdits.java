@@ -0,0 +1,155 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * The changes that the clean-ups of a {@link StandardsCleaner} make to a single file, each replacing a range of its text with
+ * other text. Every edit is recorded against the original text, so that all of the clean-ups work from the same tokens and
+ * structure, and the edits are then applied together in a single copy of the text.
+ * </p>
+ * <p>
+ * An edit that would overlap one already recorded is refused, so where two clean-ups would change the same text the one that
+ * runs first wins. An insertion overlaps a replacement if it falls at or after the start of the replaced range and before its
+ * end, so that nothing is ever inserted into text that another clean-up has removed. Insertions at the same offset are applied
+ * in the order they were recorded.
+ * </p>
+ * <p>
+ * An edit list is confined to the thread that owns it, which reuses it from one file to the next.
+ * </p>
+ */
+public final class TextEdits
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<String> mTexts = new ArrayList<String>();
+
+    private int[] mStarts = new int[INITIAL_CAPACITY];
+    private int[] mEnds = new int[INITIAL_CAPACITY];
+    private int[] mOrder = new int[INITIAL_CAPACITY];
+    private int mSize;
+
+    public int size()
+    {
+        return(mSize);
+    }
+
+    public boolean isEmpty()
+    {
+        return(mSize == 0);
+    }
+
+    public void clear()
+    {
+        mTexts.clear();
+        mSize = 0;
+    }
+
+    /**
+     * Records the replacement of the characters from {@code inStart} up to (but excluding) {@code inEnd} with {@code inText},
+     * unless it overlaps an edit already recorded.
+     *
+     * @return {@code true} if the edit was recorded.
+     */
+    public boolean replace(int inStart, int inEnd, String inText)
+    {
+        if (overlaps(inStart, inEnd))
+            return(false);
+
+        if (mSize == mStarts.length)
+        {
+            mStarts = Arrays.copyOf(mStarts, mSize * 2);
+            mEnds = Arrays.copyOf(mEnds, mSize * 2);
+            mOrder = Arrays.copyOf(mOrder, mSize * 2);
+        }
+
+        mStarts[mSize] = inStart;
+        mEnds[mSize] = inEnd;
+        mTexts.add(inText);
+        mSize++;
+
+        return(true);
+    }
+
+    public boolean delete(int inStart, int inEnd)
+    {
+        return(replace(inStart, inEnd, ""));
+    }
+
+    public boolean insert(int inOffset, String inText)
+    {
+        return(replace(inOffset, inOffset, inText));
+    }
+
+    /**
+     * Appends the first {@code inLength} characters of {@code inText}, with these edits applied, to {@code inMdOutput}.
+     */
+    public void apply(char[] inText, int inLength, StringBuilder inMdOutput)
+    {
+        sort();
+
+        int position = 0;
+
+        for (int idx = 0; idx < mSize; idx++)
+        {
+            int edit = mOrder[idx];
+
+            inMdOutput.append(inText, position, mStarts[edit] - position);
+            inMdOutput.append(mTexts.get(edit));
+            position = mEnds[edit];
+        }
+
+        inMdOutput.append(inText, position, inLength - position);
+    }
+
+    private boolean overlaps(int inStart, int inEnd)
+    {
+        for (int idx = 0; idx < mSize; idx++)
+        {
+            int start = mStarts[idx];
+            int end = mEnds[idx];
+
+            if (inStart < end && start < inEnd)
+                return(true);
+
+            if (inStart == inEnd && start <= inStart && inStart < end)
+                return(true);
+
+            if (start == end && inStart <= start && start < inEnd)
+                return(true);
+        }
+
+        return(false);
+    }
+
+    /*
+     * Orders the edits by where they start, keeping insertions ahead of a replacement at the same offset and otherwise the order
+     * in which they were recorded. There are seldom more than a handful of edits, so an insertion sort is quickest.
+     */
+    private void sort()
+    {
+        for (int idx = 0; idx < mSize; idx++)
+        {
+            int edit = idx;
+            int position = idx;
+
+            while (position > 0 && isBefore(edit, mOrder[position - 1]))
+            {
+                mOrder[position] = mOrder[position - 1];
+                position--;
+            }
+
+            mOrder[position] = edit;
+        }
+    }
+
+    private boolean isBefore(int inEdit, int inOther)
+    {
+        if (mStarts[inEdit] != mStarts[inOther])
+            return(mStarts[inEdit] < mStarts[inOther]);
+
+        return(mStarts[inEdit] == mEnds[inEdit] && mStarts[inOther] != mEnds[inOther]);
+    }
+}
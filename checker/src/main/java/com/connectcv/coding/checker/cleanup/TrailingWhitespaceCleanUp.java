@@ -0,0 +1,65 @@
+package com.connectcv.coding.checker.cleanup;
+
+import com.connectcv.coding.checker.source.LineScan;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Removes the spaces and tabs at the end of each line, or only of the lines that have something else on them if empty lines
+ * are to be ignored ({@code cleanup.remove_trailing_whitespaces_ignore_empty}).
+ * </p>
+ * <p>
+ * Where the file has a {@link LineScan}, only the lines that it found to end in whitespace are looked at, and a file with none
+ * is passed without indexing its lines at all.
+ * </p>
+ */
+public class TrailingWhitespaceCleanUp extends AbstractCleanUp
+{
+    private final boolean mIsIgnoringEmpty;
+
+    public TrailingWhitespaceCleanUp(boolean inIsIgnoringEmpty)
+    {
+        super("remove_trailing_whitespaces");
+
+        mIsIgnoringEmpty = inIsIgnoringEmpty;
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.LINES);
+    }
+
+    @Override
+    public int clean(SourceFile inSource, TextEdits inMdEdits)
+    {
+        char[] text = inSource.getText();
+        LineScan scan = inSource.getLineScan();
+        int changes = 0;
+
+        if (scan != null && scan.getTrailingWhitespaceCount() == 0)
+            return(0);
+
+        for (int line = 1; line <= inSource.getLineCount(); line++)
+        {
+            if (scan != null && !scan.hasTrailingWhitespace(line))
+                continue;
+
+            int start = inSource.lineStart(line);
+            int end = inSource.lineEnd(line);
+            int trimmed = end;
+
+            while (trimmed > start && (text[trimmed - 1] == ' ' || text[trimmed - 1] == '\t' || text[trimmed - 1] == '\f'))
+                trimmed--;
+
+            if (trimmed == end || (trimmed == start && mIsIgnoringEmpty))
+                continue;
+
+            if (inMdEdits.delete(trimmed, end))
+                changes++;
+        }
+
+        return(changes);
+    }
+}
@@ -0,0 +1,274 @@
+package com.connectcv.coding.checker.cleanup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.DeclarationKind;
+import com.connectcv.coding.checker.source.ReferenceTable;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Removes the private types, methods or fields of a file that are never used within it, along with the doc comment of each.
+ * A private member can only be used within the file that declares it, so a member whose name appears nowhere else in the file
+ * is unused. This is conservative: a member whose name is used for something else entirely, or that is only used by another
+ * unused member, is kept. Whether a name appears outside a declaration is a single lookup in the {@link ReferenceTable} of
+ * the file, so the cost of the clean-up does not grow with the number of private members.
+ * </p>
+ * <p>
+ * Some private members are used without being named, and are always kept: those with any annotation, which may be read by a
+ * framework, those within a declaration that suppresses {@code unused} warnings, the members that serialization looks for,
+ * and fields whose initializer may have side effects. Private constructors are never removed, since in this code base they
+ * exist to prevent instantiation.
+ * </p>
+ */
+public class UnusedPrivateMembersCleanUp extends AbstractCleanUp
+{
+    private static final Set<String> SERIALIZATION_MEMBERS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+        "serialVersionUID", "serialPersistentFields", "readObject", "readObjectNoData", "writeObject", "readResolve",
+        "writeReplace")));
+
+    private static final String UNUSED = "\"unused\"";
+
+    private final Set<DeclarationKind> mKinds;
+
+    /**
+     * Creates a clean-up that removes unused private members of the given kinds, enabled by the setting named {@code inName}.
+     */
+    public UnusedPrivateMembersCleanUp(String inName, DeclarationKind inKind, DeclarationKind... inKinds)
+    {
+        super(inName);
+
+        mKinds = EnumSet.of(inKind, inKinds);
+    }
+
+    @Override
+    public Tier getTier()
+    {
+        return(Tier.SYMBOLS);
+    }
+
+    @Override
+    public int clean(SourceFile inSource, TextEdits inMdEdits)
+    {
+        TokenStream tokens = inSource.getTokens();
+        ReferenceTable references = inSource.getReferences();
+        int changes = 0;
+
+        for (Declaration declaration : inSource.getStructure().getDeclarations())
+        {
+            if (!declaration.isPrivate() || !mKinds.contains(declaration.getKind()) ||
+                SERIALIZATION_MEMBERS.contains(declaration.getName()))
+            {
+                continue;
+            }
+
+            int start = memberStart(tokens, declaration);
+
+            if (isAnnotated(inSource, tokens, start, declaration.getNameToken(), null) || !isRemovable(tokens, declaration) ||
+                isSuppressed(inSource, tokens, declaration.getOwner()) ||
+                references.isReferencedOutside(declaration.getName(), start, declaration.getLastToken()))
+            {
+                continue;
+            }
+
+            if (remove(inSource, tokens, start, declaration.getLastToken(), inMdEdits))
+                changes++;
+        }
+
+        return(changes);
+    }
+
+    /*
+     * A field can only be removed if it is declared on its own, and if its initializer cannot have side effects.
+     */
+    private static boolean isRemovable(TokenStream inTokens, Declaration inDeclaration)
+    {
+        if (inDeclaration.getKind() != DeclarationKind.FIELD)
+            return(true);
+
+        if (inTokens.type(inDeclaration.getNameToken() - 1) == TokenType.COMMA ||
+            inTokens.type(inDeclaration.getLastToken()) != TokenType.SEMI)
+        {
+            return(false);
+        }
+
+        for (int idx = inDeclaration.getNameToken(); idx < inDeclaration.getLastToken(); idx++)
+        {
+            switch (inTokens.type(idx))
+            {
+                case LPAREN:
+                case LITERAL_NEW:
+                case INC:
+                case DEC:
+                case POST_INC:
+                case POST_DEC:
+                case LCURLY:
+                    return(false);
+
+                default:
+                    break;
+            }
+        }
+
+        return(true);
+    }
+
+    /*
+     * Returns true if inDeclaration, or any declaration that encloses it, is annotated with @SuppressWarnings("unused").
+     */
+    private static boolean isSuppressed(SourceFile inSource, TokenStream inTokens, Declaration inDeclaration)
+    {
+        for (Declaration declaration = inDeclaration; declaration != null; declaration = declaration.getOwner())
+        {
+            int start = memberStart(inTokens, declaration);
+
+            for (int idx = start; idx < declaration.getNameToken(); idx++)
+            {
+                if (inTokens.type(idx) == TokenType.STRING_LITERAL && matches(inSource, inTokens, idx, UNUSED) &&
+                    isAnnotated(inSource, inTokens, start, idx, "SuppressWarnings"))
+                {
+                    return(true);
+                }
+            }
+        }
+
+        return(false);
+    }
+
+    /*
+     * Removes the tokens from inFirst to inLast, and the doc comment before them. If they are alone on their lines, the lines
+     * are removed entirely, along with an empty line that would otherwise be left next to another, before a closing brace or
+     * after an opening one. Only ever the empty line before is taken, unless the removed lines follow an opening brace, so that
+     * consecutive members can all be removed without their edits overlapping.
+     */
+    private static boolean remove(SourceFile inSource, TokenStream inTokens, int inFirst, int inLast, TextEdits inMdEdits)
+    {
+        char[] text = inSource.getText();
+        int length = inSource.getLength();
+        int comment = commentBefore(inSource, inTokens, inFirst);
+        int from = (comment >= 0) ? comment : inTokens.start(inFirst);
+        int to = inTokens.end(inLast);
+        int lineStart = from;
+        int lineEnd = to;
+
+        while (lineStart > 0 && (text[lineStart - 1] == ' ' || text[lineStart - 1] == '\t'))
+            lineStart--;
+
+        while (lineEnd < length && (text[lineEnd] == ' ' || text[lineEnd] == '\t'))
+            lineEnd++;
+
+        if (lineEnd + 1 < length && text[lineEnd] == '/' && text[lineEnd + 1] == '/')
+        {
+            while (lineEnd < length && text[lineEnd] != '\n' && text[lineEnd] != '\r')
+                lineEnd++;
+        }
+
+        boolean isStartOfLine = (lineStart == 0 || text[lineStart - 1] == '\n' || text[lineStart - 1] == '\r');
+        boolean isEndOfLine = (lineEnd == length || text[lineEnd] == '\n' || text[lineEnd] == '\r');
+
+        if (!isStartOfLine || !isEndOfLine)
+            return(inMdEdits.delete(from, lineEnd));
+
+        lineEnd = nextLine(text, length, lineEnd);
+
+        boolean isBlankAfter = isEmptyLine(text, length, lineEnd);
+
+        if (isLineBefore(text, lineStart, '\n') && (isBlankAfter || isClosingBraceLine(text, length, lineEnd)))
+            lineStart = previousLine(text, lineStart);
+        else if (isLineBefore(text, lineStart, '{') && isBlankAfter)
+            lineEnd = nextLine(text, length, lineEnd);
+
+        return(inMdEdits.delete(lineStart, lineEnd));
+    }
+
+    private static boolean isEmptyLine(char[] inText, int inLength, int inLineStart)
+    {
+        int idx = skipSpaces(inText, inLength, inLineStart);
+
+        return(idx < inLength && (inText[idx] == '\n' || inText[idx] == '\r'));
+    }
+
+    private static boolean isClosingBraceLine(char[] inText, int inLength, int inLineStart)
+    {
+        int idx = skipSpaces(inText, inLength, inLineStart);
+
+        return(idx < inLength && inText[idx] == '}');
+    }
+
+    /*
+     * Returns true if the line before the one that starts at inLineStart has nothing but inLast at its end, or is empty if
+     * inLast is a line feed.
+     */
+    private static boolean isLineBefore(char[] inText, int inLineStart, char inLast)
+    {
+        int from = previousLine(inText, inLineStart);
+        int idx = inLineStart;
+
+        if (from == inLineStart)
+            return(false);
+
+        while (idx > from && (inText[idx - 1] == '\n' || inText[idx - 1] == '\r'))
+            idx--;
+
+        while (idx > from && (inText[idx - 1] == ' ' || inText[idx - 1] == '\t'))
+            idx--;
+
+        return(inLast == '\n' ? idx == from : idx > from && inText[idx - 1] == inLast);
+    }
+
+    /*
+     * Returns the start of the line before the one that starts at inLineStart, or inLineStart itself if it is the first line.
+     */
+    private static int previousLine(char[] inText, int inLineStart)
+    {
+        int idx = inLineStart;
+
+        if (idx > 0 && inText[idx - 1] == '\n')
+            idx--;
+
+        if (idx > 0 && inText[idx - 1] == '\r')
+            idx--;
+
+        if (idx == inLineStart)
+            return(inLineStart);
+
+        while (idx > 0 && inText[idx - 1] != '\n' && inText[idx - 1] != '\r')
+            idx--;
+
+        return(idx);
+    }
+
+    /*
+     * Returns the start of the line after the terminator at inLineEnd.
+     */
+    private static int nextLine(char[] inText, int inLength, int inLineEnd)
+    {
+        int idx = skipSpaces(inText, inLength, inLineEnd);
+
+        if (idx < inLength && inText[idx] == '\r')
+            idx++;
+
+        if (idx < inLength && inText[idx] == '\n')
+            idx++;
+
+        return(idx);
+    }
+
+    private static int skipSpaces(char[] inText, int inLength, int inFrom)
+    {
+        int idx = inFrom;
+
+        while (idx < inLength && (inText[idx] == ' ' || inText[idx] == '\t'))
+            idx++;
+
+        return(idx);
+    }
+}
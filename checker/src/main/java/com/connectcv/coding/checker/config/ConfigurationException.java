@@ -0,0 +1,22 @@
+package com.connectcv.coding.checker.config;
+
+/**
+ * <p>
+ * Thrown when a checker configuration cannot be read, or when it declares a module or property value that the checker cannot
+ * honour.
+ * </p>
+ */
+public class ConfigurationException extends Exception
+{
+    private static final long serialVersionUID = 1L;
+
+    public ConfigurationException(String inMessage)
+    {
+        super(inMessage);
+    }
+
+    public ConfigurationException(String inMessage, Throwable inCause)
+    {
+        super(inMessage, inCause);
+    }
+}
@@ -0,0 +1,206 @@
+package com.connectcv.coding.checker.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ * Reads a Checkstyle configuration file (such as {@code ccv_checkstyle_definition_v0.3.xml}) into a tree of
+ * {@link ModuleConfiguration} objects.
+ * </p>
+ * <p>
+ * The Checkstyle DTD is never fetched; the loader only relies on the {@code module} and {@code property} elements, and silently
+ * skips the {@code metadata} elements written by the eclipse-cs plugin.
+ * </p>
+ * <p>
+ * It also reads an Eclipse formatter profile (such as {@code ccv_coding_style_v0.3.xml}) with {@link #loadProfile(File)}, into a
+ * single module whose properties are the settings of the profile, so that a profile can be digested and cached in the same way
+ * as a Checkstyle configuration.
+ * </p>
+ */
+public final class ConfigurationLoader
+{
+    private static final String FORMATTER_PREFIX = "org.eclipse.jdt.core.formatter.";
+
+    private ConfigurationLoader()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    public static ModuleConfiguration load(File inFile) throws ConfigurationException
+    {
+        try
+        {
+            return(load(newDocumentBuilder().parse(inFile), inFile.getPath()));
+        }
+        catch (SAXException se)
+        {
+            throw new ConfigurationException("Unable to parse configuration " + inFile, se);
+        }
+        catch (IOException ioe)
+        {
+            throw new ConfigurationException("Unable to read configuration " + inFile, ioe);
+        }
+    }
+
+    public static ModuleConfiguration load(InputStream inStream, String inSystemId) throws ConfigurationException
+    {
+        try
+        {
+            return(load(newDocumentBuilder().parse(inStream, inSystemId), inSystemId));
+        }
+        catch (SAXException se)
+        {
+            throw new ConfigurationException("Unable to parse configuration " + inSystemId, se);
+        }
+        catch (IOException ioe)
+        {
+            throw new ConfigurationException("Unable to read configuration " + inSystemId, ioe);
+        }
+    }
+
+    /**
+     * Reads the first profile of an Eclipse formatter profile file into a module named after the kind of the profile, normally
+     * {@code CodeFormatterProfile}. Each {@code setting} becomes a property, named by its id without the
+     * {@code org.eclipse.jdt.core.formatter.} prefix.
+     */
+    public static ModuleConfiguration loadProfile(File inFile) throws ConfigurationException
+    {
+        try
+        {
+            return(loadProfile(newDocumentBuilder().parse(inFile), inFile.getPath()));
+        }
+        catch (SAXException se)
+        {
+            throw new ConfigurationException("Unable to parse profile " + inFile, se);
+        }
+        catch (IOException ioe)
+        {
+            throw new ConfigurationException("Unable to read profile " + inFile, ioe);
+        }
+    }
+
+    public static ModuleConfiguration loadProfile(InputStream inStream, String inSystemId) throws ConfigurationException
+    {
+        try
+        {
+            return(loadProfile(newDocumentBuilder().parse(inStream, inSystemId), inSystemId));
+        }
+        catch (SAXException se)
+        {
+            throw new ConfigurationException("Unable to parse profile " + inSystemId, se);
+        }
+        catch (IOException ioe)
+        {
+            throw new ConfigurationException("Unable to read profile " + inSystemId, ioe);
+        }
+    }
+
+    private static ModuleConfiguration loadProfile(Document inDocument, String inSystemId) throws ConfigurationException
+    {
+        Element root = inDocument.getDocumentElement();
+
+        if (!"profiles".equals(root.getTagName()))
+            throw new ConfigurationException("Root element of " + inSystemId + " is not profiles");
+
+        NodeList profiles = root.getElementsByTagName("profile");
+
+        if (profiles.getLength() == 0)
+            throw new ConfigurationException(inSystemId + " has no profile");
+
+        Element profile = (Element) profiles.item(0);
+        String kind = profile.getAttribute("kind");
+        ModuleConfiguration module = new ModuleConfiguration(kind.length() == 0 ? "CodeFormatterProfile" : kind, null);
+        NodeList settings = profile.getElementsByTagName("setting");
+
+        for (int idx = 0; idx < settings.getLength(); idx++)
+        {
+            Element setting = (Element) settings.item(idx);
+            String id = setting.getAttribute("id");
+
+            if (id.startsWith(FORMATTER_PREFIX))
+                id = id.substring(FORMATTER_PREFIX.length());
+
+            module.addProperty(id, setting.getAttribute("value"));
+        }
+
+        return(module);
+    }
+
+    private static ModuleConfiguration load(Document inDocument, String inSystemId) throws ConfigurationException
+    {
+        Element root = inDocument.getDocumentElement();
+
+        if (!"module".equals(root.getTagName()))
+            throw new ConfigurationException("Root element of " + inSystemId + " is not a module");
+
+        return(readModule(root, null));
+    }
+
+    private static ModuleConfiguration readModule(Element inElement, ModuleConfiguration inParent) throws ConfigurationException
+    {
+        String name = inElement.getAttribute("name");
+
+        if (name.length() == 0)
+            throw new ConfigurationException("Module declared without a name under " + inParent);
+
+        ModuleConfiguration module = new ModuleConfiguration(name, inParent);
+        NodeList children = inElement.getChildNodes();
+
+        for (int idx = 0; idx < children.getLength(); idx++)
+        {
+            Node node = children.item(idx);
+
+            if (node.getNodeType() != Node.ELEMENT_NODE)
+                continue;
+
+            Element child = (Element) node;
+
+            if ("property".equals(child.getTagName()))
+                module.addProperty(child.getAttribute("name"), child.getAttribute("value"));
+            else if ("module".equals(child.getTagName()))
+                module.addChild(readModule(child, module));
+        }
+
+        return(module);
+    }
+
+    static DocumentBuilder newDocumentBuilder() throws ConfigurationException
+    {
+        try
+        {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setValidating(false);
+            factory.setNamespaceAware(false);
+
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            builder.setEntityResolver(new EntityResolver()
+            {
+                @Override
+                public InputSource resolveEntity(String inPublicId, String inSystemId)
+                {
+                    // Never go to the network for the puppycrawl DTD
+                    return(new InputSource(new StringReader("")));
+                }
+            });
+
+            return(builder);
+        }
+        catch (ParserConfigurationException pce)
+        {
+            throw new ConfigurationException("Unable to create an XML parser", pce);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.connectcv.coding.checker.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A single {@code <module>} element of a Checkstyle configuration, together with its properties and child modules. Instances are
+ * immutable once loaded by {@link ConfigurationLoader}.
+ * </p>
+ */
+public final class ModuleConfiguration
+{
+    private final String mName;
+    private final ModuleConfiguration mParent;
+    private final Map<String, String> mProperties;
+    private final List<ModuleConfiguration> mChildren;
+
+    ModuleConfiguration(String inName, ModuleConfiguration inParent)
+    {
+        mName = inName;
+        mParent = inParent;
+        mProperties = new LinkedHashMap<String, String>();
+        mChildren = new ArrayList<ModuleConfiguration>();
+    }
+
+    public String getName()
+    {
+        return(mName);
+    }
+
+    public ModuleConfiguration getParent()
+    {
+        return(mParent);
+    }
+
+    public List<ModuleConfiguration> getChildren()
+    {
+        return(Collections.unmodifiableList(mChildren));
+    }
+
+    public Map<String, String> getProperties()
+    {
+        return(Collections.unmodifiableMap(mProperties));
+    }
+
+    public String getProperty(String inName, String inDefault)
+    {
+        String value = mProperties.get(inName);
+
+        return(value == null ? inDefault : value);
+    }
+
+    public int getIntProperty(String inName, int inDefault) throws ConfigurationException
+    {
+        String value = mProperties.get(inName);
+
+        if (value == null)
+            return(inDefault);
+
+        try
+        {
+            return(Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException nfe)
+        {
+            throw new ConfigurationException("Property '" + inName + "' of module '" + mName + "' is not an integer: " + value,
+                                             nfe);
+        }
+    }
+
+    public boolean getBooleanProperty(String inName, boolean inIsTrueByDefault)
+    {
+        String value = mProperties.get(inName);
+
+        return(value == null ? inIsTrueByDefault : Boolean.parseBoolean(value.trim()));
+    }
+
+    /**
+     * Returns the severity for this module. A module that does not declare a severity inherits the severity of its closest
+     * ancestor, and the root defaults to {@code error} as it does in Checkstyle.
+     */
+    public String getSeverity()
+    {
+        for (ModuleConfiguration module = this; module != null; module = module.mParent)
+        {
+            String severity = module.mProperties.get("severity");
+
+            if (severity != null)
+                return(severity);
+        }
+
+        return("error");
+    }
+
+    void addProperty(String inName, String inValue)
+    {
+        mProperties.put(inName, inValue);
+    }
+
+    void addChild(ModuleConfiguration inChild)
+    {
+        mChildren.add(inChild);
+    }
+
+    @Override
+    public String toString()
+    {
+        return(mName + mProperties);
+    }
+}
@@ -0,0 +1,214 @@
+package com.connectcv.coding.checker.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ * Finds the Java source level that each source file is compiled at, as Eclipse takes its compliance level from the project the
+ * file is in. The level is read from the closest directory above the file that has either Eclipse project settings
+ * ({@code .settings/org.eclipse.jdt.core.prefs}, whose {@code org.eclipse.jdt.core.compiler.compliance} is used) or a Maven
+ * {@code pom.xml} that sets the level, by the {@code maven.compiler.release} or {@code maven.compiler.source} property or the
+ * {@code release} or {@code source} of the {@code maven-compiler-plugin} in its build. A {@code pom.xml} that does not set the
+ * level, such as that of a module which inherits it, is passed over.
+ * </p>
+ * <p>
+ * Levels are numbered by release, so {@code 1.5} is {@code 5}, and {@code 17} is {@code 17}. The level found for each directory
+ * is kept, and the levels may be looked up from any number of threads.
+ * </p>
+ */
+public final class SourceLevels
+{
+    /** The level of a file for which none could be found. */
+    public static final int UNKNOWN = 0;
+
+    private static final String ECLIPSE_SETTINGS = ".settings/org.eclipse.jdt.core.prefs";
+
+    private static final String ECLIPSE_COMPLIANCE = "org.eclipse.jdt.core.compiler.compliance";
+
+    private static final String COMPILER_PLUGIN = "maven-compiler-plugin";
+
+    private final ConcurrentMap<File, Integer> mLevels = new ConcurrentHashMap<File, Integer>();
+
+    /**
+     * Returns the source level of {@code inFile}, or {@link #UNKNOWN} if no directory above it sets one.
+     */
+    public int getLevel(File inFile)
+    {
+        List<File> visited = new ArrayList<File>();
+        Integer level = null;
+
+        for (File directory = inFile.getAbsoluteFile().getParentFile(); directory != null && level == null;
+             directory = directory.getParentFile())
+        {
+            level = mLevels.get(directory);
+
+            if (level == null)
+            {
+                visited.add(directory);
+
+                int found = readLevel(directory);
+
+                if (found != UNKNOWN)
+                    level = Integer.valueOf(found);
+            }
+        }
+
+        if (level == null)
+            level = Integer.valueOf(UNKNOWN);
+
+        for (File directory : visited)
+            mLevels.putIfAbsent(directory, level);
+
+        return(level.intValue());
+    }
+
+    /**
+     * Returns the level that {@code inLevel}, such as {@code 1.5}, {@code 8} or {@code 17}, names, or {@link #UNKNOWN} if it
+     * names none.
+     */
+    public static int parseLevel(String inLevel)
+    {
+        if (inLevel == null)
+            return(UNKNOWN);
+
+        String level = inLevel.trim();
+
+        if (level.startsWith("1."))
+            level = level.substring(2);
+
+        try
+        {
+            return(Math.max(UNKNOWN, Integer.parseInt(level)));
+        }
+        catch (NumberFormatException nfe)
+        {
+            // Such as an unresolved ${property}
+            return(UNKNOWN);
+        }
+    }
+
+    /*
+     * Returns the level set by the project files of inDirectory itself, or UNKNOWN if it has none that set a level. A file that
+     * cannot be read sets no level.
+     */
+    private static int readLevel(File inDirectory)
+    {
+        File settings = new File(inDirectory, ECLIPSE_SETTINGS);
+
+        if (settings.isFile())
+        {
+            int level = parseLevel(readProperties(settings).getProperty(ECLIPSE_COMPLIANCE));
+
+            if (level != UNKNOWN)
+                return(level);
+        }
+
+        File pom = new File(inDirectory, "pom.xml");
+
+        return(pom.isFile() ? readPomLevel(pom) : UNKNOWN);
+    }
+
+    private static Properties readProperties(File inFile)
+    {
+        Properties properties = new Properties();
+
+        try
+        {
+            InputStream in = new FileInputStream(inFile);
+
+            try
+            {
+                properties.load(in);
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch (IOException ioe)
+        {
+            // Unreadable settings set no level
+        }
+
+        return(properties);
+    }
+
+    private static int readPomLevel(File inPom)
+    {
+        Element project;
+
+        try
+        {
+            project = ConfigurationLoader.newDocumentBuilder().parse(inPom).getDocumentElement();
+        }
+        catch (ConfigurationException ce)
+        {
+            return(UNKNOWN);
+        }
+        catch (SAXException se)
+        {
+            return(UNKNOWN);
+        }
+        catch (IOException ioe)
+        {
+            return(UNKNOWN);
+        }
+
+        Element properties = child(project, "properties");
+        int level = parseLevel(text(properties, "maven.compiler.release"));
+
+        if (level == UNKNOWN)
+            level = parseLevel(text(properties, "maven.compiler.source"));
+
+        Element plugins = child(child(project, "build"), "plugins");
+
+        for (Node node = (plugins == null) ? null : plugins.getFirstChild(); node != null && level == UNKNOWN;
+             node = node.getNextSibling())
+        {
+            if (node instanceof Element && COMPILER_PLUGIN.equals(text((Element) node, "artifactId")))
+            {
+                Element configuration = child((Element) node, "configuration");
+
+                level = parseLevel(text(configuration, "release"));
+
+                if (level == UNKNOWN)
+                    level = parseLevel(text(configuration, "source"));
+            }
+        }
+
+        return(level);
+    }
+
+    /*
+     * Returns the first child element of inParent named inName, or null if inParent is null or has no such child.
+     */
+    private static Element child(Element inParent, String inName)
+    {
+        for (Node node = (inParent == null) ? null : inParent.getFirstChild(); node != null; node = node.getNextSibling())
+        {
+            if (node instanceof Element && inName.equals(node.getNodeName()))
+                return((Element) node);
+        }
+
+        return(null);
+    }
+
+    private static String text(Element inParent, String inName)
+    {
+        Element child = child(inParent, inName);
+
+        return(child == null ? null : child.getTextContent());
+    }
+}
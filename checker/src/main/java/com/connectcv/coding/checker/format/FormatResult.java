@@ -0,0 +1,67 @@
+package com.connectcv.coding.checker.format;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * The outcome of formatting a single file: the regions that formatting changed, in line order, or the reason the file could not
+ * be formatted. A file that was already formatted has no regions, and is {@link #isCached() cached} if a
+ * {@link com.connectcv.coding.checker.cache.ResultCache} already knew it to be so.
+ * </p>
+ */
+public final class FormatResult
+{
+    private final File mFile;
+    private final List<Region> mRegions;
+    private final boolean mIsCached;
+    private final String mError;
+
+    public FormatResult(File inFile, List<Region> inRegions, boolean inIsCached)
+    {
+        mFile = inFile;
+        mRegions = Collections.unmodifiableList(inRegions);
+        mIsCached = inIsCached;
+        mError = null;
+    }
+
+    public FormatResult(File inFile, String inError)
+    {
+        mFile = inFile;
+        mRegions = Collections.emptyList();
+        mIsCached = false;
+        mError = inError;
+    }
+
+    public File getFile()
+    {
+        return(mFile);
+    }
+
+    public List<Region> getRegions()
+    {
+        return(mRegions);
+    }
+
+    public boolean isChanged()
+    {
+        return(!mRegions.isEmpty());
+    }
+
+    /**
+     * Returns {@code true} if the file was skipped because its content was already known to be formatted.
+     */
+    public boolean isCached()
+    {
+        return(mIsCached);
+    }
+
+    /**
+     * Returns the reason this file could not be formatted, or {@code null} if it was formatted.
+     */
+    public String getError()
+    {
+        return(mError);
+    }
+}
@@ -0,0 +1,342 @@
+package com.connectcv.coding.checker.format;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+
+/**
+ * <p>
+ * The settings of an Eclipse formatter profile that {@link SourceFormatter} applies, read from the module that
+ * {@link com.connectcv.coding.checker.config.ConfigurationLoader#loadProfile(java.io.File)} makes of the profile. A setting
+ * that the profile leaves out takes the value that Eclipse gives it by default.
+ * </p>
+ * <p>
+ * The settings of the profile that the formatter never reads, such as the {@code insert_space_...} settings for spacing within
+ * a line, are reported by {@link #getUnsupportedSettings()}.
+ * </p>
+ */
+public final class FormatterSettings
+{
+    private static final int DEFAULT_TAB_SIZE = 4;
+
+    private static final int DEFAULT_LINE_SPLIT = 120;
+
+    private static final int DEFAULT_CONTINUATION = 2;
+
+    private static final int DEFAULT_EMPTY_LINES = 1;
+
+    /*
+     * The prefix of the compiler settings that Eclipse exports with a formatter profile, which are not formatter settings.
+     */
+    private static final String COMPILER_PREFIX = "org.eclipse.jdt.core.compiler.";
+
+    /**
+     * Where the opening brace of a kind of body is placed, as the {@code brace_position_for_...} settings name it.
+     */
+    public enum BracePosition
+    {
+        END_OF_LINE,
+        NEXT_LINE,
+        NEXT_LINE_SHIFTED,
+        NEXT_LINE_ON_WRAP;
+
+        static BracePosition forName(String inName) throws ConfigurationException
+        {
+            try
+            {
+                return(valueOf(inName.trim().toUpperCase()));
+            }
+            catch (IllegalArgumentException iae)
+            {
+                throw new ConfigurationException("Unknown brace position '" + inName + "'", iae);
+            }
+        }
+    }
+
+    /**
+     * The kinds of body whose opening brace has a position of its own.
+     */
+    public enum BraceKind
+    {
+        TYPE ("type_declaration"),
+        ANONYMOUS_TYPE ("anonymous_type_declaration"),
+        ANNOTATION_TYPE ("annotation_type_declaration"),
+        ENUM ("enum_declaration"),
+        ENUM_CONSTANT ("enum_constant"),
+        METHOD ("method_declaration"),
+        CONSTRUCTOR ("constructor_declaration"),
+        BLOCK ("block"),
+        BLOCK_IN_CASE ("block_in_case"),
+        SWITCH ("switch"),
+        LAMBDA ("lambda_body");
+
+        private final String mSetting;
+
+        BraceKind(String inSetting)
+        {
+            mSetting = inSetting;
+        }
+
+        /**
+         * Returns {@code true} for the kinds whose body holds declarations rather than statements.
+         */
+        public boolean isType()
+        {
+            return(this == TYPE || this == ANONYMOUS_TYPE || this == ANNOTATION_TYPE || this == ENUM || this == ENUM_CONSTANT);
+        }
+    }
+
+    private final ModuleConfiguration mProfile;
+    private final boolean mIsUsingTabs;
+    private final int mTabSize;
+    private final int mLineSplit;
+    private final int mContinuationIndent;
+    private final boolean mIsWrappingBeforeOperator;
+    private final int mEmptyLinesToPreserve;
+    private final Map<BraceKind, BracePosition> mBracePositions;
+    private final Map<BraceKind, Boolean> mIndentBodies;
+    private final boolean mIsNewLineBeforeElse;
+    private final boolean mIsNewLineBeforeCatch;
+    private final boolean mIsNewLineBeforeFinally;
+    private final boolean mIsNewLineBeforeWhile;
+    private final boolean mIsIndentingStatementsInCases;
+    private final boolean mIsIndentingBreaksInCases;
+    private final String mDisablingTag;
+    private final String mEnablingTag;
+    private final Set<String> mAppliedSettings;
+    private final List<String> mUnsupportedSettings;
+
+    public FormatterSettings(ModuleConfiguration inProfile) throws ConfigurationException
+    {
+        mProfile = inProfile;
+        mAppliedSettings = new HashSet<String>();
+        mIsUsingTabs = "tab".equals(property("tabulation.char", "tab"));
+        mTabSize = intProperty("tabulation.size", DEFAULT_TAB_SIZE);
+        mLineSplit = intProperty("lineSplit", DEFAULT_LINE_SPLIT);
+        mContinuationIndent = intProperty("continuation_indentation", DEFAULT_CONTINUATION) * mTabSize;
+        mIsWrappingBeforeOperator = booleanProperty("wrap_before_binary_operator", true);
+        mEmptyLinesToPreserve = intProperty("number_of_empty_lines_to_preserve", DEFAULT_EMPTY_LINES);
+
+        if (mTabSize <= 0 || mLineSplit <= 0)
+            throw new ConfigurationException("The tabulation size and line split of " + inProfile.getName() + " must be positive");
+
+        mBracePositions = new EnumMap<BraceKind, BracePosition>(BraceKind.class);
+
+        for (BraceKind kind : BraceKind.values())
+        {
+            String position = property("brace_position_for_" + kind.mSetting, "end_of_line");
+            mBracePositions.put(kind, BracePosition.forName(position));
+        }
+
+        mIndentBodies = new EnumMap<BraceKind, Boolean>(BraceKind.class);
+        indentBody(BraceKind.TYPE, "indent_body_declarations_compare_to_type_header");
+        indentBody(BraceKind.ANONYMOUS_TYPE, "indent_body_declarations_compare_to_type_header");
+        indentBody(BraceKind.ANNOTATION_TYPE, "indent_body_declarations_compare_to_annotation_declaration_header");
+        indentBody(BraceKind.ENUM, "indent_body_declarations_compare_to_enum_declaration_header");
+        indentBody(BraceKind.ENUM_CONSTANT, "indent_body_declarations_compare_to_enum_constant_header");
+        indentBody(BraceKind.METHOD, "indent_statements_compare_to_body");
+        indentBody(BraceKind.CONSTRUCTOR, "indent_statements_compare_to_body");
+        indentBody(BraceKind.LAMBDA, "indent_statements_compare_to_body");
+        indentBody(BraceKind.BLOCK, "indent_statements_compare_to_block");
+        indentBody(BraceKind.BLOCK_IN_CASE, "indent_statements_compare_to_block");
+        indentBody(BraceKind.SWITCH, "indent_switchstatements_compare_to_switch");
+
+        mIsNewLineBeforeElse = isInsert("insert_new_line_before_else_in_if_statement");
+        mIsNewLineBeforeCatch = isInsert("insert_new_line_before_catch_in_try_statement");
+        mIsNewLineBeforeFinally = isInsert("insert_new_line_before_finally_in_try_statement");
+        mIsNewLineBeforeWhile = isInsert("insert_new_line_before_while_in_do_statement");
+        mIsIndentingStatementsInCases = booleanProperty("indent_switchstatements_compare_to_cases", true);
+        mIsIndentingBreaksInCases = booleanProperty("indent_breaks_compare_to_cases", true);
+
+        // The tags are read whether or not they are used, since setting use_on_off_tags applies them
+        String disablingTag = property("disabling_tag", "@formatter:off");
+        String enablingTag = property("enabling_tag", "@formatter:on");
+
+        if (booleanProperty("use_on_off_tags", false))
+        {
+            mDisablingTag = disablingTag;
+            mEnablingTag = enablingTag;
+        }
+        else
+        {
+            mDisablingTag = null;
+            mEnablingTag = null;
+        }
+
+        mUnsupportedSettings = new ArrayList<String>();
+
+        for (String name : inProfile.getProperties().keySet())
+        {
+            if (!mAppliedSettings.contains(name) && !name.startsWith(COMPILER_PREFIX))
+                mUnsupportedSettings.add(name);
+        }
+
+        Collections.sort(mUnsupportedSettings);
+    }
+
+    /**
+     * Returns the profile these settings were read from, which also identifies them in a
+     * {@link com.connectcv.coding.checker.cache.ResultCache}.
+     */
+    public ModuleConfiguration getProfile()
+    {
+        return(mProfile);
+    }
+
+    /**
+     * Returns the number of columns in one level of indentation, and in one tab.
+     */
+    public int getTabSize()
+    {
+        return(mTabSize);
+    }
+
+    public boolean isUseTabs()
+    {
+        return(mIsUsingTabs);
+    }
+
+    /**
+     * Returns the column that code should not pass.
+     */
+    public int getLineSplit()
+    {
+        return(mLineSplit);
+    }
+
+    /**
+     * Returns the number of columns by which a wrapped line is indented beyond the line it continues, when it is not aligned with
+     * an opening parenthesis.
+     */
+    public int getContinuationIndent()
+    {
+        return(mContinuationIndent);
+    }
+
+    /**
+     * Returns {@code true} if a wrapped binary operator starts the second line, or {@code false} if it ends the first.
+     */
+    public boolean isWrapBeforeOperator()
+    {
+        return(mIsWrappingBeforeOperator);
+    }
+
+    /**
+     * Returns the largest number of consecutive empty lines that are kept.
+     */
+    public int getEmptyLinesToPreserve()
+    {
+        return(mEmptyLinesToPreserve);
+    }
+
+    public BracePosition getBracePosition(BraceKind inKind)
+    {
+        return(mBracePositions.get(inKind));
+    }
+
+    /**
+     * Returns {@code true} if the body of {@code inKind} is indented one level beyond its brace. The body of a {@code switch} is
+     * its {@code case} labels.
+     */
+    public boolean isIndentBody(BraceKind inKind)
+    {
+        return(mIndentBodies.get(inKind).booleanValue());
+    }
+
+    /**
+     * Returns {@code true} if the {@code else}, {@code catch}, {@code finally} or {@code while} that {@code inKeyword} spells
+     * starts a new line after a closing brace, or {@code false} for any other keyword.
+     */
+    public boolean isNewLineBefore(String inKeyword)
+    {
+        if ("else".equals(inKeyword))
+            return(mIsNewLineBeforeElse);
+
+        if ("catch".equals(inKeyword))
+            return(mIsNewLineBeforeCatch);
+
+        if ("finally".equals(inKeyword))
+            return(mIsNewLineBeforeFinally);
+
+        return("while".equals(inKeyword) && mIsNewLineBeforeWhile);
+    }
+
+    /**
+     * Returns {@code true} if the statements under a {@code case} label are indented one level beyond the label.
+     */
+    public boolean isIndentStatementsInCases()
+    {
+        return(mIsIndentingStatementsInCases);
+    }
+
+    /**
+     * Returns {@code true} if a {@code break} under a {@code case} label is indented as the statements before it are.
+     */
+    public boolean isIndentBreaksInCases()
+    {
+        return(mIsIndentingBreaksInCases);
+    }
+
+    /**
+     * Returns the text of a comment that turns formatting off until the {@link #getEnablingTag() enabling tag}, or {@code null}
+     * if the profile does not use the tags.
+     */
+    public String getDisablingTag()
+    {
+        return(mDisablingTag);
+    }
+
+    public String getEnablingTag()
+    {
+        return(mEnablingTag);
+    }
+
+    /**
+     * Returns the names of the settings of the profile that the formatter does not read, and so does not apply.
+     */
+    public List<String> getUnsupportedSettings()
+    {
+        return(Collections.unmodifiableList(mUnsupportedSettings));
+    }
+
+    private void indentBody(BraceKind inKind, String inSetting)
+    {
+        mIndentBodies.put(inKind, Boolean.valueOf(booleanProperty(inSetting, true)));
+    }
+
+    private boolean isInsert(String inSetting)
+    {
+        return("insert".equals(property(inSetting, "do not insert")));
+    }
+
+    /*
+     * Reads a setting of the profile, recording that it is applied.
+     */
+    private String property(String inSetting, String inDefault)
+    {
+        mAppliedSettings.add(inSetting);
+
+        return(mProfile.getProperty(inSetting, inDefault).trim());
+    }
+
+    private int intProperty(String inSetting, int inDefault) throws ConfigurationException
+    {
+        mAppliedSettings.add(inSetting);
+
+        return(mProfile.getIntProperty(inSetting, inDefault));
+    }
+
+    private boolean booleanProperty(String inSetting, boolean inIsTrueByDefault)
+    {
+        mAppliedSettings.add(inSetting);
+
+        return(mProfile.getBooleanProperty(inSetting, inIsTrueByDefault));
+    }
+}
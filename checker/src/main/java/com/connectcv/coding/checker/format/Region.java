@@ -0,0 +1,68 @@
+package com.connectcv.coding.checker.format;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A run of consecutive lines that formatting changes: the lines as they were, from line {@link #getLine()} of the original, and
+ * the lines that replace them, from line {@link #getNewLine()} of the formatted text. Either run may be empty, as when a brace
+ * is moved onto a line of its own or an empty line is removed. Line numbers are one based, and lines are held without their
+ * terminators.
+ * </p>
+ */
+public final class Region
+{
+    private final int mLine;
+    private final List<String> mOldLines;
+    private final int mNewLine;
+    private final List<String> mNewLines;
+
+    public Region(int inLine, List<String> inOldLines, int inNewLine, List<String> inNewLines)
+    {
+        mLine = inLine;
+        mOldLines = Collections.unmodifiableList(inOldLines);
+        mNewLine = inNewLine;
+        mNewLines = Collections.unmodifiableList(inNewLines);
+    }
+
+    public int getLine()
+    {
+        return(mLine);
+    }
+
+    public List<String> getOldLines()
+    {
+        return(mOldLines);
+    }
+
+    public int getNewLine()
+    {
+        return(mNewLine);
+    }
+
+    public List<String> getNewLines()
+    {
+        return(mNewLines);
+    }
+
+    /**
+     * Returns this region as a hunk of a unified diff, each line ending with a newline.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder hunk = new StringBuilder();
+
+        hunk.append("@@ -").append(mLine).append(',').append(mOldLines.size());
+        hunk.append(" +").append(mNewLine).append(',').append(mNewLines.size()).append(" @@\n");
+
+        for (String line : mOldLines)
+            hunk.append('-').append(line).append('\n');
+
+        for (String line : mNewLines)
+            hunk.append('+').append(line).append('\n');
+
+        return(hunk.toString());
+    }
+}
@@ -0,0 +1,1343 @@
+package com.connectcv.coding.checker.format;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.connectcv.coding.checker.format.FormatterSettings.BraceKind;
+import com.connectcv.coding.checker.format.FormatterSettings.BracePosition;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.TokenStream;
+import com.connectcv.coding.checker.source.TokenType;
+
+/**
+ * <p>
+ * Lays out the source of a single file as an Eclipse formatter profile describes, working from the token stream of the file
+ * rather than from a syntax tree, in one pass over its lines. It applies the parts of the profile that the ConnectCV layout
+ * rests on:
+ * <ul>
+ * <li>each line is indented from the braces that enclose it, a level being {@code tabulation.size} columns, with statements
+ * under {@code case} labels indented as the {@code indent_switchstatements_...} settings say</li>
+ * <li>an opening brace whose {@code brace_position_for_...} is {@code next_line} is moved to a line of its own, and a closing
+ * brace is parted from an {@code else}, {@code catch}, {@code finally} or {@code while} that follows it</li>
+ * <li>a binary operator that starts a wrapped line is moved to the end of the line before, unless
+ * {@code wrap_before_binary_operator} is set</li>
+ * <li>a line of code longer than {@code lineSplit} is wrapped after a comma or a binary operator, as far out in the nesting
+ * of parentheses as possible, the rest being aligned with the parenthesis it is in, or indented by
+ * {@code continuation_indentation} levels</li>
+ * <li>trailing whitespace is removed, and no more than {@code number_of_empty_lines_to_preserve} empty lines are kept</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Anything the formatter cannot place with certainty is left as it was written. A line that continues a statement keeps its
+ * position relative to the first line of the statement, and moves with it, so the hand alignment of parameters and operands
+ * shown in {@code WhitespaceAndIndentation} survives. Wrapped lines are never joined, braces that the profile puts at the end of
+ * a line are not moved there, the text of comments is not reflowed, and a line comment in the first column is taken to be
+ * commented out code and left there. The spacing within a line is left as written too, whatever the {@code insert_space_...}
+ * settings say, and {@link FormatterSettings#getUnsupportedSettings()} reports them with the other settings that are not
+ * applied.
+ * </p>
+ * <p>
+ * The formatter only ever changes whitespace. It checks this of every file it formats, by comparing the characters other than
+ * whitespace of the result with those of the original, and fails rather than return a result that differs. It holds no state
+ * between files, so one formatter can be shared by every thread.
+ * </p>
+ */
+public final class SourceFormatter
+{
+    private final FormatterSettings mSettings;
+
+    public SourceFormatter(FormatterSettings inSettings)
+    {
+        mSettings = inSettings;
+    }
+
+    public FormatterSettings getSettings()
+    {
+        return(mSettings);
+    }
+
+    /**
+     * Formats {@code inSource}, which must allow {@link com.connectcv.coding.checker.source.Tier#TOKENS}, writing the whole of the
+     * formatted text to {@code inMdOutput}, and returns the regions that formatting changed, in line order. A file that is already
+     * formatted has no regions, and its text is written unchanged.
+     *
+     * @throws IllegalStateException if formatting would change more than whitespace, which is a fault in the formatter.
+     */
+    public List<Region> format(SourceFile inSource, StringBuilder inMdOutput)
+    {
+        return(new Pass(inSource, inMdOutput).run());
+    }
+
+    /*
+     * The state of formatting one file.
+     */
+    private final class Pass
+    {
+        private static final int MIN_LINE_CAPACITY = 16;
+
+        private final SourceFile mSource;
+        private final char[] mText;
+        private final TokenStream mTokens;
+        private final int mLineCount;
+        private final int mUnit;
+        private final StringBuilder mOut;
+        private final String mSeparator;
+
+        private final int[] mFirstToken;
+        private final int[] mLastToken;
+        private final int[] mCommentOrigin;
+        private final int[] mNewIndent;
+        private final int[] mDelta;
+        private final int[] mFirstOutput;
+
+        private final List<Frame> mFrames = new ArrayList<Frame>();
+        private int mParenDepth;
+        private int mStatementDelta;
+        private int mNextToken;
+        private int mEmptyLines;
+        private boolean mIsDisabled;
+
+        private int[] mOutputStarts;
+        private int[] mOutputEnds;
+        private int mOutputCount;
+
+        /*
+         * The line of code that was last laid out, which is held back until the next line has been seen, in case that line starts
+         * with an operator that belongs at the end of this one.
+         */
+        private boolean mIsPending;
+        private int mPendingLine;
+        private int mPendingIndent;
+        private int mPendingFirst;
+        private int mPendingLast;
+        private int mPendingFrom;
+        private int mPendingTo;
+        private int mPendingJoin;
+
+        private final StringBuilder mSegment = new StringBuilder();
+
+        Pass(SourceFile inSource, StringBuilder inMdOutput)
+        {
+            mSource = inSource;
+            mText = inSource.getText();
+            mTokens = inSource.getTokens();
+            mLineCount = inSource.getLineCount();
+            mUnit = mSettings.getTabSize();
+            mOut = inMdOutput;
+            mSeparator = separator();
+
+            mFirstToken = new int[mLineCount + 2];
+            mLastToken = new int[mLineCount + 2];
+            mCommentOrigin = new int[mLineCount + 2];
+            mNewIndent = new int[mLineCount + 2];
+            mDelta = new int[mLineCount + 2];
+            mFirstOutput = new int[mLineCount + 2];
+
+            mOutputStarts = new int[Math.max(MIN_LINE_CAPACITY, mLineCount + mLineCount / 4)];
+            mOutputEnds = new int[mOutputStarts.length];
+        }
+
+        List<Region> run()
+        {
+            int outputStart = mOut.length();
+
+            indexTokens();
+            indexComments();
+
+            for (int line = 1; line <= mLineCount; line++)
+                layOut(line);
+
+            flush();
+            mFirstOutput[mLineCount + 1] = mOutputCount;
+
+            if (mLineCount > 0 && isTerminated())
+                mOut.append(mSeparator);
+
+            verify(outputStart);
+
+            return(regions());
+        }
+
+        /*
+         * Lines.
+         */
+
+        private void layOut(int inLine)
+        {
+            int start = mSource.lineStart(inLine);
+            int end = mSource.lineEnd(inLine);
+            int from = skipWhitespace(start, end);
+            int to = trimWhitespace(from, end);
+            int oldIndent = column(start, from);
+
+            if (from == end)
+            {
+                layOutEmpty(inLine);
+                return;
+            }
+
+            mEmptyLines = 0;
+
+            if (mIsDisabled)
+            {
+                flush();
+                mFirstOutput[inLine] = mOutputCount;
+                emit(start, end);
+                keep(inLine, oldIndent, oldIndent);
+                advanceTo(mLastToken[inLine] + 1);
+                mIsDisabled = !contains(from, to, mSettings.getEnablingTag());
+
+                return;
+            }
+
+            int first = mFirstToken[inLine];
+
+            if (mCommentOrigin[inLine] > 0 || first < 0 || mTokens.start(first) != from)
+                layOutComment(inLine, from, to, oldIndent);
+            else
+                layOutCode(inLine, first, from, to, oldIndent);
+
+            if (contains(from, to, mSettings.getDisablingTag()))
+                mIsDisabled = true;
+        }
+
+        private void layOutEmpty(int inLine)
+        {
+            flush();
+            mFirstOutput[inLine] = mOutputCount;
+            keep(inLine, 0, 0);
+
+            // An empty line in a block comment is part of the comment
+            if (mCommentOrigin[inLine] > 0 || mIsDisabled || ++mEmptyLines <= mSettings.getEmptyLinesToPreserve())
+                emit(0, 0);
+        }
+
+        /*
+         * Lays out a line that starts with, or within, a comment. Any code after the comment is left as it is.
+         */
+        private void layOutComment(int inLine, int inFrom, int inTo, int inOldIndent)
+        {
+            int indent;
+
+            if (mCommentOrigin[inLine] > 0)
+            {
+                indent = inOldIndent + mDelta[mCommentOrigin[inLine]];
+            }
+            else if (inOldIndent == 0 && mText[inFrom] == '/' && mText[inFrom + 1] == '/')
+            {
+                indent = 0;
+            }
+            else if (isBoundary(mNextToken - 1))
+            {
+                indent = statementIndent(mNextToken);
+                mStatementDelta = indent - inOldIndent;
+            }
+            else
+            {
+                indent = inOldIndent + mStatementDelta;
+            }
+
+            indent = Math.max(0, indent);
+
+            flush();
+            mFirstOutput[inLine] = mOutputCount;
+            keep(inLine, inOldIndent, indent);
+            emit(indent, inFrom, inTo);
+            advanceTo(mLastToken[inLine] + 1);
+        }
+
+        private void layOutCode(int inLine, int inFirst, int inFrom, int inTo, int inOldIndent)
+        {
+            int indent;
+            boolean isStart = true;
+
+            if (isClosingBrace(inFirst) && !mFrames.isEmpty())
+                indent = top().mOuter;
+            else if (mTokens.is(inFirst, TokenType.LCURLY))
+                indent = braceColumn(inFirst);
+            else if (isCaseLabel(inFirst))
+                indent = top().mBody;
+            else if (isStatementStart(inFirst))
+                indent = statementIndent(inFirst);
+            else
+            {
+                indent = Math.max(0, inOldIndent + mStatementDelta);
+                isStart = false;
+            }
+
+            if (isStart)
+                mStatementDelta = indent - inOldIndent;
+
+            int first = inFirst;
+            int from = inFrom;
+            int last = mLastToken[inLine];
+
+            if (!isStart && canJoin(inLine, first))
+            {
+                mPendingJoin = first;
+                advanceTo(first + 1);
+                first++;
+                from = skipWhitespace(mTokens.end(mPendingJoin), inTo);
+            }
+
+            flush();
+            mFirstOutput[inLine] = mOutputCount;
+            keep(inLine, inOldIndent, indent);
+
+            if (first > last || mTokens.start(first) != from)
+            {
+                // Nothing, or a comment, follows the operator that was moved
+                if (from < inTo)
+                    emit(indent, from, inTo);
+
+                advanceTo(last + 1);
+                return;
+            }
+
+            if (isClosingBrace(first) && first < last && isNewLineBefore(first + 1))
+            {
+                advanceTo(first + 1);
+                emit(indent, mTokens.start(first), mTokens.end(first));
+                first++;
+                from = mTokens.start(first);
+            }
+
+            advanceTo(last);
+
+            if (first < last && mTokens.is(last, TokenType.LCURLY) && mTokens.end(last) == inTo && isOnNextLine(last, inLine))
+            {
+                hold(inLine, indent, first, last - 1, from, mTokens.end(last - 1));
+                flush();
+                emit(braceColumn(last), mTokens.start(last), mTokens.end(last));
+            }
+            else
+            {
+                hold(inLine, indent, first, last, from, inTo);
+            }
+
+            advanceTo(last + 1);
+        }
+
+        private void keep(int inLine, int inOldIndent, int inIndent)
+        {
+            mNewIndent[inLine] = inIndent;
+            mDelta[inLine] = inIndent - inOldIndent;
+        }
+
+        /*
+         * Statements and braces.
+         */
+
+        private boolean isStatementStart(int inToken)
+        {
+            int previous = inToken - 1;
+
+            if (previous < 0)
+                return(true);
+
+            // An else that follows a statement rather than a block pairs with an if that may itself be a continuation
+            if (mTokens.is(inToken, TokenType.LITERAL_ELSE) && !mTokens.is(previous, TokenType.RCURLY))
+                return(false);
+
+            return(isBoundary(previous));
+        }
+
+        private boolean isBoundary(int inPrevious)
+        {
+            if (inPrevious < 0)
+                return(true);
+
+            if (mParenDepth > 0)
+                return(false);
+
+            switch (mTokens.type(inPrevious))
+            {
+                case SEMI:
+                case LCURLY:
+                case CASE_COLON:
+                    return(true);
+
+                case RCURLY:
+                    return(isClosingBrace(inPrevious));
+
+                default:
+                    return(false);
+            }
+        }
+
+        private int statementIndent(int inToken)
+        {
+            if (mFrames.isEmpty())
+                return(0);
+
+            Frame frame = top();
+
+            if (frame.mKind != BraceKind.SWITCH || !frame.mIsInCase || !mSettings.isIndentStatementsInCases())
+                return(frame.mBody);
+
+            if (mTokens.is(inToken, TokenType.LITERAL_BREAK) && !mSettings.isIndentBreaksInCases())
+                return(frame.mBody);
+
+            return(frame.mBody + mUnit);
+        }
+
+        private boolean isCaseLabel(int inToken)
+        {
+            if (mFrames.isEmpty() || top().mKind != BraceKind.SWITCH || mParenDepth > 0)
+                return(false);
+
+            return(mTokens.is(inToken, TokenType.LITERAL_CASE) ||
+                   (mTokens.is(inToken, TokenType.LITERAL_DEFAULT) && mTokens.is(inToken + 1, TokenType.CASE_COLON)));
+        }
+
+        /*
+         * Returns true for a closing brace of a block or body, rather than of an array initialiser.
+         */
+        private boolean isClosingBrace(int inToken)
+        {
+            if (!mTokens.is(inToken, TokenType.RCURLY))
+                return(false);
+
+            int open = mTokens.match(inToken);
+
+            return(open < 0 || !mTokens.is(open, TokenType.ARRAY_INIT));
+        }
+
+        private boolean isNewLineBefore(int inToken)
+        {
+            TokenType type = mTokens.type(inToken);
+
+            return(type.isKeyword() && mSettings.isNewLineBefore(type.getText()));
+        }
+
+        /*
+         * Returns the column of the opening brace at inBrace when it starts a line, which is that of the line its statement starts
+         * on.
+         */
+        private int braceColumn(int inBrace)
+        {
+            int start = statementStart(inBrace);
+
+            return(start < inBrace ? mNewIndent[mTokens.line(start)] : statementIndent(inBrace));
+        }
+
+        private boolean isOnNextLine(int inBrace, int inLine)
+        {
+            BracePosition position = mSettings.getBracePosition(braceKind(inBrace));
+
+            if (position == BracePosition.NEXT_LINE_ON_WRAP)
+                return(mTokens.line(statementStart(inBrace)) < inLine);
+
+            return(position == BracePosition.NEXT_LINE);
+        }
+
+        /*
+         * Returns the first token of the statement or declaration that the token before inToken ends, by walking back over
+         * balanced brackets to the token that ends the one before it, or to the bracket or comma that separates it from what
+         * comes before. A block that is the body of a control statement which is itself the body of another starts at the header
+         * of the inner statement.
+         */
+        private int statementStart(int inToken)
+        {
+            int comma = -1;
+            int idx = inToken - 1;
+
+            while (idx >= 0)
+            {
+                switch (mTokens.type(idx))
+                {
+                    case SEMI:
+                    case LCURLY:
+                    case RCURLY:
+                    case CASE_COLON:
+                        return((comma >= 0 && isInEnumConstants()) ? comma + 1 : idx + 1);
+
+                    case LPAREN:
+                    case TYPECAST:
+                    case LBRACK:
+                    case ARRAY_INIT:
+                        return((comma >= 0 ? comma : idx) + 1);
+
+                    case COMMA:
+                        if (comma < 0)
+                            comma = idx;
+                        break;
+
+                    case RPAREN:
+                    case RBRACK:
+                    case GENERIC_END:
+                        int open = mTokens.match(idx);
+
+                        if (open >= 0 && open < idx)
+                        {
+                            if (isControl(mTokens.type(open - 1)) && mTokens.is(idx, TokenType.RPAREN))
+                                return(open - 1);
+
+                            idx = open;
+                        }
+                        break;
+
+                    default:
+                        break;
+                }
+
+                idx--;
+            }
+
+            return((comma >= 0 && isInEnumConstants()) ? comma + 1 : 0);
+        }
+
+        private boolean isControl(TokenType inType)
+        {
+            switch (inType)
+            {
+                case LITERAL_IF:
+                case LITERAL_FOR:
+                case LITERAL_WHILE:
+                case LITERAL_SWITCH:
+                case LITERAL_SYNCHRONIZED:
+                case LITERAL_CATCH:
+                case LITERAL_TRY:
+                    return(true);
+
+                default:
+                    return(false);
+            }
+        }
+
+        private boolean isInEnumConstants()
+        {
+            return(!mFrames.isEmpty() && top().mIsEnumConstants && mParenDepth == 0);
+        }
+
+        private BraceKind braceKind(int inBrace)
+        {
+            int previous = inBrace - 1;
+
+            if (mTokens.is(previous, TokenType.LAMBDA))
+                return(BraceKind.LAMBDA);
+
+            if (mTokens.is(previous, TokenType.CASE_COLON))
+                return(BraceKind.BLOCK_IN_CASE);
+
+            if (mTokens.is(previous, TokenType.RPAREN) && isAllocation(previous))
+                return(BraceKind.ANONYMOUS_TYPE);
+
+            int start = skipAnnotations(statementStart(inBrace));
+
+            switch (mTokens.type(start))
+            {
+                case LITERAL_IF:
+                case LITERAL_ELSE:
+                case LITERAL_FOR:
+                case LITERAL_WHILE:
+                case LITERAL_DO:
+                case LITERAL_TRY:
+                case LITERAL_CATCH:
+                case LITERAL_FINALLY:
+                    return(BraceKind.BLOCK);
+
+                case LITERAL_SYNCHRONIZED:
+                    if (mTokens.is(start + 1, TokenType.LPAREN))
+                        return(BraceKind.BLOCK);
+                    break;
+
+                case LITERAL_SWITCH:
+                    return(BraceKind.SWITCH);
+
+                default:
+                    break;
+            }
+
+            int keyword = typeKeyword(start, inBrace);
+
+            if (keyword >= 0)
+            {
+                if (mTokens.is(keyword, TokenType.ENUM))
+                    return(BraceKind.ENUM);
+
+                return(mTokens.is(keyword - 1, TokenType.AT) ? BraceKind.ANNOTATION_TYPE : BraceKind.TYPE);
+            }
+
+            if (isInEnumConstants())
+                return(BraceKind.ENUM_CONSTANT);
+
+            for (int idx = start; idx < inBrace; idx++)
+            {
+                if (mTokens.is(idx, TokenType.LPAREN))
+                {
+                    if (!mTokens.is(idx - 1, TokenType.IDENT))
+                        break;
+
+                    String type = mFrames.isEmpty() ? null : top().mTypeName;
+                    boolean isConstructor = type != null && type.equals(text(idx - 1));
+
+                    return(isConstructor ? BraceKind.CONSTRUCTOR : BraceKind.METHOD);
+                }
+            }
+
+            return(BraceKind.BLOCK);
+        }
+
+        /*
+         * Returns the index of the class, interface or enum keyword that declares a type between inFrom and inTo, or -1 if there
+         * is none.
+         */
+        private int typeKeyword(int inFrom, int inTo)
+        {
+            for (int idx = inFrom; idx < inTo; idx++)
+            {
+                switch (mTokens.type(idx))
+                {
+                    case LITERAL_CLASS:
+                    case LITERAL_INTERFACE:
+                    case ENUM:
+                        if (!mTokens.is(idx - 1, TokenType.DOT))
+                            return(idx);
+                        break;
+
+                    case LPAREN:
+                    case GENERIC_START:
+                        if (mTokens.match(idx) > idx)
+                            idx = mTokens.match(idx);
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+
+            return(-1);
+        }
+
+        private int skipAnnotations(int inToken)
+        {
+            int idx = inToken;
+
+            while (mTokens.is(idx, TokenType.AT) && !mTokens.is(idx + 1, TokenType.LITERAL_INTERFACE))
+            {
+                idx += 2;
+
+                while (mTokens.is(idx, TokenType.DOT))
+                    idx += 2;
+
+                if (mTokens.is(idx, TokenType.LPAREN) && mTokens.match(idx) > idx)
+                    idx = mTokens.match(idx) + 1;
+            }
+
+            return(idx);
+        }
+
+        /*
+         * Returns true if the parenthesis closed at inParenthesis holds the arguments of a class instance creation.
+         */
+        private boolean isAllocation(int inParenthesis)
+        {
+            int idx = mTokens.match(inParenthesis) - 1;
+
+            if (idx < 0)
+                return(false);
+
+            if (mTokens.is(idx, TokenType.GENERIC_END) && mTokens.match(idx) >= 0)
+                idx = mTokens.match(idx) - 1;
+
+            while (mTokens.is(idx, TokenType.IDENT))
+            {
+                idx--;
+
+                if (!mTokens.is(idx, TokenType.DOT))
+                    break;
+
+                idx--;
+            }
+
+            return(mTokens.is(idx, TokenType.LITERAL_NEW));
+        }
+
+        /*
+         * Tracks the braces and brackets of every token before inToken that has not been seen yet.
+         */
+        private void advanceTo(int inToken)
+        {
+            while (mNextToken < inToken)
+            {
+                int idx = mNextToken++;
+
+                switch (mTokens.type(idx))
+                {
+                    case LCURLY:
+                        open(idx);
+                        break;
+
+                    case RCURLY:
+                        if (!isClosingBrace(idx))
+                            mParenDepth = Math.max(0, mParenDepth - 1);
+                        else if (!mFrames.isEmpty())
+                            mParenDepth = mFrames.remove(mFrames.size() - 1).mParenDepth;
+                        break;
+
+                    case LPAREN:
+                    case TYPECAST:
+                    case LBRACK:
+                    case ARRAY_INIT:
+                        mParenDepth++;
+                        break;
+
+                    case RPAREN:
+                    case RBRACK:
+                        mParenDepth = Math.max(0, mParenDepth - 1);
+                        break;
+
+                    case CASE_COLON:
+                        if (!mFrames.isEmpty() && top().mKind == BraceKind.SWITCH)
+                            top().mIsInCase = true;
+                        break;
+
+                    case SEMI:
+                        if (!mFrames.isEmpty() && mParenDepth == 0)
+                            top().mIsEnumConstants = false;
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private void open(int inBrace)
+        {
+            BraceKind kind = braceKind(inBrace);
+            int outer = braceColumn(inBrace);
+            Frame frame = new Frame(kind, outer, mSettings.isIndentBody(kind) ? outer + mUnit : outer, mParenDepth);
+
+            if (kind.isType() && kind != BraceKind.ANONYMOUS_TYPE)
+            {
+                int keyword = typeKeyword(skipAnnotations(statementStart(inBrace)), inBrace);
+
+                if (keyword >= 0 && mTokens.is(keyword + 1, TokenType.IDENT))
+                    frame.mTypeName = text(keyword + 1);
+
+                frame.mIsEnumConstants = (kind == BraceKind.ENUM);
+            }
+
+            mFrames.add(frame);
+            mParenDepth = 0;
+        }
+
+        private Frame top()
+        {
+            return(mFrames.get(mFrames.size() - 1));
+        }
+
+        /*
+         * Operators and wrapping.
+         */
+
+        /*
+         * Returns true if the operator that starts inLine at inToken can be moved to the end of the line before.
+         */
+        private boolean canJoin(int inLine, int inToken)
+        {
+            if (mSettings.isWrapBeforeOperator() || !mIsPending || mPendingLine != inLine - 1 || mPendingJoin >= 0)
+                return(false);
+
+            if (!isBinaryOperator(mTokens.type(inToken)) || mTokens.end(mPendingLast) != mPendingTo)
+                return(false);
+
+            switch (mTokens.type(mPendingLast))
+            {
+                case LCURLY:
+                case RCURLY:
+                case SEMI:
+                case COMMA:
+                    return(false);
+
+                default:
+                    return(!isBinaryOperator(mTokens.type(mPendingLast)));
+            }
+        }
+
+        private boolean isBinaryOperator(TokenType inType)
+        {
+            switch (inType)
+            {
+                case LOR:
+                case LAND:
+                case BOR:
+                case BXOR:
+                case BAND:
+                case EQUAL:
+                case NOT_EQUAL:
+                case LT:
+                case GT:
+                case LE:
+                case GE:
+                case SL:
+                case SR:
+                case BSR:
+                case PLUS:
+                case MINUS:
+                case STAR:
+                case DIV:
+                case MOD:
+                case LITERAL_INSTANCEOF:
+                    return(true);
+
+                default:
+                    return(false);
+            }
+        }
+
+        private void hold(int inLine, int inIndent, int inFirst, int inLast, int inFrom, int inTo)
+        {
+            mIsPending = true;
+            mPendingLine = inLine;
+            mPendingIndent = inIndent;
+            mPendingFirst = inFirst;
+            mPendingLast = inLast;
+            mPendingFrom = inFrom;
+            mPendingTo = inTo;
+            mPendingJoin = -1;
+        }
+
+        /*
+         * Writes the line of code held back, wrapping it if it is too long.
+         */
+        private void flush()
+        {
+            if (!mIsPending)
+                return;
+
+            mIsPending = false;
+
+            int codeEnd = mTokens.end(mPendingLast);
+
+            mSegment.setLength(0);
+
+            if (mPendingJoin >= 0)
+            {
+                mSegment.append(mText, mPendingFrom, codeEnd - mPendingFrom).append(' ');
+                mSegment.append(mText, mTokens.start(mPendingJoin), mTokens.length(mPendingJoin));
+                codeEnd = mSegment.length();
+            }
+            else
+            {
+                mSegment.append(mText, mPendingFrom, mPendingTo - mPendingFrom);
+                codeEnd -= mPendingFrom;
+            }
+
+            int indent = mPendingIndent;
+            int from = 0;
+            int lineSplit = mSettings.getLineSplit();
+            int last = (mPendingJoin >= 0) ? mPendingLast + 1 : mPendingLast;
+
+            while (indent + codeEnd - from > lineSplit)
+            {
+                int breakAfter = breakPoint(from, indent, last);
+
+                if (breakAfter < 0)
+                    break;
+
+                int end = offset(breakAfter) + mTokens.length(tokenAt(breakAfter));
+                int next = offset(breakAfter + 1);
+                int aligned = alignment(breakAfter, from, indent);
+
+                // Aligning with a parenthesis far to the right may leave no room for the next token
+                if (aligned + mTokens.length(tokenAt(breakAfter + 1)) > lineSplit)
+                    aligned = mPendingIndent + mSettings.getContinuationIndent();
+
+                emitSegment(indent, from, end);
+                from = next;
+                indent = aligned;
+            }
+
+            emitSegment(indent, from, mSegment.length());
+        }
+
+        /*
+         * Returns the position, counted from the first token held, of the token after which a line of the held segment starting
+         * at inFrom is best broken, or -1 if it cannot be.
+         */
+        private int breakPoint(int inFrom, int inIndent, int inLast)
+        {
+            int lineSplit = mSettings.getLineSplit();
+            int best = -1;
+            int bestDepth = Integer.MAX_VALUE;
+            int depth = 0;
+
+            for (int position = 0; mPendingFirst + position < inLast; position++)
+            {
+                int token = tokenAt(position);
+                int start = offset(position);
+
+                depth += nesting(token);
+
+                if (start < inFrom)
+                    continue;
+
+                int end = start + mTokens.length(token);
+
+                if (inIndent + end - inFrom > lineSplit)
+                    break;
+
+                if (canBreakAfter(token, tokenAt(position + 1)) && isWhitespace(end, offset(position + 1)) &&
+                    depth <= bestDepth)
+                {
+                    best = position;
+                    bestDepth = depth;
+                }
+            }
+
+            return(best);
+        }
+
+        private boolean canBreakAfter(int inToken, int inNext)
+        {
+            if (mTokens.is(inToken, TokenType.COMMA))
+                return(true);
+
+            if (mSettings.isWrapBeforeOperator())
+                return(isBinaryOperator(mTokens.type(inNext)));
+
+            return(isBinaryOperator(mTokens.type(inToken)));
+        }
+
+        /*
+         * Returns the column at which the line after a break after the token at inPosition starts: just inside the innermost
+         * parenthesis open at the break, if that is on the line being broken, or a continuation indent beyond the first line.
+         */
+        private int alignment(int inPosition, int inFrom, int inIndent)
+        {
+            int depth = 0;
+
+            for (int position = inPosition; position >= 0; position--)
+            {
+                int token = tokenAt(position);
+
+                depth -= nesting(token);
+
+                if (depth < 0)
+                {
+                    int offset = offset(position);
+                    int column = inIndent + offset - inFrom + mTokens.length(token);
+
+                    if (offset < inFrom || mTokens.is(token, TokenType.LCURLY))
+                        break;
+
+                    return(column);
+                }
+            }
+
+            return(mPendingIndent + mSettings.getContinuationIndent());
+        }
+
+        private int nesting(int inToken)
+        {
+            switch (mTokens.type(inToken))
+            {
+                case LPAREN:
+                case TYPECAST:
+                case LBRACK:
+                case ARRAY_INIT:
+                case LCURLY:
+                    return(1);
+
+                case RPAREN:
+                case RBRACK:
+                case RCURLY:
+                    return(-1);
+
+                default:
+                    return(0);
+            }
+        }
+
+        private int tokenAt(int inPosition)
+        {
+            return(mPendingFirst + inPosition);
+        }
+
+        /*
+         * Returns the offset in the segment of the token at inPosition.
+         */
+        private int offset(int inPosition)
+        {
+            int token = tokenAt(inPosition);
+
+            if (token == mPendingJoin)
+                return(mTokens.end(mPendingLast) - mPendingFrom + 1);
+
+            return(mTokens.start(token) - mPendingFrom);
+        }
+
+        private boolean isWhitespace(int inFrom, int inTo)
+        {
+            for (int idx = inFrom; idx < inTo; idx++)
+            {
+                if (!Character.isWhitespace(mSegment.charAt(idx)))
+                    return(false);
+            }
+
+            return(true);
+        }
+
+        /*
+         * Output.
+         */
+
+        private void emitSegment(int inIndent, int inFrom, int inTo)
+        {
+            int to = inTo;
+
+            while (to > inFrom && Character.isWhitespace(mSegment.charAt(to - 1)))
+                to--;
+
+            startLine();
+            indent(inIndent);
+            mOut.append(mSegment, inFrom, to);
+            endLine();
+        }
+
+        private void emit(int inIndent, int inFrom, int inTo)
+        {
+            startLine();
+            indent(inIndent);
+            mOut.append(mText, inFrom, inTo - inFrom);
+            endLine();
+        }
+
+        private void emit(int inFrom, int inTo)
+        {
+            startLine();
+            mOut.append(mText, inFrom, inTo - inFrom);
+            endLine();
+        }
+
+        private void startLine()
+        {
+            if (mOutputCount > 0)
+                mOut.append(mSeparator);
+
+            if (mOutputCount == mOutputStarts.length)
+            {
+                int[] starts = new int[mOutputCount * 2];
+                int[] ends = new int[mOutputCount * 2];
+
+                System.arraycopy(mOutputStarts, 0, starts, 0, mOutputCount);
+                System.arraycopy(mOutputEnds, 0, ends, 0, mOutputCount);
+                mOutputStarts = starts;
+                mOutputEnds = ends;
+            }
+
+            mOutputStarts[mOutputCount] = mOut.length();
+        }
+
+        private void endLine()
+        {
+            mOutputEnds[mOutputCount++] = mOut.length();
+        }
+
+        private void indent(int inColumns)
+        {
+            int columns = inColumns;
+
+            while (mSettings.isUseTabs() && columns >= mUnit)
+            {
+                mOut.append('\t');
+                columns -= mUnit;
+            }
+
+            while (columns-- > 0)
+                mOut.append(' ');
+        }
+
+        /*
+         * Indexes.
+         */
+
+        private void indexTokens()
+        {
+            for (int line = 0; line < mFirstToken.length; line++)
+            {
+                mFirstToken[line] = -1;
+                mLastToken[line] = -2;
+            }
+
+            for (int idx = 0; idx < mTokens.size(); idx++)
+            {
+                int line = mTokens.line(idx);
+
+                if (mFirstToken[line] < 0)
+                    mFirstToken[line] = idx;
+
+                mLastToken[line] = idx;
+            }
+        }
+
+        /*
+         * Marks each line that starts within a block comment with the line the comment started on. Comments only lie between
+         * tokens, so the text of the tokens is skipped.
+         */
+        private void indexComments()
+        {
+            int length = mSource.getLength();
+            int token = 0;
+            int line = 1;
+            int pos = 0;
+
+            while (pos < length)
+            {
+                if (token < mTokens.size() && pos == mTokens.start(token))
+                {
+                    pos = mTokens.end(token++);
+                    continue;
+                }
+
+                char ch = mText[pos];
+
+                if (ch == '/' && pos + 1 < length && mText[pos + 1] == '/')
+                {
+                    while (pos < length && mText[pos] != '\n' && mText[pos] != '\r')
+                        pos++;
+                }
+                else if (ch == '/' && pos + 1 < length && mText[pos + 1] == '*')
+                {
+                    int origin = line;
+
+                    pos += 2;
+
+                    while (pos < length && !(mText[pos] == '*' && pos + 1 < length && mText[pos + 1] == '/'))
+                    {
+                        if (isLineBreak(pos, length))
+                            mCommentOrigin[++line] = origin;
+
+                        pos++;
+                    }
+
+                    pos += 2;
+                }
+                else
+                {
+                    if (isLineBreak(pos, length))
+                        line++;
+
+                    pos++;
+                }
+            }
+        }
+
+        private boolean isLineBreak(int inPos, int inLength)
+        {
+            char ch = mText[inPos];
+
+            return(ch == '\n' || (ch == '\r' && (inPos + 1 == inLength || mText[inPos + 1] != '\n')));
+        }
+
+        private String separator()
+        {
+            for (int idx = 0; idx < mSource.getLength(); idx++)
+            {
+                if (mText[idx] == '\n')
+                    return(idx > 0 && mText[idx - 1] == '\r' ? "\r\n" : "\n");
+
+                if (mText[idx] == '\r' && (idx + 1 == mSource.getLength() || mText[idx + 1] != '\n'))
+                    return("\r");
+            }
+
+            return("\n");
+        }
+
+        private boolean isTerminated()
+        {
+            char ch = mText[mSource.getLength() - 1];
+
+            return(ch == '\n' || ch == '\r');
+        }
+
+        /*
+         * Text.
+         */
+
+        private int skipWhitespace(int inFrom, int inTo)
+        {
+            int idx = inFrom;
+
+            while (idx < inTo && Character.isWhitespace(mText[idx]))
+                idx++;
+
+            return(idx);
+        }
+
+        private int trimWhitespace(int inFrom, int inTo)
+        {
+            int idx = inTo;
+
+            while (idx > inFrom && Character.isWhitespace(mText[idx - 1]))
+                idx--;
+
+            return(idx);
+        }
+
+        /*
+         * Returns the number of columns the text from inFrom to inTo takes up, expanding tabs.
+         */
+        private int column(int inFrom, int inTo)
+        {
+            int column = 0;
+
+            for (int idx = inFrom; idx < inTo; idx++)
+            {
+                if (mText[idx] == '\t')
+                    column += mUnit - (column % mUnit);
+                else
+                    column++;
+            }
+
+            return(column);
+        }
+
+        private boolean contains(int inFrom, int inTo, String inTag)
+        {
+            if (inTag == null || inTag.length() == 0)
+                return(false);
+
+            for (int idx = inFrom; idx + inTag.length() <= inTo; idx++)
+            {
+                int matched = 0;
+
+                while (matched < inTag.length() && mText[idx + matched] == inTag.charAt(matched))
+                    matched++;
+
+                if (matched == inTag.length())
+                    return(true);
+            }
+
+            return(false);
+        }
+
+        private String text(int inToken)
+        {
+            return(new String(mText, mTokens.start(inToken), mTokens.length(inToken)));
+        }
+
+        /*
+         * Results.
+         */
+
+        private void verify(int inOutputStart)
+        {
+            int length = mSource.getLength();
+            int original = 0;
+            int formatted = inOutputStart;
+
+            while (true)
+            {
+                while (original < length && Character.isWhitespace(mText[original]))
+                    original++;
+
+                while (formatted < mOut.length() && Character.isWhitespace(mOut.charAt(formatted)))
+                    formatted++;
+
+                if (original == length || formatted == mOut.length())
+                    break;
+
+                if (mText[original++] != mOut.charAt(formatted++))
+                    break;
+            }
+
+            if (original != length || formatted != mOut.length())
+            {
+                throw new IllegalStateException("Formatting " + mSource.getPath() +
+                                                " would change more than whitespace, near line " +
+                                                (mOutputCount == 0 ? 1 : lineAt(original)));
+            }
+        }
+
+        private int lineAt(int inOffset)
+        {
+            int line = 1;
+
+            while (line < mLineCount && mSource.lineStart(line + 1) <= inOffset)
+                line++;
+
+            return(line);
+        }
+
+        private List<Region> regions()
+        {
+            List<Region> regions = new ArrayList<Region>();
+            int line = 1;
+
+            while (line <= mLineCount)
+            {
+                if (isUnchanged(line))
+                {
+                    line++;
+                    continue;
+                }
+
+                int first = line;
+
+                while (line <= mLineCount && !isUnchanged(line))
+                    line++;
+
+                List<String> oldLines = new ArrayList<String>(line - first);
+                List<String> newLines = new ArrayList<String>(mFirstOutput[line] - mFirstOutput[first]);
+
+                for (int idx = first; idx < line; idx++)
+                    oldLines.add(mSource.line(idx).toString());
+
+                for (int idx = mFirstOutput[first]; idx < mFirstOutput[line]; idx++)
+                    newLines.add(mOut.substring(mOutputStarts[idx], mOutputEnds[idx]));
+
+                regions.add(new Region(first, oldLines, mFirstOutput[first] + 1, newLines));
+            }
+
+            return(regions);
+        }
+
+        private boolean isUnchanged(int inLine)
+        {
+            int output = mFirstOutput[inLine];
+
+            if (mFirstOutput[inLine + 1] != output + 1)
+                return(false);
+
+            int start = mSource.lineStart(inLine);
+            int length = mSource.lineEnd(inLine) - start;
+
+            if (mOutputEnds[output] - mOutputStarts[output] != length)
+                return(false);
+
+            for (int idx = 0; idx < length; idx++)
+            {
+                if (mText[start + idx] != mOut.charAt(mOutputStarts[output] + idx))
+                    return(false);
+            }
+
+            return(true);
+        }
+    }
+
+    /*
+     * A body in braces that is open at the current token.
+     */
+    private static final class Frame
+    {
+        private final BraceKind mKind;
+        private final int mOuter;
+        private final int mBody;
+        private final int mParenDepth;
+        private String mTypeName;
+        private boolean mIsInCase;
+        private boolean mIsEnumConstants;
+
+        Frame(BraceKind inKind, int inOuter, int inBody, int inParenDepth)
+        {
+            mKind = inKind;
+            mOuter = inOuter;
+            mBody = inBody;
+            mParenDepth = inParenDepth;
+        }
+    }
+}
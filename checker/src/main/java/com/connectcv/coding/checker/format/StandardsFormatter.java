@@ -0,0 +1,211 @@
+package com.connectcv.coding.checker.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.cache.ResultCache;
+import com.connectcv.coding.checker.source.SourceBuffers;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Formats Java source files with a {@link SourceFormatter}, without Eclipse.
+ * </p>
+ * <p>
+ * Files are formatted in parallel on a {@link ForkJoinPool}, each by a single thread that reads, tokenizes and lays it out in
+ * buffers of its own, which it reuses from one file to the next, as {@link com.connectcv.coding.checker.StandardsChecker} does.
+ * Each result is handed to a {@link Listener} as soon as its file is done, so that output can be streamed while the other files
+ * are still being formatted.
+ * </p>
+ * <p>
+ * A file that formatting does not change is never written, so its time stamp is left alone. A file that it does change is
+ * replaced with {@link SourceBuffers#replace(File, ByteBuffer)}, so that an interrupted run never leaves half a source file
+ * behind. If the formatter is given a {@link ResultCache}, created for the profile being applied, the content of each file
+ * is looked up before it is formatted, and a file whose content is known to be formatted already is skipped without being
+ * tokenized. The content of every file found or made formatted is recorded there for next time.
+ * </p>
+ */
+public final class StandardsFormatter
+{
+    private static final List<Violation> FORMATTED = Collections.emptyList();
+
+    private final SourceFormatter mFormatter;
+    private final ResultCache mCache;
+    private final Charset mCharset;
+    private final boolean mIsWriting;
+
+    private final ThreadLocal<SourceBuffers> mBuffers = new ThreadLocal<SourceBuffers>()
+    {
+        @Override
+        protected SourceBuffers initialValue()
+        {
+            return(new SourceBuffers(mCharset));
+        }
+    };
+
+    private final ThreadLocal<StringBuilder> mOutput = new ThreadLocal<StringBuilder>()
+    {
+        @Override
+        protected StringBuilder initialValue()
+        {
+            return(new StringBuilder());
+        }
+    };
+
+    /**
+     * Receives the result of each file as soon as it has been formatted, on the thread that formatted it.
+     */
+    public interface Listener
+    {
+        void formatted(FormatResult inResult);
+    }
+
+    /**
+     * Creates a formatter that applies {@code inSettings} to files in {@code inCharset}, and records formatted content in
+     * {@code inCache}, which must have been created for the profile of the settings, or may be {@code null}.
+     *
+     * @param inIsWriting {@code false} to find the regions that would change without writing any file.
+     */
+    public StandardsFormatter(FormatterSettings inSettings, ResultCache inCache, Charset inCharset, boolean inIsWriting)
+    {
+        mFormatter = new SourceFormatter(inSettings);
+        mCache = inCache;
+        mCharset = inCharset;
+        mIsWriting = inIsWriting;
+    }
+
+    /**
+     * Formats {@code inFiles} in parallel on {@code inPool}, passing each result to {@code inListener}, which may be
+     * {@code null}, as it is done, and returning them all in the same order as the files.
+     */
+    public List<FormatResult> format(List<File> inFiles, ForkJoinPool inPool, Listener inListener)
+    {
+        File[] files = inFiles.toArray(new File[inFiles.size()]);
+        FormatResult[] results = new FormatResult[files.length];
+
+        if (files.length > 0)
+            inPool.invoke(new FormatTask(files, results, inListener, 0, files.length));
+
+        return(Arrays.asList(results));
+    }
+
+    public FormatResult format(File inFile)
+    {
+        SourceBuffers buffers = mBuffers.get();
+
+        try
+        {
+            buffers.read(inFile);
+        }
+        catch (IOException ioe)
+        {
+            return(new FormatResult(inFile, "Unable to read file: " + ioe.getMessage()));
+        }
+
+        String key = (mCache == null) ? null : mCache.key(buffers.getContent());
+
+        if (key != null && mCache.get(key) != null)
+            return(new FormatResult(inFile, Collections.<Region>emptyList(), true));
+
+        StringBuilder output = mOutput.get();
+        List<Region> regions;
+
+        output.setLength(0);
+
+        try
+        {
+            regions = mFormatter.format(new SourceFile(inFile.getPath(), buffers, mFormatter.getSettings().getTabSize(),
+                                                       Tier.TOKENS), output);
+        }
+        catch (IllegalStateException ise)
+        {
+            return(new FormatResult(inFile, ise.getMessage()));
+        }
+
+        if (regions.isEmpty())
+        {
+            if (key != null)
+                mCache.put(key, FORMATTED);
+
+            return(new FormatResult(inFile, regions, false));
+        }
+
+        if (mIsWriting)
+        {
+            try
+            {
+                ByteBuffer bytes = mCharset.newEncoder().encode(CharBuffer.wrap(output));
+                String formattedKey = (mCache == null) ? null : mCache.key(bytes);
+
+                SourceBuffers.replace(inFile, bytes);
+
+                if (formattedKey != null)
+                    mCache.put(formattedKey, FORMATTED);
+            }
+            catch (CharacterCodingException cce)
+            {
+                return(new FormatResult(inFile, "Unable to encode file in " + mCharset + ": " + cce));
+            }
+            catch (IOException ioe)
+            {
+                return(new FormatResult(inFile, "Unable to write file: " + ioe.getMessage()));
+            }
+        }
+
+        return(new FormatResult(inFile, regions, false));
+    }
+
+    /*
+     * Splits a range of files in half until a single file remains, so that the pool can balance files of very different sizes
+     * by stealing.
+     */
+    private final class FormatTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final File[] mFiles;
+        private final FormatResult[] mResults;
+        private final Listener mListener;
+        private final int mFrom;
+        private final int mTo;
+
+        FormatTask(File[] inFiles, FormatResult[] inResults, Listener inListener, int inFrom, int inTo)
+        {
+            mFiles = inFiles;
+            mResults = inResults;
+            mListener = inListener;
+            mFrom = inFrom;
+            mTo = inTo;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (mTo - mFrom == 1)
+            {
+                mResults[mFrom] = format(mFiles[mFrom]);
+
+                if (mListener != null)
+                    mListener.formatted(mResults[mFrom]);
+
+                return;
+            }
+
+            int middle = (mFrom + mTo) >>> 1;
+
+            invokeAll(new FormatTask(mFiles, mResults, mListener, mFrom, middle),
+                      new FormatTask(mFiles, mResults, mListener, middle, mTo));
+        }
+    }
+}
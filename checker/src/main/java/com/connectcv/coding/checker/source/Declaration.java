@@ -0,0 +1,115 @@
+package com.connectcv.coding.checker.source;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ * A single declared name in a source file: a type, member, parameter or local variable. Modifiers are held as a bit mask using
+ * the constants of {@link Modifier}, and include the modifiers that are implied by the context of the declaration (for example
+ * a field of an interface is always {@code public static final}).
+ * </p>
+ */
+public final class Declaration
+{
+    private final DeclarationKind mKind;
+    private final String mName;
+    private final int mNameToken;
+    private final int mModifiers;
+    private final Declaration mOwner;
+
+    private int mFirstToken;
+    private int mLastToken;
+    private int mParameterCount;
+
+    Declaration(DeclarationKind inKind, String inName, int inNameToken, int inModifiers, Declaration inOwner)
+    {
+        mKind = inKind;
+        mName = inName;
+        mNameToken = inNameToken;
+        mModifiers = inModifiers;
+        mOwner = inOwner;
+        mFirstToken = inNameToken;
+        mLastToken = inNameToken;
+    }
+
+    public DeclarationKind getKind()
+    {
+        return(mKind);
+    }
+
+    public String getName()
+    {
+        return(mName);
+    }
+
+    /**
+     * Returns the index, in the token stream of the file, of the identifier that names this declaration.
+     */
+    public int getNameToken()
+    {
+        return(mNameToken);
+    }
+
+    public int getModifiers()
+    {
+        return(mModifiers);
+    }
+
+    /**
+     * Returns the declaration that encloses this one, or {@code null} for a top level type.
+     */
+    public Declaration getOwner()
+    {
+        return(mOwner);
+    }
+
+    public int getFirstToken()
+    {
+        return(mFirstToken);
+    }
+
+    public int getLastToken()
+    {
+        return(mLastToken);
+    }
+
+    /**
+     * Returns the number of parameters of a method or constructor, and zero for any other kind of declaration.
+     */
+    public int getParameterCount()
+    {
+        return(mParameterCount);
+    }
+
+    public boolean isStatic()
+    {
+        return(Modifier.isStatic(mModifiers));
+    }
+
+    public boolean isFinal()
+    {
+        return(Modifier.isFinal(mModifiers));
+    }
+
+    public boolean isPrivate()
+    {
+        return(Modifier.isPrivate(mModifiers));
+    }
+
+    void setExtent(int inFirstToken, int inLastToken)
+    {
+        mFirstToken = inFirstToken;
+        mLastToken = inLastToken;
+    }
+
+    void incrementParameterCount()
+    {
+        mParameterCount++;
+    }
+
+    @Override
+    public String toString()
+    {
+        return(mKind + " " + mName);
+    }
+}
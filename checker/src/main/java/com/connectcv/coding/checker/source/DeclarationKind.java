@@ -0,0 +1,32 @@
+package com.connectcv.coding.checker.source;
+
+/**
+ * <p>
+ * The kinds of declaration recorded in a {@link SourceStructure}.
+ * </p>
+ */
+public enum DeclarationKind
+{
+    CLASS,
+    INTERFACE,
+    ENUM,
+    ANNOTATION,
+    ANONYMOUS_CLASS,
+    ENUM_CONSTANT,
+    FIELD,
+    CONSTRUCTOR,
+    METHOD,
+    PARAMETER,
+    CATCH_PARAMETER,
+    LOCAL_VARIABLE;
+
+    public boolean isType()
+    {
+        return(this == CLASS || this == INTERFACE || this == ENUM || this == ANNOTATION || this == ANONYMOUS_CLASS);
+    }
+
+    public boolean isMethod()
+    {
+        return(this == CONSTRUCTOR || this == METHOD);
+    }
+}
@@ -0,0 +1,263 @@
+package com.connectcv.coding.checker.source;
+
+/**
+ * <p>
+ * Splits Java source text into a {@link TokenStream}. Comments and whitespace are skipped, and malformed input never causes an
+ * exception: an unterminated literal simply runs to the end of its line, and an unrecognised character becomes an
+ * {@link TokenType#UNKNOWN} token.
+ * </p>
+ * <p>
+ * Tokenizing allocates nothing once the {@link TokenStream} has grown to the size of the largest file it has held, so a stream
+ * that is reused by one thread for file after file creates no garbage.
+ * </p>
+ */
+public final class JavaLexer
+{
+    private JavaLexer()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    public static void tokenize(char[] inText, int inLength, TokenStream inMdTokens)
+    {
+        inMdTokens.clear();
+
+        int line = 1;
+        int lineStart = 0;
+        int pos = 0;
+
+        while (pos < inLength)
+        {
+            char ch = inText[pos];
+
+            if (ch == '\n' || (ch == '\r' && (pos + 1 == inLength || inText[pos + 1] != '\n')))
+            {
+                pos++;
+                line++;
+                lineStart = pos;
+                continue;
+            }
+
+            if (Character.isWhitespace(ch))
+            {
+                pos++;
+                continue;
+            }
+
+            if (ch == '/' && pos + 1 < inLength && inText[pos + 1] == '/')
+            {
+                while (pos < inLength && inText[pos] != '\n' && inText[pos] != '\r')
+                    pos++;
+
+                continue;
+            }
+
+            if (ch == '/' && pos + 1 < inLength && inText[pos + 1] == '*')
+            {
+                pos += 2;
+
+                while (pos < inLength && !(inText[pos] == '*' && pos + 1 < inLength && inText[pos + 1] == '/'))
+                {
+                    if (inText[pos] == '\n' || (inText[pos] == '\r' && (pos + 1 == inLength || inText[pos + 1] != '\n')))
+                    {
+                        line++;
+                        lineStart = pos + 1;
+                    }
+
+                    pos++;
+                }
+
+                pos = Math.min(pos + 2, inLength);
+                continue;
+            }
+
+            int start = pos;
+            TokenType type;
+
+            if (Character.isJavaIdentifierStart(ch))
+            {
+                pos++;
+
+                while (pos < inLength && Character.isJavaIdentifierPart(inText[pos]))
+                    pos++;
+
+                type = TokenType.keyword(inText, start, pos);
+
+                if (type == null)
+                    type = TokenType.IDENT;
+            }
+            else if (Character.isDigit(ch) || (ch == '.' && pos + 1 < inLength && Character.isDigit(inText[pos + 1])))
+            {
+                pos = scanNumber(inText, inLength, pos);
+                type = TokenType.NUM_LITERAL;
+            }
+            else if (ch == '"' || ch == '\'')
+            {
+                pos = scanQuoted(inText, inLength, pos, ch);
+                type = (ch == '"') ? TokenType.STRING_LITERAL : TokenType.CHAR_LITERAL;
+            }
+            else
+            {
+                type = scanOperator(inText, inLength, pos);
+                pos += (type == TokenType.UNKNOWN) ? 1 : type.getText().length();
+            }
+
+            inMdTokens.add(type, start, pos, line, start - lineStart);
+        }
+    }
+
+    private static int scanNumber(char[] inText, int inLength, int inPos)
+    {
+        int pos = inPos;
+
+        if (inText[pos] == '0' && pos + 1 < inLength && "xXbB".indexOf(inText[pos + 1]) >= 0)
+        {
+            pos += 2;
+
+            while (pos < inLength && (Character.isLetterOrDigit(inText[pos]) || inText[pos] == '_'))
+                pos++;
+
+            return(pos);
+        }
+
+        while (pos < inLength)
+        {
+            char ch = inText[pos];
+
+            if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '.')
+            {
+                // An exponent may carry a sign
+                if ((ch == 'e' || ch == 'E') && pos + 1 < inLength && (inText[pos + 1] == '+' || inText[pos + 1] == '-'))
+                    pos++;
+
+                pos++;
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        return(pos);
+    }
+
+    private static int scanQuoted(char[] inText, int inLength, int inPos, char inQuote)
+    {
+        int pos = inPos + 1;
+
+        while (pos < inLength)
+        {
+            char ch = inText[pos];
+
+            if (ch == '\\')
+                pos += 2;
+            else if (ch == inQuote)
+                return(pos + 1);
+            else if (ch == '\n' || ch == '\r')
+                return(pos);
+            else
+                pos++;
+        }
+
+        return(inLength);
+    }
+
+    private static TokenType scanOperator(char[] inText, int inLength, int inPos)
+    {
+        char ch = inText[inPos];
+        char next = (inPos + 1 < inLength) ? inText[inPos + 1] : '\0';
+        char third = (inPos + 2 < inLength) ? inText[inPos + 2] : '\0';
+
+        switch (ch)
+        {
+            case '(':
+                return(TokenType.LPAREN);
+
+            case ')':
+                return(TokenType.RPAREN);
+
+            case '{':
+                return(TokenType.LCURLY);
+
+            case '}':
+                return(TokenType.RCURLY);
+
+            case '[':
+                return(TokenType.LBRACK);
+
+            case ']':
+                return(TokenType.RBRACK);
+
+            case ';':
+                return(TokenType.SEMI);
+
+            case ',':
+                return(TokenType.COMMA);
+
+            case '@':
+                return(TokenType.AT);
+
+            case '~':
+                return(TokenType.BNOT);
+
+            case '?':
+                return(TokenType.QUESTION);
+
+            case '.':
+                return((next == '.' && third == '.') ? TokenType.ELLIPSIS : TokenType.DOT);
+
+            case ':':
+                return((next == ':') ? TokenType.DOUBLE_COLON : TokenType.COLON);
+
+            case '=':
+                return((next == '=') ? TokenType.EQUAL : TokenType.ASSIGN);
+
+            case '!':
+                return((next == '=') ? TokenType.NOT_EQUAL : TokenType.LNOT);
+
+            case '+':
+                if (next == '+') return(TokenType.INC);
+                return((next == '=') ? TokenType.PLUS_ASSIGN : TokenType.PLUS);
+
+            case '-':
+                if (next == '-') return(TokenType.DEC);
+                if (next == '>') return(TokenType.LAMBDA);
+                return((next == '=') ? TokenType.MINUS_ASSIGN : TokenType.MINUS);
+
+            case '*':
+                return((next == '=') ? TokenType.STAR_ASSIGN : TokenType.STAR);
+
+            case '/':
+                return((next == '=') ? TokenType.DIV_ASSIGN : TokenType.DIV);
+
+            case '%':
+                return((next == '=') ? TokenType.MOD_ASSIGN : TokenType.MOD);
+
+            case '^':
+                return((next == '=') ? TokenType.BXOR_ASSIGN : TokenType.BXOR);
+
+            case '&':
+                if (next == '&') return(TokenType.LAND);
+                return((next == '=') ? TokenType.BAND_ASSIGN : TokenType.BAND);
+
+            case '|':
+                if (next == '|') return(TokenType.LOR);
+                return((next == '=') ? TokenType.BOR_ASSIGN : TokenType.BOR);
+
+            case '<':
+                if (next == '<') return((third == '=') ? TokenType.SL_ASSIGN : TokenType.SL);
+                return((next == '=') ? TokenType.LE : TokenType.LT);
+
+            case '>':
+                if (next == '>')
+                {
+                    char fourth = (inPos + 3 < inLength) ? inText[inPos + 3] : '\0';
+
+                    if (third == '>') return((fourth == '=') ? TokenType.BSR_ASSIGN : TokenType.BSR);
+                    return((third == '=') ? TokenType.SR_ASSIGN : TokenType.SR);
+                }
+                return((next == '=') ? TokenType.GE : TokenType.GT);
+
+            default:
+                return(TokenType.UNKNOWN);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.connectcv.coding.checker.source;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The lines of a file as found by a {@link LineScanner} in its raw bytes: where each line starts and ends, how many columns it
+ * takes once tabs are expanded, and whether it holds a tab or ends in whitespace. Lines are numbered from one and broken in the
+ * same places as those of a {@link SourceFile}, but the offsets are byte offsets into the scanned buffer.
+ * </p>
+ * <p>
+ * A {@code LineScan} is refilled by every scan into it, so that scanning file after file into the same one allocates nothing
+ * once its arrays have grown to the largest file. It is confined to one thread.
+ * </p>
+ */
+public final class LineScan
+{
+    static final int TAB = 1;
+    static final int TRAILING_WHITESPACE = 2;
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private int[] mStarts = new int[INITIAL_CAPACITY];
+    private int[] mEnds = new int[INITIAL_CAPACITY];
+    private int[] mColumns = new int[INITIAL_CAPACITY];
+    private byte[] mFlags = new byte[INITIAL_CAPACITY];
+    private int mLineCount;
+    private int mMaxColumns;
+    private int mTabLineCount;
+    private int mTrailingWhitespaceCount;
+
+    public int getLineCount()
+    {
+        return(mLineCount);
+    }
+
+    /**
+     * Returns the number of columns of the longest line.
+     */
+    public int getMaxColumns()
+    {
+        return(mMaxColumns);
+    }
+
+    /**
+     * Returns the number of lines that hold at least one tab.
+     */
+    public int getTabLineCount()
+    {
+        return(mTabLineCount);
+    }
+
+    /**
+     * Returns the number of lines that end in a space, tab or form feed.
+     */
+    public int getTrailingWhitespaceCount()
+    {
+        return(mTrailingWhitespaceCount);
+    }
+
+    /**
+     * Returns the offset of the first byte of line {@code inLine}.
+     */
+    public int lineStart(int inLine)
+    {
+        return(mStarts[inLine - 1]);
+    }
+
+    /**
+     * Returns the offset one past the last byte of line {@code inLine}, excluding any line terminator.
+     */
+    public int lineEnd(int inLine)
+    {
+        return(mEnds[inLine - 1]);
+    }
+
+    /**
+     * Returns the length of line {@code inLine} in characters once tabs have been expanded, as
+     * {@link SourceFile#expandedLength(int)} would for well formed text.
+     */
+    public int columns(int inLine)
+    {
+        return(mColumns[inLine - 1]);
+    }
+
+    public boolean hasTab(int inLine)
+    {
+        return((mFlags[inLine - 1] & TAB) != 0);
+    }
+
+    public boolean hasTrailingWhitespace(int inLine)
+    {
+        return((mFlags[inLine - 1] & TRAILING_WHITESPACE) != 0);
+    }
+
+    void clear()
+    {
+        mLineCount = 0;
+        mMaxColumns = 0;
+        mTabLineCount = 0;
+        mTrailingWhitespaceCount = 0;
+    }
+
+    void add(int inStart, int inEnd, int inColumns, int inFlags)
+    {
+        if (mLineCount == mStarts.length)
+            grow();
+
+        mStarts[mLineCount] = inStart;
+        mEnds[mLineCount] = inEnd;
+        mColumns[mLineCount] = inColumns;
+        mFlags[mLineCount] = (byte) inFlags;
+        mLineCount++;
+
+        mMaxColumns = Math.max(mMaxColumns, inColumns);
+
+        if ((inFlags & TAB) != 0)
+            mTabLineCount++;
+
+        if ((inFlags & TRAILING_WHITESPACE) != 0)
+            mTrailingWhitespaceCount++;
+    }
+
+    private void grow()
+    {
+        int capacity = mStarts.length * 2;
+
+        mStarts = Arrays.copyOf(mStarts, capacity);
+        mEnds = Arrays.copyOf(mEnds, capacity);
+        mColumns = Arrays.copyOf(mColumns, capacity);
+        mFlags = Arrays.copyOf(mFlags, capacity);
+    }
+}
@@ -0,0 +1,281 @@
+package com.connectcv.coding.checker.source;
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Finds the lines of UTF-8 or US-ASCII source in its raw bytes, without decoding it, for the checks and clean-ups that only
+ * need to know how long each line is and whether it holds tabs or ends in whitespace. The bytes are classified 64 at a time
+ * into one bit mask per kind of byte that matters (line feeds, carriage returns, tabs, and the continuation and four byte
+ * lead bytes that make a character take more or fewer columns than bytes), and the lines are then found by walking the set
+ * bits of the masks rather than the bytes. Only a line that holds a tab is walked byte by byte, to expand its tabs.
+ * </p>
+ * <p>
+ * {@link #create()} returns a {@code VectorLineScanner}, which classifies a block with the incubating Vector API, when the
+ * checker was built on JDK 17 or later and runs on JDK 21 or later, started with {@code --add-modules jdk.incubator.vector}.
+ * Otherwise it returns a {@link SwarLineScanner}, which classifies eight bytes at a time in the bits of a {@code long}. JDK 17
+ * has the Vector API too, but boxes its lane masks rather than compiling them to instructions, which makes the vector scanner
+ * slower there than SWAR. Both give the same scan.
+ * </p>
+ * <p>
+ * A scanner keeps the state of the scan it is in, so it is confined to one thread.
+ * </p>
+ */
+public abstract class LineScanner
+{
+    static final int BLOCK = 64;
+
+    static final int NEWLINE = 0;
+    static final int RETURN = 1;
+    static final int TAB = 2;
+    static final int CONTINUATION = 3;
+    static final int WIDE = 4;
+
+    private static final String VECTOR_SCANNER = "com.connectcv.coding.checker.source.VectorLineScanner";
+
+    private static final int VECTOR_RELEASE = 21;
+
+    private static final Constructor<? extends LineScanner> VECTOR_CONSTRUCTOR = findVectorScanner();
+
+    private final long[] mMasks = new long[WIDE + 1];
+
+    private ByteBuffer mContent;
+    private LineScan mScan;
+    private int mTabWidth;
+    private int mLineStart;
+    private int mContinuations;
+    private int mWide;
+    private boolean mHasTab;
+
+    LineScanner()
+    {
+    }
+
+    /**
+     * Returns the fastest scanner that this JVM supports.
+     */
+    public static LineScanner create()
+    {
+        if (VECTOR_CONSTRUCTOR != null)
+        {
+            try
+            {
+                return(VECTOR_CONSTRUCTOR.newInstance());
+            }
+            catch (ReflectiveOperationException roe)
+            {
+                // Cannot happen once the constructor has been called by findVectorScanner()
+            }
+        }
+
+        return(new SwarLineScanner());
+    }
+
+    /**
+     * Scans the bytes of {@code inContent} from its position to its limit into {@code inMdScan}, expanding tabs to
+     * {@code inTabWidth} columns. The offsets in the scan are indexes into {@code inContent}, whose position is not moved.
+     */
+    public final void scan(ByteBuffer inContent, int inTabWidth, LineScan inMdScan)
+    {
+        int offset = inContent.position();
+        int end = inContent.limit();
+
+        mContent = (inContent.order() == ByteOrder.LITTLE_ENDIAN) ? inContent :
+            inContent.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        mScan = inMdScan;
+        mTabWidth = inTabWidth;
+        mLineStart = offset;
+        mContinuations = 0;
+        mWide = 0;
+        mHasTab = false;
+
+        inMdScan.clear();
+
+        for (; offset + BLOCK <= end; offset += BLOCK)
+        {
+            classify(mContent, offset, mMasks);
+            split(offset, BLOCK, end);
+        }
+
+        if (offset < end)
+        {
+            classifyTail(offset, end);
+            split(offset, end - offset, end);
+        }
+
+        // A terminator on the last byte does not start another line
+        if (mLineStart < end)
+            endLine(end, end);
+
+        mContent = null;
+        mScan = null;
+    }
+
+    /**
+     * Sets bit {@code i} of each of {@code inMdMasks} if byte {@code inOffset + i} of the little endian {@code inContent} is of
+     * its kind, for the {@link #BLOCK} bytes from {@code inOffset}.
+     */
+    abstract void classify(ByteBuffer inContent, int inOffset, long[] inMdMasks);
+
+    /*
+     * Loads the vector scanner, which is only compiled on JDK 17 and later, and is only usable once jdk.incubator.vector has
+     * been added to the JVM. Calling its constructor here links it, so that a missing module is found once rather than by
+     * every call to create().
+     */
+    private static Constructor<? extends LineScanner> findVectorScanner()
+    {
+        String release = System.getProperty("java.specification.version", "1.8");
+
+        // Releases before 9 are numbered 1.x
+        if (release.startsWith("1.") || Integer.parseInt(release.replaceAll("\\..*", "")) < VECTOR_RELEASE)
+            return(null);
+
+        try
+        {
+            Constructor<? extends LineScanner> constructor =
+                Class.forName(VECTOR_SCANNER).asSubclass(LineScanner.class).getConstructor();
+
+            constructor.newInstance();
+
+            return(constructor);
+        }
+        catch (ReflectiveOperationException roe)
+        {
+            return(null);
+        }
+        catch (LinkageError le)
+        {
+            return(null);
+        }
+    }
+
+    /*
+     * Classifies the bytes from inOffset to inEnd, fewer than a block, one at a time.
+     */
+    private void classifyTail(int inOffset, int inEnd)
+    {
+        Arrays.fill(mMasks, 0);
+
+        for (int idx = inOffset; idx < inEnd; idx++)
+        {
+            int value = mContent.get(idx);
+            long bit = 1L << (idx - inOffset);
+
+            if (value == '\n')
+                mMasks[NEWLINE] |= bit;
+            else if (value == '\r')
+                mMasks[RETURN] |= bit;
+            else if (value == '\t')
+                mMasks[TAB] |= bit;
+            else if ((value & 0xC0) == 0x80)
+                mMasks[CONTINUATION] |= bit;
+            else if ((value & 0xF8) == 0xF0)
+                mMasks[WIDE] |= bit;
+        }
+    }
+
+    /*
+     * Ends a line at each terminator of the classified block of inLength bytes at inOffset, and counts the bytes after the last
+     * terminator towards the line that carries on into the next block. A carriage return is a terminator unless a line feed
+     * follows it, which may be the first byte of the next block.
+     */
+    private void split(int inOffset, int inLength, int inEnd)
+    {
+        long followedByNewline = mMasks[NEWLINE] >>> 1;
+
+        if (inOffset + BLOCK < inEnd && mContent.get(inOffset + BLOCK) == '\n')
+            followedByNewline |= Long.MIN_VALUE;
+
+        long terminators = mMasks[NEWLINE] | (mMasks[RETURN] & ~followedByNewline);
+        int from = 0;
+
+        while (terminators != 0)
+        {
+            int bit = Long.numberOfTrailingZeros(terminators);
+
+            count(from, bit);
+            endLine(inOffset + bit, inEnd);
+
+            from = bit + 1;
+            terminators &= terminators - 1;
+        }
+
+        count(from, inLength);
+    }
+
+    /*
+     * Adds the continuation bytes, four byte lead bytes and tabs among the bits from inFrom to inTo of the block to the
+     * current line.
+     */
+    private void count(int inFrom, int inTo)
+    {
+        if (inFrom >= inTo)
+            return;
+
+        long range = (inTo == BLOCK ? -1L : (1L << inTo) - 1) & (-1L << inFrom);
+
+        mContinuations += Long.bitCount(mMasks[CONTINUATION] & range);
+        mWide += Long.bitCount(mMasks[WIDE] & range);
+        mHasTab |= (mMasks[TAB] & range) != 0;
+    }
+
+    /*
+     * Records the line that ends at inTerminator, which is inEnd for a last line without a terminator.
+     */
+    private void endLine(int inTerminator, int inEnd)
+    {
+        int start = mLineStart;
+        int end = inTerminator;
+        int flags = 0;
+
+        if (inTerminator < inEnd && end > start && mContent.get(end) == '\n' && mContent.get(end - 1) == '\r')
+            end--;
+
+        int columns = (end - start) - mContinuations + mWide;
+
+        if (mHasTab)
+        {
+            columns = expandTabs(start, end);
+            flags |= LineScan.TAB;
+        }
+
+        if (end > start)
+        {
+            int last = mContent.get(end - 1);
+
+            if (last == ' ' || last == '\t' || last == '\f')
+                flags |= LineScan.TRAILING_WHITESPACE;
+        }
+
+        mScan.add(start, end, columns, flags);
+
+        mLineStart = inTerminator + 1;
+        mContinuations = 0;
+        mWide = 0;
+        mHasTab = false;
+    }
+
+    /*
+     * Counts the columns of a line that holds a tab in the same way as SourceFile.expandedColumn(), where a character beyond
+     * the Basic Multilingual Plane takes two.
+     */
+    private int expandTabs(int inStart, int inEnd)
+    {
+        int column = 0;
+
+        for (int idx = inStart; idx < inEnd; idx++)
+        {
+            int value = mContent.get(idx);
+
+            if (value == '\t')
+                column += mTabWidth - (column % mTabWidth);
+            else if ((value & 0xC0) != 0x80)
+                column += ((value & 0xF8) == 0xF0) ? 2 : 1;
+        }
+
+        return(column);
+    }
+}
@@ -0,0 +1,195 @@
+package com.connectcv.coding.checker.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>
+ * The {@link ReferenceTable} of every file of a project, each stamped with the modification time and length the file had when
+ * its table was built. A table is only ever handed out while its file still has that stamp, so once a project has been indexed,
+ * {@link #update(Collection, ForkJoinPool)} only reads and tokenizes the files that have changed since, and a file that is
+ * being cleaned up or checked anyway can have its table built from the {@link SourceFile} already in hand, by
+ * {@link #references(File, long, long, SourceFile)}, rather than being read a second time.
+ * </p>
+ * <p>
+ * The index is thread safe: files are indexed in parallel on a {@link ForkJoinPool}, each thread reusing its own
+ * {@link SourceBuffers}.
+ * </p>
+ */
+public final class ReferenceIndex
+{
+    private static final int TAB_WIDTH = 4;
+
+    private final ConcurrentMap<File, Entry> mEntries = new ConcurrentHashMap<File, Entry>();
+    private final Charset mCharset;
+
+    private final ThreadLocal<SourceBuffers> mBuffers = new ThreadLocal<SourceBuffers>()
+    {
+        @Override
+        protected SourceBuffers initialValue()
+        {
+            return(new SourceBuffers(mCharset));
+        }
+    };
+
+    public ReferenceIndex(Charset inCharset)
+    {
+        mCharset = inCharset;
+    }
+
+    /**
+     * Returns the number of files in the index.
+     */
+    public int size()
+    {
+        return(mEntries.size());
+    }
+
+    /**
+     * Brings the index up to date with {@code inFiles}, indexing in parallel on {@code inPool} each file that is new or has
+     * changed since it was last indexed, and dropping every file that is no longer among them. A file that cannot be read is
+     * dropped too.
+     *
+     * @return the number of files that were indexed.
+     */
+    public int update(Collection<File> inFiles, ForkJoinPool inPool)
+    {
+        Set<File> files = new HashSet<File>(inFiles);
+
+        mEntries.keySet().retainAll(files);
+
+        File[] changed = new File[files.size()];
+        int count = 0;
+
+        for (File file : files)
+        {
+            Entry entry = mEntries.get(file);
+
+            if (entry == null || !entry.isCurrent(file.lastModified(), file.length()))
+                changed[count++] = file;
+        }
+
+        return(count > 0 ? inPool.invoke(new IndexTask(changed, 0, count)) : 0);
+    }
+
+    /**
+     * Returns the table of {@code inFile} if it is still current, or {@code null} if the file has not been indexed or has changed
+     * since.
+     */
+    public ReferenceTable get(File inFile)
+    {
+        Entry entry = mEntries.get(inFile);
+
+        return(entry != null && entry.isCurrent(inFile.lastModified(), inFile.length()) ? entry.mTable : null);
+    }
+
+    /**
+     * Returns the table of {@code inFile}, whose text is {@code inSource} and whose stamp was {@code inLastModified} and
+     * {@code inLength} before it was read. The table in the index is returned if it was built from the same stamp and number of
+     * tokens, and otherwise a table is built from {@code inSource} and recorded in its place.
+     */
+    public ReferenceTable references(File inFile, long inLastModified, long inLength, SourceFile inSource)
+    {
+        Entry entry = mEntries.get(inFile);
+
+        if (entry != null && entry.isCurrent(inLastModified, inLength) &&
+            entry.mTable.getTokenCount() == inSource.getTokens().size())
+        {
+            return(entry.mTable);
+        }
+
+        ReferenceTable table = new ReferenceTable(inSource);
+
+        mEntries.put(inFile, new Entry(inLastModified, inLength, table));
+
+        return(table);
+    }
+
+    /*
+     * Reads and indexes a single file, returning true if it could be read.
+     */
+    private boolean index(File inFile)
+    {
+        SourceBuffers buffers = mBuffers.get();
+        long lastModified = inFile.lastModified();
+        long length = inFile.length();
+
+        try
+        {
+            buffers.read(inFile);
+        }
+        catch (IOException ioe)
+        {
+            mEntries.remove(inFile);
+            return(false);
+        }
+
+        SourceFile source = new SourceFile(inFile.getPath(), buffers, TAB_WIDTH, Tier.TOKENS);
+
+        mEntries.put(inFile, new Entry(lastModified, length, new ReferenceTable(source)));
+
+        return(true);
+    }
+
+    private static final class Entry
+    {
+        private final long mLastModified;
+        private final long mLength;
+        private final ReferenceTable mTable;
+
+        Entry(long inLastModified, long inLength, ReferenceTable inTable)
+        {
+            mLastModified = inLastModified;
+            mLength = inLength;
+            mTable = inTable;
+        }
+
+        boolean isCurrent(long inLastModified, long inLength)
+        {
+            return(mLastModified == inLastModified && mLength == inLength);
+        }
+    }
+
+    /*
+     * Splits a range of files in half until a single file remains, counting the files that were indexed.
+     */
+    private final class IndexTask extends RecursiveTask<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final File[] mFiles;
+        private final int mFrom;
+        private final int mTo;
+
+        IndexTask(File[] inFiles, int inFrom, int inTo)
+        {
+            mFiles = inFiles;
+            mFrom = inFrom;
+            mTo = inTo;
+        }
+
+        @Override
+        protected Integer compute()
+        {
+            if (mTo - mFrom == 1)
+                return(index(mFiles[mFrom]) ? 1 : 0);
+
+            int middle = (mFrom + mTo) >>> 1;
+            IndexTask left = new IndexTask(mFiles, mFrom, middle);
+
+            left.fork();
+
+            int right = new IndexTask(mFiles, middle, mTo).compute();
+
+            return(left.join() + right);
+        }
+    }
+}
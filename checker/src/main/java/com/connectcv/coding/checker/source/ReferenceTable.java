@@ -0,0 +1,244 @@
+package com.connectcv.coding.checker.source;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Where each identifier of a single source file is used: how many times it appears, and the indexes of the first and last
+ * tokens that are that identifier. A private member is only visible within its file, so it is referenced somewhere other than
+ * in its own declaration exactly when its name appears before or after the tokens of that declaration, which this table answers
+ * with a single lookup rather than a scan of the file.
+ * </p>
+ * <p>
+ * The table is built in one pass over the {@link TokenStream} and keeps nothing from it but the identifiers themselves, held in
+ * a single character pool, and parallel primitive arrays: an open addressed hash of slots, and the hash, name, count, first and
+ * last token of each distinct identifier. It outlives the {@link SourceBuffers} that the file was read into, and so can be held
+ * by a {@link ReferenceIndex}. Once built it is never changed, and so can be shared between threads.
+ * </p>
+ */
+public final class ReferenceTable
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int mTokenCount;
+    private final int[] mSlots;
+    private final int[] mHashes;
+    private final int[] mNameStarts;
+    private final int[] mNameLengths;
+    private final int[] mCounts;
+    private final int[] mFirsts;
+    private final int[] mLasts;
+    private final char[] mNames;
+    private final int mSize;
+
+    /**
+     * Builds the table of the identifiers of {@code inSource}, which must be able to be taken to {@link Tier#TOKENS}.
+     */
+    public ReferenceTable(SourceFile inSource)
+    {
+        TokenStream tokens = inSource.getTokens();
+        char[] text = inSource.getText();
+        int[] slots = new int[INITIAL_CAPACITY];
+        int[] hashes = new int[INITIAL_CAPACITY];
+        int[] nameStarts = new int[INITIAL_CAPACITY];
+        int[] nameLengths = new int[INITIAL_CAPACITY];
+        int[] counts = new int[INITIAL_CAPACITY];
+        int[] firsts = new int[INITIAL_CAPACITY];
+        int[] lasts = new int[INITIAL_CAPACITY];
+        char[] names = new char[INITIAL_CAPACITY * 8];
+        int nameLength = 0;
+        int size = 0;
+
+        Arrays.fill(slots, -1);
+
+        for (int idx = 0; idx < tokens.size(); idx++)
+        {
+            if (tokens.type(idx) != TokenType.IDENT)
+                continue;
+
+            int start = tokens.start(idx);
+            int length = tokens.length(idx);
+            int hash = hash(text, start, length);
+            int slot = hash & (slots.length - 1);
+            int entry;
+
+            while ((entry = slots[slot]) >= 0 &&
+                   !(hashes[entry] == hash && equals(names, nameStarts[entry], nameLengths[entry], text, start, length)))
+            {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+
+            if (entry >= 0)
+            {
+                counts[entry]++;
+                lasts[entry] = idx;
+                continue;
+            }
+
+            if (size == hashes.length)
+            {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                nameStarts = Arrays.copyOf(nameStarts, size * 2);
+                nameLengths = Arrays.copyOf(nameLengths, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+                firsts = Arrays.copyOf(firsts, size * 2);
+                lasts = Arrays.copyOf(lasts, size * 2);
+            }
+
+            if (nameLength + length > names.length)
+                names = Arrays.copyOf(names, Math.max(names.length * 2, nameLength + length));
+
+            System.arraycopy(text, start, names, nameLength, length);
+            hashes[size] = hash;
+            nameStarts[size] = nameLength;
+            nameLengths[size] = length;
+            counts[size] = 1;
+            firsts[size] = idx;
+            lasts[size] = idx;
+            slots[slot] = size;
+            nameLength += length;
+            size++;
+
+            // Keep the slots no more than half full, so that probes stay short
+            if (size * 2 > slots.length)
+                slots = rehash(hashes, size, slots.length * 2);
+        }
+
+        mTokenCount = tokens.size();
+        mSlots = slots;
+        mHashes = Arrays.copyOf(hashes, size);
+        mNameStarts = Arrays.copyOf(nameStarts, size);
+        mNameLengths = Arrays.copyOf(nameLengths, size);
+        mCounts = Arrays.copyOf(counts, size);
+        mFirsts = Arrays.copyOf(firsts, size);
+        mLasts = Arrays.copyOf(lasts, size);
+        mNames = Arrays.copyOf(names, nameLength);
+        mSize = size;
+    }
+
+    /**
+     * Returns the number of tokens in the file this table was built from, by which a table can be matched to the file.
+     */
+    public int getTokenCount()
+    {
+        return(mTokenCount);
+    }
+
+    /**
+     * Returns the number of distinct identifiers in the file.
+     */
+    public int size()
+    {
+        return(mSize);
+    }
+
+    /**
+     * Returns the number of times the identifier {@code inName} appears in the file.
+     */
+    public int count(CharSequence inName)
+    {
+        int entry = find(inName);
+
+        return(entry >= 0 ? mCounts[entry] : 0);
+    }
+
+    /**
+     * Returns {@code true} if the identifier {@code inName} appears anywhere other than in the tokens from {@code inFrom} to
+     * {@code inTo}, both inclusive.
+     */
+    public boolean isReferencedOutside(CharSequence inName, int inFrom, int inTo)
+    {
+        int entry = find(inName);
+
+        return(entry >= 0 && (mFirsts[entry] < inFrom || mLasts[entry] > inTo));
+    }
+
+    private int find(CharSequence inName)
+    {
+        int length = inName.length();
+        int hash = 0;
+
+        for (int idx = 0; idx < length; idx++)
+            hash = 31 * hash + inName.charAt(idx);
+
+        hash = spread(hash);
+
+        for (int slot = hash & (mSlots.length - 1); mSlots[slot] >= 0; slot = (slot + 1) & (mSlots.length - 1))
+        {
+            int entry = mSlots[slot];
+
+            if (mHashes[entry] == hash && equals(mNames, mNameStarts[entry], mNameLengths[entry], inName))
+                return(entry);
+        }
+
+        return(-1);
+    }
+
+    private static int[] rehash(int[] inHashes, int inSize, int inCapacity)
+    {
+        int[] slots = new int[inCapacity];
+
+        Arrays.fill(slots, -1);
+
+        for (int entry = 0; entry < inSize; entry++)
+        {
+            int slot = inHashes[entry] & (inCapacity - 1);
+
+            while (slots[slot] >= 0)
+                slot = (slot + 1) & (inCapacity - 1);
+
+            slots[slot] = entry;
+        }
+
+        return(slots);
+    }
+
+    /*
+     * The same hash as String.hashCode(), spread so that names differing only in their last character do not fill runs of
+     * adjacent slots.
+     */
+    private static int hash(char[] inText, int inStart, int inLength)
+    {
+        int hash = 0;
+
+        for (int idx = inStart; idx < inStart + inLength; idx++)
+            hash = 31 * hash + inText[idx];
+
+        return(spread(hash));
+    }
+
+    private static int spread(int inHash)
+    {
+        int hash = inHash * 0x9E3779B9;
+
+        return(hash ^ (hash >>> 16));
+    }
+
+    private static boolean equals(char[] inNames, int inStart, int inLength, char[] inText, int inOffset, int inTextLength)
+    {
+        if (inLength != inTextLength)
+            return(false);
+
+        for (int idx = 0; idx < inLength; idx++)
+        {
+            if (inNames[inStart + idx] != inText[inOffset + idx])
+                return(false);
+        }
+
+        return(true);
+    }
+
+    private static boolean equals(char[] inNames, int inStart, int inLength, CharSequence inName)
+    {
+        if (inLength != inName.length())
+            return(false);
+
+        for (int idx = 0; idx < inLength; idx++)
+        {
+            if (inNames[inStart + idx] != inName.charAt(idx))
+                return(false);
+        }
+
+        return(true);
+    }
+}
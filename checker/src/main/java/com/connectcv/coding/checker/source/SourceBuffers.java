@@ -0,0 +1,271 @@
+package com.connectcv.coding.checker.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ * The buffers that one thread reuses for every file it checks: the raw bytes of the file, its decoded text, its line index and
+ * its {@link TokenStream}. Once the buffers have grown to the size of the largest file seen, reading, decoding and tokenizing
+ * another file allocates almost nothing, so a thread can check file after file without creating garbage in proportion to the
+ * size of the files.
+ * </p>
+ * <p>
+ * The text is only decoded on the first call to {@link #getText()} or {@link #getLength()}, so a file whose results are
+ * cached, or whose checks only count and measure its lines, is never decoded.
+ * </p>
+ * <p>
+ * Large files are memory mapped rather than copied into the byte buffer. Small files are read, since mapping a file costs more
+ * than reading a few kilobytes.
+ * </p>
+ * <p>
+ * When the charset is UTF-8 or US-ASCII, the lines of the raw bytes can also be scanned with a {@link LineScanner}, which is only
+ * created on first use.
+ * </p>
+ * <p>
+ * Files are written back with {@link #replace(File, ByteBuffer)}, which never leaves half a file behind.
+ * </p>
+ * <p>
+ * A {@code SourceBuffers} is confined to one thread, and holds a single file at a time: reading another file invalidates the
+ * text and tokens of the previous one, along with any {@link SourceFile} created over them.
+ * </p>
+ */
+public final class SourceBuffers
+{
+    private static final int MAP_THRESHOLD = 64 * 1024;
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private final CharsetDecoder mDecoder;
+    private final TokenStream mTokens;
+    private final boolean mIsScannable;
+
+    private ByteBuffer mBytes;
+    private ByteBuffer mContent;
+    private char[] mText;
+    private CharBuffer mChars;
+    private int mLength;
+    private boolean mIsDecoded;
+    private int[] mLineStarts;
+    private LineScanner mScanner;
+    private LineScan mLineScan;
+    private int mScanTabWidth;
+
+    public SourceBuffers(Charset inCharset)
+    {
+        mDecoder = inCharset.newDecoder();
+        mDecoder.onMalformedInput(CodingErrorAction.REPLACE);
+        mDecoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        mTokens = new TokenStream();
+        mIsScannable = "UTF-8".equals(inCharset.name()) || "US-ASCII".equals(inCharset.name());
+        mBytes = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+        mText = new char[INITIAL_CAPACITY];
+        mChars = CharBuffer.wrap(mText);
+        mLineStarts = new int[INITIAL_CAPACITY / 32];
+    }
+
+    /**
+     * Reads {@code inFile}, replacing the file these buffers held before.
+     */
+    public void read(File inFile) throws IOException
+    {
+        FileChannel channel = FileChannel.open(inFile.toPath(), StandardOpenOption.READ);
+
+        try
+        {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE / 2)
+                throw new IOException("File is too large to check: " + size + " bytes");
+
+            if (size >= MAP_THRESHOLD)
+            {
+                mContent = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            else
+            {
+                if (mBytes.capacity() < size)
+                    mBytes = ByteBuffer.allocate(Math.max((int) size, mBytes.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+
+                mBytes.clear();
+                mBytes.limit((int) size);
+
+                int read = 0;
+
+                while (mBytes.hasRemaining() && read >= 0)
+                    read = channel.read(mBytes);
+
+                mBytes.flip();
+                mContent = mBytes;
+            }
+        }
+        finally
+        {
+            channel.close();
+        }
+
+        mScanTabWidth = 0;
+        mIsDecoded = false;
+    }
+
+    /**
+     * Replaces the content of {@code inFile} with the remaining bytes of {@code inContent}. They are written to a temporary file
+     * beside it, which is then renamed over it, atomically where the file system allows, so that an interrupted write never
+     * leaves half a source file behind. The file keeps its permissions, but not its time stamp.
+     */
+    public static void replace(File inFile, ByteBuffer inContent) throws IOException
+    {
+        File temporary = File.createTempFile(inFile.getName(), ".tmp", inFile.getAbsoluteFile().getParentFile());
+
+        try
+        {
+            FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.WRITE);
+
+            try
+            {
+                while (inContent.hasRemaining())
+                    channel.write(inContent);
+            }
+            finally
+            {
+                channel.close();
+            }
+
+            try
+            {
+                Files.setPosixFilePermissions(temporary.toPath(), Files.getPosixFilePermissions(inFile.toPath()));
+            }
+            catch (UnsupportedOperationException uoe)
+            {
+                // Not a POSIX file system, where the temporary file already has the default permissions
+            }
+
+            try
+            {
+                Files.move(temporary.toPath(), inFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException amnse)
+            {
+                Files.move(temporary.toPath(), inFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            temporary.delete();
+        }
+    }
+
+    /**
+     * Returns the raw bytes of the current file, from its first byte to its last. Callers may move the position of the buffer,
+     * but must not change its content.
+     */
+    public ByteBuffer getContent()
+    {
+        mContent.rewind();
+
+        return(mContent);
+    }
+
+    /**
+     * Returns the decoded text of the current file, which occupies the first {@link #getLength()} characters of the array. The
+     * file is decoded on the first call.
+     */
+    public char[] getText()
+    {
+        if (!mIsDecoded)
+            decode();
+
+        return(mText);
+    }
+
+    public int getLength()
+    {
+        if (!mIsDecoded)
+            decode();
+
+        return(mLength);
+    }
+
+    TokenStream getTokens()
+    {
+        return(mTokens);
+    }
+
+    /**
+     * Returns the lines of the current file as scanned from its raw bytes with tabs expanded to {@code inTabWidth} columns, or
+     * {@code null} if the charset is neither UTF-8 nor US-ASCII. The file is scanned once, on the first call.
+     */
+    LineScan scanLines(int inTabWidth)
+    {
+        if (!mIsScannable)
+            return(null);
+
+        if (mScanTabWidth != inTabWidth)
+        {
+            if (mScanner == null)
+            {
+                mScanner = LineScanner.create();
+                mLineScan = new LineScan();
+            }
+
+            mScanner.scan(getContent(), inTabWidth, mLineScan);
+            mScanTabWidth = inTabWidth;
+        }
+
+        return(mLineScan);
+    }
+
+    /**
+     * Returns an array of at least {@code inCapacity} elements for the line index of the current file.
+     */
+    int[] lineStarts(int inCapacity)
+    {
+        if (mLineStarts.length < inCapacity)
+            mLineStarts = new int[Math.max(inCapacity, mLineStarts.length * 2)];
+
+        return(mLineStarts);
+    }
+
+    /*
+     * Decodes the content into the text. The decoder replaces malformed and unmappable input, so it never reports an error.
+     */
+    private void decode()
+    {
+        int capacity = (int) (mContent.remaining() * (double) mDecoder.maxCharsPerByte()) + 1;
+
+        if (mText.length < capacity)
+        {
+            mText = new char[Math.max(capacity, mText.length * 2)];
+            mChars = CharBuffer.wrap(mText);
+        }
+
+        mDecoder.reset();
+        mChars.clear();
+        mContent.rewind();
+
+        CoderResult result = mDecoder.decode(mContent, mChars, true);
+
+        if (result.isUnderflow())
+            result = mDecoder.flush(mChars);
+
+        if (!result.isUnderflow())
+            throw new IllegalStateException("Unable to decode the content: " + result);
+
+        mLength = mChars.position();
+        mContent.rewind();
+        mIsDecoded = true;
+    }
+}
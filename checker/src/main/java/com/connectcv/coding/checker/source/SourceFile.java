@@ -0,0 +1,360 @@
+package com.connectcv.coding.checker.source;
+
+import java.nio.CharBuffer;
+
+/**
+ * <p>
+ * The decoded text of a single source file. The line index, the token stream and the declaration structure of the file are
+ * each built on first use, so that checks which only need lines never pay for lexing or parsing. A file read by
+ * {@link SourceBuffers} is not even decoded until its text is needed, as its lines can be counted and measured from its bytes.
+ * A file may also be limited to a {@link Tier}, in which case asking for anything beyond that tier is an error rather than a
+ * silent cost.
+ * </p>
+ * <p>
+ * Line numbers are one based, matching those reported by Checkstyle. A {@code SourceFile} is confined to the thread that is
+ * checking it.
+ * </p>
+ */
+public final class SourceFile
+{
+    private final String mPath;
+    private char[] mText;
+    private int mLength;
+    private final int mTabWidth;
+    private final Tier mLimit;
+    private final SourceBuffers mBuffers;
+
+    private int[] mLineStarts;
+    private int mLineCount = -1;
+
+    private TokenStream mTokens;
+    private SourceStructure mStructure;
+    private ReferenceTable mReferences;
+
+    public SourceFile(String inPath, char[] inText, int inLength, int inTabWidth)
+    {
+        this(inPath, inText, inLength, inTabWidth, Tier.AST);
+    }
+
+    /**
+     * Creates a {@code SourceFile} that can be taken no further than {@code inLimit}.
+     */
+    public SourceFile(String inPath, char[] inText, int inLength, int inTabWidth, Tier inLimit)
+    {
+        mPath = inPath;
+        mText = inText;
+        mLength = inLength;
+        mTabWidth = inTabWidth;
+        mLimit = inLimit;
+        mBuffers = null;
+    }
+
+    /**
+     * Creates a {@code SourceFile} over the file currently held by {@code inBuffers}, whose line index and token stream are built
+     * in those buffers rather than in new arrays. The text is decoded by the buffers on first use. The {@code SourceFile} is
+     * only valid until the buffers read another file.
+     */
+    public SourceFile(String inPath, SourceBuffers inBuffers, int inTabWidth, Tier inLimit)
+    {
+        mPath = inPath;
+        mText = null;
+        mLength = 0;
+        mTabWidth = inTabWidth;
+        mLimit = inLimit;
+        mBuffers = inBuffers;
+    }
+
+    public String getPath()
+    {
+        return(mPath);
+    }
+
+    public char[] getText()
+    {
+        return(text());
+    }
+
+    public int getLength()
+    {
+        text();
+
+        return(mLength);
+    }
+
+    public int getTabWidth()
+    {
+        return(mTabWidth);
+    }
+
+    public Tier getLimit()
+    {
+        return(mLimit);
+    }
+
+    /**
+     * Returns the highest tier that this file has been taken to so far.
+     */
+    public Tier getTier()
+    {
+        if (mStructure != null)
+            return(Tier.AST);
+
+        if (mTokens != null)
+            return(Tier.TOKENS);
+
+        return(mLineStarts != null ? Tier.LINES : Tier.RAW);
+    }
+
+    /**
+     * Returns the number of lines in this file. This is a {@link Tier#RAW} operation: if the lines have not been indexed, they
+     * are counted without being indexed, and if the text has not been decoded either, they are taken from the
+     * {@link #getLineScan() scan} of the raw bytes where there is one.
+     */
+    public int getLineCount()
+    {
+        if (mLineCount < 0)
+            mLineCount = countLines();
+
+        return(mLineCount);
+    }
+
+    /**
+     * Returns the lines of this file as scanned from its raw bytes, or {@code null} if it was not read by {@link SourceBuffers}
+     * in UTF-8 or US-ASCII. The scan numbers its lines in the same way as this file, but its offsets are offsets into the bytes
+     * of the buffers rather than into the text. Like {@link #getLineCount()}, this is a {@link Tier#RAW} operation.
+     */
+    public LineScan getLineScan()
+    {
+        return(mBuffers == null ? null : mBuffers.scanLines(mTabWidth));
+    }
+
+    /**
+     * Returns the offset of the first character of line {@code inLine}.
+     */
+    public int lineStart(int inLine)
+    {
+        return(lineStarts()[inLine - 1]);
+    }
+
+    /**
+     * Returns the offset one past the last character of line {@code inLine}, excluding any line terminator.
+     */
+    public int lineEnd(int inLine)
+    {
+        int[] starts = lineStarts();
+        char[] text = text();
+        int end = (inLine < mLineCount) ? starts[inLine] : mLength;
+
+        if (end > starts[inLine - 1] && text[end - 1] == '\n')
+            end--;
+
+        if (end > starts[inLine - 1] && text[end - 1] == '\r')
+            end--;
+
+        return(end);
+    }
+
+    /**
+     * Returns line {@code inLine} as a {@link CharSequence} backed by the text of this file, without a line terminator.
+     */
+    public CharSequence line(int inLine)
+    {
+        int start = lineStart(inLine);
+
+        return(CharBuffer.wrap(text(), start, lineEnd(inLine) - start));
+    }
+
+    public String text(int inStart, int inEnd)
+    {
+        return(new String(text(), inStart, inEnd - inStart));
+    }
+
+    /**
+     * Returns the one based column of the character at {@code inOffset} within line {@code inLine}, expanding tabs to the tab
+     * width of this file in the same way that Checkstyle does when it reports a column.
+     */
+    public int expandedColumn(int inLine, int inOffset)
+    {
+        char[] text = text();
+        int column = 0;
+
+        for (int idx = lineStart(inLine); idx < inOffset; idx++)
+        {
+            if (text[idx] == '\t')
+                column += mTabWidth - (column % mTabWidth);
+            else
+                column++;
+        }
+
+        return(column + 1);
+    }
+
+    /**
+     * Returns the length of line {@code inLine} once tabs have been expanded.
+     */
+    public int expandedLength(int inLine)
+    {
+        return(expandedColumn(inLine, lineEnd(inLine)) - 1);
+    }
+
+    /**
+     * Returns {@code true} if the only characters between the start of line {@code inLine} and {@code inOffset} are whitespace.
+     */
+    public boolean isBlankBefore(int inLine, int inOffset)
+    {
+        char[] text = text();
+
+        for (int idx = lineStart(inLine); idx < inOffset; idx++)
+        {
+            if (!Character.isWhitespace(text[idx]))
+                return(false);
+        }
+
+        return(true);
+    }
+
+    /**
+     * Returns {@code true} if the only characters between {@code inOffset} and the end of line {@code inLine} are whitespace.
+     */
+    public boolean isBlankAfter(int inLine, int inOffset)
+    {
+        char[] text = text();
+        int end = lineEnd(inLine);
+
+        for (int idx = inOffset; idx < end; idx++)
+        {
+            if (!Character.isWhitespace(text[idx]))
+                return(false);
+        }
+
+        return(true);
+    }
+
+    public TokenStream getTokens()
+    {
+        if (mTokens == null)
+        {
+            require(Tier.TOKENS);
+
+            char[] text = text();
+
+            mTokens = (mBuffers == null) ? new TokenStream() : mBuffers.getTokens();
+            JavaLexer.tokenize(text, mLength, mTokens);
+            TokenClassifier.classify(mTokens);
+        }
+
+        return(mTokens);
+    }
+
+    public SourceStructure getStructure()
+    {
+        if (mStructure == null)
+        {
+            require(Tier.AST);
+            mStructure = StructureParser.parse(this, getTokens());
+        }
+
+        return(mStructure);
+    }
+
+    /**
+     * Returns the table of where each identifier of this file is used, building it on first use unless one has been supplied
+     * by {@link #setReferences(ReferenceTable)}.
+     */
+    public ReferenceTable getReferences()
+    {
+        if (mReferences == null)
+        {
+            require(Tier.SYMBOLS);
+            mReferences = new ReferenceTable(this);
+        }
+
+        return(mReferences);
+    }
+
+    /**
+     * Supplies the table of where each identifier of this file is used, such as one held by a {@link ReferenceIndex}, which must
+     * have been built from the same text.
+     */
+    public void setReferences(ReferenceTable inReferences)
+    {
+        require(Tier.SYMBOLS);
+        mReferences = inReferences;
+    }
+
+    /*
+     * Returns the text, taking it from the buffers on first use.
+     */
+    private char[] text()
+    {
+        if (mText == null)
+        {
+            mText = mBuffers.getText();
+            mLength = mBuffers.getLength();
+        }
+
+        return(mText);
+    }
+
+    private void require(Tier inTier)
+    {
+        if (inTier.compareTo(mLimit) > 0)
+            throw new IllegalStateException(mPath + " is limited to " + mLimit + ", but " + inTier + " was requested");
+    }
+
+    private int[] lineStarts()
+    {
+        if (mLineStarts == null)
+        {
+            require(Tier.LINES);
+            indexLines();
+        }
+
+        return(mLineStarts);
+    }
+
+    private int countLines()
+    {
+        if (mText == null)
+        {
+            LineScan scan = getLineScan();
+
+            if (scan != null)
+                return(scan.getLineCount());
+        }
+
+        char[] text = text();
+        int count = 1;
+
+        for (int idx = 0; idx < mLength - 1; idx++)
+        {
+            char ch = text[idx];
+
+            if (ch == '\n' || (ch == '\r' && text[idx + 1] != '\n'))
+                count++;
+        }
+
+        return(mLength == 0 ? 0 : count);
+    }
+
+    private void indexLines()
+    {
+        int lineCount = getLineCount();
+        int[] starts = (mBuffers == null) ? new int[Math.max(1, lineCount)] : mBuffers.lineStarts(lineCount);
+        char[] text = text();
+        int count = 0;
+
+        starts[count++] = 0;
+
+        for (int idx = 0; idx < mLength - 1; idx++)
+        {
+            char ch = text[idx];
+
+            // A terminator on the last character does not start another line
+            if (ch == '\n' || (ch == '\r' && text[idx + 1] != '\n'))
+                starts[count++] = idx + 1;
+        }
+
+        mLineStarts = starts;
+    }
+}
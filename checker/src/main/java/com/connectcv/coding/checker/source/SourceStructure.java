@@ -0,0 +1,25 @@
+package com.connectcv.coding.checker.source;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * The declarations found in a single source file, in source order. This is the checker's equivalent of a syntax tree: it records
+ * what is declared where, but not the statements and expressions in between.
+ * </p>
+ */
+public final class SourceStructure
+{
+    private final List<Declaration> mDeclarations;
+
+    SourceStructure(List<Declaration> inDeclarations)
+    {
+        mDeclarations = Collections.unmodifiableList(inDeclarations);
+    }
+
+    public List<Declaration> getDeclarations()
+    {
+        return(mDeclarations);
+    }
+}
@@ -0,0 +1,814 @@
+package com.connectcv.coding.checker.source;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Builds the {@link SourceStructure} of a file from its classified {@link TokenStream}. This is a tolerant recursive descent over
+ * declarations only: statements and expressions are skipped, except to find the local variables, catch parameters and anonymous
+ * classes inside them. Malformed input never causes an exception, at worst some declarations are missed.
+ * </p>
+ */
+final class StructureParser
+{
+    private final SourceFile mSource;
+    private final TokenStream mTokens;
+    private final int mSize;
+    private final List<Declaration> mDeclarations;
+
+    private StructureParser(SourceFile inSource, TokenStream inTokens)
+    {
+        mSource = inSource;
+        mTokens = inTokens;
+        mSize = inTokens.size();
+        mDeclarations = new ArrayList<Declaration>();
+    }
+
+    static SourceStructure parse(SourceFile inSource, TokenStream inTokens)
+    {
+        StructureParser parser = new StructureParser(inSource, inTokens);
+        parser.parseCompilationUnit();
+
+        return(new SourceStructure(parser.mDeclarations));
+    }
+
+    private void parseCompilationUnit()
+    {
+        int idx = 0;
+
+        while (idx < mSize)
+        {
+            TokenType type = mTokens.type(idx);
+
+            if (type == TokenType.PACKAGE || type == TokenType.IMPORT)
+                idx = skipPast(idx, TokenType.SEMI);
+            else
+                idx = progress(idx, parseMember(idx, null, false));
+        }
+    }
+
+    /*
+     * Parses a single member of a class body (or a top level type), returning the index of the token that follows it.
+     */
+    private int parseMember(int inStart, Declaration inOwner, boolean inIsInterface)
+    {
+        int idx = inStart;
+        int modifiers = 0;
+
+        switch (mTokens.type(idx))
+        {
+            case SEMI:
+                return(idx + 1);
+
+            case RCURLY:
+                return(idx);
+
+            case LCURLY:
+                return(parseBlock(idx, inOwner));
+
+            default:
+                break;
+        }
+
+        for (;;)
+        {
+            TokenType type = mTokens.type(idx);
+
+            if (type == TokenType.AT && mTokens.type(idx + 1) != TokenType.LITERAL_INTERFACE)
+            {
+                idx = skipAnnotation(idx);
+            }
+            else if (type == TokenType.LITERAL_STATIC && mTokens.type(idx + 1) == TokenType.LCURLY)
+            {
+                return(parseBlock(idx + 1, inOwner));
+            }
+            else if (type.isModifier())
+            {
+                modifiers |= modifier(type);
+                idx++;
+            }
+            else if (type == TokenType.LITERAL_DEFAULT)
+            {
+                idx++;
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        if (isTypeKeyword(idx))
+            return(parseTypeDeclaration(idx, modifiers, inOwner));
+
+        int memberStart = idx;
+
+        if (mTokens.type(idx) == TokenType.GENERIC_START && mTokens.match(idx) > idx)
+            idx = mTokens.match(idx) + 1;
+
+        if (mTokens.type(idx) == TokenType.IDENT && mTokens.type(idx + 1) == TokenType.LPAREN)
+            return(parseMethod(inStart, idx, modifiers, inOwner, DeclarationKind.CONSTRUCTOR, inIsInterface));
+
+        int typeEnd = skipType(idx);
+
+        if (typeEnd > idx && mTokens.type(typeEnd) == TokenType.IDENT)
+        {
+            if (mTokens.type(typeEnd + 1) == TokenType.LPAREN)
+                return(parseMethod(inStart, typeEnd, modifiers, inOwner, DeclarationKind.METHOD, inIsInterface));
+
+            if (inIsInterface)
+                modifiers |= Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL;
+
+            return(parseVariables(typeEnd, modifiers, inOwner, DeclarationKind.FIELD));
+        }
+
+        return(recover(memberStart));
+    }
+
+    private int parseTypeDeclaration(int inStart, int inModifiers, Declaration inOwner)
+    {
+        int keyword = (mTokens.type(inStart) == TokenType.AT) ? inStart + 1 : inStart;
+        DeclarationKind kind;
+
+        switch (mTokens.type(keyword))
+        {
+            case LITERAL_INTERFACE:
+                kind = (keyword == inStart) ? DeclarationKind.INTERFACE : DeclarationKind.ANNOTATION;
+                break;
+
+            case ENUM:
+                kind = DeclarationKind.ENUM;
+                break;
+
+            default:
+                kind = DeclarationKind.CLASS;
+                break;
+        }
+
+        int nameToken = keyword + 1;
+
+        if (mTokens.type(nameToken) != TokenType.IDENT)
+            return(keyword + 1);
+
+        Declaration type = add(kind, nameToken, inModifiers, inOwner);
+        int idx = nameToken + 1;
+
+        while (idx < mSize && mTokens.type(idx) != TokenType.LCURLY)
+        {
+            if (mTokens.type(idx) == TokenType.SEMI)
+                return(idx + 1);
+
+            idx++;
+        }
+
+        int end = parseClassBody(idx, type);
+        type.setExtent(inStart, end - 1);
+
+        return(end);
+    }
+
+    /*
+     * Parses the body of a type starting at its opening brace, returning the index of the token after the closing brace.
+     */
+    private int parseClassBody(int inOpen, Declaration inType)
+    {
+        int idx = inOpen + 1;
+        boolean isInterface = (inType.getKind() == DeclarationKind.INTERFACE ||
+                               inType.getKind() == DeclarationKind.ANNOTATION);
+
+        if (inType.getKind() == DeclarationKind.ENUM)
+            idx = parseEnumConstants(idx, inType);
+
+        while (idx < mSize && mTokens.type(idx) != TokenType.RCURLY)
+            idx = progress(idx, parseMember(idx, inType, isInterface));
+
+        return(idx + 1);
+    }
+
+    private int parseEnumConstants(int inStart, Declaration inEnum)
+    {
+        int idx = inStart;
+
+        while (idx < mSize)
+        {
+            switch (mTokens.type(idx))
+            {
+                case AT:
+                    idx = skipAnnotation(idx);
+                    break;
+
+                case IDENT:
+                    Declaration constant = add(DeclarationKind.ENUM_CONSTANT, idx,
+                                               Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL, inEnum);
+                    idx++;
+
+                    if (mTokens.type(idx) == TokenType.LPAREN)
+                        idx = scanExpression(idx + 1, constant) + 1;
+
+                    if (mTokens.type(idx) == TokenType.LCURLY)
+                        idx = parseClassBody(idx, add(DeclarationKind.ANONYMOUS_CLASS, constant.getNameToken(), 0, constant));
+                    break;
+
+                case COMMA:
+                    idx++;
+                    break;
+
+                case SEMI:
+                    return(idx + 1);
+
+                case RCURLY:
+                    return(idx);
+
+                default:
+                    idx++;
+                    break;
+            }
+        }
+
+        return(idx);
+    }
+
+    private int parseMethod(int inStart,
+                            int inNameToken,
+                            int inModifiers,
+                            Declaration inOwner,
+                            DeclarationKind inKind,
+                            boolean inIsInterface)
+    {
+        int modifiers = inModifiers;
+
+        if (inIsInterface)
+            modifiers |= Modifier.PUBLIC | (Modifier.isStatic(modifiers) ? 0 : Modifier.ABSTRACT);
+
+        Declaration method = add(inKind, inNameToken, modifiers, inOwner);
+        int open = inNameToken + 1;
+        int close = mTokens.match(open);
+
+        if (close < open)
+            return(recover(open));
+
+        parseParameters(open, close, method);
+
+        int idx = close + 1;
+
+        while (idx < mSize)
+        {
+            TokenType type = mTokens.type(idx);
+
+            if (type == TokenType.LCURLY)
+            {
+                int end = parseBlock(idx, method);
+                method.setExtent(inStart, end - 1);
+
+                return(end);
+            }
+
+            if (type == TokenType.SEMI || type == TokenType.RCURLY)
+                break;
+
+            if (type == TokenType.LITERAL_DEFAULT)
+            {
+                idx = scanExpression(idx + 1, method);  // Default value of an annotation element
+                break;
+            }
+
+            idx++;
+        }
+
+        method.setExtent(inStart, idx);
+
+        return(mTokens.type(idx) == TokenType.SEMI ? idx + 1 : idx);
+    }
+
+    private void parseParameters(int inOpen, int inClose, Declaration inMethod)
+    {
+        int idx = inOpen + 1;
+
+        while (idx < inClose)
+        {
+            int modifiers = 0;
+
+            for (;;)
+            {
+                if (mTokens.type(idx) == TokenType.AT)
+                {
+                    idx = skipAnnotation(idx);
+                }
+                else if (mTokens.type(idx) == TokenType.FINAL)
+                {
+                    modifiers |= Modifier.FINAL;
+                    idx++;
+                }
+                else
+                {
+                    break;
+                }
+            }
+
+            int typeEnd = skipType(idx);
+
+            if (mTokens.type(typeEnd) == TokenType.ELLIPSIS)
+                typeEnd++;
+
+            if (typeEnd > idx && mTokens.type(typeEnd) == TokenType.IDENT)
+            {
+                add(DeclarationKind.PARAMETER, typeEnd, modifiers, inMethod);
+                inMethod.incrementParameterCount();
+                idx = typeEnd + 1;
+            }
+
+            while (idx < inClose && mTokens.type(idx) != TokenType.COMMA)
+                idx++;
+
+            idx++;
+        }
+    }
+
+    /*
+     * Parses the declarators of a field or local variable declaration, starting with the name of the first. Returns the index
+     * after the terminating semicolon, or the index of the token that ended the declaration if it was not a semicolon (as happens
+     * in the header of a for statement).
+     */
+    private int parseVariables(int inNameToken, int inModifiers, Declaration inOwner, DeclarationKind inKind)
+    {
+        int nameToken = inNameToken;
+
+        for (;;)
+        {
+            Declaration variable = add(inKind, nameToken, inModifiers, inOwner);
+            int idx = nameToken + 1;
+
+            while (mTokens.type(idx) == TokenType.LBRACK && mTokens.type(idx + 1) == TokenType.RBRACK)
+                idx += 2;
+
+            if (mTokens.type(idx) == TokenType.ASSIGN)
+                idx = scanExpression(idx + 1, variable);
+
+            variable.setExtent(nameToken, idx);
+
+            if (mTokens.type(idx) == TokenType.COMMA && mTokens.type(idx + 1) == TokenType.IDENT)
+            {
+                nameToken = idx + 1;
+                continue;
+            }
+
+            return(mTokens.type(idx) == TokenType.SEMI ? idx + 1 : idx);
+        }
+    }
+
+    /*
+     * Parses a block starting at its opening brace, returning the index after its closing brace.
+     */
+    private int parseBlock(int inOpen, Declaration inOwner)
+    {
+        int idx = inOpen + 1;
+
+        while (idx < mSize && mTokens.type(idx) != TokenType.RCURLY)
+            idx = progress(idx, parseStatement(idx, inOwner));
+
+        return(idx + 1);
+    }
+
+    private int parseStatement(int inStart, Declaration inOwner)
+    {
+        int idx = inStart;
+
+        switch (mTokens.type(idx))
+        {
+            case LCURLY:
+                return(parseBlock(idx, inOwner));
+
+            case SEMI:
+                return(idx + 1);
+
+            case LITERAL_CLASS:
+            case LITERAL_INTERFACE:
+            case ENUM:
+                return(parseTypeDeclaration(idx, 0, inOwner));
+
+            case LITERAL_FOR:
+            case LITERAL_TRY:
+                if (mTokens.type(idx + 1) != TokenType.LPAREN)
+                    return(idx + 1);
+
+                int close = mTokens.match(idx + 1);
+                int header = parseLocalVariables(idx + 2, inOwner);
+
+                if (close < 0)
+                    return(idx + 2);
+
+                scanRange(header < 0 ? idx + 2 : header, close, inOwner);
+
+                return(close + 1);
+
+            case LITERAL_CATCH:
+                parseCatchParameter(idx + 2, inOwner);
+                return(mTokens.match(idx + 1) < 0 ? idx + 1 : mTokens.match(idx + 1) + 1);
+
+            case LITERAL_IF:
+            case LITERAL_WHILE:
+            case LITERAL_SWITCH:
+            case LITERAL_SYNCHRONIZED:
+                if (mTokens.type(idx + 1) != TokenType.LPAREN || mTokens.match(idx + 1) < 0)
+                    return(idx + 1);
+
+                scanRange(idx + 2, mTokens.match(idx + 1), inOwner);
+                return(mTokens.match(idx + 1) + 1);
+
+            case LITERAL_ELSE:
+            case LITERAL_DO:
+            case LITERAL_FINALLY:
+                return(idx + 1);
+
+            case LITERAL_CASE:
+                while (idx < mSize && mTokens.type(idx) != TokenType.CASE_COLON && mTokens.type(idx) != TokenType.RCURLY)
+                    idx++;
+
+                return(mTokens.type(idx) == TokenType.CASE_COLON ? idx + 1 : idx);
+
+            case LITERAL_DEFAULT:
+                return(mTokens.type(idx + 1) == TokenType.CASE_COLON ? idx + 2 : idx + 1);
+
+            case IDENT:
+                if (mTokens.type(idx + 1) == TokenType.COLON)
+                    return(idx + 2);    // A label
+                break;
+
+            default:
+                break;
+        }
+
+        int end = parseLocalVariables(idx, inOwner);
+
+        if (end >= 0)
+            return(end);
+
+        end = scanExpression(idx, inOwner);
+
+        return(mTokens.type(end) == TokenType.RCURLY ? end : end + 1);
+    }
+
+    /*
+     * Parses a local variable (or local class) declaration if one starts at inStart, returning the index after it, or -1 if the
+     * statement at inStart is not a declaration.
+     */
+    private int parseLocalVariables(int inStart, Declaration inOwner)
+    {
+        int idx = inStart;
+        int modifiers = 0;
+
+        for (;;)
+        {
+            TokenType type = mTokens.type(idx);
+
+            if (type == TokenType.AT && mTokens.type(idx + 1) != TokenType.LITERAL_INTERFACE)
+            {
+                idx = skipAnnotation(idx);
+            }
+            else if (type.isModifier())
+            {
+                modifiers |= modifier(type);
+                idx++;
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        if (isTypeKeyword(idx))
+            return(parseTypeDeclaration(idx, modifiers, inOwner));
+
+        int typeEnd = skipType(idx);
+
+        if (typeEnd <= idx || mTokens.type(typeEnd) != TokenType.IDENT)
+            return(-1);
+
+        switch (mTokens.type(typeEnd + 1))
+        {
+            case ASSIGN:
+            case SEMI:
+            case COMMA:
+            case COLON:
+            case LBRACK:
+                return(parseVariables(typeEnd, modifiers, inOwner, DeclarationKind.LOCAL_VARIABLE));
+
+            default:
+                return(-1);
+        }
+    }
+
+    private void parseCatchParameter(int inStart, Declaration inOwner)
+    {
+        int idx = inStart;
+        int modifiers = 0;
+
+        while (mTokens.type(idx) == TokenType.FINAL || mTokens.type(idx) == TokenType.AT)
+        {
+            if (mTokens.type(idx) == TokenType.FINAL)
+            {
+                modifiers |= Modifier.FINAL;
+                idx++;
+            }
+            else
+            {
+                idx = skipAnnotation(idx);
+            }
+        }
+
+        int typeEnd = skipType(idx);
+
+        while (typeEnd > idx && mTokens.type(typeEnd) == TokenType.BOR)
+        {
+            idx = typeEnd + 1;
+            typeEnd = skipType(idx);
+        }
+
+        if (typeEnd > idx && mTokens.type(typeEnd) == TokenType.IDENT)
+            add(DeclarationKind.CATCH_PARAMETER, typeEnd, modifiers, inOwner);
+    }
+
+    /*
+     * Skips an expression, parsing any anonymous class bodies and lambda blocks within it. Returns the index of the token that
+     * ended the expression: a comma, semicolon, colon or closing bracket that is not nested within the expression itself.
+     */
+    private int scanExpression(int inStart, Declaration inOwner)
+    {
+        int idx = inStart;
+        int depth = 0;
+        int pendingTernaries = 0;
+
+        while (idx < mSize)
+        {
+            switch (mTokens.type(idx))
+            {
+                case LPAREN:
+                case TYPECAST:
+                case LBRACK:
+                case ARRAY_INIT:
+                    depth++;
+                    break;
+
+                case LCURLY:
+                    int anonymousType = findAnonymousClassType(idx);
+
+                    if (anonymousType >= 0)
+                    {
+                        idx = parseClassBody(idx, add(DeclarationKind.ANONYMOUS_CLASS, anonymousType, 0, inOwner)) - 1;
+                    }
+                    else if (mTokens.type(idx - 1) == TokenType.LAMBDA)
+                    {
+                        idx = parseBlock(idx, inOwner) - 1;
+                    }
+                    else
+                    {
+                        depth++;
+                    }
+                    break;
+
+                case RPAREN:
+                case RBRACK:
+                case RCURLY:
+                    if (depth == 0)
+                        return(idx);
+
+                    depth--;
+                    break;
+
+                case GENERIC_START:
+                    // The commas between type arguments never end the expression.
+                    if (mTokens.match(idx) > idx)
+                        idx = mTokens.match(idx);
+                    break;
+
+                case QUESTION:
+                    pendingTernaries++;
+                    break;
+
+                case COLON:
+                    if (depth == 0 && pendingTernaries == 0)
+                        return(idx);
+
+                    if (pendingTernaries > 0)
+                        pendingTernaries--;
+                    break;
+
+                case COMMA:
+                case SEMI:
+                    if (depth == 0)
+                        return(idx);
+                    break;
+
+                default:
+                    break;
+            }
+
+            idx++;
+        }
+
+        return(idx);
+    }
+
+    /*
+     * Scans the tokens from inStart up to (but excluding) inEnd for anonymous classes.
+     */
+    private void scanRange(int inStart, int inEnd, Declaration inOwner)
+    {
+        int idx = inStart;
+
+        while (idx < inEnd)
+            idx = progress(idx, scanExpression(idx, inOwner) + 1);
+    }
+
+    /*
+     * Returns the index of the name of the type being instantiated if the brace at inOpen starts an anonymous class body, or -1
+     * if it does not.
+     */
+    private int findAnonymousClassType(int inOpen)
+    {
+        if (mTokens.type(inOpen - 1) != TokenType.RPAREN)
+            return(-1);
+
+        int idx = mTokens.match(inOpen - 1) - 1;
+
+        if (mTokens.type(idx) == TokenType.GENERIC_END)
+            idx = mTokens.match(idx) - 1;
+
+        int typeName = idx;
+
+        while (mTokens.type(idx) == TokenType.IDENT || mTokens.type(idx) == TokenType.DOT)
+            idx--;
+
+        return(mTokens.type(idx) == TokenType.LITERAL_NEW && mTokens.type(typeName) == TokenType.IDENT ? typeName : -1);
+    }
+
+    /*
+     * Returns the index after the type that starts at inStart, or inStart itself if there is no type there.
+     */
+    private int skipType(int inStart)
+    {
+        int idx = inStart;
+        TokenType type = mTokens.type(idx);
+
+        if (type.isPrimitiveType() || type == TokenType.LITERAL_VOID)
+        {
+            idx++;
+        }
+        else
+        {
+            for (;;)
+            {
+                while (mTokens.type(idx) == TokenType.AT)
+                    idx = skipAnnotation(idx);
+
+                if (mTokens.type(idx) != TokenType.IDENT)
+                    return(inStart);
+
+                idx++;
+
+                if (mTokens.type(idx) == TokenType.GENERIC_START)
+                {
+                    if (mTokens.match(idx) < idx)
+                        return(inStart);
+
+                    idx = mTokens.match(idx) + 1;
+                }
+
+                if (mTokens.type(idx) != TokenType.DOT)
+                    break;
+
+                idx++;
+            }
+        }
+
+        while (mTokens.type(idx) == TokenType.LBRACK && mTokens.type(idx + 1) == TokenType.RBRACK)
+            idx += 2;
+
+        return(idx);
+    }
+
+    private int skipAnnotation(int inAt)
+    {
+        int idx = inAt + 1;
+
+        while (mTokens.type(idx) == TokenType.IDENT || mTokens.type(idx) == TokenType.DOT)
+            idx++;
+
+        if (mTokens.type(idx) == TokenType.LPAREN && mTokens.match(idx) > idx)
+            idx = mTokens.match(idx) + 1;
+
+        return(idx);
+    }
+
+    private int skipPast(int inStart, TokenType inType)
+    {
+        int idx = inStart;
+
+        while (idx < mSize && mTokens.type(idx) != inType)
+            idx++;
+
+        return(idx + 1);
+    }
+
+    /*
+     * Skips an unrecognised member: to the end of its statement, past its block, or up to the brace that closes the class.
+     */
+    private int recover(int inStart)
+    {
+        int idx = inStart;
+
+        while (idx < mSize)
+        {
+            switch (mTokens.type(idx))
+            {
+                case SEMI:
+                    return(idx + 1);
+
+                case RCURLY:
+                    return(idx);
+
+                case LCURLY:
+                    return(mTokens.match(idx) > idx ? mTokens.match(idx) + 1 : idx + 1);
+
+                default:
+                    idx++;
+            }
+        }
+
+        return(idx);
+    }
+
+    private boolean isTypeKeyword(int inIndex)
+    {
+        switch (mTokens.type(inIndex))
+        {
+            case LITERAL_CLASS:
+            case ENUM:
+            case LITERAL_INTERFACE:
+                return(true);
+
+            case AT:
+                return(mTokens.type(inIndex + 1) == TokenType.LITERAL_INTERFACE);
+
+            default:
+                return(false);
+        }
+    }
+
+    private Declaration add(DeclarationKind inKind, int inNameToken, int inModifiers, Declaration inOwner)
+    {
+        String name = mSource.text(mTokens.start(inNameToken), mTokens.end(inNameToken));
+        Declaration declaration = new Declaration(inKind, name, inNameToken, inModifiers, inOwner);
+        mDeclarations.add(declaration);
+
+        return(declaration);
+    }
+
+    private static int progress(int inCurrent, int inNext)
+    {
+        return(inNext > inCurrent ? inNext : inCurrent + 1);
+    }
+
+    private static int modifier(TokenType inType)
+    {
+        switch (inType)
+        {
+            case ABSTRACT:
+                return(Modifier.ABSTRACT);
+
+            case FINAL:
+                return(Modifier.FINAL);
+
+            case STRICTFP:
+                return(Modifier.STRICT);
+
+            case LITERAL_NATIVE:
+                return(Modifier.NATIVE);
+
+            case LITERAL_PRIVATE:
+                return(Modifier.PRIVATE);
+
+            case LITERAL_PROTECTED:
+                return(Modifier.PROTECTED);
+
+            case LITERAL_PUBLIC:
+                return(Modifier.PUBLIC);
+
+            case LITERAL_STATIC:
+                return(Modifier.STATIC);
+
+            case LITERAL_SYNCHRONIZED:
+                return(Modifier.SYNCHRONIZED);
+
+            case LITERAL_TRANSIENT:
+                return(Modifier.TRANSIENT);
+
+            case LITERAL_VOLATILE:
+                return(Modifier.VOLATILE);
+
+            default:
+                return(0);
+        }
+    }
+}
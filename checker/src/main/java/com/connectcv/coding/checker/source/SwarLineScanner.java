@@ -0,0 +1,82 @@
+package com.connectcv.coding.checker.source;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * A {@link LineScanner} that classifies eight bytes at a time within a {@code long} (SIMD within a register), which needs no
+ * more than Java 8. Each kind of byte is found by a test for a zero byte that is exact, unlike the cheaper test that can
+ * report a false zero above a true one, and the high bit that it sets in each matching byte is then gathered into eight
+ * adjacent bits by a single multiplication.
+ * </p>
+ */
+public final class SwarLineScanner extends LineScanner
+{
+    private static final long LOW_SEVEN = 0x7F7F7F7F7F7F7F7FL;
+
+    private static final long GATHER = 0x0102040810204080L;
+
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+
+    private static final long RETURNS = 0x0D0D0D0D0D0D0D0DL;
+
+    private static final long TABS = 0x0909090909090909L;
+
+    private static final long TOP_TWO = 0xC0C0C0C0C0C0C0C0L;
+
+    private static final long CONTINUATIONS = 0x8080808080808080L;
+
+    private static final long TOP_FIVE = 0xF8F8F8F8F8F8F8F8L;
+
+    private static final long WIDE_LEADS = 0xF0F0F0F0F0F0F0F0L;
+
+    @Override
+    void classify(ByteBuffer inContent, int inOffset, long[] inMdMasks)
+    {
+        long newlines = 0;
+        long returns = 0;
+        long tabs = 0;
+        long continuations = 0;
+        long wide = 0;
+
+        for (int shift = 0; shift < BLOCK; shift += 8)
+        {
+            long bytes = inContent.getLong(inOffset + shift);
+
+            newlines |= gather(equal(bytes, NEWLINES)) << shift;
+            returns |= gather(equal(bytes, RETURNS)) << shift;
+            tabs |= gather(equal(bytes, TABS)) << shift;
+
+            // Most source is ASCII, where no byte has its high bit set
+            if ((bytes & CONTINUATIONS) != 0)
+            {
+                continuations |= gather(equal(bytes & TOP_TWO, CONTINUATIONS)) << shift;
+                wide |= gather(equal(bytes & TOP_FIVE, WIDE_LEADS)) << shift;
+            }
+        }
+
+        inMdMasks[NEWLINE] = newlines;
+        inMdMasks[RETURN] = returns;
+        inMdMasks[TAB] = tabs;
+        inMdMasks[CONTINUATION] = continuations;
+        inMdMasks[WIDE] = wide;
+    }
+
+    /*
+     * Sets the high bit of each byte of inBytes that equals the same byte of inPattern, and clears every other bit.
+     */
+    private static long equal(long inBytes, long inPattern)
+    {
+        long difference = inBytes ^ inPattern;
+
+        return(~(((difference & LOW_SEVEN) + LOW_SEVEN) | difference | LOW_SEVEN));
+    }
+
+    /*
+     * Moves the high bit of byte i of inHighBits to bit i.
+     */
+    private static long gather(long inHighBits)
+    {
+        return(((inHighBits >>> 7) * GATHER) >>> 56);
+    }
+}
@@ -0,0 +1,43 @@
+package com.connectcv.coding.checker.source;
+
+/**
+ * <p>
+ * The successive representations a {@link SourceFile} can be taken to, from cheapest to most expensive. Each tier is built from
+ * the one before it, so a file prepared to a tier can also answer questions of any lower tier.
+ * </p>
+ * <p>
+ * Every check declares the highest tier it needs, and the checker takes each file no further than the most demanding check it
+ * runs. With only line level rules configured, as in a pre-commit profile, no file is ever lexed or parsed.
+ * </p>
+ */
+public enum Tier
+{
+    /**
+     * The content of the file, and anything that can be counted from it in a single scan. A file read by {@link SourceBuffers}
+     * is counted from its raw bytes, and only decoded when its characters are needed.
+     */
+    RAW,
+
+    /** The index of line starts, giving random access to each line. */
+    LINES,
+
+    /** The classified {@link TokenStream}. */
+    TOKENS,
+
+    /** The declaration {@link SourceStructure}, which takes the place of a syntax tree. */
+    AST,
+
+    /**
+     * The {@link ReferenceTable} of where each name in the file is used, which a {@link ReferenceIndex} can hold for a whole
+     * project. No check in this checker needs it yet, but the removal of unused private members does.
+     */
+    SYMBOLS;
+
+    /**
+     * Returns the more demanding of this tier and {@code inTier}.
+     */
+    public Tier max(Tier inTier)
+    {
+        return(compareTo(inTier) >= 0 ? this : inTier);
+    }
+}
@@ -0,0 +1,430 @@
+package com.connectcv.coding.checker.source;
+
+/**
+ * <p>
+ * Refines the context free token kinds produced by {@link JavaLexer} into the context dependent kinds that the checks need, and
+ * pairs up the opening and closing tokens of every bracketed region. In particular it distinguishes:
+ * <ul>
+ * <li>the angle brackets of type arguments and parameters from the relational and shift operators</li>
+ * <li>unary plus and minus from their binary forms, and post-increment and decrement from their prefix forms</li>
+ * <li>the opening parenthesis of a typecast from other parentheses</li>
+ * <li>the braces of an array initialiser from those of a block or class body</li>
+ * <li>the colon of a {@code case} or {@code default} label from the colon of a ternary, a label or an enhanced {@code for}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Java cannot be classified this way with certainty without a full parse, so the rules used here are heuristics chosen to be
+ * right for code that compiles.
+ * </p>
+ */
+final class TokenClassifier
+{
+    private TokenClassifier()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    static void classify(TokenStream inMdTokens)
+    {
+        markGenerics(inMdTokens);
+        matchBrackets(inMdTokens);
+        markContextualOperators(inMdTokens);
+    }
+
+    private static void markGenerics(TokenStream inMdTokens)
+    {
+        for (int idx = 0; idx < inMdTokens.size(); idx++)
+        {
+            if (inMdTokens.type(idx) == TokenType.LT && canStartGeneric(inMdTokens.type(idx - 1)))
+            {
+                int end = findGenericEnd(inMdTokens, idx);
+
+                if (end > idx)
+                {
+                    markGeneric(inMdTokens, idx, end);
+                    idx = end;
+                }
+            }
+        }
+    }
+
+    private static boolean canStartGeneric(TokenType inPrevious)
+    {
+        switch (inPrevious)
+        {
+            case IDENT:
+            case DOT:
+            case GENERIC_END:
+            case SEMI:
+            case LCURLY:
+            case RCURLY:
+            case RPAREN:            // An annotation with arguments preceding a generic method
+            case UNKNOWN:
+                return(true);
+
+            default:
+                return(inPrevious.isModifier());
+        }
+    }
+
+    /*
+     * Returns the index of the token that closes the type argument list opened at inStart, or -1 if the tokens that follow cannot
+     * be a type argument list.
+     */
+    private static int findGenericEnd(TokenStream inTokens, int inStart)
+    {
+        int depth = 0;
+
+        for (int idx = inStart; idx < inTokens.size(); idx++)
+        {
+            TokenType type = inTokens.type(idx);
+
+            switch (type)
+            {
+                case LT:
+                    depth++;
+                    break;
+
+                case GT:
+                    depth--;
+                    break;
+
+                case SR:
+                    depth -= 2;
+                    break;
+
+                case BSR:
+                    depth -= 3;
+                    break;
+
+                case IDENT:
+                case DOT:
+                case COMMA:
+                case QUESTION:
+                case LITERAL_EXTENDS:
+                case LITERAL_SUPER:
+                case BAND:
+                case LBRACK:
+                case RBRACK:
+                case AT:
+                case GENERIC_START:
+                case GENERIC_END:
+                    break;
+
+                default:
+                    if (!type.isPrimitiveType())
+                        return(-1);
+            }
+
+            if (depth == 0)
+                return(idx);
+
+            if (depth < 0)
+                return(-1);
+        }
+
+        return(-1);
+    }
+
+    private static void markGeneric(TokenStream inMdTokens, int inStart, int inEnd)
+    {
+        for (int idx = inStart; idx <= inEnd; idx++)
+        {
+            switch (inMdTokens.type(idx))
+            {
+                case LT:
+                    inMdTokens.setType(idx, TokenType.GENERIC_START);
+                    break;
+
+                case GT:
+                case SR:
+                case BSR:
+                    inMdTokens.setType(idx, TokenType.GENERIC_END);
+                    break;
+
+                case QUESTION:
+                    inMdTokens.setType(idx, TokenType.WILDCARD_TYPE);
+                    break;
+
+                case BAND:
+                    inMdTokens.setType(idx, TokenType.TYPE_EXTENSION_AND);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static void matchBrackets(TokenStream inMdTokens)
+    {
+        // No more brackets can be open than there are tokens, so the stack never needs to grow.
+        int[] stack = inMdTokens.scratch(inMdTokens.size());
+        int depth = 0;
+
+        for (int idx = 0; idx < inMdTokens.size(); idx++)
+        {
+            TokenType type = inMdTokens.type(idx);
+
+            switch (type)
+            {
+                case LPAREN:
+                case LBRACK:
+                case LCURLY:
+                case GENERIC_START:
+                    stack[depth++] = idx;
+                    break;
+
+                case RPAREN:
+                case RBRACK:
+                case RCURLY:
+                case GENERIC_END:
+                    int closes = closeCount(inMdTokens, idx);
+
+                    for (int count = 0; count < closes; count++)
+                    {
+                        // Unwind until the matching opener, leaving unbalanced openers unmatched
+                        while (depth > 0 && !opens(inMdTokens.type(stack[depth - 1]), type))
+                            depth--;
+
+                        if (depth > 0)
+                        {
+                            int open = stack[--depth];
+                            inMdTokens.setMatch(open, idx);
+                            inMdTokens.setMatch(idx, open);
+                        }
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static int closeCount(TokenStream inTokens, int inIndex)
+    {
+        if (inTokens.type(inIndex) != TokenType.GENERIC_END)
+            return(1);
+
+        return(inTokens.length(inIndex));  // '>>' and '>>>' close more than one type argument list
+    }
+
+    private static boolean opens(TokenType inOpen, TokenType inClose)
+    {
+        switch (inClose)
+        {
+            case RPAREN:
+                return(inOpen == TokenType.LPAREN);
+
+            case RBRACK:
+                return(inOpen == TokenType.LBRACK);
+
+            case RCURLY:
+                return(inOpen == TokenType.LCURLY);
+
+            default:
+                return(inOpen == TokenType.GENERIC_START);
+        }
+    }
+
+    private static void markContextualOperators(TokenStream inMdTokens)
+    {
+        for (int idx = 0; idx < inMdTokens.size(); idx++)
+        {
+            switch (inMdTokens.type(idx))
+            {
+                case LPAREN:
+                    if (isTypecast(inMdTokens, idx))
+                        inMdTokens.setType(idx, TokenType.TYPECAST);
+                    break;
+
+                case MINUS:
+                    if (!endsOperand(inMdTokens, idx - 1))
+                        inMdTokens.setType(idx, TokenType.UNARY_MINUS);
+                    break;
+
+                case PLUS:
+                    if (!endsOperand(inMdTokens, idx - 1))
+                        inMdTokens.setType(idx, TokenType.UNARY_PLUS);
+                    break;
+
+                case INC:
+                    if (endsOperand(inMdTokens, idx - 1))
+                        inMdTokens.setType(idx, TokenType.POST_INC);
+                    break;
+
+                case DEC:
+                    if (endsOperand(inMdTokens, idx - 1))
+                        inMdTokens.setType(idx, TokenType.POST_DEC);
+                    break;
+
+                case LCURLY:
+                    if (isArrayInitialiser(inMdTokens, idx))
+                        inMdTokens.setType(idx, TokenType.ARRAY_INIT);
+                    break;
+
+                case LITERAL_CASE:
+                    markCaseColon(inMdTokens, idx);
+                    break;
+
+                case LITERAL_DEFAULT:
+                    if (inMdTokens.type(idx + 1) == TokenType.COLON)
+                        inMdTokens.setType(idx + 1, TokenType.CASE_COLON);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+    /*
+     * Returns true if the token at inIndex can be the last token of an operand, so that an operator following it is binary (or
+     * postfix).
+     */
+    private static boolean endsOperand(TokenStream inTokens, int inIndex)
+    {
+        TokenType type = inTokens.type(inIndex);
+
+        switch (type)
+        {
+            case RPAREN:
+                return(inTokens.type(inTokens.match(inIndex)) != TokenType.TYPECAST);
+
+            case RBRACK:
+            case POST_INC:
+            case POST_DEC:
+                return(true);
+
+            default:
+                return(type.isOperand());
+        }
+    }
+
+    private static boolean isArrayInitialiser(TokenStream inTokens, int inOpen)
+    {
+        switch (inTokens.type(inOpen - 1))
+        {
+            case ASSIGN:
+            case RBRACK:
+            case LPAREN:        // An annotation element value
+            case COMMA:
+            case ARRAY_INIT:
+                return(true);
+
+            default:
+                return(false);
+        }
+    }
+
+    private static boolean isTypecast(TokenStream inTokens, int inOpen)
+    {
+        int close = inTokens.match(inOpen);
+
+        if (close <= inOpen + 1)
+            return(false);
+
+        switch (inTokens.type(inOpen - 1))
+        {
+            case IDENT:
+            case RPAREN:
+            case RBRACK:
+            case GENERIC_END:
+            case LITERAL_IF:
+            case LITERAL_WHILE:
+            case LITERAL_FOR:
+            case LITERAL_SWITCH:
+            case LITERAL_CATCH:
+            case LITERAL_SYNCHRONIZED:
+            case LITERAL_THIS:
+            case LITERAL_SUPER:
+            case AT:
+                return(false);
+
+            default:
+                break;
+        }
+
+        boolean isPrimitive = inTokens.type(inOpen + 1).isPrimitiveType();
+        int idx = isPrimitive ? inOpen + 2 : skipReferenceType(inTokens, inOpen + 1);
+
+        while (inTokens.type(idx) == TokenType.LBRACK && inTokens.type(idx + 1) == TokenType.RBRACK)
+            idx += 2;
+
+        if (idx != close)
+            return(false);
+
+        TokenType next = inTokens.type(close + 1);
+
+        switch (next)
+        {
+            case LPAREN:
+            case LNOT:
+            case BNOT:
+            case LITERAL_NEW:
+                return(true);
+
+            case MINUS:
+            case PLUS:
+            case INC:
+            case DEC:
+                return(isPrimitive);
+
+            default:
+                return(next.isOperand());
+        }
+    }
+
+    private static int skipReferenceType(TokenStream inTokens, int inStart)
+    {
+        int idx = inStart;
+
+        for (;;)
+        {
+            if (inTokens.type(idx) != TokenType.IDENT)
+                return(-1);
+
+            idx++;
+
+            if (inTokens.type(idx) == TokenType.GENERIC_START)
+                idx = inTokens.match(idx) + 1;
+
+            if (inTokens.type(idx) != TokenType.DOT)
+                return(idx);
+
+            idx++;
+        }
+    }
+
+    private static void markCaseColon(TokenStream inMdTokens, int inCase)
+    {
+        int pendingTernaries = 0;
+
+        for (int idx = inCase + 1; idx < inMdTokens.size(); idx++)
+        {
+            switch (inMdTokens.type(idx))
+            {
+                case QUESTION:
+                    pendingTernaries++;
+                    break;
+
+                case COLON:
+                    if (pendingTernaries == 0)
+                    {
+                        inMdTokens.setType(idx, TokenType.CASE_COLON);
+                        return;
+                    }
+
+                    pendingTernaries--;
+                    break;
+
+                case SEMI:
+                case LCURLY:
+                case RCURLY:
+                    return;
+
+                default:
+                    break;
+            }
+        }
+    }
+}
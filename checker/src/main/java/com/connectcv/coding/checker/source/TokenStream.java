@@ -0,0 +1,167 @@
+package com.connectcv.coding.checker.source;
+
+/**
+ * <p>
+ * The tokens of a single source file, held as parallel primitive arrays rather than as one object per token. A token is addressed
+ * by its index, from {@code 0} to {@link #size()} exclusive.
+ * </p>
+ * <p>
+ * A {@code TokenStream} is not thread safe, but it can be {@link #clear() cleared} and reused for another file, in which case its
+ * arrays are kept.
+ * </p>
+ */
+public final class TokenStream
+{
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int mSize;
+    private byte[] mTypes;
+    private int[] mStarts;
+    private int[] mEnds;
+    private int[] mLines;
+    private int[] mColumns;
+    private int[] mMatches;
+    private int[] mScratch;
+
+    public TokenStream()
+    {
+        mTypes = new byte[INITIAL_CAPACITY];
+        mStarts = new int[INITIAL_CAPACITY];
+        mEnds = new int[INITIAL_CAPACITY];
+        mLines = new int[INITIAL_CAPACITY];
+        mColumns = new int[INITIAL_CAPACITY];
+        mMatches = new int[INITIAL_CAPACITY];
+    }
+
+    public int size()
+    {
+        return(mSize);
+    }
+
+    public void clear()
+    {
+        mSize = 0;
+    }
+
+    /**
+     * Returns the type of the token at {@code inIndex}, or {@link TokenType#UNKNOWN} if the index is outside this stream (which
+     * saves bounds checks when looking ahead or behind).
+     */
+    public TokenType type(int inIndex)
+    {
+        if (inIndex < 0 || inIndex >= mSize)
+            return(TokenType.UNKNOWN);
+
+        return(TokenType.valueOf(mTypes[inIndex]));
+    }
+
+    /**
+     * Returns the offset of the first character of the token at {@code inIndex}.
+     */
+    public int start(int inIndex)
+    {
+        return(mStarts[inIndex]);
+    }
+
+    /**
+     * Returns the offset one past the last character of the token at {@code inIndex}.
+     */
+    public int end(int inIndex)
+    {
+        return(mEnds[inIndex]);
+    }
+
+    public int length(int inIndex)
+    {
+        return(mEnds[inIndex] - mStarts[inIndex]);
+    }
+
+    /**
+     * Returns the one based line number of the token at {@code inIndex}.
+     */
+    public int line(int inIndex)
+    {
+        return(mLines[inIndex]);
+    }
+
+    /**
+     * Returns the zero based offset of the token at {@code inIndex} from the start of its line, without any tab expansion.
+     */
+    public int column(int inIndex)
+    {
+        return(mColumns[inIndex]);
+    }
+
+    /**
+     * Returns the index of the token that closes (or opens) the bracket, parenthesis, brace or generic at {@code inIndex}, or
+     * {@code -1} if the token is not a bracket or is unbalanced.
+     */
+    public int match(int inIndex)
+    {
+        return(mMatches[inIndex]);
+    }
+
+    public boolean is(int inIndex, TokenType inType)
+    {
+        return(type(inIndex) == inType);
+    }
+
+    void setType(int inIndex, TokenType inType)
+    {
+        mTypes[inIndex] = (byte) inType.ordinal();
+    }
+
+    void setMatch(int inIndex, int inMatch)
+    {
+        mMatches[inIndex] = inMatch;
+    }
+
+    /**
+     * Returns a work array of at least {@code inCapacity} elements, which is kept with this stream so that it is reused along
+     * with the stream. Its contents are undefined.
+     */
+    int[] scratch(int inCapacity)
+    {
+        if (mScratch == null || mScratch.length < inCapacity)
+            mScratch = new int[Math.max(inCapacity, mTypes.length)];
+
+        return(mScratch);
+    }
+
+    void add(TokenType inType, int inStart, int inEnd, int inLine, int inColumn)
+    {
+        if (mSize == mTypes.length)
+            grow();
+
+        mTypes[mSize] = (byte) inType.ordinal();
+        mStarts[mSize] = inStart;
+        mEnds[mSize] = inEnd;
+        mLines[mSize] = inLine;
+        mColumns[mSize] = inColumn;
+        mMatches[mSize] = -1;
+        mSize++;
+    }
+
+    private void grow()
+    {
+        int capacity = mTypes.length * 2;
+
+        byte[] types = new byte[capacity];
+        System.arraycopy(mTypes, 0, types, 0, mSize);
+        mTypes = types;
+
+        mStarts = copyOf(mStarts, capacity);
+        mEnds = copyOf(mEnds, capacity);
+        mLines = copyOf(mLines, capacity);
+        mColumns = copyOf(mColumns, capacity);
+        mMatches = copyOf(mMatches, capacity);
+    }
+
+    private int[] copyOf(int[] inArray, int inCapacity)
+    {
+        int[] copy = new int[inCapacity];
+        System.arraycopy(inArray, 0, copy, 0, mSize);
+
+        return(copy);
+    }
+}
@@ -0,0 +1,318 @@
+package com.connectcv.coding.checker.source;
+
+/**
+ * <p>
+ * The kinds of token produced by {@link JavaLexer}. Where Checkstyle has a token of the same meaning the same name is used, so that
+ * the {@code tokens} property of a configured module can be mapped directly onto this enumeration with {@link #forName(String)}.
+ * </p>
+ * <p>
+ * The lexer itself only produces the context free kinds. The context dependent kinds ({@code GENERIC_START}, {@code UNARY_MINUS},
+ * {@code POST_INC}, {@code TYPECAST}, {@code ARRAY_INIT} and so on) are assigned afterwards by {@link TokenClassifier}.
+ * </p>
+ */
+public enum TokenType
+{
+    IDENT (null),
+    NUM_LITERAL (null),
+    CHAR_LITERAL (null),
+    STRING_LITERAL (null),
+
+    ABSTRACT ("abstract"),
+    FINAL ("final"),
+    STRICTFP ("strictfp"),
+    LITERAL_ASSERT ("assert"),
+    LITERAL_BOOLEAN ("boolean"),
+    LITERAL_BREAK ("break"),
+    LITERAL_BYTE ("byte"),
+    LITERAL_CASE ("case"),
+    LITERAL_CATCH ("catch"),
+    LITERAL_CHAR ("char"),
+    LITERAL_CLASS ("class"),
+    LITERAL_CONST ("const"),
+    LITERAL_CONTINUE ("continue"),
+    LITERAL_DEFAULT ("default"),
+    LITERAL_DO ("do"),
+    LITERAL_DOUBLE ("double"),
+    LITERAL_ELSE ("else"),
+    ENUM ("enum"),
+    LITERAL_EXTENDS ("extends"),
+    LITERAL_FALSE ("false"),
+    LITERAL_FINALLY ("finally"),
+    LITERAL_FLOAT ("float"),
+    LITERAL_FOR ("for"),
+    LITERAL_GOTO ("goto"),
+    LITERAL_IF ("if"),
+    LITERAL_IMPLEMENTS ("implements"),
+    IMPORT ("import"),
+    LITERAL_INSTANCEOF ("instanceof"),
+    LITERAL_INT ("int"),
+    LITERAL_INTERFACE ("interface"),
+    LITERAL_LONG ("long"),
+    LITERAL_NATIVE ("native"),
+    LITERAL_NEW ("new"),
+    LITERAL_NULL ("null"),
+    PACKAGE ("package"),
+    LITERAL_PRIVATE ("private"),
+    LITERAL_PROTECTED ("protected"),
+    LITERAL_PUBLIC ("public"),
+    LITERAL_RETURN ("return"),
+    LITERAL_SHORT ("short"),
+    LITERAL_STATIC ("static"),
+    LITERAL_SUPER ("super"),
+    LITERAL_SWITCH ("switch"),
+    LITERAL_SYNCHRONIZED ("synchronized"),
+    LITERAL_THIS ("this"),
+    LITERAL_THROW ("throw"),
+    LITERAL_THROWS ("throws"),
+    LITERAL_TRANSIENT ("transient"),
+    LITERAL_TRUE ("true"),
+    LITERAL_TRY ("try"),
+    LITERAL_VOID ("void"),
+    LITERAL_VOLATILE ("volatile"),
+    LITERAL_WHILE ("while"),
+
+    LPAREN ("("),
+    RPAREN (")"),
+    LCURLY ("{"),
+    RCURLY ("}"),
+    LBRACK ("["),
+    RBRACK ("]"),
+    SEMI (";"),
+    COMMA (","),
+    DOT ("."),
+    ELLIPSIS ("..."),
+    AT ("@"),
+    DOUBLE_COLON ("::"),
+    LAMBDA ("->"),
+
+    ASSIGN ("="),
+    PLUS_ASSIGN ("+="),
+    MINUS_ASSIGN ("-="),
+    STAR_ASSIGN ("*="),
+    DIV_ASSIGN ("/="),
+    MOD_ASSIGN ("%="),
+    SR_ASSIGN (">>="),
+    BSR_ASSIGN (">>>="),
+    SL_ASSIGN ("<<="),
+    BAND_ASSIGN ("&="),
+    BXOR_ASSIGN ("^="),
+    BOR_ASSIGN ("|="),
+    QUESTION ("?"),
+    COLON (":"),
+    LOR ("||"),
+    LAND ("&&"),
+    BOR ("|"),
+    BXOR ("^"),
+    BAND ("&"),
+    NOT_EQUAL ("!="),
+    EQUAL ("=="),
+    LT ("<"),
+    GT (">"),
+    LE ("<="),
+    GE (">="),
+    SL ("<<"),
+    SR (">>"),
+    BSR (">>>"),
+    PLUS ("+"),
+    MINUS ("-"),
+    STAR ("*"),
+    DIV ("/"),
+    MOD ("%"),
+    INC ("++"),
+    DEC ("--"),
+    BNOT ("~"),
+    LNOT ("!"),
+
+    /*
+     * Context dependent kinds, assigned by TokenClassifier.
+     */
+    UNARY_PLUS ("+"),
+    UNARY_MINUS ("-"),
+    POST_INC ("++"),
+    POST_DEC ("--"),
+    GENERIC_START ("<"),
+    GENERIC_END (">"),
+    WILDCARD_TYPE ("?"),
+    TYPE_EXTENSION_AND ("&"),
+    TYPECAST ("("),
+    ARRAY_INIT ("{"),
+    CASE_COLON (":"),
+
+    UNKNOWN (null);
+
+    private static final TokenType[] VALUES = values();
+
+    /*
+     * An open addressed hash table of the keywords, probed with the hash of the characters of an identifier so that the lexer can
+     * look up a keyword without creating a String for every identifier it reads.
+     */
+    private static final TokenType[] KEYWORDS = new TokenType[128];
+
+    private static final int MAX_KEYWORD_LENGTH = 12;
+
+    static
+    {
+        for (TokenType type : VALUES)
+        {
+            if (type.isKeyword())
+            {
+                int slot = spread(type.mText.hashCode());
+
+                while (KEYWORDS[slot] != null)
+                    slot = (slot + 1) & (KEYWORDS.length - 1);
+
+                KEYWORDS[slot] = type;
+            }
+        }
+    }
+
+    private final String mText;
+
+    TokenType(String inText)
+    {
+        mText = inText;
+    }
+
+    /**
+     * Returns the fixed source text of this kind of token, or {@code null} for identifiers and literals.
+     */
+    public String getText()
+    {
+        return(mText);
+    }
+
+    public boolean isKeyword()
+    {
+        return(mText != null && Character.isJavaIdentifierStart(mText.charAt(0)));
+    }
+
+    public boolean isPrimitiveType()
+    {
+        switch (this)
+        {
+            case LITERAL_BOOLEAN:
+            case LITERAL_BYTE:
+            case LITERAL_CHAR:
+            case LITERAL_DOUBLE:
+            case LITERAL_FLOAT:
+            case LITERAL_INT:
+            case LITERAL_LONG:
+            case LITERAL_SHORT:
+                return(true);
+
+            default:
+                return(false);
+        }
+    }
+
+    public boolean isModifier()
+    {
+        switch (this)
+        {
+            case ABSTRACT:
+            case FINAL:
+            case STRICTFP:
+            case LITERAL_NATIVE:
+            case LITERAL_PRIVATE:
+            case LITERAL_PROTECTED:
+            case LITERAL_PUBLIC:
+            case LITERAL_STATIC:
+            case LITERAL_SYNCHRONIZED:
+            case LITERAL_TRANSIENT:
+            case LITERAL_VOLATILE:
+                return(true);
+
+            default:
+                return(false);
+        }
+    }
+
+    /**
+     * Returns {@code true} if this is a literal value, an identifier or one of the keywords that evaluate to a value.
+     */
+    public boolean isOperand()
+    {
+        switch (this)
+        {
+            case IDENT:
+            case NUM_LITERAL:
+            case CHAR_LITERAL:
+            case STRING_LITERAL:
+            case LITERAL_TRUE:
+            case LITERAL_FALSE:
+            case LITERAL_NULL:
+            case LITERAL_THIS:
+            case LITERAL_SUPER:
+            case LITERAL_CLASS:
+                return(true);
+
+            default:
+                return(false);
+        }
+    }
+
+    static TokenType valueOf(int inOrdinal)
+    {
+        return(VALUES[inOrdinal]);
+    }
+
+    /**
+     * Returns the keyword spelt by the characters of {@code inText} from {@code inStart} to {@code inEnd} exclusive, or
+     * {@code null} if they do not spell a keyword.
+     */
+    static TokenType keyword(char[] inText, int inStart, int inEnd)
+    {
+        int length = inEnd - inStart;
+
+        if (length < 2 || length > MAX_KEYWORD_LENGTH)
+            return(null);
+
+        int hash = 0;
+
+        for (int idx = inStart; idx < inEnd; idx++)
+            hash = 31 * hash + inText[idx];     // The same hash as String.hashCode()
+
+        for (int slot = spread(hash); KEYWORDS[slot] != null; slot = (slot + 1) & (KEYWORDS.length - 1))
+        {
+            String keyword = KEYWORDS[slot].mText;
+
+            if (keyword.length() == length && matches(keyword, inText, inStart))
+                return(KEYWORDS[slot]);
+        }
+
+        return(null);
+    }
+
+    private static boolean matches(String inKeyword, char[] inText, int inStart)
+    {
+        for (int idx = 0; idx < inKeyword.length(); idx++)
+        {
+            if (inKeyword.charAt(idx) != inText[inStart + idx])
+                return(false);
+        }
+
+        return(true);
+    }
+
+    private static int spread(int inHash)
+    {
+        return((inHash ^ (inHash >>> 7) ^ (inHash >>> 16)) & (KEYWORDS.length - 1));
+    }
+
+    /**
+     * Maps a Checkstyle token name (as used in the {@code tokens} property of a module) onto a {@code TokenType}.
+     *
+     * @return the matching {@code TokenType}, or {@code null} if the token has no counterpart in this lexer.
+     */
+    public static TokenType forName(String inName)
+    {
+        try
+        {
+            return(valueOf(inName.trim()));
+        }
+        catch (IllegalArgumentException iae)
+        {
+            return(null);
+        }
+    }
+}
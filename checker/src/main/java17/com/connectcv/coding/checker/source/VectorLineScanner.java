@@ -0,0 +1,66 @@
+package com.connectcv.coding.checker.source;
+
+import java.nio.ByteBuffer;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>
+ * A {@link LineScanner} that classifies a block with the widest byte vectors that the processor has, up to a block of 64 bytes,
+ * each comparison giving a lane mask whose bits are the bits of the block. It uses the incubating Vector API, so it is only
+ * compiled on JDK 17 and later, and {@link LineScanner#create()} loads it by name, only when the JVM has added the
+ * {@code jdk.incubator.vector} module.
+ * </p>
+ * <p>
+ * The bytes of a heap buffer are loaded in place. Those of a direct or mapped buffer are first copied a block at a time into an
+ * array, as loading a vector from a buffer has changed from one release of the API to the next.
+ * </p>
+ */
+public final class VectorLineScanner extends LineScanner
+{
+    private static final VectorSpecies<Byte> SPECIES =
+        (ByteVector.SPECIES_PREFERRED.length() <= BLOCK) ? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+
+    private final byte[] mBlock = new byte[BLOCK];
+
+    @Override
+    void classify(ByteBuffer inContent, int inOffset, long[] inMdMasks)
+    {
+        byte[] bytes = mBlock;
+        int base = 0;
+
+        if (inContent.hasArray())
+        {
+            bytes = inContent.array();
+            base = inContent.arrayOffset() + inOffset;
+        }
+        else
+        {
+            inContent.get(inOffset, mBlock);
+        }
+
+        long newlines = 0;
+        long returns = 0;
+        long tabs = 0;
+        long continuations = 0;
+        long wide = 0;
+
+        for (int shift = 0; shift < BLOCK; shift += SPECIES.length())
+        {
+            ByteVector vector = ByteVector.fromArray(SPECIES, bytes, base + shift);
+
+            newlines |= vector.eq((byte) '\n').toLong() << shift;
+            returns |= vector.eq((byte) '\r').toLong() << shift;
+            tabs |= vector.eq((byte) '\t').toLong() << shift;
+            continuations |= vector.and((byte) 0xC0).eq((byte) 0x80).toLong() << shift;
+            wide |= vector.and((byte) 0xF8).eq((byte) 0xF0).toLong() << shift;
+        }
+
+        inMdMasks[NEWLINE] = newlines;
+        inMdMasks[RETURN] = returns;
+        inMdMasks[TAB] = tabs;
+        inMdMasks[CONTINUATION] = continuations;
+        inMdMasks[WIDE] = wide;
+    }
+}
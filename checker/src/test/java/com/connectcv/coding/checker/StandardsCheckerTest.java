@@ -0,0 +1,180 @@
+package com.connectcv.coding.checker;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+
+/**
+ * Golden tests of the checker against the examples in the standards module, which must stay clean, and a corpus file which
+ * breaks each supported rule at least once.
+ */
+@Test
+public class StandardsCheckerTest
+{
+    private static final File CONFIGURATION = new File("../ccv_checkstyle_definition_v0.3.xml");
+
+    private static final File STANDARDS = new File("../standards/src/main/java");
+
+    private static final File CORPUS = new File("src/test/resources/corpus");
+
+    private StandardsChecker mChecker;
+
+    @BeforeClass
+    public void createChecker() throws Exception
+    {
+        mChecker = new StandardsChecker(ConfigurationLoader.load(CONFIGURATION));
+    }
+
+    public void standardsExamplesAreCleanTest()
+    {
+        // Set up
+        List<File> files = new ArrayList<File>();
+        Main.collectSources(STANDARDS, files);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try
+        {
+            // Exercise component
+            List<FileResult> results = mChecker.check(files, pool);
+
+            // Verify
+            assertTrue(files.size() > 0);
+            assertEquals(files.size(), results.size());
+
+            for (FileResult result : results)
+            {
+                assertNull(result.getFile() + ": " + result.getError(), result.getError());
+                assertEquals(result.getFile() + ": " + result.getViolations(), 0, result.getViolations().size());
+            }
+        }
+        finally
+        {
+            // Tear down
+            pool.shutdown();
+        }
+    }
+
+    public void corpusMatchesExpectedViolationsTest() throws IOException
+    {
+        // Set up
+        File source = new File(CORPUS, "Violations.java");
+        List<String> expected = readLines(new File(CORPUS, "Violations.expected"));
+
+        // Exercise component
+        FileResult result = mChecker.check(source);
+
+        // Verify
+        assertNull(result.getError());
+
+        List<String> actual = new ArrayList<String>();
+
+        for (Violation violation : result.getViolations())
+            actual.add(source.getName() + ":" + violation);
+
+        assertEquals(expected, actual);
+    }
+
+    public void parallelMatchesSequentialTest()
+    {
+        // Set up
+        List<File> files = new ArrayList<File>();
+        Main.collectSources(STANDARDS, files);
+        Main.collectSources(CORPUS, files);
+        ForkJoinPool pool = new ForkJoinPool(8);
+
+        try
+        {
+            // Exercise component
+            List<FileResult> parallel = mChecker.check(files, pool);
+
+            // Verify
+            for (int idx = 0; idx < files.size(); idx++)
+            {
+                FileResult sequential = mChecker.check(files.get(idx));
+
+                assertEquals(files.get(idx), parallel.get(idx).getFile());
+                assertEquals(sequential.getViolations().toString(), parallel.get(idx).getViolations().toString());
+            }
+        }
+        finally
+        {
+            // Tear down
+            pool.shutdown();
+        }
+    }
+
+    public void mainExitStatusTest()
+    {
+        // Set up
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream ignored = new PrintStream(new ByteArrayOutputStream());
+        String configuration = CONFIGURATION.getPath();
+
+        // Exercise component
+        int clean = Main.run(new String[] { "-c", configuration, "-t", "2", STANDARDS.getPath() }, new PrintStream(out), ignored);
+        int dirty = Main.run(new String[] { "-c", configuration, CORPUS.getPath() }, new PrintStream(out), ignored);
+        int broken = Main.run(new String[] { "-c", "missing.xml", CORPUS.getPath() }, new PrintStream(out), ignored);
+
+        // Verify
+        assertEquals(0, clean);
+        assertEquals(1, dirty);
+        assertEquals(2, broken);
+    }
+
+    public void mainRejectsBadOptionValuesTest()
+    {
+        // Set up
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        // Exercise component
+        int badTier = Main.run(new String[] { "-tier", "foo", CORPUS.getPath() }, out, new PrintStream(err));
+        int badThreads = Main.run(new String[] { "-t", "four", CORPUS.getPath() }, out, new PrintStream(err));
+        int noThreads = Main.run(new String[] { "-t", "0", CORPUS.getPath() }, out, new PrintStream(err));
+        int badCacheSize = Main.run(new String[] { "-cacheSize", "1G", CORPUS.getPath() }, out, new PrintStream(err));
+        int noCacheSize = Main.run(new String[] { "-cacheSize", "-1", CORPUS.getPath() }, out, new PrintStream(err));
+
+        // Verify
+        assertEquals(2, badTier);
+        assertEquals(2, badThreads);
+        assertEquals(2, noThreads);
+        assertEquals(2, badCacheSize);
+        assertEquals(2, noCacheSize);
+        assertTrue(err.toString().contains("Usage:"));
+    }
+
+    private static List<String> readLines(File inFile) throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inFile), "UTF-8"));
+
+        try
+        {
+            List<String> lines = new ArrayList<String>();
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine())
+                lines.add(line);
+
+            return(lines);
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.connectcv.coding.checker;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Tier;
+
+@Test
+public class TieredCheckingTest
+{
+    private static final File CONFIGURATION = new File("../ccv_checkstyle_definition_v0.3.xml");
+
+    private static final File CORPUS = new File("src/test/resources/corpus/Violations.java");
+
+    private static final List<String> LINE_MODULES = Arrays.asList("FileLength", "LineLength", "RegexpSingleline");
+
+    public void lineRulesNeedOnlyLinesTest() throws Exception
+    {
+        // Set up
+        String configuration = "<module name=\"Checker\"><module name=\"FileLength\"/><module name=\"TreeWalker\">" +
+                               "<module name=\"LineLength\"><property name=\"max\" value=\"132\"/></module>" +
+                               "</module></module>";
+        ModuleConfiguration root = ConfigurationLoader.load(new ByteArrayInputStream(configuration.getBytes("UTF-8")), "lines");
+
+        // Exercise component
+        StandardsChecker checker = new StandardsChecker(root);
+
+        // Verify
+        assertSame(Tier.LINES, checker.getTier());
+    }
+
+    public void fullConfigurationNeedsStructureTest() throws Exception
+    {
+        // Exercise component
+        StandardsChecker checker = new StandardsChecker(ConfigurationLoader.load(CONFIGURATION));
+
+        // Verify
+        assertSame(Tier.AST, checker.getTier());
+        assertTrue(checker.getSkippedModules().isEmpty());
+    }
+
+    public void limitedCheckerRunsLowerTiersOnlyTest() throws Exception
+    {
+        // Set up
+        ModuleConfiguration root = ConfigurationLoader.load(CONFIGURATION);
+        List<Violation> expected = new ArrayList<Violation>();
+
+        for (Violation violation : new StandardsChecker(root).check(CORPUS).getViolations())
+        {
+            if (LINE_MODULES.contains(violation.getModule()))
+                expected.add(violation);
+        }
+
+        // Exercise component
+        StandardsChecker checker = new StandardsChecker(root, null, Tier.LINES);
+        FileResult result = checker.check(CORPUS);
+
+        // Verify
+        assertSame(Tier.LINES, checker.getTier());
+        assertTrue(checker.getSkippedModules().contains("OperatorWrap"));
+        assertTrue(checker.getSkippedModules().contains("MemberName"));
+        assertTrue(expected.size() > 0);
+        assertEquals(expected, result.getViolations());
+    }
+}
@@ -0,0 +1,77 @@
+package com.connectcv.coding.checker.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.checker.source.SourceBuffers;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Compares reading and tokenizing a file into a thread's reused {@link SourceBuffers} with reading it into new arrays, as the
+ * checker did before. Run with the {@code gc} profiler to see the allocation per file: {@code gc.alloc.rate.norm} for
+ * {@link #reusedBuffers()} is a few hundred bytes whatever the size of the file, against several times the file size for
+ * {@link #freshBuffers()}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark
+{
+    private static final String SAMPLES = "../standards/src/main/java/com/connectcv/coding/standards/";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Param({ "WhitespaceAndIndentation", "ProgrammingPractices", "Comments" })
+    public String mSample;
+
+    private File mFile;
+    private SourceBuffers mBuffers;
+
+    @Setup
+    public void setUp()
+    {
+        mFile = new File(SAMPLES + mSample + ".java");
+        mBuffers = new SourceBuffers(UTF_8);
+    }
+
+    @Benchmark
+    public int reusedBuffers() throws IOException
+    {
+        mBuffers.read(mFile);
+
+        return(new SourceFile(mFile.getPath(), mBuffers, 4, Tier.TOKENS).getTokens().size());
+    }
+
+    @Benchmark
+    public int freshBuffers() throws IOException
+    {
+        CharBuffer text = UTF_8.decode(ByteBuffer.wrap(Files.readAllBytes(mFile.toPath())));
+        char[] chars = new char[text.remaining()];
+        text.get(chars);
+
+        return(new SourceFile(mFile.getPath(), chars, chars.length, 4, Tier.TOKENS).getTokens().size());
+    }
+}
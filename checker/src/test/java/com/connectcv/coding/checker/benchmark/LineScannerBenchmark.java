@@ -0,0 +1,140 @@
+package com.connectcv.coding.checker.benchmark;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.checker.source.LineScan;
+import com.connectcv.coding.checker.source.LineScanner;
+import com.connectcv.coding.checker.source.SwarLineScanner;
+
+/**
+ * <p>
+ * Compares finding the longest line and the lines with trailing whitespace of a memory mapped file with a {@link LineScanner},
+ * against decoding the same bytes and reading them with {@link BufferedReader#readLine()}. The file is
+ * {@code WhitespaceAndIndentation} repeated {@code mCopies} times, 15 KB for each copy, so that the throughput of each is its
+ * size over the score. {@link #preferredScanner()} is the vector scanner when the JVM supports it, as it does when the
+ * {@code benchmark} profile runs on JDK 21 or later, and the SWAR scanner otherwise.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineScannerBenchmark
+{
+    private static final File SAMPLE =
+        new File("../standards/src/main/java/com/connectcv/coding/standards/WhitespaceAndIndentation.java");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int TAB_WIDTH = 4;
+
+    @Param({ "1", "64" })
+    public int mCopies;
+
+    private File mFile;
+    private byte[] mBytes;
+    private ByteBuffer mMapped;
+    private LineScanner mSwar;
+    private LineScanner mPreferred;
+    private LineScan mScan;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        byte[] sample = Files.readAllBytes(SAMPLE.toPath());
+
+        mBytes = new byte[sample.length * mCopies];
+
+        for (int copy = 0; copy < mCopies; copy++)
+            System.arraycopy(sample, 0, mBytes, copy * sample.length, sample.length);
+
+        mFile = File.createTempFile("LineScannerBenchmark", ".java");
+        Files.write(mFile.toPath(), mBytes);
+
+        FileChannel channel = FileChannel.open(mFile.toPath(), StandardOpenOption.READ);
+
+        try
+        {
+            mMapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, mBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        finally
+        {
+            channel.close();
+        }
+
+        mSwar = new SwarLineScanner();
+        mPreferred = LineScanner.create();
+        mScan = new LineScan();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        mFile.delete();
+    }
+
+    @Benchmark
+    public int readLine() throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(mBytes), UTF_8));
+        int maxColumns = 0;
+        int trailing = 0;
+
+        for (String line = reader.readLine(); line != null; line = reader.readLine())
+        {
+            int column = 0;
+
+            for (int idx = 0; idx < line.length(); idx++)
+                column += (line.charAt(idx) == '\t') ? TAB_WIDTH - (column % TAB_WIDTH) : 1;
+
+            maxColumns = Math.max(maxColumns, column);
+
+            if (line.length() > 0 && Character.isWhitespace(line.charAt(line.length() - 1)))
+                trailing++;
+        }
+
+        return(maxColumns + trailing);
+    }
+
+    @Benchmark
+    public int swarScanner()
+    {
+        mSwar.scan(mMapped, TAB_WIDTH, mScan);
+
+        return(mScan.getMaxColumns() + mScan.getTrailingWhitespaceCount());
+    }
+
+    @Benchmark
+    public int preferredScanner()
+    {
+        mPreferred.scan(mMapped, TAB_WIDTH, mScan);
+
+        return(mScan.getMaxColumns() + mScan.getTrailingWhitespaceCount());
+    }
+}
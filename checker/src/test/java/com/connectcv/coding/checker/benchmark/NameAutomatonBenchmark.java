@@ -0,0 +1,106 @@
+package com.connectcv.coding.checker.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.checker.checks.NameAutomaton;
+import com.connectcv.coding.checker.source.Declaration;
+import com.connectcv.coding.checker.source.SourceBuffers;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Compares classifying every declared name of a file against the default rules of the {@code NamingConvention} module with a
+ * single {@link NameAutomaton}, against matching each rule with its own {@link Pattern}. The score is the time taken for all
+ * the declared names of the file.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameAutomatonBenchmark
+{
+    private static final String SAMPLES = "../standards/src/main/java/com/connectcv/coding/standards/";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String[] RULES = { "^m[A-Z0-9]", "^s[A-Z0-9]", "^in[A-Z0-9]", "^m(Is|Are|Can|Has)[A-Z0-9]",
+                                            "^s(Is|Are|Can|Has)[A-Z0-9]", "^in(Is|Are|Can|Has)[A-Z0-9]",
+                                            "[A-Z][A-Z][A-Z]|[A-Z][A-Z]$", "^[a-z]+[0-9]*$" };
+
+    @Param({ "NamingConventions", "ProgrammingPractices", "Declarations" })
+    public String mSample;
+
+    private String[] mNames;
+    private NameAutomaton mAutomaton;
+    private Pattern[] mPatterns;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        SourceBuffers buffers = new SourceBuffers(UTF_8);
+        File file = new File(SAMPLES + mSample + ".java");
+        List<String> names = new ArrayList<String>();
+
+        buffers.read(file);
+
+        for (Declaration declaration : new SourceFile(file.getPath(), buffers, 4, Tier.AST).getStructure().getDeclarations())
+            names.add(declaration.getName());
+
+        mNames = names.toArray(new String[names.size()]);
+        mAutomaton = NameAutomaton.compile(RULES);
+        mPatterns = new Pattern[RULES.length];
+
+        for (int idx = 0; idx < RULES.length; idx++)
+            mPatterns[idx] = Pattern.compile(RULES[idx]);
+    }
+
+    @Benchmark
+    public long automaton()
+    {
+        long masks = 0;
+
+        for (String name : mNames)
+            masks += mAutomaton.classify(name);
+
+        return(masks);
+    }
+
+    @Benchmark
+    public long patterns()
+    {
+        long masks = 0;
+
+        for (String name : mNames)
+        {
+            for (int idx = 0; idx < mPatterns.length; idx++)
+            {
+                if (mPatterns[idx].matcher(name).find())
+                    masks += 1L << idx;
+            }
+        }
+
+        return(masks);
+    }
+}
@@ -0,0 +1,71 @@
+package com.connectcv.coding.checker.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connectcv.coding.checker.StandardsChecker;
+import com.connectcv.coding.checker.config.ConfigurationException;
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Tier;
+
+/**
+ * <p>
+ * Compares checking a file with the whole configuration, which takes it to the {@link Tier#AST} tier, against checking it with
+ * the checker limited to {@link Tier#LINES}, as {@code -tier LINES} does for a pre-commit run, where the file is never lexed
+ * or parsed. Both read the file afresh on each call, as the checker does.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TierBenchmark
+{
+    private static final String SAMPLES = "../standards/src/main/java/com/connectcv/coding/standards/";
+
+    private static final File CONFIGURATION = new File("../ccv_checkstyle_definition_v0.3.xml");
+
+    @Param({ "WhitespaceAndIndentation", "Comments" })
+    public String mSample;
+
+    private File mFile;
+    private StandardsChecker mAllTiers;
+    private StandardsChecker mLinesTier;
+
+    @Setup
+    public void setUp() throws ConfigurationException
+    {
+        ModuleConfiguration root = ConfigurationLoader.load(CONFIGURATION);
+
+        mFile = new File(SAMPLES + mSample + ".java");
+        mAllTiers = new StandardsChecker(root);
+        mLinesTier = new StandardsChecker(root, null, Tier.LINES);
+    }
+
+    @Benchmark
+    public int allTiers()
+    {
+        return(mAllTiers.check(mFile).getViolations().size());
+    }
+
+    @Benchmark
+    public int linesTier()
+    {
+        return(mLinesTier.check(mFile).getViolations().size());
+    }
+}
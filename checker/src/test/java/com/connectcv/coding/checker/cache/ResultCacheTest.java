@@ -0,0 +1,169 @@
+package com.connectcv.coding.checker.cache;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.checker.FileResult;
+import com.connectcv.coding.checker.Severity;
+import com.connectcv.coding.checker.StandardsChecker;
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+import com.connectcv.coding.checker.source.Tier;
+
+@Test
+public class ResultCacheTest
+{
+    private static final File CONFIGURATION = new File("../ccv_checkstyle_definition_v0.3.xml");
+
+    private static final File CORPUS = new File("src/test/resources/corpus/Violations.java");
+
+    private File mDirectory;
+    private ModuleConfiguration mConfiguration;
+
+    @BeforeMethod
+    public void createDirectory() throws Exception
+    {
+        mDirectory = Files.createTempDirectory("result-cache").toFile();
+        mConfiguration = ConfigurationLoader.load(CONFIGURATION);
+    }
+
+    @AfterMethod
+    public void deleteDirectory()
+    {
+        delete(mDirectory);
+    }
+
+    public void roundTripTest() throws IOException
+    {
+        // Set up
+        ResultCache cache = new ResultCache(mDirectory, 1024 * 1024, mConfiguration);
+        List<Violation> violations = Arrays.asList(new Violation(3, 17, Severity.WARNING, "Using the '.*' form", "AvoidStarImport"),
+                                                   new Violation(53, 0, Severity.ERROR, "Line is longer", "LineLength"));
+        String key = cache.key("class A { }".getBytes("UTF-8"));
+
+        // Exercise component
+        List<Violation> before = cache.get(key);
+        cache.put(key, violations);
+        List<Violation> after = new ResultCache(mDirectory, 1024 * 1024, mConfiguration).get(key);
+
+        // Verify
+        assertNull(before);
+        assertEquals(violations, after);
+        assertEquals(1, cache.getMisses());
+    }
+
+    public void keyDependsOnContentAndConfigurationTest() throws Exception
+    {
+        // Set up
+        ModuleConfiguration other = ConfigurationLoader.load(new ByteArrayInputStream(
+            "<module name=\"Checker\"><module name=\"FileLength\"/></module>".getBytes("UTF-8")), "other.xml");
+        ResultCache cache = new ResultCache(mDirectory, 1024 * 1024, mConfiguration);
+        ResultCache otherCache = new ResultCache(mDirectory, 1024 * 1024, other);
+        byte[] content = "class A { }".getBytes("UTF-8");
+
+        // Exercise component
+        String key = cache.key(content);
+
+        // Verify
+        assertEquals(key, new ResultCache(mDirectory, 1024 * 1024, ConfigurationLoader.load(CONFIGURATION)).key(content));
+        assertFalse(key.equals(cache.key("class B { }".getBytes("UTF-8"))));
+        assertFalse(key.equals(otherCache.key(content)));
+    }
+
+    public void damagedEntryIsMissTest() throws IOException
+    {
+        // Set up
+        ResultCache cache = new ResultCache(mDirectory, 1024 * 1024, mConfiguration);
+        String key = cache.key(new byte[0]);
+        cache.put(key, Collections.<Violation>emptyList());
+        File entry = new File(new File(mDirectory, key.substring(0, 2)), key.substring(2));
+        Files.write(entry.toPath(), new byte[] { 1, 2, 3 });
+
+        // Exercise component
+        List<Violation> violations = cache.get(key);
+
+        // Verify
+        assertNull(violations);
+    }
+
+    public void evictsLeastRecentlyUsedTest() throws IOException
+    {
+        // Set up
+        List<Violation> violations = new ArrayList<Violation>();
+
+        for (int idx = 0; idx < 20; idx++)
+            violations.add(new Violation(idx + 1, 0, Severity.WARNING, "Line is longer than 132 characters.", "LineLength"));
+
+        ResultCache cache = new ResultCache(mDirectory, 1, mConfiguration);
+        List<String> keys = new ArrayList<String>();
+
+        for (int idx = 0; idx < 4; idx++)
+        {
+            String key = cache.key(new byte[] { (byte) idx });
+            cache.put(key, violations);
+            new File(new File(mDirectory, key.substring(0, 2)), key.substring(2)).setLastModified(1000000L * (idx + 1));
+            keys.add(key);
+        }
+
+        long entryBytes = cache.getWrittenBytes() / 4;
+        ResultCache bounded = new ResultCache(mDirectory, entryBytes * 2, mConfiguration);
+
+        // Exercise component
+        int deleted = bounded.evict();
+
+        // Verify
+        assertEquals(2, deleted);
+        assertNull(bounded.get(keys.get(0)));
+        assertNull(bounded.get(keys.get(1)));
+        assertEquals(violations, bounded.get(keys.get(2)));
+        assertEquals(violations, bounded.get(keys.get(3)));
+    }
+
+    public void checkerSkipsCachedFilesTest() throws Exception
+    {
+        // Set up
+        ResultCache cache = new ResultCache(mDirectory, 1024 * 1024, mConfiguration);
+        StandardsChecker checker = new StandardsChecker(mConfiguration, cache, Tier.SYMBOLS);
+        FileResult uncached = new StandardsChecker(mConfiguration).check(CORPUS);
+
+        // Exercise component
+        FileResult first = checker.check(CORPUS);
+        FileResult second = checker.check(CORPUS);
+
+        // Verify
+        assertTrue(uncached.getViolations().size() > 0);
+        assertEquals(uncached.getViolations(), first.getViolations());
+        assertEquals(uncached.getViolations(), second.getViolations());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    private static void delete(File inFile)
+    {
+        File[] children = inFile.listFiles();
+
+        if (children != null)
+        {
+            for (File child : children)
+                delete(child);
+        }
+
+        inFile.delete();
+    }
+}
@@ -0,0 +1,186 @@
+package com.connectcv.coding.checker.checks;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.checker.FileResult;
+import com.connectcv.coding.checker.StandardsChecker;
+import com.connectcv.coding.checker.Violation;
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.config.ModuleConfiguration;
+
+@Test
+public class NamingConventionCheckTest
+{
+    private static final File CONFIGURATION = new File("../ccv_checkstyle_definition_v0.3.xml");
+
+    private static final File NAMING_CONVENTIONS =
+        new File("../standards/src/main/java/com/connectcv/coding/standards/NamingConventions.java");
+
+    private static final File STANDARDS = new File("../standards/src");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String[] NAMES = { "", "a", "A", "mA", "m", "mIsA", "mIsa", "sIsReady", "sCount", "inIsURLValid",
+                                            "inIsUrlValid", "iae", "ise2", "ioe", "se", "URL", "HtmlParser", "parseHTML",
+                                            "TopKTest", "MAX_SIZE", "m_value", "_x", "x1", "$y", "caf\u00e9", "\u00e9t\u00e9",
+                                            "ABCdef", "getIO", "a.b", "tab\tbed" };
+
+    private StandardsChecker mChecker;
+
+    @BeforeClass
+    public void createChecker() throws Exception
+    {
+        String configuration = "<module name=\"Checker\"><module name=\"TreeWalker\">" +
+                               "<module name=\"NamingConvention\"/></module></module>";
+
+        mChecker = new StandardsChecker(ConfigurationLoader.load(new ByteArrayInputStream(configuration.getBytes(UTF_8)),
+                                                                 "naming.xml"));
+    }
+
+    public void automatonMatchesPatternTest() throws Exception
+    {
+        // Set up
+        List<String> rules = new ArrayList<String>();
+        collectFormats(ConfigurationLoader.load(CONFIGURATION), rules);
+        rules.addAll(Arrays.asList("^m(Is|Are|Can|Has)[A-Z0-9]", "[A-Z][A-Z][A-Z]|[A-Z][A-Z]$", "^[a-z]+[0-9]*$", "a.?b",
+                                   "^(?:x|y)+\\d*$", "[^a-z]", "\\w\\W\\s\\S|\\.", "^$", "b*?c"));
+
+        // Exercise component
+        NameAutomaton automaton = NameAutomaton.compile(rules.toArray(new String[rules.size()]));
+
+        // Verify
+        assertEquals(rules.size(), automaton.getRuleCount());
+
+        for (String name : NAMES)
+        {
+            long mask = automaton.classify(name);
+
+            for (int rule = 0; rule < rules.size(); rule++)
+            {
+                assertEquals(rules.get(rule) + " " + name, Pattern.compile(rules.get(rule)).matcher(name).find(),
+                             (mask & (1L << rule)) != 0);
+            }
+
+            char[] text = ("<" + name + ">").toCharArray();
+            assertEquals(name, mask, automaton.classify(text, 1, text.length - 1));
+        }
+    }
+
+    public void unsupportedRulesTest()
+    {
+        for (String rule : new String[] { "a{2}", "(?i)a", "a++", "\\bword", "a$b", "(a|^b)", "\\p{Lu}", "(a", "[a-" })
+        {
+            // Exercise component
+            assertFalse(rule, NameAutomaton.isSupported(rule));
+
+            try
+            {
+                NameAutomaton.compile(rule);
+                fail(rule);
+            }
+            catch (IllegalArgumentException iae)
+            {
+                // Verify
+                assertTrue(rule, iae.getMessage().length() > 0);
+            }
+        }
+    }
+
+    public void namingConventionsAreCleanTest() throws Exception
+    {
+        // Set up
+        char[] text = new String(Files.readAllBytes(NAMING_CONVENTIONS.toPath()), UTF_8).toCharArray();
+
+        // Exercise component
+        List<Violation> violations = mChecker.check(NAMING_CONVENTIONS.getPath(), text, text.length);
+
+        // Verify
+        assertEquals(violations.toString(), 0, violations.size());
+    }
+
+    public void standardsAreCleanTest()
+    {
+        // Set up
+        List<File> files = new ArrayList<File>();
+        collect(STANDARDS, files);
+
+        for (File file : files)
+        {
+            // Exercise component
+            FileResult result = mChecker.check(file);
+
+            // Verify
+            assertEquals(file + ": " + result.getError(), null, result.getError());
+            assertEquals(file + ": " + result.getViolations(), 0, result.getViolations().size());
+        }
+    }
+
+    public void violationsTest()
+    {
+        // Set up
+        char[] text = ("class A\n{\n    private static final int MAX_SIZE = 1;\n    private int count;\n" +
+                       "    private static boolean sReady;\n    private boolean mIsURLValid;\n\n" +
+                       "    void parseHTML(boolean inIsSet, int size)\n    {\n        try\n        {\n        }\n" +
+                       "        catch (IllegalStateException e)\n        {\n        }\n" +
+                       "        catch (org.xml.sax.SAXException se2)\n        {\n        }\n    }\n}\n").toCharArray();
+
+        // Exercise component
+        List<Violation> violations = mChecker.check("A.java", text, text.length);
+
+        // Verify
+        assertEquals(Arrays.asList("4:17: error: Name 'count' must start with 'm'.",
+                                   "5:28: error: Boolean name 'sReady' must start with 's' followed by one of 'Is,Are,Can,Has'.",
+                                   "6:21: error: Name 'mIsURLValid' must write acronym 'URL' in upper lower case.",
+                                   "8:10: error: Name 'parseHTML' must write acronym 'HTML' in upper lower case.",
+                                   "8:41: error: Name 'size' must start with 'in'.",
+                                   "13:38: error: Catch variable 'e' must be named 'ise' after its type."),
+                     toStrings(violations));
+    }
+
+    private static void collectFormats(ModuleConfiguration inModule, List<String> inMdFormats)
+    {
+        String format = inModule.getProperty("format", null);
+
+        if (format != null && NameAutomaton.isSupported(format))
+            inMdFormats.add(format);
+
+        for (ModuleConfiguration child : inModule.getChildren())
+            collectFormats(child, inMdFormats);
+    }
+
+    private static void collect(File inDirectory, List<File> inMdFiles)
+    {
+        for (File child : inDirectory.listFiles())
+        {
+            if (child.isDirectory())
+                collect(child, inMdFiles);
+            else if (child.getName().endsWith(".java"))
+                inMdFiles.add(child);
+        }
+    }
+
+    private static List<String> toStrings(List<Violation> inViolations)
+    {
+        List<String> strings = new ArrayList<String>();
+
+        for (Violation violation : inViolations)
+            strings.add(violation.toString());
+
+        return(strings);
+    }
+}
@@ -0,0 +1,285 @@
+package com.connectcv.coding.checker.cleanup;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.config.SourceLevels;
+import com.connectcv.coding.checker.format.FormatterSettings;
+import com.connectcv.coding.checker.source.DeclarationKind;
+import com.connectcv.coding.checker.source.ReferenceIndex;
+import com.connectcv.coding.checker.source.ReferenceTable;
+import com.connectcv.coding.checker.source.SourceFile;
+
+@Test
+public class StandardsCleanerTest
+{
+    private static final File CLEAN_UP = new File("../ccv_coding_clean-up.xml");
+
+    private static final File PROFILE = new File("../ccv_coding_style_v0.3.xml");
+
+    private static final File STANDARDS = new File("../standards/src/main/java/com/connectcv/coding/standards");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String UNUSED_MEMBERS = "\n    private void unusedByAnything()\n    {\n    }\n\n" +
+                                                 "    private int mUnusedByAnything;\n";
+
+    private CleanUpSettings mSettings;
+    private FormatterSettings mFormat;
+
+    @BeforeMethod
+    public void loadProfiles() throws Exception
+    {
+        mSettings = new CleanUpSettings(ConfigurationLoader.loadProfile(CLEAN_UP));
+        mFormat = new FormatterSettings(ConfigurationLoader.loadProfile(PROFILE));
+    }
+
+    public void profileTest()
+    {
+        // Exercise component
+        StandardsCleaner cleaner = new StandardsCleaner(mSettings, mFormat, UTF_8, false);
+
+        // Verify
+        assertEquals(Arrays.asList("remove_unused_private_types", "remove_unused_private_methods", "remove_unused_private_fields",
+                                   "add_missing_override_annotations", "add_missing_deprecated_annotations",
+                                   "qualify_static_member_accesses_through_instances_with_declaring_class",
+                                   "remove_trailing_whitespaces", "format_source_code"),
+                     cleaner.getActions());
+        assertTrue(mSettings.getUnsupportedSettings().contains("organize_imports"));
+        assertFalse(mSettings.getUnsupportedSettings().contains("add_missing_annotations"));
+    }
+
+    public void standardsAreCleanTest()
+    {
+        // Set up
+        StandardsCleaner cleaner = new StandardsCleaner(mSettings, mFormat, UTF_8, false);
+
+        // Exercise component
+        List<CleanUpResult> results = cleaner.clean(Arrays.asList(STANDARDS.listFiles()), new ForkJoinPool(2), null);
+
+        // Verify
+        assertTrue(results.size() > 0);
+
+        for (CleanUpResult result : results)
+        {
+            assertNull(result.getFile().getPath(), result.getError());
+            assertFalse(result.getFile().getPath(), result.isChanged());
+        }
+    }
+
+    public void keepsReferenceIndexTest()
+    {
+        // Set up
+        ReferenceIndex index = new ReferenceIndex(UTF_8);
+        StandardsCleaner cleaner = new StandardsCleaner(mSettings, mFormat, index, UTF_8, false);
+        List<File> files = Arrays.asList(STANDARDS.listFiles());
+
+        // Exercise component
+        cleaner.clean(files, new ForkJoinPool(2), null);
+        ReferenceTable references = index.get(files.get(0));
+        cleaner.clean(files, new ForkJoinPool(2), null);
+
+        // Verify
+        assertEquals(files.size(), index.size());
+        assertNotNull(references);
+        assertSame(references, index.get(files.get(0)));
+    }
+
+    public void restoresStandardsTest() throws Exception
+    {
+        // Set up
+        File directory = Files.createTempDirectory("cleaner").toFile();
+        List<File> files = new ArrayList<File>();
+        StandardsCleaner cleaner = new StandardsCleaner(mSettings, mFormat, UTF_8, true);
+
+        try
+        {
+            for (File original : STANDARDS.listFiles())
+            {
+                File file = new File(directory, original.getName());
+                Files.write(file.toPath(), dirty(read(original)).getBytes(UTF_8));
+                files.add(file);
+            }
+
+            // Exercise component
+            List<CleanUpResult> results = cleaner.clean(files, new ForkJoinPool(2), null);
+
+            // Verify
+            for (CleanUpResult result : results)
+            {
+                assertNull(result.getError());
+                assertTrue(result.isChanged());
+                assertEquals(1, result.getChanges(cleaner.getActions().indexOf("remove_unused_private_methods")));
+                assertEquals(1, result.getChanges(cleaner.getActions().indexOf("remove_unused_private_fields")));
+                assertEquals(read(new File(STANDARDS, result.getFile().getName())), read(result.getFile()));
+            }
+
+            assertEquals(files.size(), directory.listFiles().length);
+        }
+        finally
+        {
+            delete(directory);
+        }
+    }
+
+    public void keepsSuppressedMembersTest()
+    {
+        // Set up
+        String text = "class A\n{\n    @SuppressWarnings(\"unused\")\n    private static class B\n    {\n" +
+                      "        private int mRead;\n    }\n\n    private static class C\n    {\n" +
+                      "        private int mUnread;\n    }\n}\n";
+
+        // Exercise component
+        String cleaned = clean(new UnusedPrivateMembersCleanUp("remove_unused_private_fields", DeclarationKind.FIELD),
+                               text);
+
+        // Verify
+        assertEquals("class A\n{\n    @SuppressWarnings(\"unused\")\n    private static class B\n    {\n" +
+                     "        private int mRead;\n    }\n\n    private static class C\n    {\n    }\n}\n", cleaned);
+    }
+
+    public void qualifiesStaticAccessTest()
+    {
+        // Set up
+        String text = "class A\n{\n    static int sCount;\n    int mSize;\n\n    static void reset() { }\n\n" +
+                      "    void use(A inOther)\n    {\n        inOther.sCount = this.mSize;\n        this.reset();\n" +
+                      "        inOther.mSize = 0;\n    }\n}\n";
+
+        // Exercise component
+        String cleaned = clean(new StaticAccessCleanUp(), text);
+
+        // Verify
+        assertTrue(cleaned, cleaned.contains("        A.sCount = this.mSize;\n        A.reset();\n"));
+        assertTrue(cleaned, cleaned.contains("        inOther.mSize = 0;\n"));
+    }
+
+    public void addsMissingAnnotationsTest()
+    {
+        // Set up
+        String text = "class A implements Runnable\n{\n    /**\n     * @deprecated use nothing.\n     */\n" +
+                      "    public void run()\n    {\n    }\n\n    public String toString()\n    {\n" +
+                      "        return(\"A\");\n    }\n}\n";
+
+        // Exercise component
+        String cleaned = clean(new MissingDeprecatedCleanUp(), clean(new MissingOverrideCleanUp(true), text));
+
+        // Verify
+        assertTrue(cleaned, cleaned.contains("     */\n    @Deprecated\n    @Override\n    public void run()\n"));
+        assertTrue(cleaned, cleaned.contains("    @Override\n    public String toString()\n"));
+    }
+
+    public void readsSourceLevelTest() throws Exception
+    {
+        // Set up
+        File directory = Files.createTempDirectory("cleaner").toFile();
+        String pom = "<project><build><plugins><plugin><artifactId>maven-compiler-plugin</artifactId>" +
+                     "<configuration><source>1.5</source></configuration></plugin></plugins></build></project>";
+        String text = "class A implements Runnable\n{\n    public void run()\n    {\n    }\n\n" +
+                      "    public String toString()\n    {\n        return(\"A\");\n    }\n}\n";
+        SourceLevels levels = new SourceLevels();
+
+        try
+        {
+            Files.write(new File(directory, "pom.xml").toPath(), pom.getBytes(UTF_8));
+
+            // Exercise component
+            String cleaned = clean(new MissingOverrideCleanUp(true, levels), new File(directory, "A.java").getPath(), text);
+
+            // Verify
+            assertEquals(5, levels.getLevel(new File(directory, "A.java")));
+            assertEquals(5, levels.getLevel(new File(STANDARDS, "Comments.java")));
+            assertEquals(8, levels.getLevel(new File("src/main/java/A.java")));
+            assertTrue(cleaned, cleaned.contains("{\n    public void run()\n"));
+            assertTrue(cleaned, cleaned.contains("    @Override\n    public String toString()\n"));
+        }
+        finally
+        {
+            delete(directory);
+        }
+    }
+
+    public void textEditsTest()
+    {
+        // Set up
+        TextEdits edits = new TextEdits();
+        char[] text = "abcdefgh".toCharArray();
+        StringBuilder output = new StringBuilder();
+
+        // Exercise component
+        assertTrue(edits.replace(4, 6, "EF"));
+        assertTrue(edits.delete(1, 3));
+        assertTrue(edits.insert(3, "-"));
+        assertFalse(edits.delete(2, 5));
+        assertFalse(edits.insert(4, "x"));
+        edits.apply(text, text.length, output);
+
+        // Verify
+        assertEquals(3, edits.size());
+        assertEquals("a-dEFgh", output.toString());
+    }
+
+    private static String clean(AbstractCleanUp inCleanUp, String inText)
+    {
+        return(clean(inCleanUp, "A.java", inText));
+    }
+
+    private static String clean(AbstractCleanUp inCleanUp, String inPath, String inText)
+    {
+        char[] text = inText.toCharArray();
+        TextEdits edits = new TextEdits();
+        StringBuilder output = new StringBuilder();
+
+        inCleanUp.clean(new SourceFile(inPath, text, text.length, 4, inCleanUp.getTier()), edits);
+        edits.apply(text, text.length, output);
+
+        return(output.toString());
+    }
+
+    /*
+     * Undoes the work of the clean-up profile: adds trailing whitespace and unused private members, removes the annotations
+     * that the profile adds, and indents returns by two more spaces.
+     */
+    private static String dirty(String inText)
+    {
+        int end = inText.lastIndexOf('}');
+        String text = inText.substring(0, end) + UNUSED_MEMBERS + inText.substring(end);
+
+        text = text.replace(";\n", "; \t\n").replace("        @Override\n", "");
+
+        return(text.replace("\n        return(", "\n          return("));
+    }
+
+    private static String read(File inFile) throws Exception
+    {
+        return(new String(Files.readAllBytes(inFile.toPath()), UTF_8));
+    }
+
+    private static void delete(File inFile)
+    {
+        File[] children = inFile.listFiles();
+
+        if (children != null)
+        {
+            for (File child : children)
+                delete(child);
+        }
+
+        inFile.delete();
+    }
+}
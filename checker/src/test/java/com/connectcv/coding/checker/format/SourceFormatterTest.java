@@ -0,0 +1,186 @@
+package com.connectcv.coding.checker.format;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.checker.cache.ResultCache;
+import com.connectcv.coding.checker.config.ConfigurationLoader;
+import com.connectcv.coding.checker.source.SourceFile;
+import com.connectcv.coding.checker.source.Tier;
+
+@Test
+public class SourceFormatterTest
+{
+    private static final File PROFILE = new File("../ccv_coding_style_v0.3.xml");
+
+    private static final File STANDARDS = new File("../standards/src/main/java");
+
+    private static final File CORPUS = new File("src/test/resources/corpus/Violations.java");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private FormatterSettings mSettings;
+
+    @BeforeMethod
+    public void loadProfile() throws Exception
+    {
+        mSettings = new FormatterSettings(ConfigurationLoader.loadProfile(PROFILE));
+    }
+
+    public void profileTest()
+    {
+        // Verify
+        assertEquals(4, mSettings.getTabSize());
+        assertFalse(mSettings.isUseTabs());
+        assertEquals(132, mSettings.getLineSplit());
+        assertFalse(mSettings.isWrapBeforeOperator());
+        assertEquals(FormatterSettings.BracePosition.NEXT_LINE,
+                     mSettings.getBracePosition(FormatterSettings.BraceKind.METHOD));
+        assertTrue(mSettings.getUnsupportedSettings().contains("insert_space_before_opening_paren_in_if"));
+        assertFalse(mSettings.getUnsupportedSettings().contains("tabulation.size"));
+        assertFalse(mSettings.getUnsupportedSettings().contains("disabling_tag"));
+        assertFalse(mSettings.getUnsupportedSettings().contains("org.eclipse.jdt.core.compiler.source"));
+    }
+
+    public void standardsAreFormattedTest() throws Exception
+    {
+        // Set up
+        List<File> files = new ArrayList<File>();
+        collect(STANDARDS, files);
+        StandardsFormatter formatter = new StandardsFormatter(mSettings, null, UTF_8, false);
+
+        // Exercise component
+        List<FormatResult> results = formatter.format(files, new ForkJoinPool(2), null);
+
+        // Verify
+        assertTrue(files.size() > 0);
+
+        for (FormatResult result : results)
+        {
+            assertEquals(result.getFile().getPath(), null, result.getError());
+            assertEquals(result.getFile().getPath() + ' ' + result.getRegions(), 0, result.getRegions().size());
+        }
+    }
+
+    public void formatsCorpusTest() throws Exception
+    {
+        // Set up
+        String text = new String(Files.readAllBytes(CORPUS.toPath()), UTF_8);
+        StringBuilder output = new StringBuilder();
+
+        // Exercise component
+        List<Region> regions = format(text, output);
+        String formatted = output.toString();
+
+        // Verify
+        assertTrue(regions.size() > 0);
+        assertTrue(formatted.contains("public class Violations\n"));
+        assertTrue(formatted.contains("        if(result > 0)\n        {\n"));
+        assertTrue(formatted.contains("result = result +\n"));
+
+        for (String line : formatted.split("\n"))
+            assertTrue(line, line.length() <= 132);
+
+        assertEquals(0, format(formatted, new StringBuilder()).size());
+    }
+
+    public void onlyChangedRegionsTest()
+    {
+        // Set up
+        String text = "class A\n{\n    int a;\n\n\n\n    int b;\n      int c;\n    int d;\n\n    void f() {\n    }\n}\n";
+        StringBuilder output = new StringBuilder();
+
+        // Exercise component
+        List<Region> regions = format(text, output);
+
+        // Verify
+        assertEquals("class A\n{\n    int a;\n\n    int b;\n    int c;\n    int d;\n\n    void f()\n    {\n    }\n}\n",
+                     output.toString());
+        assertEquals(3, regions.size());
+        assertEquals(5, regions.get(0).getLine());
+        assertEquals(Arrays.asList("", ""), regions.get(0).getOldLines());
+        assertEquals(0, regions.get(0).getNewLines().size());
+        assertEquals(8, regions.get(1).getLine());
+        assertEquals(6, regions.get(1).getNewLine());
+        assertEquals(Arrays.asList("      int c;"), regions.get(1).getOldLines());
+        assertEquals(Arrays.asList("    int c;"), regions.get(1).getNewLines());
+        assertEquals(Arrays.asList("    void f() {"), regions.get(2).getOldLines());
+        assertEquals(Arrays.asList("    void f()", "    {"), regions.get(2).getNewLines());
+    }
+
+    public void skipsFormattedFilesTest() throws Exception
+    {
+        // Set up
+        File directory = Files.createTempDirectory("formatter").toFile();
+        File file = new File(directory, "Violations.java");
+        Files.copy(CORPUS.toPath(), file.toPath());
+
+        try
+        {
+            ResultCache cache = new ResultCache(new File(directory, "cache"), 1024 * 1024, mSettings.getProfile());
+            StandardsFormatter formatter = new StandardsFormatter(mSettings, cache, UTF_8, true);
+
+            // Exercise component
+            FormatResult first = formatter.format(file);
+            byte[] written = Files.readAllBytes(file.toPath());
+            file.setLastModified(1000000L);
+            FormatResult second = formatter.format(file);
+
+            // Verify
+            assertTrue(first.isChanged());
+            assertFalse(first.isCached());
+            assertFalse(second.isChanged());
+            assertTrue(second.isCached());
+            assertTrue(Arrays.equals(written, Files.readAllBytes(file.toPath())));
+            assertEquals(1000000L, file.lastModified());
+            assertEquals(2, directory.listFiles().length);
+        }
+        finally
+        {
+            delete(directory);
+        }
+    }
+
+    private List<Region> format(String inText, StringBuilder inMdOutput)
+    {
+        char[] text = inText.toCharArray();
+
+        return(new SourceFormatter(mSettings).format(new SourceFile("A.java", text, text.length, 4, Tier.TOKENS), inMdOutput));
+    }
+
+    private static void collect(File inDirectory, List<File> inMdFiles)
+    {
+        for (File child : inDirectory.listFiles())
+        {
+            if (child.isDirectory())
+                collect(child, inMdFiles);
+            else if (child.getName().endsWith(".java"))
+                inMdFiles.add(child);
+        }
+    }
+
+    private static void delete(File inFile)
+    {
+        File[] children = inFile.listFiles();
+
+        if (children != null)
+        {
+            for (File child : children)
+                delete(child);
+        }
+
+        inFile.delete();
+    }
+}
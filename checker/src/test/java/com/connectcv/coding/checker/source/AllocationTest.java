@@ -0,0 +1,128 @@
+package com.connectcv.coding.checker.source;
+
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that lexing a file into reused buffers allocates next to nothing once the buffers have warmed up. Allocation is
+ * measured with the per-thread allocation counter of the HotSpot {@code ThreadMXBean}, so the tests pass trivially on a JVM
+ * without one.
+ */
+@Test
+public class AllocationTest
+{
+    private static final File SAMPLE =
+        new File("../standards/src/main/java/com/connectcv/coding/standards/WhitespaceAndIndentation.java");
+
+    private static final int WARM_UP = 2000;
+
+    private static final int MEASURED = 1000;
+
+    private com.sun.management.ThreadMXBean mThreads;
+
+    @BeforeClass
+    public void findThreadBean()
+    {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)
+        {
+            mThreads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+            if (!mThreads.isThreadAllocatedMemorySupported() || !mThreads.isThreadAllocatedMemoryEnabled())
+                mThreads = null;
+        }
+    }
+
+    public void tokenizingAllocatesNothingTest() throws IOException
+    {
+        // Set up
+        SourceBuffers buffers = new SourceBuffers(Charset.forName("UTF-8"));
+        buffers.read(SAMPLE);
+        TokenStream tokens = new TokenStream();
+
+        for (int idx = 0; idx < WARM_UP; idx++)
+            tokenize(buffers, tokens);
+
+        // Exercise component
+        long before = allocatedBytes();
+
+        for (int idx = 0; idx < MEASURED; idx++)
+            tokenize(buffers, tokens);
+
+        long perFile = (allocatedBytes() - before) / MEASURED;
+
+        // Verify
+        assertTrue(perFile + " bytes allocated per file", perFile == 0);
+    }
+
+    public void readingAndTokenizingAllocatesLittleTest() throws IOException
+    {
+        // Set up
+        SourceBuffers buffers = new SourceBuffers(Charset.forName("UTF-8"));
+
+        for (int idx = 0; idx < WARM_UP; idx++)
+            readAndTokenize(buffers);
+
+        // Exercise component
+        long before = allocatedBytes();
+
+        for (int idx = 0; idx < MEASURED; idx++)
+            readAndTokenize(buffers);
+
+        long perFile = (allocatedBytes() - before) / MEASURED;
+
+        // Verify
+        assertTrue(perFile + " bytes allocated per file", perFile < 1024);
+    }
+
+    public void scanningLinesAllocatesNothingTest() throws IOException
+    {
+        // Set up
+        SourceBuffers buffers = new SourceBuffers(Charset.forName("UTF-8"));
+        buffers.read(SAMPLE);
+        ByteBuffer content = buffers.getContent();
+        LineScanner scanner = LineScanner.create();
+        LineScan scan = new LineScan();
+
+        for (int idx = 0; idx < WARM_UP; idx++)
+            scanner.scan(content, 4, scan);
+
+        // Exercise component
+        long before = allocatedBytes();
+
+        for (int idx = 0; idx < MEASURED; idx++)
+            scanner.scan(content, 4, scan);
+
+        long perFile = (allocatedBytes() - before) / MEASURED;
+
+        // Verify
+        assertTrue(perFile + " bytes allocated per file", perFile == 0);
+    }
+
+    private static void tokenize(SourceBuffers inBuffers, TokenStream inMdTokens)
+    {
+        JavaLexer.tokenize(inBuffers.getText(), inBuffers.getLength(), inMdTokens);
+        TokenClassifier.classify(inMdTokens);
+    }
+
+    private static void readAndTokenize(SourceBuffers inBuffers) throws IOException
+    {
+        inBuffers.read(SAMPLE);
+
+        SourceFile source = new SourceFile(SAMPLE.getPath(), inBuffers, 4, Tier.TOKENS);
+        source.line(1);
+        source.getTokens();
+    }
+
+    private long allocatedBytes()
+    {
+        return(mThreads == null ? 0 : mThreads.getThreadAllocatedBytes(Thread.currentThread().getId()));
+    }
+}
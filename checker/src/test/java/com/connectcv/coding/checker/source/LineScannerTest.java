@@ -0,0 +1,134 @@
+package com.connectcv.coding.checker.source;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+@Test
+public class LineScannerTest
+{
+    private static final File SAMPLE =
+        new File("../standards/src/main/java/com/connectcv/coding/standards/WhitespaceAndIndentation.java");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String PADDING = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcd";
+
+    private static final String[] TEXTS = { "", "\n", "\r", "\r\n", "a", "a\n", "a\n\n", "a\rb\r\nc\n\rd", "\t\tx = 1;  \n",
+                                            "café\tété \f\n𝄞\tclef\t\r\n", PADDING + "\r\n" + PADDING,
+                                            PADDING + "\t\r\r\nx", PADDING + PADDING + "é" + PADDING + "\t \n" };
+
+    public void scannersMatchSourceFileTest()
+    {
+        for (LineScanner scanner : scanners())
+        {
+            String name = scanner.getClass().getSimpleName();
+
+            for (String text : TEXTS)
+            {
+                // Set up
+                byte[] bytes = text.getBytes(UTF_8);
+                ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+                LineScan scan = new LineScan();
+                LineScan directScan = new LineScan();
+
+                direct.put(bytes).flip();
+
+                // Exercise component
+                scanner.scan(ByteBuffer.wrap(bytes), 4, scan);
+                scanner.scan(direct, 4, directScan);
+
+                // Verify
+                assertMatches(name + " " + text, new SourceFile("A.java", text.toCharArray(), text.length(), 4), scan);
+                assertMatches(name + " " + text, new SourceFile("A.java", text.toCharArray(), text.length(), 4), directScan);
+            }
+        }
+    }
+
+    public void whitespaceAndIndentationTest() throws Exception
+    {
+        // Set up
+        SourceBuffers buffers = new SourceBuffers(UTF_8);
+        buffers.read(SAMPLE);
+        SourceFile source = new SourceFile(SAMPLE.getPath(), buffers, 4, Tier.LINES);
+
+        // Exercise component
+        LineScan scan = source.getLineScan();
+
+        // Verify
+        assertNotNull(scan);
+        assertMatches(SAMPLE.getName(), source, scan);
+        assertTrue(scan.getMaxColumns() <= 132);
+        assertEquals(0, scan.getTrailingWhitespaceCount());
+        assertSame(scan, source.getLineScan());
+    }
+
+    public void unscannableCharsetTest() throws Exception
+    {
+        // Set up
+        SourceBuffers buffers = new SourceBuffers(Charset.forName("ISO-8859-1"));
+        buffers.read(SAMPLE);
+
+        // Exercise component
+        LineScan scan = new SourceFile(SAMPLE.getPath(), buffers, 4, Tier.LINES).getLineScan();
+
+        // Verify
+        assertNull(scan);
+    }
+
+    /*
+     * Returns the SWAR scanner, and the vector scanner too wherever it can be loaded, even on a release where create() would
+     * not choose it.
+     */
+    private static List<LineScanner> scanners()
+    {
+        List<LineScanner> scanners = new ArrayList<LineScanner>();
+        scanners.add(new SwarLineScanner());
+
+        try
+        {
+            scanners.add(Class.forName("com.connectcv.coding.checker.source.VectorLineScanner").asSubclass(LineScanner.class)
+                              .newInstance());
+        }
+        catch (ReflectiveOperationException roe)
+        {
+            // Not built on JDK 17 or later
+        }
+        catch (LinkageError le)
+        {
+            // Built, but jdk.incubator.vector has not been added to this JVM
+        }
+
+        return(scanners);
+    }
+
+    private static void assertMatches(String inMessage, SourceFile inSource, LineScan inScan)
+    {
+        char[] text = inSource.getText();
+
+        assertEquals(inMessage, inSource.getLineCount(), inScan.getLineCount());
+
+        for (int line = 1; line <= inSource.getLineCount(); line++)
+        {
+            int start = inSource.lineStart(line);
+            int end = inSource.lineEnd(line);
+            String content = new String(text, start, end - start);
+            char last = (end > start) ? text[end - 1] : 'x';
+
+            assertEquals(inMessage + ":" + line, inSource.expandedLength(line), inScan.columns(line));
+            assertEquals(inMessage + ":" + line, content.indexOf('\t') >= 0, inScan.hasTab(line));
+            assertEquals(inMessage + ":" + line, last == ' ' || last == '\t' || last == '\f', inScan.hasTrailingWhitespace(line));
+            assertEquals(inMessage + ":" + line, content.getBytes(UTF_8).length, inScan.lineEnd(line) - inScan.lineStart(line));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.connectcv.coding.checker.source;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+@Test
+public class ReferenceIndexTest
+{
+    private static final File STANDARDS = new File("../standards/src/main/java/com/connectcv/coding/standards");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public void privateInnerClassesTest() throws Exception
+    {
+        for (String name : new String[] { "Declarations.java", "FileOrganisation.java" })
+        {
+            // Set up
+            char[] text = new String(Files.readAllBytes(new File(STANDARDS, name).toPath()), UTF_8).toCharArray();
+            SourceFile source = new SourceFile(name, text, text.length, 4, Tier.SYMBOLS);
+            int inner = 0;
+
+            // Exercise component
+            ReferenceTable references = source.getReferences();
+
+            // Verify
+            for (Declaration declaration : source.getStructure().getDeclarations())
+            {
+                if (declaration.getKind() == DeclarationKind.CLASS && declaration.getOwner() != null)
+                {
+                    assertTrue(declaration.getName(), references.isReferencedOutside(declaration.getName(),
+                                                                                     declaration.getFirstToken(),
+                                                                                     declaration.getLastToken()));
+                    inner++;
+                }
+            }
+
+            assertTrue(name, inner > 0);
+            assertEquals(source.getTokens().size(), references.getTokenCount());
+        }
+    }
+
+    public void referencesTest()
+    {
+        // Set up
+        char[] text = ("class A\n{\n    private int mA;\n\n    void f(int inA)\n    {\n        f(mA + inA);\n    }\n" +
+                       "}\n").toCharArray();
+        SourceFile source = new SourceFile("A.java", text, text.length, 4, Tier.SYMBOLS);
+
+        // Exercise component
+        ReferenceTable references = new ReferenceTable(source);
+
+        // Verify
+        assertEquals(4, references.size());
+        assertEquals(2, references.count("mA"));
+        assertEquals(2, references.count("f"));
+        assertEquals(0, references.count("int"));
+        assertEquals(0, references.count("mB"));
+        assertTrue(references.isReferencedOutside("mA", 3, 6));
+        assertFalse(references.isReferencedOutside("f", 7, source.getTokens().size() - 1));
+        assertFalse(references.isReferencedOutside("mB", 0, 0));
+    }
+
+    public void incrementalUpdateTest() throws Exception
+    {
+        // Set up
+        File directory = Files.createTempDirectory("references").toFile();
+        List<File> files = new ArrayList<File>();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ReferenceIndex index = new ReferenceIndex(UTF_8);
+
+        try
+        {
+            for (File original : STANDARDS.listFiles())
+            {
+                File file = new File(directory, original.getName());
+                Files.copy(original.toPath(), file.toPath());
+                files.add(file);
+            }
+
+            File changed = files.get(0);
+            File removed = files.get(1);
+
+            // Exercise component
+            int first = index.update(files, pool);
+            ReferenceTable unchanged = index.get(files.get(2));
+            int second = index.update(files, pool);
+
+            Files.write(changed.toPath(), "class A { }\n".getBytes(UTF_8));
+            changed.setLastModified(1000000L);
+
+            // Verify
+            assertEquals(files.size(), first);
+            assertEquals(0, second);
+            assertNotNull(unchanged);
+            assertNull(index.get(changed));
+            assertEquals(1, index.update(files, pool));
+            assertEquals(1, index.get(changed).count("A"));
+            assertSame(unchanged, index.get(files.get(2)));
+
+            files.remove(removed);
+            assertEquals(0, index.update(files, pool));
+            assertEquals(files.size(), index.size());
+            assertNull(index.get(removed));
+            assertSame(unchanged, index.get(files.get(1)));
+        }
+        finally
+        {
+            for (File file : directory.listFiles())
+                file.delete();
+
+            directory.delete();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.connectcv.coding.checker.source;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import org.testng.annotations.Test;
+
+@Test
+public class SourceBuffersTest
+{
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public void readsSmallAndMappedFilesTest() throws IOException
+    {
+        // Set up
+        StringBuilder large = new StringBuilder();
+
+        while (large.length() < 200 * 1024)
+            large.append("    private String mField = \"café\";\n");
+
+        String[] texts = { "", "class A { }\n", large.toString(), "class B { }" };
+        SourceBuffers buffers = new SourceBuffers(UTF_8);
+
+        for (String text : texts)
+        {
+            File file = write(text.getBytes(UTF_8));
+
+            try
+            {
+                // Exercise component
+                buffers.read(file);
+
+                // Verify
+                assertEquals(text, new String(buffers.getText(), 0, buffers.getLength()));
+                assertEquals(text.getBytes(UTF_8).length, buffers.getContent().remaining());
+            }
+            finally
+            {
+                // Tear down
+                file.delete();
+            }
+        }
+    }
+
+    public void malformedInputIsReplacedTest() throws IOException
+    {
+        // Set up
+        File file = write(new byte[] { 'i', 'n', 't', ' ', (byte) 0xff, ';' });
+        SourceBuffers buffers = new SourceBuffers(UTF_8);
+
+        try
+        {
+            // Exercise component
+            buffers.read(file);
+
+            // Verify
+            assertEquals("int \ufffd;", new String(buffers.getText(), 0, buffers.getLength()));
+        }
+        finally
+        {
+            // Tear down
+            file.delete();
+        }
+    }
+
+    public void decodesEachFileOnFirstUseTest() throws IOException
+    {
+        // Set up
+        File first = write("class A\n{\n}\n".getBytes(UTF_8));
+        File second = write("class B { }\r\n// café\r\n".getBytes(UTF_8));
+        SourceBuffers buffers = new SourceBuffers(UTF_8);
+
+        try
+        {
+            buffers.read(first);
+            buffers.getText();
+
+            // Exercise component
+            buffers.read(second);
+            SourceFile source = new SourceFile(second.getPath(), buffers, 4, Tier.LINES);
+            int lineCount = source.getLineCount();
+
+            // Verify
+            assertEquals(2, lineCount);
+            assertEquals("class B { }\r\n// café\r\n", new String(source.getText(), 0, source.getLength()));
+            assertEquals("// café", source.line(2).toString());
+        }
+        finally
+        {
+            // Tear down
+            first.delete();
+            second.delete();
+        }
+    }
+
+    private static File write(byte[] inContent) throws IOException
+    {
+        File file = File.createTempFile("source-buffers", ".java");
+        Files.write(file.toPath(), inContent);
+
+        return(file);
+    }
+}
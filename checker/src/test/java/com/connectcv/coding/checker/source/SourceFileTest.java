@@ -0,0 +1,58 @@
+package com.connectcv.coding.checker.source;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+
+import org.testng.annotations.Test;
+
+@Test
+public class SourceFileTest
+{
+    public void rawLineCountMatchesLineIndexTest()
+    {
+        String[] texts = { "", "a", "a\n", "a\nb", "a\r\nb\r\n", "a\rb\r", "\n\n", "a\r\n\r\nb", "\r" };
+
+        for (String text : texts)
+        {
+            // Set up
+            SourceFile raw = new SourceFile("Raw.java", text.toCharArray(), text.length(), 4, Tier.RAW);
+            SourceFile indexed = new SourceFile("Indexed.java", text.toCharArray(), text.length(), 4);
+
+            // Exercise component
+            int count = raw.getLineCount();
+            indexed.lineStart(1);
+
+            // Verify
+            assertSame(Tier.RAW, raw.getTier());
+            assertSame(Tier.LINES, indexed.getTier());
+            assertEquals(text.replace("\r", "\\r").replace("\n", "\\n"), indexed.getLineCount(), count);
+        }
+    }
+
+    public void tiersAreBuiltOnDemandTest()
+    {
+        // Set up
+        String text = "class A\n{\n    int mField;\n}\n";
+        SourceFile source = new SourceFile("A.java", text.toCharArray(), text.length(), 4);
+
+        // Exercise component and verify
+        assertSame(Tier.RAW, source.getTier());
+        source.line(2);
+        assertSame(Tier.LINES, source.getTier());
+        source.getTokens();
+        assertSame(Tier.TOKENS, source.getTier());
+        source.getStructure();
+        assertSame(Tier.AST, source.getTier());
+    }
+
+    @Test(expectedExceptions = { IllegalStateException.class })
+    public void limitIsEnforcedTest()
+    {
+        // Set up
+        String text = "class A { }";
+        SourceFile source = new SourceFile("A.java", text.toCharArray(), text.length(), 4, Tier.LINES);
+
+        // Exercise component
+        source.getTokens();
+    }
+}
@@ -0,0 +1,65 @@
+package com.connectcv.coding.checker.corpus;
+
+import java.util.*;
+
+/*
+ * Every rule enabled in ccv_checkstyle_definition_v0.3.xml that the checker implements is broken at least once in this file.
+ */
+public class Violations 
+{
+    public static final String lowerConstant = "constant";
+
+    private static int s_count;
+
+    private int m_value;
+
+    private long mLong = 10l;
+
+    public Violations(int in_value)
+    {
+        m_value = in_value;
+    }
+
+    public int badWhitespace(int inValue, String inText)
+    {
+        int result=inValue;
+        result = ( result + 1 );
+        result = (int)inValue;
+        result = ( int ) mLong;
+        result = ~ result;
+        result = ! inText.isEmpty() ? result : 0;
+        result = inText . length();
+        result++ ;
+        foo(result,result);
+        if(result > 0){
+            result = result
+                     + 1;
+        }
+
+        for (int Bad_Local = 0; Bad_Local < 1; Bad_Local++)
+            result += Bad_Local;
+
+        List<String> strings = new ArrayList<String>();
+        Map<String, List<Integer>> map = new HashMap<String, List<Integer>>();
+        return(result + strings.size() + map.size());
+    }
+
+    public void foo(int inA, int inB)
+    { }
+
+    public void tooManyParameters(int inA, int inB, int inC, int inD, int inE, int inF, int inG, int inH)
+    { }
+
+    public String aVeryLongLineThatGoesOnAndOnAndOnPastTheConfiguredMaximumOfOneHundredAndThirtyTwoCharacters(String inIgnored, String inOther)
+    {
+        return(inIgnored + inOther);
+    }
+
+    // PRIVATE METHODS
+
+    private void Bad_Method()
+    { }
+
+    private class bad_type
+    { }
+}
@@ -0,0 +1,71 @@
+package com.connectcv.coding.processor;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * <p>
+ * How the generated methods compare, hash and render a field, by its type. The comparisons and hash codes are those that
+ * Eclipse generates, so a class that switches to generated methods keeps the hash codes it had.
+ * </p>
+ */
+enum PropertyKind
+{
+    /** An {@code int}, {@code short}, {@code byte} or {@code char}. */
+    INT(true),
+    LONG(true),
+    BOOLEAN(true),
+    FLOAT(true),
+    DOUBLE(true),
+    REFERENCE(false),
+    PRIMITIVE_ARRAY(false),
+    OBJECT_ARRAY(false);
+
+    private final boolean mIsPrimitive;
+
+    private PropertyKind(boolean inIsPrimitive)
+    {
+        mIsPrimitive = inIsPrimitive;
+    }
+
+    /**
+     * Returns whether values of this kind are primitives, which are cheaper to compare than references and so are compared
+     * first.
+     */
+    public boolean isPrimitive()
+    {
+        return(mIsPrimitive);
+    }
+
+    public static PropertyKind of(TypeMirror inType)
+    {
+        switch (inType.getKind())
+        {
+            case INT:
+            case SHORT:
+            case BYTE:
+            case CHAR:
+                return(INT);
+
+            case LONG:
+                return(LONG);
+
+            case BOOLEAN:
+                return(BOOLEAN);
+
+            case FLOAT:
+                return(FLOAT);
+
+            case DOUBLE:
+                return(DOUBLE);
+
+            case ARRAY:
+                TypeKind component = ((ArrayType) inType).getComponentType().getKind();
+                return(component.isPrimitive() ? PRIMITIVE_ARRAY : OBJECT_ARRAY);
+
+            default:
+                return(REFERENCE);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.connectcv.coding.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * Writes the source of the class of value methods for one {@link ValueObject}. The generated code reads like code written by
+ * hand to the standards: straight-line comparisons and hash code steps, with no loops over fields and no reflection.
+ * </p>
+ */
+final class ValueMethodsWriter
+{
+    private static final String INDENT = "    ";
+
+    private final String mPackageName;
+    private final String mClassName;
+    private final String mTypeName;
+    private final String mTypeDoc;
+    private final List<ValueProperty> mProperties;
+    private final boolean mIsHashCodeCached;
+    private final int mHashMultiplier;
+    private final ValueObject.Style mStyle;
+    private final StringBuilder mOut;
+    private final Set<String> mArrayTypes;
+
+    private int mDepth;
+    private boolean mIsEqualUsed;
+    private boolean mIsObjectHashUsed;
+    private boolean mIsLongHashUsed;
+    private boolean mIsValueAppended;
+
+    /**
+     * @param inTypeName the source form of the value type, including any wildcards, as it is used in the generated code.
+     * @param inTypeDoc the name of the value type as it can be used in a {@code @link} tag.
+     */
+    ValueMethodsWriter(String inPackageName,
+                       String inClassName,
+                       String inTypeName,
+                       String inTypeDoc,
+                       List<ValueProperty> inProperties,
+                       ValueObject inAnnotation)
+    {
+        mPackageName = inPackageName;
+        mClassName = inClassName;
+        mTypeName = inTypeName;
+        mTypeDoc = inTypeDoc;
+        mProperties = inProperties;
+        mIsHashCodeCached = inAnnotation.cacheHashCode();
+        mHashMultiplier = inAnnotation.hashMultiplier();
+        mStyle = inAnnotation.style();
+        mOut = new StringBuilder(4096);
+        mArrayTypes = new TreeSet<String>();
+    }
+
+    public String write()
+    {
+        if (mPackageName.length() > 0)
+        {
+            line("package " + mPackageName + ";");
+            line("");
+        }
+
+        line("/**");
+        line(" * Value methods for {@link " + mTypeDoc + "},");
+        line(" * generated by " + ValueObjectProcessor.class.getSimpleName() + ". Do not edit.");
+        line(" */");
+        line("final class " + mClassName);
+        open();
+
+        if (mStyle == ValueObject.Style.MULTI_LINE)
+        {
+            line("private static final String LINE_SEPARATOR = System.getProperty(\"line.separator\");");
+            line("");
+        }
+
+        line("private " + mClassName + "()");
+        line("{ }");
+
+        writeEquals();
+        writeFieldsEqual();
+        writeHashCode();
+        writeToString();
+        writeAppendTo();
+        writeHelpers();
+
+        close();
+
+        return(mOut.toString());
+    }
+
+    private void writeEquals()
+    {
+        line("");
+        line("static boolean equals(" + mTypeName + " inObject, Object inOther)");
+        open();
+        line("if (inObject == inOther)");
+        line(INDENT + "return(true);");
+        line("");
+        line("if (!(inOther instanceof " + mTypeName + "))");
+        line(INDENT + "return(false);");
+        line("");
+        line("return(fieldsEqual(inObject, (" + mTypeName + ") inOther));");
+        close();
+    }
+
+    /*
+     * Primitives are compared first, as they are cheap and most likely to differ between objects that are not equal.
+     */
+    private void writeFieldsEqual()
+    {
+        List<String> comparisons = new ArrayList<String>();
+
+        for (ValueProperty property : mProperties)
+        {
+            if (property.getKind().isPrimitive())
+                comparisons.add(comparison(property));
+        }
+
+        for (ValueProperty property : mProperties)
+        {
+            if (!property.getKind().isPrimitive())
+                comparisons.add(comparison(property));
+        }
+
+        line("");
+        line("static boolean fieldsEqual(" + mTypeName + " inObject, " + mTypeName + " inOther)");
+        open();
+
+        if (comparisons.isEmpty())
+        {
+            line("return(true);");
+        }
+        else
+        {
+            for (int idx = 0; idx < comparisons.size(); idx++)
+            {
+                String prefix = idx == 0 ? "return(" : "       ";
+                String suffix = idx == comparisons.size() - 1 ? ");" : " &&";
+
+                line(prefix + comparisons.get(idx) + suffix);
+            }
+        }
+
+        close();
+    }
+
+    private String comparison(ValueProperty inProperty)
+    {
+        String mine = inProperty.read("inObject");
+        String other = inProperty.read("inOther");
+
+        switch (inProperty.getKind())
+        {
+            case FLOAT:
+                return("Float.floatToIntBits(" + mine + ") == Float.floatToIntBits(" + other + ")");
+
+            case DOUBLE:
+                return("Double.doubleToLongBits(" + mine + ") == Double.doubleToLongBits(" + other + ")");
+
+            case REFERENCE:
+                mIsEqualUsed = true;
+                return("equal(" + mine + ", " + other + ")");
+
+            case PRIMITIVE_ARRAY:
+                return("java.util.Arrays.equals(" + mine + ", " + other + ")");
+
+            case OBJECT_ARRAY:
+                return("java.util.Arrays.deepEquals(" + mine + ", " + other + ")");
+
+            default:
+                return(mine + " == " + other);
+        }
+    }
+
+    private void writeHashCode()
+    {
+        line("");
+        line("static int hashCode(" + mTypeName + " inObject)");
+        open();
+
+        if (mIsHashCodeCached)
+        {
+            line("int result = inObject." + ValueObjectProcessor.HASH_CODE_FIELD + ";");
+            line("");
+            line("if (result == 0)");
+            open();
+            line("result = 1;");
+        }
+        else
+        {
+            line("int result = 1;");
+        }
+
+        for (ValueProperty property : mProperties)
+            line("result = " + mHashMultiplier + " * result + " + hash(property) + ";");
+
+        if (mIsHashCodeCached)
+        {
+            line("");
+            line("inObject." + ValueObjectProcessor.HASH_CODE_FIELD + " = result;");
+            close();
+        }
+
+        line("");
+        line("return(result);");
+        close();
+    }
+
+    private String hash(ValueProperty inProperty)
+    {
+        String value = inProperty.read("inObject");
+
+        switch (inProperty.getKind())
+        {
+            case LONG:
+                mIsLongHashUsed = true;
+                return("hash(" + value + ")");
+
+            case BOOLEAN:
+                return("(" + value + " ? 1231 : 1237)");
+
+            case FLOAT:
+                return("Float.floatToIntBits(" + value + ")");
+
+            case DOUBLE:
+                mIsLongHashUsed = true;
+                return("hash(Double.doubleToLongBits(" + value + "))");
+
+            case REFERENCE:
+                mIsObjectHashUsed = true;
+                return("hash(" + value + ")");
+
+            case PRIMITIVE_ARRAY:
+                return("java.util.Arrays.hashCode(" + value + ")");
+
+            case OBJECT_ARRAY:
+                return("java.util.Arrays.deepHashCode(" + value + ")");
+
+            default:
+                return(value);
+        }
+    }
+
+    private void writeToString()
+    {
+        line("");
+        line("static String toString(" + mTypeName + " inObject)");
+        open();
+        line("return(appendTo(new StringBuilder(" + (16 + mProperties.size() * 16) + "), inObject).toString());");
+        close();
+    }
+
+    private void writeAppendTo()
+    {
+        boolean isMultiLine = mStyle == ValueObject.Style.MULTI_LINE;
+
+        line("");
+        line("static StringBuilder appendTo(StringBuilder inMdBuffer, " + mTypeName + " inObject)");
+        open();
+
+        if (isMultiLine)
+        {
+            line("inMdBuffer.append(inObject.getClass().getName());");
+            line("inMdBuffer.append('@').append(Integer.toHexString(System.identityHashCode(inObject))).append('[');");
+        }
+
+        for (int idx = 0; idx < mProperties.size(); idx++)
+        {
+            ValueProperty property = mProperties.get(idx);
+
+            if (isMultiLine)
+                line("inMdBuffer.append(LINE_SEPARATOR).append(\"  " + property.getName() + "=\");");
+            else if (idx > 0)
+                line("inMdBuffer.append(',');");
+
+            line(append(property) + ";");
+        }
+
+        if (isMultiLine)
+            line("inMdBuffer.append(LINE_SEPARATOR).append(']');");
+
+        line("");
+        line("return(inMdBuffer);");
+        close();
+    }
+
+    private String append(ValueProperty inProperty)
+    {
+        String value = inProperty.read("inObject");
+
+        switch (inProperty.getKind())
+        {
+            case REFERENCE:
+                mIsValueAppended = true;
+                return("appendValue(inMdBuffer, " + value + ")");
+
+            case PRIMITIVE_ARRAY:
+                mArrayTypes.add(inProperty.getArrayType());
+                return("appendArray(inMdBuffer, " + value + ")");
+
+            case OBJECT_ARRAY:
+                mIsValueAppended = true;
+                mArrayTypes.add("Object[]");
+                return("appendArray(inMdBuffer, " + value + ")");
+
+            default:
+                return("inMdBuffer.append(" + value + ")");
+        }
+    }
+
+    private void writeHelpers()
+    {
+        if (mIsEqualUsed)
+        {
+            line("");
+            line("private static boolean equal(Object inFirst, Object inSecond)");
+            open();
+            line("return(inFirst == null ? inSecond == null : inFirst.equals(inSecond));");
+            close();
+        }
+
+        if (mIsObjectHashUsed)
+        {
+            line("");
+            line("private static int hash(Object inValue)");
+            open();
+            line("return(inValue == null ? 0 : inValue.hashCode());");
+            close();
+        }
+
+        if (mIsLongHashUsed)
+        {
+            line("");
+            line("private static int hash(long inValue)");
+            open();
+            line("return((int) (inValue ^ (inValue >>> 32)));");
+            close();
+        }
+
+        if (mIsValueAppended)
+        {
+            line("");
+            line("private static void appendValue(StringBuilder inMdBuffer, Object inValue)");
+            open();
+            line("if (inValue == null)");
+            line(INDENT + "inMdBuffer.append(\"<null>\");");
+            line("else");
+            line(INDENT + "inMdBuffer.append(inValue);");
+            close();
+        }
+
+        for (String arrayType : mArrayTypes)
+            writeAppendArray(arrayType);
+    }
+
+    private void writeAppendArray(String inArrayType)
+    {
+        line("");
+        line("private static void appendArray(StringBuilder inMdBuffer, " + inArrayType + " inArray)");
+        open();
+        line("if (inArray == null)");
+        open();
+        line("inMdBuffer.append(\"<null>\");");
+        line("return;");
+        close();
+        line("");
+        line("inMdBuffer.append('{');");
+        line("");
+        line("for (int idx = 0; idx < inArray.length; idx++)");
+        open();
+        line("if (idx > 0)");
+        line(INDENT + "inMdBuffer.append(',');");
+        line("");
+        line(inArrayType.equals("Object[]") ? "appendValue(inMdBuffer, inArray[idx]);" : "inMdBuffer.append(inArray[idx]);");
+        close();
+        line("");
+        line("inMdBuffer.append('}');");
+        close();
+    }
+
+    private void open()
+    {
+        line("{");
+        mDepth++;
+    }
+
+    private void close()
+    {
+        mDepth--;
+        line("}");
+    }
+
+    private void line(String inText)
+    {
+        if (inText.length() > 0)
+        {
+            for (int idx = 0; idx < mDepth; idx++)
+                mOut.append(INDENT);
+        }
+
+        mOut.append(inText).append('\n');
+    }
+}
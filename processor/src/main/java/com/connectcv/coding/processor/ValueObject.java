@@ -0,0 +1,98 @@
+package com.connectcv.coding.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Marks a class whose {@code equals()}, {@code hashCode()} and {@code toString()} are to be generated at compile time by
+ * {@link ValueObjectProcessor}, rather than written, or regenerated by Eclipse, by hand whenever a field changes.
+ * </p>
+ * <p>
+ * For a class {@code Booking} the processor generates a package private class {@code BookingValueMethods}, with static
+ * {@code equals()}, {@code fieldsEqual()}, {@code hashCode()}, {@code toString()} and {@code appendTo()} methods, to which the
+ * class delegates as it needs:
+ * </p>
+ *
+ * <pre>
+ * &#64;ValueObject
+ * public class Booking
+ * {
+ *     ...
+ *
+ *     &#64;Override
+ *     public boolean equals(Object inObject)
+ *     {
+ *         return(BookingValueMethods.equals(this, inObject));
+ *     }
+ *
+ *     &#64;Override
+ *     public int hashCode()
+ *     {
+ *         return(BookingValueMethods.hashCode(this));
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * The generated methods cover every field declared by the class itself that is neither static nor transient. Each field is
+ * read through its getter where there is one, so that subclasses can still take part, and otherwise directly, in which case it
+ * must not be private. The class of a nested class is named after all of its enclosing classes, so
+ * {@code ProgrammingPractices.MatchingObject} gets {@code ProgrammingPracticesMatchingObjectValueMethods}.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ValueObject
+{
+    /**
+     * A multiplier for {@link #hashMultiplier()} that spreads keys well, the odd integer closest to 2<sup>32</sup> divided by
+     * the golden ratio.
+     */
+    int SPREADING_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * <p>
+     * Whether {@code hashCode()} computes the hash code once and then keeps it, for immutable classes used as hash keys.
+     * </p>
+     * <p>
+     * Every field covered must then be final, and the class must declare a non-private {@code transient int mHashCode} field in
+     * which the generated code keeps the hash code. As in {@link String}, a hash code of zero is recomputed each time.
+     * </p>
+     */
+    boolean cacheHashCode() default false;
+
+    /**
+     * <p>
+     * The number by which the hash code so far is multiplied before the hash code of each field is added.
+     * </p>
+     * <p>
+     * The default of 31 gives the same hash codes as Eclipse does. However, keys whose fields each take a small range of values,
+     * such as a small {@code int} and a short {@code String}, then share hash codes far more often than they should, since 31
+     * times a small difference in one field is easily made up by a small difference in the next. Use
+     * {@link #SPREADING_MULTIPLIER} for classes used as hash keys.
+     * </p>
+     */
+    int hashMultiplier() default 31;
+
+    /**
+     * The layout of the generated {@code toString()}, which is that of the {@code ToStringStyle} of the same name.
+     */
+    Style style() default Style.SIMPLE;
+
+    /**
+     * The layouts that the generated {@code toString()} can use.
+     */
+    enum Style
+    {
+        /** The values of the fields, separated by commas. */
+        SIMPLE,
+
+        /** The class name and identity hash code, followed by each field on a line of its own as {@code name=value}. */
+        MULTI_LINE
+    }
+}
@@ -0,0 +1,292 @@
+package com.connectcv.coding.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * <p>
+ * Generates the value methods of each class annotated with {@link ValueObject}. See {@link ValueObject} for what is generated
+ * and how a class uses it.
+ * </p>
+ * <p>
+ * Anything that would make the generated code wrong or unable to compile, such as a private field without a getter, is
+ * reported as a compile error against the offending element, rather than left for the compiler to find in the generated
+ * source.
+ * </p>
+ */
+public class ValueObjectProcessor extends AbstractProcessor
+{
+    /** The field in which the hash code of a class with {@link ValueObject#cacheHashCode()} is kept. */
+    static final String HASH_CODE_FIELD = "mHashCode";
+
+    private static final String GENERATED_SUFFIX = "ValueMethods";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes()
+    {
+        return(Collections.singleton(ValueObject.class.getName()));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return(SourceVersion.latestSupported());
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> inAnnotations, RoundEnvironment inRoundEnvironment)
+    {
+        for (Element element : inRoundEnvironment.getElementsAnnotatedWith(ValueObject.class))
+        {
+            if (element.getKind() != ElementKind.CLASS)
+                error(element, "@ValueObject can only be applied to a class");
+            else
+                process((TypeElement) element);
+        }
+
+        return(true);
+    }
+
+    private void process(TypeElement inType)
+    {
+        ValueObject annotation = inType.getAnnotation(ValueObject.class);
+
+        if (!isAccessible(inType))
+        {
+            error(inType, "A @ValueObject class must be accessible from the other classes in its package");
+            return;
+        }
+
+        List<ValueProperty> properties = new ArrayList<ValueProperty>();
+        boolean isValid = true;
+
+        for (VariableElement field : ElementFilter.fieldsIn(inType.getEnclosedElements()))
+        {
+            Set<Modifier> modifiers = field.getModifiers();
+
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT))
+                continue;
+
+            if (annotation.cacheHashCode() && !modifiers.contains(Modifier.FINAL))
+            {
+                error(field, "Field " + field.getSimpleName() + " must be final, as the hash code of " + inType.getSimpleName() +
+                             " is cached");
+                isValid = false;
+            }
+
+            ValueProperty property = property(inType, field);
+
+            if (property == null)
+                isValid = false;
+            else
+                properties.add(property);
+        }
+
+        if (annotation.cacheHashCode() && !hasHashCodeField(inType))
+        {
+            error(inType, "A @ValueObject with a cached hash code must declare a field 'transient int " + HASH_CODE_FIELD +
+                          "' that is neither private, static nor final");
+            isValid = false;
+        }
+
+        if (isValid)
+            write(inType, properties, annotation);
+    }
+
+    /*
+     * Returns how to read inField: through its getter if it has one, otherwise directly if it is not private.
+     */
+    private ValueProperty property(TypeElement inType, VariableElement inField)
+    {
+        String name = inField.getSimpleName().toString();
+        TypeMirror type = inField.asType();
+        PropertyKind kind = PropertyKind.of(type);
+        String arrayType = type.getKind() == TypeKind.ARRAY ? processingEnv.getTypeUtils().erasure(type).toString() : null;
+        ExecutableElement getter = getter(inType, name, type);
+
+        if (getter != null)
+            return(new ValueProperty(name, getter.getSimpleName() + "()", kind, arrayType));
+
+        if (!inField.getModifiers().contains(Modifier.PRIVATE))
+            return(new ValueProperty(name, name, kind, arrayType));
+
+        error(inField, "Field " + name + " is private and has no getter, so the generated methods of " + inType.getSimpleName() +
+                       " cannot read it");
+
+        return(null);
+    }
+
+    /*
+     * Looks for the getter of a field named to the standards, so that the getter of mName is getName(), and that of a boolean
+     * mIsName is isName() or getIsName().
+     */
+    private ExecutableElement getter(TypeElement inType, String inFieldName, TypeMirror inFieldType)
+    {
+        String property = inFieldName;
+
+        if (property.length() > 1 && property.charAt(0) == 'm' && Character.isUpperCase(property.charAt(1)))
+            property = property.substring(1);
+        else
+            property = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+
+        List<String> names = new ArrayList<String>();
+        names.add("get" + property);
+
+        if (inFieldType.getKind() == TypeKind.BOOLEAN)
+        {
+            names.add("is" + property);
+
+            if (property.startsWith("Is") && property.length() > 2)
+                names.add("is" + property.substring(2));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(inType.getEnclosedElements()))
+        {
+            Set<Modifier> modifiers = method.getModifiers();
+
+            if (names.contains(method.getSimpleName().toString()) &&
+                method.getParameters().isEmpty() &&
+                !modifiers.contains(Modifier.PRIVATE) &&
+                !modifiers.contains(Modifier.STATIC) &&
+                processingEnv.getTypeUtils().isSameType(method.getReturnType(), inFieldType))
+            {
+                return(method);
+            }
+        }
+
+        return(null);
+    }
+
+    private boolean hasHashCodeField(TypeElement inType)
+    {
+        for (VariableElement field : ElementFilter.fieldsIn(inType.getEnclosedElements()))
+        {
+            Set<Modifier> modifiers = field.getModifiers();
+
+            if (field.getSimpleName().contentEquals(HASH_CODE_FIELD))
+            {
+                return(field.asType().getKind() == TypeKind.INT &&
+                       modifiers.contains(Modifier.TRANSIENT) &&
+                       !modifiers.contains(Modifier.PRIVATE) &&
+                       !modifiers.contains(Modifier.STATIC) &&
+                       !modifiers.contains(Modifier.FINAL));
+            }
+        }
+
+        return(false);
+    }
+
+    /*
+     * The generated class is in the same package, so the annotated class and each class enclosing it must not be private.
+     */
+    private static boolean isAccessible(TypeElement inType)
+    {
+        Element element = inType;
+
+        while (element instanceof TypeElement)
+        {
+            NestingKind nesting = ((TypeElement) element).getNestingKind();
+
+            if (element.getModifiers().contains(Modifier.PRIVATE) || nesting == NestingKind.LOCAL ||
+                nesting == NestingKind.ANONYMOUS)
+            {
+                return(false);
+            }
+
+            element = element.getEnclosingElement();
+        }
+
+        return(true);
+    }
+
+    private void write(TypeElement inType, List<ValueProperty> inProperties, ValueObject inAnnotation)
+    {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(inType);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = generatedName(inType);
+        String typeDoc = inType.getQualifiedName().toString();
+
+        // The generated class is in the same package, so it can name the value type relative to the package
+        String typeName = typeDoc.substring(packageName.length() == 0 ? 0 : packageName.length() + 1);
+
+        if (!inType.getTypeParameters().isEmpty())
+        {
+            StringBuilder wildcards = new StringBuilder("<?");
+
+            for (int idx = 1; idx < inType.getTypeParameters().size(); idx++)
+                wildcards.append(", ?");
+
+            typeName += wildcards.append('>');
+        }
+
+        String source = new ValueMethodsWriter(packageName,
+                                               className,
+                                               typeName,
+                                               typeDoc,
+                                               inProperties,
+                                               inAnnotation).write();
+
+        try
+        {
+            String qualifiedName = packageName.length() == 0 ? className : packageName + "." + className;
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, inType);
+            Writer writer = file.openWriter();
+
+            try
+            {
+                writer.write(source);
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch (IOException ioe)
+        {
+            error(inType, "Unable to write the value methods of " + inType.getSimpleName() + ": " + ioe.getMessage());
+        }
+    }
+
+    /*
+     * Names the generated class after the annotated class and every class enclosing it, outermost first.
+     */
+    private static String generatedName(TypeElement inType)
+    {
+        StringBuilder name = new StringBuilder(GENERATED_SUFFIX);
+        Element element = inType;
+
+        while (element instanceof TypeElement)
+        {
+            name.insert(0, element.getSimpleName());
+            element = element.getEnclosingElement();
+        }
+
+        return(name.toString());
+    }
+
+    private void error(Element inElement, String inMessage)
+    {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, inMessage, inElement);
+    }
+}
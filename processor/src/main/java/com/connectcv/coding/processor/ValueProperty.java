@@ -0,0 +1,49 @@
+package com.connectcv.coding.processor;
+
+/**
+ * <p>
+ * A field covered by the generated methods: its name, how to read it from an instance, and its {@link PropertyKind}.
+ * </p>
+ */
+final class ValueProperty
+{
+    private final String mName;
+    private final String mAccessor;
+    private final PropertyKind mKind;
+    private final String mArrayType;
+
+    /**
+     * @param inAccessor the getter call, such as {@code getName()}, or field name with which to read the field.
+     * @param inArrayType the source form of the type of an array field, such as {@code int[]}, or {@code null}.
+     */
+    ValueProperty(String inName, String inAccessor, PropertyKind inKind, String inArrayType)
+    {
+        mName = inName;
+        mAccessor = inAccessor;
+        mKind = inKind;
+        mArrayType = inArrayType;
+    }
+
+    public String getName()
+    {
+        return(mName);
+    }
+
+    public PropertyKind getKind()
+    {
+        return(mKind);
+    }
+
+    public String getArrayType()
+    {
+        return(mArrayType);
+    }
+
+    /**
+     * Returns the expression that reads this field from the instance named {@code inInstance}.
+     */
+    public String read(String inInstance)
+    {
+        return(inInstance + "." + mAccessor);
+    }
+}
@@ -0,0 +1,267 @@
+package com.connectcv.coding.processor;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class ValueObjectProcessorTest
+{
+    private File mDirectory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException
+    {
+        mDirectory = Files.createTempDirectory("processor").toFile();
+    }
+
+    @AfterMethod
+    public void deleteDirectory()
+    {
+        delete(mDirectory);
+    }
+
+    public void generatedMethodsTest() throws Exception
+    {
+        // Set up
+        String source = "package p;\n" +
+                        "@com.connectcv.coding.processor.ValueObject\n" +
+                        "public class Value\n" +
+                        "{\n" +
+                        "    private int mInt;\n" +
+                        "    private String mText;\n" +
+                        "    double mDouble;\n" +
+                        "    int[] mInts;\n" +
+                        "    private transient int mIgnored;\n" +
+                        "    private static int sIgnored;\n" +
+                        "    public Value(int inInt, String inText, double inDouble, int[] inInts)\n" +
+                        "    { mInt = inInt; mText = inText; mDouble = inDouble; mInts = inInts; }\n" +
+                        "    public int getInt() { return(mInt); }\n" +
+                        "    public String getText() { return(mText); }\n" +
+                        "    public boolean equals(Object inObject) { return(ValueValueMethods.equals(this, inObject)); }\n" +
+                        "    public int hashCode() { return(ValueValueMethods.hashCode(this)); }\n" +
+                        "    public String toString() { return(ValueValueMethods.toString(this)); }\n" +
+                        "}\n";
+
+        // Exercise component
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("p.Value", source);
+
+        // Verify
+        assertEquals(Collections.emptyList(), diagnostics);
+
+        URLClassLoader loader = new URLClassLoader(new URL[] { mDirectory.toURI().toURL() });
+        Class<?> type = loader.loadClass("p.Value");
+        Constructor<?> constructor = type.getConstructor(int.class, String.class, double.class, int[].class);
+
+        Object value = constructor.newInstance(Integer.valueOf(1), "one", Double.valueOf(1.5), new int[] { 1, 2 });
+        Object same = constructor.newInstance(Integer.valueOf(1), "one", Double.valueOf(1.5), new int[] { 1, 2 });
+        Object nulls = constructor.newInstance(Integer.valueOf(1), null, Double.valueOf(1.5), null);
+        Object different = constructor.newInstance(Integer.valueOf(2), "one", Double.valueOf(1.5), new int[] { 1, 2 });
+
+        assertEquals(value, same);
+        assertEquals(value.hashCode(), same.hashCode());
+
+        int hash = 31 * (31 * (31 + 1) + "one".hashCode()) + Double.valueOf(1.5).hashCode();
+        assertEquals(31 * hash + Arrays.hashCode(new int[] { 1, 2 }), value.hashCode());
+        assertFalse(value.equals(different));
+        assertFalse(value.equals(nulls));
+        assertFalse(nulls.equals(value));
+        assertEquals(nulls, constructor.newInstance(Integer.valueOf(1), null, Double.valueOf(1.5), null));
+        assertFalse(value.equals(null));
+        assertEquals("1,one,1.5,{1,2}", value.toString());
+        assertEquals("1,<null>,1.5,<null>", nulls.toString());
+
+        loader.close();
+    }
+
+    public void cachedHashCodeTest() throws Exception
+    {
+        // Set up
+        String source = "package p;\n" +
+                        "@com.connectcv.coding.processor.ValueObject(cacheHashCode = true)\n" +
+                        "public final class Key\n" +
+                        "{\n" +
+                        "    private final String mName;\n" +
+                        "    transient int mHashCode;\n" +
+                        "    public Key(String inName) { mName = inName; }\n" +
+                        "    public String getName() { return(mName); }\n" +
+                        "    public int hashCode() { return(KeyValueMethods.hashCode(this)); }\n" +
+                        "}\n";
+
+        // Exercise component
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("p.Key", source);
+
+        // Verify
+        assertEquals(Collections.emptyList(), diagnostics);
+
+        String generated = new String(Files.readAllBytes(new File(mDirectory, "p/KeyValueMethods.java").toPath()), "UTF-8");
+        assertTrue(generated, generated.contains("inObject.mHashCode = result;"));
+    }
+
+    public void hashMultiplierTest() throws Exception
+    {
+        // Set up
+        String source = "package p;\n" +
+                        "@com.connectcv.coding.processor.ValueObject(hashMultiplier = " +
+                        "com.connectcv.coding.processor.ValueObject.SPREADING_MULTIPLIER)\n" +
+                        "public class Spread\n" +
+                        "{\n" +
+                        "    int mValue;\n" +
+                        "}\n";
+
+        // Exercise component
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("p.Spread", source);
+
+        // Verify
+        assertEquals(Collections.emptyList(), diagnostics);
+
+        String generated = new String(Files.readAllBytes(new File(mDirectory, "p/SpreadValueMethods.java").toPath()), "UTF-8");
+        assertTrue(generated, generated.contains("result = " + ValueObject.SPREADING_MULTIPLIER + " * result + inObject.mValue;"));
+    }
+
+    public void multiLineStyleTest() throws Exception
+    {
+        // Set up
+        String source = "package p;\n" +
+                        "public class Outer\n" +
+                        "{\n" +
+                        "    @com.connectcv.coding.processor.ValueObject(style = " +
+                        "com.connectcv.coding.processor.ValueObject.Style.MULTI_LINE)\n" +
+                        "    public static class Inner\n" +
+                        "    {\n" +
+                        "        boolean mIsSet = true;\n" +
+                        "        public String toString() { return(OuterInnerValueMethods.toString(this)); }\n" +
+                        "    }\n" +
+                        "}\n";
+
+        // Exercise component
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("p.Outer", source);
+
+        // Verify
+        assertEquals(Collections.emptyList(), diagnostics);
+
+        URLClassLoader loader = new URLClassLoader(new URL[] { mDirectory.toURI().toURL() });
+        Object inner = loader.loadClass("p.Outer$Inner").newInstance();
+        String separator = System.getProperty("line.separator");
+
+        assertEquals("p.Outer$Inner@" + Integer.toHexString(System.identityHashCode(inner)) + "[" + separator + "  mIsSet=true" +
+                     separator + "]", inner.toString());
+
+        loader.close();
+    }
+
+    public void privateFieldWithoutGetterTest() throws Exception
+    {
+        // Set up
+        String source = "package p;\n" +
+                        "@com.connectcv.coding.processor.ValueObject\n" +
+                        "public class Hidden\n" +
+                        "{\n" +
+                        "    private int mHidden;\n" +
+                        "}\n";
+
+        // Exercise component
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("p.Hidden", source);
+
+        // Verify
+        assertEquals(1, diagnostics.size());
+        assertTrue(diagnostics.get(0).getMessage(null).startsWith("Field mHidden is private and has no getter"));
+    }
+
+    public void cachedHashCodeRequiresImmutabilityTest() throws Exception
+    {
+        // Set up
+        String source = "package p;\n" +
+                        "@com.connectcv.coding.processor.ValueObject(cacheHashCode = true)\n" +
+                        "public class Mutable\n" +
+                        "{\n" +
+                        "    String mName;\n" +
+                        "}\n";
+
+        // Exercise component
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("p.Mutable", source);
+
+        // Verify
+        assertEquals(2, diagnostics.size());
+        assertTrue(diagnostics.get(0).getMessage(null).startsWith("Field mName must be final"));
+        assertTrue(diagnostics.get(1).getMessage(null).contains("transient int mHashCode"));
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(String inClassName, final String inSource) throws IOException
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + inClassName.replace('.', '/') + ".java"),
+                                                       JavaFileObject.Kind.SOURCE)
+        {
+            @Override
+            public CharSequence getCharContent(boolean inIsIgnoringEncodingErrors)
+            {
+                return(inSource);
+            }
+        };
+
+        List<String> options = new ArrayList<String>();
+        options.add("-d");
+        options.add(mDirectory.getPath());
+        options.add("-s");
+        options.add(mDirectory.getPath());
+        options.add("-classpath");
+        options.add(System.getProperty("java.class.path"));
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                                                             Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new ValueObjectProcessor()));
+        task.call();
+        fileManager.close();
+
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<Diagnostic<? extends JavaFileObject>>();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+        {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                errors.add(diagnostic);
+        }
+
+        return(errors);
+    }
+
+    private static void delete(File inFile)
+    {
+        File[] children = inFile.listFiles();
+
+        if (children != null)
+        {
+            for (File child : children)
+                delete(child);
+        }
+
+        inFile.delete();
+    }
+}
@@ -0,0 +1,354 @@
+package com.connectcv.coding.examples;
+
+import com.connectcv.coding.util.StringDictionary;
+
+/**
+ * <p>
+ * Holds many {@link ClassWithFewProperties} records by column rather than as objects: each property is an {@code int[]} of
+ * codes from a {@link StringDictionary} of its own, and each optional property also has a bitmap of the rows in which it is
+ * set. A record costs four {@code int}s and two bits, rather than an object of four references, and a repeated string is held
+ * once.
+ * </p>
+ * <p>
+ * {@link #get(int)} returns a view of a row, with the getters and setters of {@code ClassWithFewProperties}, that reads
+ * and writes the columns. Each call allocates a new view, which holds only its row but also carries the four unused fields it
+ * inherits, so a view is for handing a record to code that expects one, not for holding many records. Code that only scans
+ * one property should use {@link #count(Property, String)} or {@link #select(Property, String)} instead, which compare the
+ * codes in a single array, without decoding a string or creating a view.
+ * </p>
+ * <p>
+ * Like the collections, the table is not thread safe.
+ * </p>
+ */
+public final class ClassWithFewPropertiesTable
+{
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /*
+     * The code held for an optional property that is not set, which no string is given, so that a scan for a value need not
+     * check the bitmap.
+     */
+    private static final int UNSET = StringDictionary.NO_CODE;
+
+    private static final int PROPERTIES = Property.values().length;
+
+    private final StringDictionary[] mDictionaries;
+    private final int[][] mCodes;
+    private final long[][] mSetBits;
+    private int mSize;
+
+    public ClassWithFewPropertiesTable()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ClassWithFewPropertiesTable(int inInitialCapacity)
+    {
+        int capacity = Math.max(inInitialCapacity, Long.SIZE);
+
+        mDictionaries = new StringDictionary[PROPERTIES];
+        mCodes = new int[PROPERTIES][];
+        mSetBits = new long[PROPERTIES][];
+
+        for (Property property : Property.values())
+        {
+            mDictionaries[property.ordinal()] = new StringDictionary();
+            mCodes[property.ordinal()] = new int[capacity];
+
+            if (property.isOptional())
+                mSetBits[property.ordinal()] = new long[words(capacity)];
+        }
+    }
+
+    /**
+     * Adds a record, as {@link ClassWithFewProperties#ClassWithFewProperties(String, String, String)} would create it, and
+     * returns its row. If a required property is {@code null}, no row is added.
+     */
+    public int add(String inRequiredImmutableProperty, String inRequiredMutableProperty, String inOptionalImmutableProperty)
+    {
+        checkRequired(Property.REQUIRED_IMMUTABLE, inRequiredImmutableProperty);
+        checkRequired(Property.REQUIRED_MUTABLE, inRequiredMutableProperty);
+
+        int row = addRow();
+
+        set(row, Property.REQUIRED_IMMUTABLE, inRequiredImmutableProperty);
+        set(row, Property.REQUIRED_MUTABLE, inRequiredMutableProperty);
+        set(row, Property.OPTIONAL_IMMUTABLE, inOptionalImmutableProperty);
+        set(row, Property.OPTIONAL_MUTABLE, null);
+
+        return(row);
+    }
+
+    /**
+     * Adds a copy of {@code inRecord} and returns its row.
+     */
+    public int add(ClassWithFewProperties inRecord)
+    {
+        int row = add(inRecord.getRequiredImmutableProperty(),
+                      inRecord.getRequiredMutableProperty(),
+                      inRecord.getOptionalImmutableProperty());
+
+        set(row, Property.OPTIONAL_MUTABLE, inRecord.getOptionalMutableProperty());
+
+        return(row);
+    }
+
+    /**
+     * Returns a new view of the record in {@code inRow}, whose getters and setters read and write the table.
+     */
+    public ClassWithFewProperties get(int inRow)
+    {
+        checkRow(inRow);
+
+        return(new Row(inRow));
+    }
+
+    /**
+     * Returns the value of {@code inProperty} in {@code inRow}, or {@code null} if it is an optional property that is not set.
+     */
+    public String get(int inRow, Property inProperty)
+    {
+        checkRow(inRow);
+
+        int code = mCodes[inProperty.ordinal()][inRow];
+
+        return(code == UNSET ? null : mDictionaries[inProperty.ordinal()].decode(code));
+    }
+
+    /**
+     * Returns whether {@code inProperty} is set in {@code inRow}, which required properties always are.
+     */
+    public boolean isSet(int inRow, Property inProperty)
+    {
+        checkRow(inRow);
+
+        long[] bits = mSetBits[inProperty.ordinal()];
+
+        return(bits == null || (bits[inRow >>> 6] & (1L << inRow)) != 0);
+    }
+
+    /**
+     * Returns the number of rows in which {@code inProperty} is {@code inValue}, or is not set if {@code inValue} is
+     * {@code null}.
+     */
+    public int count(Property inProperty, String inValue)
+    {
+        if (inValue == null)
+            return(mSize - countSet(inProperty));
+
+        int code = mDictionaries[inProperty.ordinal()].find(inValue);
+
+        if (code == StringDictionary.NO_CODE)
+            return(0);
+
+        int[] codes = mCodes[inProperty.ordinal()];
+        int count = 0;
+
+        for (int row = 0; row < mSize; row++)
+        {
+            if (codes[row] == code)
+                count++;
+        }
+
+        return(count);
+    }
+
+    /**
+     * Returns the number of rows in which {@code inProperty} is set, counting the bits of its bitmap a word at a time.
+     */
+    public int countSet(Property inProperty)
+    {
+        long[] bits = mSetBits[inProperty.ordinal()];
+
+        if (bits == null)
+            return(mSize);
+
+        int count = 0;
+
+        for (int word = 0; word < words(mSize); word++)
+            count += Long.bitCount(bits[word]);
+
+        return(count);
+    }
+
+    /**
+     * Returns the rows, in order, in which {@code inProperty} is {@code inValue}, or is not set if {@code inValue} is
+     * {@code null}.
+     */
+    public int[] select(Property inProperty, String inValue)
+    {
+        int code = inValue == null ? UNSET : mDictionaries[inProperty.ordinal()].find(inValue);
+
+        if (inValue != null && code == StringDictionary.NO_CODE)
+            return(new int[0]);
+
+        int[] codes = mCodes[inProperty.ordinal()];
+        int[] rows = new int[count(inProperty, inValue)];
+        int count = 0;
+
+        for (int row = 0; row < mSize && count < rows.length; row++)
+        {
+            if (codes[row] == code)
+                rows[count++] = row;
+        }
+
+        return(rows);
+    }
+
+    /**
+     * Returns the number of records in the table.
+     */
+    public int size()
+    {
+        return(mSize);
+    }
+
+    /**
+     * Returns the number of distinct values that {@code inProperty} has taken.
+     */
+    public int distinctValues(Property inProperty)
+    {
+        return(mDictionaries[inProperty.ordinal()].size());
+    }
+
+    private int addRow()
+    {
+        if (mSize == mCodes[0].length)
+        {
+            for (int property = 0; property < PROPERTIES; property++)
+            {
+                mCodes[property] = grow(mCodes[property], mSize * 2);
+
+                if (mSetBits[property] != null)
+                    mSetBits[property] = grow(mSetBits[property], words(mSize * 2));
+            }
+        }
+
+        return(mSize++);
+    }
+
+    private void set(int inRow, Property inProperty, String inValue)
+    {
+        int property = inProperty.ordinal();
+
+        checkRequired(inProperty, inValue);
+
+        if (inValue == null)
+        {
+            mCodes[property][inRow] = UNSET;
+            mSetBits[property][inRow >>> 6] &= ~(1L << inRow);
+        }
+        else
+        {
+            mCodes[property][inRow] = mDictionaries[property].encode(inValue);
+
+            if (inProperty.isOptional())
+                mSetBits[property][inRow >>> 6] |= 1L << inRow;
+        }
+    }
+
+    private static void checkRequired(Property inProperty, String inValue)
+    {
+        if (inValue == null && !inProperty.isOptional())
+            throw new IllegalArgumentException("The " + inProperty + " property is required");
+    }
+
+    private void checkRow(int inRow)
+    {
+        if (inRow < 0 || inRow >= mSize)
+            throw new IndexOutOfBoundsException("Row " + inRow + " is not in a table of " + mSize + " rows");
+    }
+
+    private static int words(int inBits)
+    {
+        return((inBits + Long.SIZE - 1) >>> 6);
+    }
+
+    private static int[] grow(int[] inArray, int inLength)
+    {
+        int[] array = new int[inLength];
+        System.arraycopy(inArray, 0, array, 0, inArray.length);
+        return(array);
+    }
+
+    private static long[] grow(long[] inArray, int inLength)
+    {
+        long[] array = new long[inLength];
+        System.arraycopy(inArray, 0, array, 0, inArray.length);
+        return(array);
+    }
+
+    /**
+     * The properties of {@link ClassWithFewProperties}, each of which is a column of the table.
+     */
+    public enum Property
+    {
+        REQUIRED_IMMUTABLE(false),
+        REQUIRED_MUTABLE(false),
+        OPTIONAL_IMMUTABLE(true),
+        OPTIONAL_MUTABLE(true);
+
+        private final boolean mIsOptional;
+
+        private Property(boolean inIsOptional)
+        {
+            mIsOptional = inIsOptional;
+        }
+
+        public boolean isOptional()
+        {
+            return(mIsOptional);
+        }
+    }
+
+    /*
+     * A view of a row. The fields it inherits are never used.
+     */
+    private final class Row extends ClassWithFewProperties
+    {
+        private final int mRow;
+
+        Row(int inRow)
+        {
+            super(null, null, null);
+
+            mRow = inRow;
+        }
+
+        @Override
+        public String getRequiredImmutableProperty()
+        {
+            return(get(mRow, Property.REQUIRED_IMMUTABLE));
+        }
+
+        @Override
+        public String getRequiredMutableProperty()
+        {
+            return(get(mRow, Property.REQUIRED_MUTABLE));
+        }
+
+        @Override
+        public String getOptionalImmutableProperty()
+        {
+            return(get(mRow, Property.OPTIONAL_IMMUTABLE));
+        }
+
+        @Override
+        public String getOptionalMutableProperty()
+        {
+            return(get(mRow, Property.OPTIONAL_MUTABLE));
+        }
+
+        @Override
+        public void setRequiredMutableProperty(String inRequiredMutableProperty)
+        {
+            set(mRow, Property.REQUIRED_MUTABLE, inRequiredMutableProperty);
+        }
+
+        @Override
+        public void setOptionalMutableProperty(String inOptionalMutableProperty)
+        {
+            set(mRow, Property.OPTIONAL_MUTABLE, inOptionalMutableProperty);
+        }
+    }
+}
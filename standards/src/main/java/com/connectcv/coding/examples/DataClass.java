@@ -1,5 +1,8 @@
 package com.connectcv.coding.examples;
 
+import com.connectcv.coding.processor.ValueObject;
+
+@ValueObject(hashMultiplier = ValueObject.SPREADING_MULTIPLIER)
 public class DataClass
 {
     private int mIntValue;
@@ -26,8 +29,9 @@ public class DataClass
      * Java</i> for more details.
      * </p>
      * <p>
-     * Both the {@code equals()} and {@code hashCode()} methods can be generated by Eclipse. However, you will need to rename the
-     * parameter for {@code equals()} to conform to standards.
+     * Annotate the class with {@link ValueObject} and delegate to the generated {@code DataClassValueMethods}, as here, rather
+     * than writing {@code equals()} and {@code hashCode()} by hand. The generated methods compare and hash every field, so they
+     * are never left behind when a field is added, and they use no reflection, unlike {@code EqualsBuilder}.
      * </p>
      * <p>
      * If you do create the {@code equals(}) method by hand, use {@code instanceof} rather than comparing classes and use getters
@@ -39,17 +43,7 @@ public class DataClass
     @Override
     public boolean equals(Object inObject)
     {
-        if (this == inObject) return(true);
-        if (inObject == null) return(false);
-        if (!(inObject instanceof DataClass)) return(false);
-        final DataClass other = (DataClass) inObject;
-        if (getIntValue() != other.getIntValue()) return(false);
-        if (getStringValue() == null)
-        {
-            if (other.getStringValue() != null) return(false);
-        }
-        else if (!getStringValue().equals(other.getStringValue())) return(false);
-        return(true);
+        return(DataClassValueMethods.equals(this, inObject));
     }
 
     /**
@@ -62,21 +56,19 @@ public class DataClass
      * Java</i> for more details.
      * </p>
      * <p>
-     * Both the {@code hashCode()} and {@code equals()} methods can be generated by Eclipse. However, you will need to do fix the
-     * return statement for {@code hashCode()} to conform to standards.
+     * Generate {@code hashCode()} along with {@code equals()} with {@link ValueObject}. The generated method uses getters where
+     * available, as this means that dynamically generated and test subclasses can still use the {@code hashCode()} method.
      * </p>
      * <p>
-     * When generating the {@code hashCode(}) method, use getters where available, as this means that dynamically generated and
-     * test subclasses can still use the {@code hasCode()} method.
+     * By default the generated method gives the same hash codes as the method that Eclipse generates, which cluster badly when
+     * each field takes only a few values, as a small {@code int} and a short {@code String} do here. Use
+     * {@link ValueObject#SPREADING_MULTIPLIER} for any class used as a hash key, and check the spread of its hash codes over
+     * realistic keys with {@link au.com.tt.util.test.HashQualityAnalyser}.
      * </p>
      */
     @Override
     public int hashCode()
     {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + getIntValue();
-        result = prime * result + ((getStringValue() == null) ? 0 : getStringValue().hashCode());
-        return(result);
+        return(DataClassValueMethods.hashCode(this));
     }
 }
\ No newline at end of file
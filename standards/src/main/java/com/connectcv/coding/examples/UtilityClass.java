@@ -11,14 +11,173 @@ package com.connectcv.coding.examples;
  * called</li>
  * </ul>
  * </p>
+ * <p>
+ * This one holds text operations that take any {@link CharSequence}, so that a caller holding a {@code StringBuilder} or a
+ * {@code CharBuffer} need not call {@code toString()} first, and that never allocate. Each behaves as its namesake in
+ * commons-lang's {@code StringUtils} does for a {@code String}, {@code null} included.
+ * </p>
  */
 public final class UtilityClass
 {
+    private static final int MAX_ASCII = 0x7F;
+
+    private static final int ASCII_CASE_BIT = 0x20;
+
     private UtilityClass()
     { }          // Suppress default constructor to prevent instantiation.
 
-    public static boolean utilityMethod(String inString)
+    public static boolean utilityMethod(CharSequence inText)
+    {
+        return(isEmpty(inText));
+    }
+
+    /**
+     * Returns whether {@code inText} is {@code null} or has no characters.
+     */
+    public static boolean isEmpty(CharSequence inText)
+    {
+        return(inText == null || inText.length() == 0);
+    }
+
+    /**
+     * Returns whether {@code inText} is {@code null} or has only whitespace, as {@link Character#isWhitespace(char)} defines it.
+     */
+    public static boolean isBlank(CharSequence inText)
+    {
+        if (inText != null)
+        {
+            for (int idx = 0; idx < inText.length(); idx++)
+            {
+                if (!Character.isWhitespace(inText.charAt(idx)))
+                    return(false);
+            }
+        }
+
+        return(true);
+    }
+
+    /**
+     * Returns whether {@code inText1} and {@code inText2} are both {@code null}, or have the same characters ignoring case, as
+     * {@link String#equalsIgnoreCase(String)} compares them. ASCII characters are compared without a call to
+     * {@code Character}.
+     */
+    public static boolean equalsIgnoreCase(CharSequence inText1, CharSequence inText2)
+    {
+        if (inText1 == null || inText2 == null)
+            return(inText1 == inText2);
+
+        int length = inText1.length();
+
+        if (length != inText2.length())
+            return(false);
+
+        for (int idx = 0; idx < length; idx++)
+        {
+            char ch1 = inText1.charAt(idx);
+            char ch2 = inText2.charAt(idx);
+
+            if (ch1 != ch2)
+            {
+                if (ch1 <= MAX_ASCII && ch2 <= MAX_ASCII)
+                {
+                    int folded = ch1 | ASCII_CASE_BIT;
+
+                    if (folded != (ch2 | ASCII_CASE_BIT) || folded < 'a' || folded > 'z')
+                        return(false);
+                }
+                else if (!equalsIgnoreCase(ch1, ch2))
+                    return(false);
+            }
+        }
+
+        return(true);
+    }
+
+    /**
+     * Returns the index of the first {@code inChar} in {@code inText}, or -1 if there is none or {@code inText} is {@code null}.
+     */
+    public static int indexOf(CharSequence inText, char inChar)
+    {
+        return(indexOf(inText, inChar, 0));
+    }
+
+    /**
+     * Returns the index of the first {@code inChar} in {@code inText} from {@code inFrom}, or -1 if there is none or
+     * {@code inText} is {@code null}.
+     */
+    public static int indexOf(CharSequence inText, char inChar, int inFrom)
+    {
+        if (inText == null)
+            return(-1);
+
+        if (inText instanceof String)
+            return(((String) inText).indexOf(inChar, inFrom));
+
+        for (int idx = Math.max(inFrom, 0); idx < inText.length(); idx++)
+        {
+            if (inText.charAt(idx) == inChar)
+                return(idx);
+        }
+
+        return(-1);
+    }
+
+    /**
+     * <p>
+     * Finds the tokens of {@code inText} that are separated by {@code inSeparator}, skipping empty ones as
+     * {@code StringUtils.split()} does, and stores the start and end index of each in turn in {@code inMdRanges}, rather than
+     * creating a string for each:
+     * </p>
+     *
+     * <pre>
+     * int tokens = UtilityClass.split(line, ',', ranges);
+     *
+     * for (int token = 0; token &lt; tokens; token++)
+     *     process(line, ranges[2 * token], ranges[2 * token + 1]);
+     * </pre>
+     *
+     * <p>
+     * Returns the number of tokens, which is 0 for {@code null}. Only as many ranges as fit are stored, so if the number of
+     * tokens is more than half the length of the array, the call should be repeated with a larger one.
+     * </p>
+     */
+    public static int split(CharSequence inText, char inSeparator, int[] inMdRanges)
+    {
+        if (inText == null)
+            return(0);
+
+        int tokens = 0;
+        int start = -1;
+        int length = inText.length();
+
+        for (int idx = 0; idx <= length; idx++)
+        {
+            if (idx == length || inText.charAt(idx) == inSeparator)
+            {
+                if (start >= 0)
+                {
+                    if (2 * tokens + 1 < inMdRanges.length)
+                    {
+                        inMdRanges[2 * tokens] = start;
+                        inMdRanges[2 * tokens + 1] = idx;
+                    }
+
+                    tokens++;
+                    start = -1;
+                }
+            }
+            else if (start < 0)
+                start = idx;
+        }
+
+        return(tokens);
+    }
+
+    private static boolean equalsIgnoreCase(char inChar1, char inChar2)
     {
-        return(inString == null || inString.length() == 0);
+        char upper1 = Character.toUpperCase(inChar1);
+        char upper2 = Character.toUpperCase(inChar2);
+
+        return(upper1 == upper2 || Character.toLowerCase(upper1) == Character.toLowerCase(upper2));
     }
-}
\ No newline at end of file
+}
@@ -46,12 +46,12 @@ public class Annotations
 
         if (inFlag == 2)
         {
-        /*
-            List myList = new ArrayList<Integer>(); // This would now come up as a warning
-            myList.add(1);
+            /*
+                List myList = new ArrayList<Integer>(); // This would now come up as a warning
+                myList.add(1);
 
-            return(myList); // As would this
-        */
+                return(myList); // As would this
+            */
         }
 
         return(null);
@@ -8,6 +8,9 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.connectcv.coding.util.IsoTimestampCache;
 
 /**
  * <p>
@@ -59,6 +62,8 @@ public class Declarations
      */
     public static final String CONSTANT_DECLARATION = "This is a static final String";
 
+    private static final IsoTimestampCache TIMESTAMPS = new IsoTimestampCache(DateTimeZone.getDefault());
+
     private static List<String> sList = new LinkedList<String>();
 
     /*
@@ -95,10 +100,10 @@ public class Declarations
      * When a condition can fit on one line, it does not have to go on one line. e.g. the ternary condition in this method.
      * </p>
      */
-    public String multilineTernaries(boolean inConditionA, boolean inConditionB)
+    public String multilineTernaries(boolean inIsConditionA, boolean inIsConditionB)
     {
-        String foo = (inConditionA == inConditionB) ? "bar"
-                                                    : "BAR";
+        String foo = (inIsConditionA == inIsConditionB) ? "bar"
+                                                        : "BAR";
         return(foo);
     }
 
@@ -112,7 +117,7 @@ public class Declarations
      */
     public String whiteSpaceMethodParentheses()
     {
-        return((mArray.length == mInteger) ? mInitWhenDeclared.toString() : new SomePrivateInnerClass().foo());
+        return((mArray.length == mInteger) ? TIMESTAMPS.format(mInitWhenDeclared) : new SomePrivateInnerClass().foo());
     }
 
     /**
@@ -10,6 +10,8 @@ import java.util.List;
 
 import org.joda.time.DateTime;
 
+import com.connectcv.coding.util.StringBuilderPool;
+
 /**
  * <p>
  * Class and interface names should be based upon nouns, and be simple and descriptive. All class names should use UpperLowerCase,
@@ -46,7 +48,8 @@ public class NamingConventions
 
     public static final List<String> Items = new ArrayList<String>(); // Non-constant (mutable) static final member.
 
-    private static StringBuilder sClassVariable = new StringBuilder(MIN_SIZE); // Class variable.
+    private static StringBuilderPool sClassVariable =
+        new StringBuilderPool(MIN_SIZE, StringBuilderPool.DEFAULT_MAX_RETAINED_CAPACITY); // Class variable.
 
     private static boolean sIsSomeBoolean; // Generally prefix boolean class members with 'sIs', 'sAre', 'sCan', or 'sHas'.
 
@@ -68,12 +71,17 @@ public class NamingConventions
      * <li>Parameters that are not modified by the method appear before those that can be modified in the parameter list.</li>
      * </ul>
      * </p>
+     * <p>
+     * Never share a {@code StringBuilder} between calls through a static variable, which is unsafe as soon as two threads call
+     * the method and keeps every string ever appended. Take one from a {@link StringBuilderPool} instead.
+     * </p>
      */
     public String methodWithParameters(String inParameter)
     {
         sSomeDate = new DateTime();
 
-        mSomeString = sClassVariable.append(sSomeDate).toString();
+        StringBuilder builder = sClassVariable.acquire();
+        mSomeString = sClassVariable.toStringAndRelease(builder.append(sSomeDate));
         return(mSomeString);
     }
 
@@ -100,7 +108,7 @@ public class NamingConventions
      */
     public <T> void copy(List<? extends T> inSource, List<? super T> inTarget)
     {
-       inTarget.addAll(inSource);
+        inTarget.addAll(inSource);
     }
 
     /**
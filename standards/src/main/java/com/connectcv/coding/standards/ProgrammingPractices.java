@@ -4,9 +4,20 @@
 
 package com.connectcv.coding.standards;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
+import com.connectcv.coding.processor.ValueObject;
+import com.connectcv.coding.util.EnumIndex;
+import com.connectcv.coding.util.Exceptions;
+import com.connectcv.coding.util.LineSource;
+import com.connectcv.coding.util.LineStream;
+import com.connectcv.coding.util.MatchKey;
+import com.connectcv.coding.util.MatchingEngine;
+import com.connectcv.coding.util.MessageTemplate;
+import com.connectcv.coding.util.TopK;
+
 /**
  * <p>
  * This class outlines practices for general adoption. In summary form:
@@ -43,11 +54,30 @@ public class ProgrammingPractices
     // Use symbolic constants instead of hard coded literals if appropriate (except for 1, 0, and -1).
     private static final int ONE = 1;
 
+    // Parse message patterns once, when the class is loaded, rather than every time a message is assembled.
+    private static final MessageTemplate PLACING_SUMMARY =
+        MessageTemplate.compile("{0} was in first place, {1} came second, followed by {2}");
+
+    private static final int PLACINGS = 3;
+
+    private static final MessageTemplate PARAMETERS =
+        MessageTemplate.compile("The first parameter is: {0}The second parameter is: {1}");
+
     public static enum EnumWithField
     {
         ONE ("One"),
         TWO ("Two");
 
+        // Index the constants by field once, rather than looping over values(), which clones the array, on every lookup.
+        private static final EnumIndex<EnumWithField, String> BY_FIELD =
+            new EnumIndex<EnumWithField, String>(EnumWithField.class, new EnumIndex.Key<EnumWithField, String>()
+            {
+                public String keyOf(EnumWithField inConstant)
+                {
+                    return(inConstant.getField());
+                }
+            });
+
         private final String mField;    // Fields of enums must be declared final
 
         EnumWithField(String inField)
@@ -55,6 +85,14 @@ public class ProgrammingPractices
             mField = inField;
         }
 
+        /**
+         * Returns the constant whose field is {@code inField}, or {@code null} if there is none.
+         */
+        public static EnumWithField forField(String inField)
+        {
+            return(BY_FIELD.get(inField));
+        }
+
         public String getField()
         {
             return(mField);
@@ -94,9 +132,24 @@ public class ProgrammingPractices
          * generated hashCode()
          */
 
-         return(inNames[0] + " was in first place, " +
-                inNames[1] + " came second, followed by " +
-                inNames[2]);
+        return(PLACING_SUMMARY.format(inNames[0], inNames[1], inNames[2]));
+    }
+
+    /**
+     * <p>
+     * This method renders the same summary from the leaders of a competition with any number of entrants, which are kept in a
+     * {@link TopK} as they are scored rather than sorted once all are in, so that only the leaders are ever held. There must
+     * be at least three of them.
+     * </p>
+     */
+    public String printPlacingSummary(TopK<String> inLeaders)
+    {
+        if (inLeaders.size() < PLACINGS)
+            throw new IllegalArgumentException("The summary needs " + PLACINGS + " placings, not " + inLeaders.size());
+
+        List<String> names = inLeaders.best();
+
+        return(printPlacingSummary(names.toArray(new String[names.size()])));
     }
 
     /**
@@ -112,6 +165,9 @@ public class ProgrammingPractices
      * Use {@code String.indexOf(";")}. </li>
      * <li> Never use {@code ==} to compare {@code String} objects. Use {@code String.equals()} or {@code Utils.strMatch()} where
      * {@code null} is possible. </li>
+     * <li> Where a message is assembled from the same literals many times, compile its pattern once into a
+     * {@link MessageTemplate}, which sizes the result exactly, rather than calling {@code String.format()}, which parses the
+     * pattern on every call. </li>
      * </ul>
      * </p>
      */
@@ -119,35 +175,37 @@ public class ProgrammingPractices
     {
         if (!inParam1.equals(inParam2))
         {
-            StringBuilder result = new StringBuilder();
-            result.append("The first parameter is: ").append(inParam1);
-            result.append("The second parameter is: ").append(inParam2);
-            return(result.toString());
+            return(PARAMETERS.format(inParam1, inParam2));
         }
 
         return(null);
     }
 
+    /**
+     * <p>
+     * This method demonstrates reusing one {@code StringBuilder} for many strings, by generating each into it and then calling
+     * {@code setLength(0)}, which {@link BottlesOfBeer} and {@link LineStream} do for it.
+     * </p>
+     * <p>
+     * Returning the strings as a {@code List} holds them all in memory at once, which is fine for 99 of them but not for the
+     * millions of lines of a report. Write them to their destination as they are generated instead, as
+     * {@link #streamingStringBuilder(Writer)} does.
+     * </p>
+     */
     public List<String> reusingStringBuilder()
     {
-        List<String> strings = new ArrayList<String>(99);
-
-        StringBuilder builder = new StringBuilder();
-
-        for (int idx = 99; idx > 0; idx--)
-        {
-            builder.append(idx);
-            builder.append(" bottles of beer on the wall,");
-            builder.append(idx);
-            builder.append(" bottles of beer. Take one down and pass it around, ");
-            builder.append((idx - 1));
-            builder.append(" bottles of beer on the wall.");
-
-            strings.add(builder.toString());
-            builder.setLength(0);
-        }
+        return(new LineStream(new BottlesOfBeer(99)).collect());
+    }
 
-        return(strings);
+    /**
+     * <p>
+     * This method writes the same lines as {@link #reusingStringBuilder()} to {@code inMdWriter}, a batch at a time, without ever
+     * holding more than a batch of them.
+     * </p>
+     */
+    public void streamingStringBuilder(Writer inMdWriter) throws IOException
+    {
+        new LineStream(new BottlesOfBeer(99)).writeTo(inMdWriter);
     }
 
     /**
@@ -235,9 +293,9 @@ public class ProgrammingPractices
      * Avoid redundant else statements.
      * </p>
      */
-    public int redudantElseStatements(int inSomeValue, boolean inBad)
+    public int redudantElseStatements(int inSomeValue, boolean inIsBad)
     {
-        if (inBad)
+        if (inIsBad)
         {
             // Bad
             if (inSomeValue == 1)
@@ -291,6 +349,19 @@ public class ProgrammingPractices
         return(new Exception());
     }
 
+    /**
+     * <p>
+     * Where the exception signals an expected failure on a hot path, and so is thrown and caught far more often than it is
+     * ever read, the factory can return a cached exception without a stack trace, which costs a map lookup rather than a walk
+     * of the stack. The message must be a constant, as the exception is shared. Turning on {@link Exceptions#setDebug(boolean)
+     * debug} makes it return a new exception with a full stack trace again.
+     * </p>
+     */
+    public static Exception newCachedException(String inMessage)
+    {
+        return(Exceptions.cached(Exception.class, inMessage));
+    }
+
     public static void throwException() throws Exception
     {
         throw new Exception();
@@ -336,6 +407,37 @@ public class ProgrammingPractices
         }
     }
 
+    /**
+     * <p>
+     * Generates the verses of the song, from the given number of bottles down to one, into the builder it is given.
+     * </p>
+     */
+    public static class BottlesOfBeer implements LineSource
+    {
+        private int mBottles;
+
+        public BottlesOfBeer(int inBottles)
+        {
+            mBottles = inBottles;
+        }
+
+        public boolean appendNextLine(StringBuilder inMdLine)
+        {
+            if (mBottles <= 0)
+                return(false);
+
+            inMdLine.append(mBottles);
+            inMdLine.append(" bottles of beer on the wall,");
+            inMdLine.append(mBottles);
+            inMdLine.append(" bottles of beer. Take one down and pass it around, ");
+            inMdLine.append((mBottles - 1));
+            inMdLine.append(" bottles of beer on the wall.");
+
+            mBottles--;
+            return(true);
+        }
+    }
+
     /**
      * <p>
      * Override {@code equals()} judiciously. As a guide, consider each of the following before overriding {@code equals()} :
@@ -345,39 +447,75 @@ public class ProgrammingPractices
      * <li>Would a customised matching method work instead?</li>
      * <li>Has an {@code equals()} override been discussed with a peer, and is there any doubt whether it will work for all
      *     call scenarios?</li>
-     * <li>Make sure that you use the Eclipse "Generate hashCode and equals" tool to write these functions.</li>
-     * <li>When adding fields to a class that must override (@code equals()} and {@code hashCode()}, don't update these
-     *     methods by hand. Instead, delete them first and re-generate via the Eclipse "Generate hashCode and equals"
-     *     tool.</li>
+     * <li>Don't write these functions by hand. Annotate the class with {@link ValueObject} and delegate to the methods
+     *     generated at compile time, as {@link com.connectcv.coding.examples.DataClass} does. They are regenerated whenever a
+     *     field is added, so they can never fall out of step with the class.</li>
      * </ul>
      * </p>
+     * <p>
+     * A customised matching method can use the generated methods too, as {@link #matches(MatchingObject)} does. Generate a hash
+     * code consistent with it from the same fields, as {@link #matchHashCode()} does, so that large batches can be matched by
+     * a {@link MatchingEngine} rather than by comparing every pair.
+     * </p>
      */
+    @ValueObject
     public static class MatchingObject
     {
+        /** Matches objects with {@link #matches(MatchingObject)}, for a {@link MatchingEngine}. */
+        public static final MatchKey<MatchingObject> MATCH_KEY = new MatchKey<MatchingObject>()
+        {
+            public boolean matches(MatchingObject inFirst, MatchingObject inSecond)
+            {
+                return(inFirst.matches(inSecond));
+            }
+
+            public int hashCode(MatchingObject inValue)
+            {
+                return(inValue.matchHashCode());
+            }
+        };
+
         private int mInt;
-        private boolean mBoolean;
+        private boolean mIsBoolean;
         private Object mObject;
 
         public MatchingObject()
         {
         }
 
-        public boolean matches(MatchingObject inValue)  // Generally preferred.
+        public MatchingObject(int inInt, boolean inIsBoolean, Object inObject)
         {
-            if (mInt != inValue.mInt || mBoolean != inValue.mBoolean)
-                return(false);
+            mInt = inInt;
+            mIsBoolean = inIsBoolean;
+            mObject = inObject;
+        }
 
-            if (mObject == null)
-            {
-                if (inValue.mObject != null)
-                    return false;
-            }
-            else if (!mObject.equals(inValue.mObject))
-            {
-                return false;
-            }
+        public int getInt()
+        {
+            return(mInt);
+        }
+
+        public boolean isBoolean()
+        {
+            return(mIsBoolean);
+        }
+
+        public Object getObject()
+        {
+            return(mObject);
+        }
 
-            return true;
+        public boolean matches(MatchingObject inValue)  // Generally preferred.
+        {
+            return(ProgrammingPracticesMatchingObjectValueMethods.fieldsEqual(this, inValue));
+        }
+
+        /**
+         * Returns a hash code that is equal for objects that match.
+         */
+        public int matchHashCode()
+        {
+            return(ProgrammingPracticesMatchingObjectValueMethods.hashCode(this));
         }
     }
 }
\ No newline at end of file
@@ -9,10 +9,23 @@ package com.connectcv.coding.standards;
  * However if the class is a simple value class (like say a product code, or a monetary amount) it's sometimes better to use a more
  * natural toString, such as "HTL/HKG/HYATT" or "1.00 AUD"
  * </p>
+ * <p>
+ * Where toString() is called often, for example on a hot logging path, use {@link ToStringRenderer} instead. It gives the same
+ * output as {@link ReflectionToStringBuilder} for the styles below, but only reflects on each class once.
+ * </p>
+ * <p>
+ * Objects that are logged often should also be {@link Renderable}, so that they can be appended straight to the log line, and
+ * nested objects straight into the text of the object that holds them, without a {@code String} in between.
+ * </p>
  */
+import java.io.IOException;
+
 import org.apache.commons.lang.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 
+import com.connectcv.coding.util.Renderable;
+import com.connectcv.coding.util.Rendering;
+import com.connectcv.coding.util.ToStringRenderer;
 
 public final class ToStringMethods
 {
@@ -35,7 +48,7 @@ public final class ToStringMethods
     /**
      * Create a customised toString() for simple value objects that have an inherent format.
      */
-    public static class SimpleValueObjectWithNaturalForm
+    public static class SimpleValueObjectWithNaturalForm implements Renderable
     {
         private String mCurrency;
         private String mAmount;
@@ -46,20 +59,23 @@ public final class ToStringMethods
             mAmount = "9.95";
         }
 
+        public void appendTo(Appendable inMdAppendable) throws IOException
+        {
+            inMdAppendable.append(mCurrency);
+            inMdAppendable.append(mAmount);
+        }
+
         @Override
         public String toString()
         {
-            StringBuilder str = new StringBuilder();
-            str.append(mCurrency);
-            str.append(mAmount);
-            return(str.toString());
+            return(Rendering.toString(this));
         }
     }
 
     /**
      * Use {@link CalypsoToStringStyles.SINGLE_LINE} for simple objects that lack inherent format.
      */
-    public static class SimpleObject
+    public static class SimpleObject implements Renderable
     {
         @SuppressWarnings("unused")
         private String mOne;
@@ -72,17 +88,22 @@ public final class ToStringMethods
             mTwo = "Some simple data";
         }
 
+        public void appendTo(Appendable inMdAppendable) throws IOException
+        {
+            ToStringRenderer.appendTo(inMdAppendable, this, ToStringStyle.SIMPLE_STYLE);
+        }
+
         @Override
         public String toString()
         {
-            return(ReflectionToStringBuilder.toString(this, ToStringStyle.SIMPLE_STYLE));
+            return(ToStringRenderer.toString(this, ToStringStyle.SIMPLE_STYLE));
         }
     }
 
     /**
      * Use {@link CalypsoToStringStyles.MULTI_LINE} for complex objects.
      */
-    public static class ComplexObject
+    public static class ComplexObject implements Renderable
     {
         @SuppressWarnings("unused")
         private String mOne;
@@ -102,10 +123,15 @@ public final class ToStringMethods
             mFour = new SimpleObject();
         }
 
+        public void appendTo(Appendable inMdAppendable) throws IOException
+        {
+            ToStringRenderer.appendTo(inMdAppendable, this, ToStringStyle.MULTI_LINE_STYLE);
+        }
+
         @Override
         public String toString()
         {
-            return(ReflectionToStringBuilder.toString(this, ToStringStyle.MULTI_LINE_STYLE));
+            return(ToStringRenderer.toString(this, ToStringStyle.MULTI_LINE_STYLE));
         }
     }
 }
@@ -109,9 +109,9 @@ public class WhitespaceAndIndentation
      * Completely empty statement blocks are not permitted.
      * </p>
      */
-    public void indentingNonEmptyBlocks(boolean inCondition)
+    public void indentingNonEmptyBlocks(boolean inIsCondition)
     {
-        if (inCondition)
+        if (inIsCondition)
         {
             System.out.println("Non-empty blocks start on a new line");
         }
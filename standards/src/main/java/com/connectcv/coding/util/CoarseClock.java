@@ -0,0 +1,120 @@
+package com.connectcv.coding.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+
+/**
+ * <p>
+ * A clock that reads the system clock once every granularity, on a daemon thread of its own, so that the many threads that
+ * ask the time read a volatile field rather than the system clock, and, with {@link #getIsoString()}, that a timestamp is
+ * formatted once a second rather than whenever it is asked for. The time it gives lags the system clock by up to the
+ * granularity.
+ * </p>
+ * <p>
+ * {@link #install()} makes Joda-Time take the current time from the clock, so that {@code new DateTime()} and
+ * {@code new LocalDateTime()} use it without a change to the code that calls them:
+ * </p>
+ *
+ * <pre>
+ * CoarseClock clock = new CoarseClock(10, DateTimeZone.getDefault());
+ * clock.install();
+ * </pre>
+ *
+ * <p>
+ * A clock runs until it is {@link #stop() stopped}, after which its time stays where it was.
+ * </p>
+ */
+public final class CoarseClock implements DateTimeUtils.MillisProvider
+{
+    private final long mGranularityMillis;
+    private final IsoTimestampCache mTimestamps;
+    private final ScheduledExecutorService mTicker;
+    private volatile long mMillis;
+
+    /**
+     * Starts a clock that reads the system clock every {@code inGranularityMillis}, and formats timestamps in {@code inZone}.
+     */
+    public CoarseClock(long inGranularityMillis, DateTimeZone inZone)
+    {
+        if (inGranularityMillis < 1)
+            throw new IllegalArgumentException("The granularity must be at least a millisecond, not " + inGranularityMillis);
+
+        final String name = "CoarseClock-" + inGranularityMillis + "ms";
+
+        mGranularityMillis = inGranularityMillis;
+        mTimestamps = new IsoTimestampCache(inZone);
+        mMillis = System.currentTimeMillis();
+        mTicker = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+        {
+            public Thread newThread(Runnable inRunnable)
+            {
+                Thread thread = new Thread(inRunnable, name);
+                thread.setDaemon(true);
+                return(thread);
+            }
+        });
+        mTicker.scheduleAtFixedRate(new Runnable()
+        {
+            public void run()
+            {
+                mMillis = System.currentTimeMillis();
+            }
+        }, inGranularityMillis, inGranularityMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the time when the clock last read the system clock.
+     */
+    public long getMillis()
+    {
+        return(mMillis);
+    }
+
+    /**
+     * Returns the time of {@link #getMillis()} as {@link org.joda.time.DateTime#toString()} formats it, in the zone of the
+     * clock.
+     */
+    public String getIsoString()
+    {
+        return(mTimestamps.format(mMillis));
+    }
+
+    public long getGranularityMillis()
+    {
+        return(mGranularityMillis);
+    }
+
+    public IsoTimestampCache getTimestamps()
+    {
+        return(mTimestamps);
+    }
+
+    /**
+     * Makes Joda-Time take the current time from this clock.
+     */
+    public void install()
+    {
+        DateTimeUtils.setCurrentMillisProvider(this);
+    }
+
+    /**
+     * Makes Joda-Time take the current time from the system clock again.
+     */
+    public void uninstall()
+    {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    /**
+     * Stops the thread that reads the system clock.
+     */
+    public void stop()
+    {
+        mTicker.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+package com.connectcv.coding.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>
+ * A {@link TopK} that many threads can offer entries to at once. Each thread offers to a {@code TopK} of its own, so that
+ * offering takes a lock that no other thread is waiting for, and the best entries are found by merging the heaps of every
+ * thread when they are read, by {@link #snapshot()}. It therefore holds at most {@code K} entries for each thread that has
+ * offered any.
+ * </p>
+ * <p>
+ * Of entries with equal scores offered by the same thread, the one offered first ranks higher, and of those offered by
+ * different threads, which ranks higher is not defined.
+ * </p>
+ */
+public final class ConcurrentTopK<T>
+{
+    private final int mCapacity;
+    private final List<TopK<T>> mStripes;
+    private final ThreadLocal<TopK<T>> mStripe;
+
+    public ConcurrentTopK(int inCapacity)
+    {
+        if (inCapacity < 1)
+            throw new IllegalArgumentException("At least one entry must be kept, not " + inCapacity);
+
+        mCapacity = inCapacity;
+        mStripes = new CopyOnWriteArrayList<TopK<T>>();
+        mStripe = new ThreadLocal<TopK<T>>()
+        {
+            @Override
+            protected TopK<T> initialValue()
+            {
+                TopK<T> stripe = new TopK<T>(mCapacity);
+                mStripes.add(stripe);
+                return(stripe);
+            }
+        };
+    }
+
+    /**
+     * Offers {@code inEntry} with the score {@code inScore} to the heap of the calling thread, and returns whether it is now
+     * among the best entries of that thread.
+     */
+    public boolean offer(T inEntry, long inScore)
+    {
+        TopK<T> stripe = mStripe.get();
+
+        synchronized (stripe)
+        {
+            return(stripe.offer(inEntry, inScore));
+        }
+    }
+
+    /**
+     * Returns a {@code TopK} of the best entries offered so far by any thread.
+     */
+    public TopK<T> snapshot()
+    {
+        TopK<T> merged = new TopK<T>(mCapacity);
+
+        for (TopK<T> stripe : mStripes)
+        {
+            synchronized (stripe)
+            {
+                merged.offerAll(stripe);
+            }
+        }
+
+        return(merged);
+    }
+
+    public int capacity()
+    {
+        return(mCapacity);
+    }
+}
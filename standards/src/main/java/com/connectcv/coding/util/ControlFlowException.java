@@ -0,0 +1,36 @@
+package com.connectcv.coding.util;
+
+/**
+ * <p>
+ * A base for exceptions that signal an expected outcome, such as the end of a search, rather than a fault, and which are thrown
+ * too often to pay for a stack trace. Unless {@link Exceptions#isDebug() debug} is on, a subclass is created without one, which
+ * makes creating it about as cheap as creating any other object, and so it can carry the details of the outcome.
+ * </p>
+ * <p>
+ * Where the exception carries nothing but its type and a constant message, {@link Exceptions#cached(Class, String)} avoids
+ * creating one at all.
+ * </p>
+ */
+public class ControlFlowException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    public ControlFlowException()
+    {
+        super();
+    }
+
+    public ControlFlowException(String inMessage)
+    {
+        super(inMessage);
+    }
+
+    /**
+     * Fills in the stack trace only when debug is on.
+     */
+    @Override
+    public Throwable fillInStackTrace()
+    {
+        return(Exceptions.isDebug() ? super.fillInStackTrace() : this);
+    }
+}
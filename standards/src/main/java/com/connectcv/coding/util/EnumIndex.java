@@ -0,0 +1,91 @@
+package com.connectcv.coding.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Finds the constant of an enum from the value of one of its fields in constant time, in place of a loop over
+ * {@code values()} that compares each constant's field, which both clones the array and takes time in proportion to the
+ * number of constants:
+ * </p>
+ *
+ * <pre>
+ * private static final EnumIndex&lt;Currency, String&gt; BY_CODE =
+ *     new EnumIndex&lt;Currency, String&gt;(Currency.class, new EnumIndex.Key&lt;Currency, String&gt;()
+ *     {
+ *         public String keyOf(Currency inCurrency)
+ *         {
+ *             return(inCurrency.getCode());
+ *         }
+ *     });
+ * </pre>
+ *
+ * <p>
+ * The index is built once, so a field that two constants share is reported when the index is created rather than when it is
+ * first searched. An index cannot be changed once built, and so can be shared between threads.
+ * </p>
+ */
+public final class EnumIndex<E extends Enum<E>, K>
+{
+    private final Map<K, E> mConstants;
+
+    /**
+     * The field that a constant is found by.
+     */
+    public interface Key<E, K>
+    {
+        /**
+         * Returns the field of {@code inConstant}, which must not be {@code null}.
+         */
+        K keyOf(E inConstant);
+    }
+
+    /**
+     * Indexes the constants of {@code inType} by {@code inKey}.
+     *
+     * @throws IllegalArgumentException if a field is {@code null}, or two constants have the same one.
+     */
+    public EnumIndex(Class<E> inType, Key<E, K> inKey)
+    {
+        EnumValues<E> values = EnumValues.of(inType);
+
+        mConstants = new HashMap<K, E>(values.size() * 2);
+
+        for (E constant : values.asList())
+        {
+            K key = inKey.keyOf(constant);
+
+            if (key == null)
+                throw new IllegalArgumentException(constant + " has no key");
+
+            E previous = mConstants.put(key, constant);
+
+            if (previous != null)
+                throw new IllegalArgumentException(previous + " and " + constant + " have the same key " + key);
+        }
+    }
+
+    /**
+     * Returns the constant whose field is {@code inKey}, or {@code null} if there is none.
+     */
+    public E get(K inKey)
+    {
+        return(mConstants.get(inKey));
+    }
+
+    /**
+     * Returns the constant whose field is {@code inKey}.
+     *
+     * @throws IllegalArgumentException if there is none.
+     */
+    public E require(K inKey)
+    {
+        E constant = mConstants.get(inKey);
+
+        if (constant == null)
+            throw new IllegalArgumentException("No constant has the key " + inKey);
+
+        return(constant);
+    }
+}
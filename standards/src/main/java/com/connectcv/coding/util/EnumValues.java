@@ -0,0 +1,106 @@
+package com.connectcv.coding.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * The constants of an enum, kept once for each enum. The {@code values()} method of an enum clones its array every time it
+ * is called, as the array could otherwise be changed by the caller, so code that loops over them, or picks one by ordinal, on
+ * a hot path allocates on every call. This reads a shared array instead:
+ * </p>
+ *
+ * <pre>
+ * private static final EnumValues&lt;Weather&gt; WEATHERS = EnumValues.of(Weather.class);
+ * ...
+ * for (Weather weather : WEATHERS.asList())
+ * </pre>
+ */
+public final class EnumValues<E extends Enum<E>>
+{
+    private static final ConcurrentMap<Class<?>, EnumValues<?>> VALUES = new ConcurrentHashMap<Class<?>, EnumValues<?>>();
+
+    private final Class<E> mType;
+    private final E[] mValues;
+    private final List<E> mList;
+
+    private EnumValues(Class<E> inType)
+    {
+        mType = inType;
+        mValues = inType.getEnumConstants();
+        mList = new ValueList();
+    }
+
+    /**
+     * Returns the constants of {@code inType}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumValues<E> of(Class<E> inType)
+    {
+        EnumValues<?> values = VALUES.get(inType);
+
+        if (values == null)
+        {
+            EnumValues<E> created = new EnumValues<E>(inType);
+
+            values = VALUES.putIfAbsent(inType, created);
+
+            if (values == null)
+                values = created;
+        }
+
+        return((EnumValues<E>) values);
+    }
+
+    /**
+     * Returns the constant with the ordinal {@code inOrdinal}.
+     *
+     * @throws ArrayIndexOutOfBoundsException if there is no such constant.
+     */
+    public E get(int inOrdinal)
+    {
+        return(mValues[inOrdinal]);
+    }
+
+    public int size()
+    {
+        return(mValues.length);
+    }
+
+    /**
+     * Returns the constants, in order, as an unmodifiable list.
+     */
+    public List<E> asList()
+    {
+        return(mList);
+    }
+
+    public Class<E> getType()
+    {
+        return(mType);
+    }
+
+    /*
+     * A read-only view of the array.
+     */
+    private final class ValueList extends AbstractList<E> implements RandomAccess
+    {
+        ValueList()
+        { }
+
+        @Override
+        public E get(int inIndex)
+        {
+            return(mValues[inIndex]);
+        }
+
+        @Override
+        public int size()
+        {
+            return(mValues.length);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.connectcv.coding.util;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Exception factories for expected failures that are thrown and caught often enough, to leave a loop or to reject input on a
+ * hot path, that filling in their stack trace costs more than the work around them.
+ * </p>
+ * <p>
+ * {@link #cached(Class, String)} returns the same exception, without a stack trace, every time it is called with the same type
+ * and message:
+ * </p>
+ *
+ * <pre>
+ * catch (ArithmeticException ae)
+ * {
+ *     throw Exceptions.cached(IllegalStateException.class, "Division by zero");
+ * }
+ * </pre>
+ *
+ * <p>
+ * so it costs a map lookup rather than a walk of the stack. A cached exception is shared, so the message must be a constant,
+ * rather than say the value that failed, and nothing may change it: a caller must not give it a cause or add a suppressed
+ * exception to it. An exception that carries something particular to the failure should instead extend
+ * {@link ControlFlowException}, which is created afresh but skips its stack trace.
+ * </p>
+ * <p>
+ * Without a stack trace an exception that escapes says where it was created no better than its message does. So, when debug
+ * is on, {@code cached()} creates a new exception every time and a {@code ControlFlowException} fills in its stack trace. Debug
+ * starts on if the {@value #DEBUG_PROPERTY} system property is {@code true}, and {@link #setDebug(boolean)} switches it at
+ * run time.
+ * </p>
+ */
+public final class Exceptions
+{
+    /** The system property that turns debug on when the class is loaded. */
+    public static final String DEBUG_PROPERTY = "com.connectcv.coding.util.Exceptions.debug";
+
+    /*
+     * Beyond this, a type is being given messages that are not constants, and each further message gets a new exception rather
+     * than growing the cache without bound.
+     */
+    private static final int MAX_MESSAGES_PER_TYPE = 256;
+
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+
+    private static final ConcurrentMap<Class<?>, TypeCache> CACHES = new ConcurrentHashMap<Class<?>, TypeCache>();
+
+    private static volatile boolean sIsDebug = Boolean.getBoolean(DEBUG_PROPERTY);
+
+    private Exceptions()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    /**
+     * Returns the shared, stackless exception of type {@code inType} with the message {@code inMessage}, which may be
+     * {@code null}, creating it on first use, or a new exception with a full stack trace if debug is on. The type must have a
+     * public constructor that takes a {@code String}, or, for a {@code null} message, one that takes nothing.
+     *
+     * @throws IllegalArgumentException if the type cannot be created.
+     */
+    public static <T extends Throwable> T cached(Class<T> inType, String inMessage)
+    {
+        if (sIsDebug)
+            return(create(inType, inMessage));
+
+        TypeCache cache = CACHES.get(inType);
+
+        if (cache == null)
+        {
+            TypeCache created = new TypeCache();
+
+            cache = CACHES.putIfAbsent(inType, created);
+
+            if (cache == null)
+                cache = created;
+        }
+
+        Throwable exception = inMessage == null ? cache.mNoMessage : cache.mByMessage.get(inMessage);
+
+        if (exception == null)
+            exception = cache.add(inMessage, stackless(create(inType, inMessage)));
+
+        return(inType.cast(exception));
+    }
+
+    /**
+     * Returns whether exceptions are being created with full stack traces.
+     */
+    public static boolean isDebug()
+    {
+        return(sIsDebug);
+    }
+
+    /**
+     * Switches debug on or off for exceptions created from now on.
+     */
+    public static void setDebug(boolean inIsDebug)
+    {
+        sIsDebug = inIsDebug;
+    }
+
+    private static <T extends Throwable> T create(Class<T> inType, String inMessage)
+    {
+        try
+        {
+            if (inMessage == null)
+                return(inType.newInstance());
+
+            Constructor<T> constructor = inType.getConstructor(String.class);
+
+            return(constructor.newInstance(inMessage));
+        }
+        catch (Exception e)
+        {
+            throw new IllegalArgumentException("Cannot create a " + inType.getName() + " with the message " + inMessage, e);
+        }
+    }
+
+    private static <T extends Throwable> T stackless(T inException)
+    {
+        inException.setStackTrace(NO_STACK_TRACE);
+
+        return(inException);
+    }
+
+    /*
+     * The exceptions of one type, by message.
+     */
+    private static final class TypeCache
+    {
+        private final ConcurrentMap<String, Throwable> mByMessage = new ConcurrentHashMap<String, Throwable>();
+        private volatile Throwable mNoMessage;
+
+        /*
+         * Caches inException unless another thread has cached one first, or there are too many, and returns the exception to
+         * throw.
+         */
+        synchronized Throwable add(String inMessage, Throwable inException)
+        {
+            if (inMessage == null)
+            {
+                if (mNoMessage == null)
+                    mNoMessage = inException;
+
+                return(mNoMessage);
+            }
+
+            Throwable exception = mByMessage.get(inMessage);
+
+            if (exception == null)
+            {
+                exception = inException;
+
+                if (mByMessage.size() < MAX_MESSAGES_PER_TYPE)
+                    mByMessage.put(inMessage, exception);
+            }
+
+            return(exception);
+        }
+    }
+}
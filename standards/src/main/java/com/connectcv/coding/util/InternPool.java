@@ -0,0 +1,360 @@
+package com.connectcv.coding.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A pool of canonical instances of a value class, in the way that {@link String#intern()} is for strings: {@link #intern(Object)}
+ * returns the instance already in the pool that is equal to its argument, or adds its argument if there is none. Holding
+ * only the canonical instances of a class with many duplicates saves the memory of the duplicates, and lets {@code equals()}
+ * usually succeed on its reference equality check.
+ * </p>
+ * <p>
+ * The pool holds its instances weakly, so it never keeps alive an instance that is no longer used elsewhere, and it can be
+ * bounded as well: once full, it returns values without adding them, until some of the instances it holds have been
+ * collected.
+ * </p>
+ * <p>
+ * The pool is split into segments by hash code, each with a lock of its own. Finding an instance that is already in the pool
+ * takes no lock at all, and adding one locks only its segment, so that many threads can intern at once without waiting on each
+ * other. The class of the values must have an {@code equals()} and {@code hashCode()} that are consistent and do not change
+ * while an instance is in the pool.
+ * </p>
+ */
+public final class InternPool<T>
+{
+    private static final int MIN_SEGMENTS = 16;
+
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    private static final int SPREADING_MULTIPLIER = 0x9E3779B9;
+
+    private final Segment<T>[] mSegments;
+    private final int mSegmentShift;
+
+    /**
+     * Creates a pool bounded only by the instances that are still in use.
+     */
+    public InternPool()
+    {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a pool that holds at most about {@code inMaxSize} instances.
+     */
+    public InternPool(int inMaxSize)
+    {
+        if (inMaxSize <= 0)
+            throw new IllegalArgumentException("The maximum size must be positive, not " + inMaxSize);
+
+        int segments = MIN_SEGMENTS;
+
+        while (segments < Runtime.getRuntime().availableProcessors() * 4)
+            segments <<= 1;
+
+        int segmentMaxSize = inMaxSize == Integer.MAX_VALUE ? Integer.MAX_VALUE : (inMaxSize + segments - 1) / segments;
+
+        mSegments = newSegments(segments);
+        mSegmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segments);
+
+        for (int idx = 0; idx < segments; idx++)
+            mSegments[idx] = new Segment<T>(segmentMaxSize);
+    }
+
+    /**
+     * Returns the instance in the pool that is equal to {@code inValue}, adding {@code inValue} if there is none and the pool is
+     * not full. Returns {@code null} for {@code null}.
+     */
+    public T intern(T inValue)
+    {
+        if (inValue == null)
+            return(null);
+
+        int hash = inValue.hashCode() * SPREADING_MULTIPLIER;
+        Segment<T> segment = mSegments[hash >>> mSegmentShift];
+        T existing = segment.get(inValue, hash);
+
+        if (existing != null)
+        {
+            segment.mHits.incrementAndGet();
+            return(existing);
+        }
+
+        return(segment.put(inValue, hash));
+    }
+
+    /**
+     * Returns the number of instances in the pool. Instances that have been collected, but not yet removed, are included.
+     */
+    public int size()
+    {
+        int size = 0;
+
+        for (Segment<T> segment : mSegments)
+            size += segment.size();
+
+        return(size);
+    }
+
+    /**
+     * Returns the number of calls to {@link #intern(Object)} that returned an instance already in the pool.
+     */
+    public long getHits()
+    {
+        long hits = 0;
+
+        for (Segment<T> segment : mSegments)
+            hits += segment.mHits.get();
+
+        return(hits);
+    }
+
+    /**
+     * Returns the number of calls to {@link #intern(Object)} that added their argument to the pool.
+     */
+    public long getMisses()
+    {
+        long misses = 0;
+
+        for (Segment<T> segment : mSegments)
+            misses += segment.mMisses.get();
+
+        return(misses);
+    }
+
+    /**
+     * Returns the number of calls to {@link #intern(Object)} that returned their argument without adding it, as the pool was
+     * full.
+     */
+    public long getRejections()
+    {
+        long rejections = 0;
+
+        for (Segment<T> segment : mSegments)
+            rejections += segment.mRejections.get();
+
+        return(rejections);
+    }
+
+    /**
+     * Returns the fraction of calls to {@link #intern(Object)} that returned an instance already in the pool.
+     */
+    public double getHitRate()
+    {
+        long hits = getHits();
+        long calls = hits + getMisses() + getRejections();
+
+        return(calls == 0 ? 0 : hits / (double) calls);
+    }
+
+    /**
+     * Returns the memory that interning has saved, given the number of bytes that each duplicate would otherwise have retained.
+     * Each hit is a duplicate that the caller can drop.
+     */
+    public long getBytesSaved(int inInstanceBytes)
+    {
+        return(getHits() * inInstanceBytes);
+    }
+
+    /*
+     * Arrays of a generic type cannot be created, so this creates one of the raw type, which holds only segments of T.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T> Segment<T>[] newSegments(int inLength)
+    {
+        return(new Segment[inLength]);
+    }
+
+    /*
+     * An instance in the pool. The entries of a bucket form an immutable list, so that it can be read without a lock while the
+     * segment replaces it.
+     */
+    private static final class Entry<T> extends WeakReference<T>
+    {
+        private final int mHash;
+        private final Entry<T> mNext;
+
+        Entry(T inValue, int inHash, Entry<T> inNext, ReferenceQueue<T> inQueue)
+        {
+            super(inValue, inQueue);
+
+            mHash = inHash;
+            mNext = inNext;
+        }
+    }
+
+    private static final class Segment<T>
+    {
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int mMaxSize;
+        private final ReferenceQueue<T> mQueue;
+        private final AtomicLong mHits;
+        private final AtomicLong mMisses;
+        private final AtomicLong mRejections;
+
+        /*
+         * Written only while holding the lock of the segment, after the bucket it changes, so that reading it makes the change
+         * visible to readers without the lock.
+         */
+        private volatile Entry<T>[] mTable;
+        private int mCount;
+
+        Segment(int inMaxSize)
+        {
+            mMaxSize = inMaxSize;
+            mQueue = new ReferenceQueue<T>();
+            mHits = new AtomicLong();
+            mMisses = new AtomicLong();
+            mRejections = new AtomicLong();
+            mTable = newTable(INITIAL_SEGMENT_CAPACITY);
+        }
+
+        /*
+         * May miss an instance added by another thread at the same moment, in which case put() finds it under the lock.
+         */
+        T get(T inValue, int inHash)
+        {
+            Entry<T>[] table = mTable;
+
+            for (Entry<T> entry = table[inHash & (table.length - 1)]; entry != null; entry = entry.mNext)
+            {
+                if (entry.mHash == inHash)
+                {
+                    T candidate = entry.get();
+
+                    if (candidate != null && candidate.equals(inValue))
+                        return(candidate);
+                }
+            }
+
+            return(null);
+        }
+
+        synchronized T put(T inValue, int inHash)
+        {
+            expunge();
+
+            T existing = get(inValue, inHash);
+
+            if (existing != null)
+            {
+                mHits.incrementAndGet();
+                return(existing);
+            }
+
+            if (mCount >= mMaxSize)
+            {
+                mRejections.incrementAndGet();
+                return(inValue);
+            }
+
+            Entry<T>[] table = mTable;
+
+            if (mCount >= table.length * LOAD_FACTOR)
+                table = resize(table);
+
+            int bucket = inHash & (table.length - 1);
+            table[bucket] = new Entry<T>(inValue, inHash, table[bucket], mQueue);
+            mCount++;
+            mMisses.incrementAndGet();
+            mTable = table;
+
+            return(inValue);
+        }
+
+        synchronized int size()
+        {
+            expunge();
+
+            return(mCount);
+        }
+
+        /*
+         * Removes the entries whose instances have been collected, copying the entries ahead of each in its bucket.
+         */
+        private void expunge()
+        {
+            Entry<T>[] table = mTable;
+            boolean isChanged = false;
+
+            for (Object reference = mQueue.poll(); reference != null; reference = mQueue.poll())
+            {
+                @SuppressWarnings("unchecked")
+                Entry<T> dead = (Entry<T>) reference;
+                int bucket = dead.mHash & (table.length - 1);
+                Entry<T> head = table[bucket];
+
+                if (!contains(head, dead))
+                    continue;           // Already dropped by a resize
+
+                Entry<T> rest = dead.mNext;
+
+                for (Entry<T> entry = head; entry != dead; entry = entry.mNext)
+                {
+                    T value = entry.get();
+
+                    if (value != null)
+                        rest = new Entry<T>(value, entry.mHash, rest, mQueue);
+                    else
+                        mCount--;       // Dropped now, so skipped when it is polled
+                }
+
+                table[bucket] = rest;
+                mCount--;
+                isChanged = true;
+            }
+
+            if (isChanged)
+                mTable = table;
+        }
+
+        private Entry<T>[] resize(Entry<T>[] inTable)
+        {
+            Entry<T>[] table = newTable(inTable.length * 2);
+            int count = 0;
+
+            for (Entry<T> head : inTable)
+            {
+                for (Entry<T> entry = head; entry != null; entry = entry.mNext)
+                {
+                    T value = entry.get();
+
+                    if (value != null)
+                    {
+                        int bucket = entry.mHash & (table.length - 1);
+                        table[bucket] = new Entry<T>(value, entry.mHash, table[bucket], mQueue);
+                        count++;
+                    }
+                }
+            }
+
+            mCount = count;
+
+            return(table);
+        }
+
+        /*
+         * Creates a table of the raw entry type for the same reason as newSegments().
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static <T> Entry<T>[] newTable(int inLength)
+        {
+            return(new Entry[inLength]);
+        }
+
+        private static <T> boolean contains(Entry<T> inHead, Entry<T> inEntry)
+        {
+            for (Entry<T> entry = inHead; entry != null; entry = entry.mNext)
+            {
+                if (entry == inEntry)
+                    return(true);
+            }
+
+            return(false);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.connectcv.coding.util;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+/**
+ * <p>
+ * Formats instants in one zone as {@link DateTime#toString()} does, as {@code 2011-07-31T23:43:05.120+01:00}, formatting with
+ * Joda-Time only once a second. The text of the current second, up to its milliseconds, and the zone offset that follows them
+ * are kept, and an instant in the same second only has its milliseconds put between them:
+ * </p>
+ *
+ * <pre>
+ * private static final IsoTimestampCache TIMESTAMPS = new IsoTimestampCache(DateTimeZone.getDefault());
+ * ...
+ * String stamp = TIMESTAMPS.format(System.currentTimeMillis());
+ * </pre>
+ *
+ * <p>
+ * The second is replaced, never changed, so the cache can be read from any number of threads without a lock. Instants that
+ * are not in order, which only happens when threads race across the turn of a second, are still formatted correctly, but
+ * without help from the cache.
+ * </p>
+ */
+public final class IsoTimestampCache
+{
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    private static final int MILLIS_DIGITS = 3;
+
+    private static final int MILLIS_PER_TENTH = 100;
+
+    private static final int TENTHS = 10;
+
+    private static final char MILLIS_SEPARATOR = '.';
+
+    private final DateTimeZone mZone;
+    private final ISOChronology mChronology;
+    private final DateTimeFormatter mFormatter;
+    private volatile Second mSecond;
+
+    public IsoTimestampCache(DateTimeZone inZone)
+    {
+        mZone = inZone;
+        mChronology = ISOChronology.getInstance(inZone);
+        mFormatter = ISODateTimeFormat.dateTime().withChronology(mChronology);
+        mSecond = second(0);
+    }
+
+    /**
+     * Returns {@code inMillis} formatted in the zone of the cache.
+     */
+    public String format(long inMillis)
+    {
+        long start = inMillis - floorMod(inMillis);
+        Second second = mSecond;
+
+        if (second.mStart != start)
+        {
+            second = second(start);
+            mSecond = second;
+        }
+
+        return(second.format((int) (inMillis - start)));
+    }
+
+    /**
+     * Returns {@code inDateTime} formatted as its {@code toString()} does, from the cache if it is in the zone of the cache with
+     * the ISO chronology, as a {@code DateTime} usually is.
+     */
+    public String format(DateTime inDateTime)
+    {
+        if (mChronology.equals(inDateTime.getChronology()))
+            return(format(inDateTime.getMillis()));
+
+        return(inDateTime.toString());
+    }
+
+    public DateTimeZone getZone()
+    {
+        return(mZone);
+    }
+
+    private Second second(long inStart)
+    {
+        String text = mFormatter.print(inStart);
+        int separator = text.lastIndexOf(MILLIS_SEPARATOR);
+
+        return(new Second(inStart, text.substring(0, separator + 1), text.substring(separator + 1 + MILLIS_DIGITS)));
+    }
+
+    private static long floorMod(long inMillis)
+    {
+        long mod = inMillis % MILLIS_PER_SECOND;
+
+        return(mod < 0 ? mod + MILLIS_PER_SECOND : mod);
+    }
+
+    /*
+     * The text before and after the milliseconds of one second.
+     */
+    private static final class Second
+    {
+        private final long mStart;
+        private final String mPrefix;
+        private final String mSuffix;
+
+        Second(long inStart, String inPrefix, String inSuffix)
+        {
+            mStart = inStart;
+            mPrefix = inPrefix;
+            mSuffix = inSuffix;
+        }
+
+        String format(int inMillis)
+        {
+            int prefix = mPrefix.length();
+            char[] chars = new char[prefix + MILLIS_DIGITS + mSuffix.length()];
+
+            mPrefix.getChars(0, prefix, chars, 0);
+            chars[prefix] = (char) ('0' + inMillis / MILLIS_PER_TENTH);
+            chars[prefix + 1] = (char) ('0' + inMillis / TENTHS % TENTHS);
+            chars[prefix + 2] = (char) ('0' + inMillis % TENTHS);
+            mSuffix.getChars(0, mSuffix.length(), chars, prefix + MILLIS_DIGITS);
+
+            return(new String(chars));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.connectcv.coding.util;
+
+/**
+ * <p>
+ * Generates lines of text one at a time, into a buffer supplied by the caller, so that a {@link LineStream} can write any number
+ * of lines through one reused buffer rather than holding them all as strings.
+ * </p>
+ */
+public interface LineSource
+{
+    /**
+     * Appends the next line, without a line separator, to {@code inMdLine}, or returns {@code false} if there are no more
+     * lines.
+     */
+    boolean appendNextLine(StringBuilder inMdLine);
+}
@@ -0,0 +1,206 @@
+package com.connectcv.coding.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Writes the lines of a {@link LineSource} to a {@link Writer} or a {@link WritableByteChannel} in batches, generating each
+ * line into one reused {@link StringBuilder}, so that memory stays the same however many lines there are:
+ * </p>
+ *
+ * <pre>
+ * new LineStream(report).writeTo(writer);
+ * </pre>
+ *
+ * <p>
+ * The next batch is generated only once the last has been written, so a slow destination holds back the source rather than
+ * letting text pile up in memory. A non-blocking channel that stops accepting bytes makes
+ * {@link #writeTo(WritableByteChannel)} return early, keeping what is left of the batch, and it should be called again once
+ * the channel is writable.
+ * </p>
+ * <p>
+ * A stream writes its lines once, and is not thread safe.
+ * </p>
+ */
+public final class LineStream
+{
+    /** The number of characters written in each batch by default. */
+    public static final int DEFAULT_BATCH_CHARS = 8192;
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private static final int BYTES_PER_CHAR = 4;
+
+    private final LineSource mSource;
+    private final int mBatchChars;
+    private final Charset mCharset;
+    private final StringBuilder mBatch;
+    private char[] mChars;
+    private CharBuffer mCharBuffer;
+    private CharsetEncoder mEncoder;
+    private ByteBuffer mBytes;
+    private boolean mIsExhausted;
+    private boolean mIsEncoded;
+    private long mLines;
+
+    public LineStream(LineSource inSource)
+    {
+        this(inSource, DEFAULT_BATCH_CHARS, Charset.forName("UTF-8"));
+    }
+
+    /**
+     * Creates a stream that writes about {@code inBatchChars} characters at a time, encoded to bytes for a channel with
+     * {@code inCharset}.
+     */
+    public LineStream(LineSource inSource, int inBatchChars, Charset inCharset)
+    {
+        if (inBatchChars < 1)
+            throw new IllegalArgumentException("A batch must hold at least one character, not " + inBatchChars);
+
+        mSource = inSource;
+        mBatchChars = inBatchChars;
+        mCharset = inCharset;
+        mBatch = new StringBuilder(inBatchChars + inBatchChars / 2);
+        mChars = new char[mBatch.capacity()];
+    }
+
+    /**
+     * Writes every line to {@code inMdWriter}, each followed by a line feed. The writer is neither flushed nor closed.
+     */
+    public void writeTo(Writer inMdWriter) throws IOException
+    {
+        for (int length = fill(); length > 0; length = fill())
+            inMdWriter.write(mChars, 0, length);
+    }
+
+    /**
+     * Writes as many lines as {@code inMdChannel} accepts, each followed by a line feed, and returns whether every line has been
+     * written. A blocking channel accepts them all; a non-blocking channel may not, in which case this should be called again
+     * when it is writable. The channel is not closed.
+     */
+    public boolean writeTo(WritableByteChannel inMdChannel) throws IOException
+    {
+        if (mEncoder == null)
+        {
+            mEncoder = mCharset.newEncoder();
+            mEncoder.onMalformedInput(CodingErrorAction.REPLACE);
+            mEncoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+            mBytes = ByteBuffer.allocate(mBatchChars * BYTES_PER_CHAR);
+            mBytes.flip();
+            mCharBuffer = CharBuffer.wrap(mChars, 0, 0);
+        }
+
+        while (true)
+        {
+            if (mBytes.hasRemaining())
+            {
+                inMdChannel.write(mBytes);
+
+                if (mBytes.hasRemaining())
+                    return(false);
+            }
+
+            if (mCharBuffer.hasRemaining())
+                encode(false);
+            else if (mIsEncoded)
+                return(true);
+            else
+            {
+                int length = fill();
+
+                if (length > 0)
+                    mCharBuffer = CharBuffer.wrap(mChars, 0, length);
+                else
+                {
+                    encode(true);
+                    mEncoder.flush(mBytes);
+                    mBytes.flip();
+                    mIsEncoded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns every line as a string, which holds them all in memory, as a {@code List} of lines always does.
+     */
+    public List<String> collect()
+    {
+        List<String> lines = new ArrayList<String>();
+
+        while (mSource.appendNextLine(mBatch))
+        {
+            lines.add(mBatch.toString());
+            mBatch.setLength(0);
+            mLines++;
+        }
+
+        mIsExhausted = true;
+
+        return(lines);
+    }
+
+    /**
+     * Returns the number of lines generated so far.
+     */
+    public long getLines()
+    {
+        return(mLines);
+    }
+
+    /*
+     * Generates lines until the batch is full, copies them into the character array and returns their length, which is zero
+     * once the source is exhausted.
+     */
+    private int fill()
+    {
+        mBatch.setLength(0);
+
+        while (!mIsExhausted && mBatch.length() < mBatchChars)
+        {
+            if (mSource.appendNextLine(mBatch))
+            {
+                mBatch.append(LINE_SEPARATOR);
+                mLines++;
+            }
+            else
+                mIsExhausted = true;
+        }
+
+        int length = mBatch.length();
+
+        if (length > mChars.length)
+            mChars = new char[length];
+
+        mBatch.getChars(0, length, mChars, 0);
+
+        return(length);
+    }
+
+    /*
+     * Encodes as much of the characters as fits into the emptied byte buffer, and leaves it ready to write.
+     */
+    private void encode(boolean inIsEndOfInput) throws CharacterCodingException
+    {
+        mBytes.clear();
+
+        CoderResult result = mEncoder.encode(mCharBuffer, mBytes, inIsEndOfInput);
+
+        if (result.isError())
+            result.throwException();
+
+        if (!inIsEndOfInput)
+            mBytes.flip();
+    }
+}
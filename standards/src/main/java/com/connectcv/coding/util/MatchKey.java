@@ -0,0 +1,24 @@
+package com.connectcv.coding.util;
+
+/**
+ * <p>
+ * A customised matching method, such as {@code ProgrammingPractices.MatchingObject.matches()}, together with a hash code that
+ * is consistent with it, so that {@link MatchingEngine} can index the values it matches.
+ * </p>
+ * <p>
+ * Values that match must have the same hash code. The hash code should cover the same fields that the matching method
+ * compares, and is best generated from them along with it.
+ * </p>
+ */
+public interface MatchKey<T>
+{
+    /**
+     * Returns whether {@code inFirst} matches {@code inSecond}, in that order.
+     */
+    boolean matches(T inFirst, T inSecond);
+
+    /**
+     * Returns a hash code for {@code inValue} that is equal for any two values that match.
+     */
+    int hashCode(T inValue);
+}
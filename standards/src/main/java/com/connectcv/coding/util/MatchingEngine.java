@@ -0,0 +1,366 @@
+package com.connectcv.coding.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * Finds every pair of values, one from each of two lists, that match by a {@link MatchKey}, without comparing every value of
+ * one list with every value of the other. The engine indexes the left list by hash code and streams the right list through the
+ * index, so it calls the matching method only on pairs with the same hash code:
+ * </p>
+ *
+ * <pre>
+ * long[] pairs = new MatchingEngine&lt;MatchingObject&gt;(MatchingObject.MATCH_KEY).match(bookings, payments);
+ *
+ * for (long pair : pairs)
+ *     reconcile(bookings.get(MatchingEngine.leftIndex(pair)), payments.get(MatchingEngine.rightIndex(pair)));
+ * </pre>
+ *
+ * <p>
+ * The pairs are returned as the indexes of the left and right values packed into a {@code long}, so that millions of them
+ * cost no more than an array, in the order that a loop over the left list around a loop over the right list would find them.
+ * The result is therefore exactly that of such a loop calling {@code matches(left, right)}. Neither list may hold
+ * {@code null}.
+ * </p>
+ * <p>
+ * {@link #matchParallel(List, List, int)} splits both lists into partitions by hash code and matches the partitions on several
+ * threads, for reconciliations of millions of values. It gives the same result as {@link #match(List, List)}, as values that
+ * match always fall in the same partition. The matching method and hash code must then be safe to call from several threads,
+ * as they are for immutable values.
+ * </p>
+ */
+public final class MatchingEngine<T>
+{
+    private static final int SPREADING_MULTIPLIER = 0x9E3779B9;
+
+    /*
+     * Partitions are chosen by a different multiplier from buckets, so that the values of a partition still spread over all of
+     * the buckets of its table.
+     */
+    private static final int PARTITION_MULTIPLIER = 0x85EBCA6B;
+
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private static final int INITIAL_PAIRS = 16;
+
+    private final MatchKey<? super T> mKey;
+
+    public MatchingEngine(MatchKey<? super T> inKey)
+    {
+        mKey = inKey;
+    }
+
+    /**
+     * Returns the index in the left list of the pair {@code inPair}.
+     */
+    public static int leftIndex(long inPair)
+    {
+        return((int) (inPair >>> Integer.SIZE));
+    }
+
+    /**
+     * Returns the index in the right list of the pair {@code inPair}.
+     */
+    public static int rightIndex(long inPair)
+    {
+        return((int) (inPair & INDEX_MASK));
+    }
+
+    /**
+     * Returns the pairs of the values in {@code inLeft} and {@code inRight} that match, on the calling thread.
+     */
+    public long[] match(List<? extends T> inLeft, List<? extends T> inRight)
+    {
+        Side left = new Side(inLeft.toArray());
+        Side right = new Side(inRight.toArray());
+
+        hash(left, 0, left.mValues.length);
+        hash(right, 0, right.mValues.length);
+
+        long[] pairs = join(left, right).toArray();
+        Arrays.sort(pairs);
+
+        return(pairs);
+    }
+
+    /**
+     * Returns the pairs of the values in {@code inLeft} and {@code inRight} that match, using {@code inThreads} threads.
+     */
+    public long[] matchParallel(List<? extends T> inLeft, List<? extends T> inRight, int inThreads)
+    {
+        if (inThreads < 1)
+            throw new IllegalArgumentException("At least one thread is needed, not " + inThreads);
+
+        final Side left = new Side(inLeft.toArray());
+        final Side right = new Side(inRight.toArray());
+        ExecutorService executor = Executors.newFixedThreadPool(inThreads);
+
+        try
+        {
+            List<Callable<Object>> hashing = new ArrayList<Callable<Object>>(inThreads * 2);
+
+            for (int thread = 0; thread < inThreads; thread++)
+            {
+                hashing.add(hashTask(left, thread, inThreads));
+                hashing.add(hashTask(right, thread, inThreads));
+            }
+
+            invokeAll(executor, hashing);
+
+            int partitionBits = Integer.SIZE - Integer.numberOfLeadingZeros(inThreads * PARTITIONS_PER_THREAD - 1);
+            final Side[] leftPartitions = left.partition(partitionBits);
+            final Side[] rightPartitions = right.partition(partitionBits);
+            List<Callable<Pairs>> joins = new ArrayList<Callable<Pairs>>(leftPartitions.length);
+
+            for (int idx = 0; idx < leftPartitions.length; idx++)
+            {
+                final int partition = idx;
+
+                joins.add(new Callable<Pairs>()
+                {
+                    public Pairs call()
+                    {
+                        return(join(leftPartitions[partition], rightPartitions[partition]));
+                    }
+                });
+            }
+
+            Pairs pairs = new Pairs(INITIAL_PAIRS);
+
+            for (Pairs partitionPairs : invokeAll(executor, joins))
+                pairs.addAll(partitionPairs);
+
+            long[] result = pairs.toArray();
+            Arrays.sort(result);
+
+            return(result);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /*
+     * Indexes the left side in a chained hash table of int arrays, and probes it with each value of the right side.
+     */
+    @SuppressWarnings("unchecked")
+    private Pairs join(Side inLeft, Side inRight)
+    {
+        int buckets = Integer.highestOneBit(Math.max(inLeft.mRows.length, 1) * 2 - 1) * 2;
+        int shift = Integer.SIZE - Integer.numberOfTrailingZeros(buckets);
+        int[] heads = new int[buckets];
+        int[] next = new int[inLeft.mRows.length];
+
+        // Slots hold an entry plus one, so that zero ends a chain
+        for (int entry = 0; entry < inLeft.mRows.length; entry++)
+        {
+            int bucket = (inLeft.mHashes[entry] * SPREADING_MULTIPLIER) >>> shift;
+            next[entry] = heads[bucket];
+            heads[bucket] = entry + 1;
+        }
+
+        Pairs pairs = new Pairs(INITIAL_PAIRS);
+
+        for (int probe = 0; probe < inRight.mRows.length; probe++)
+        {
+            int hash = inRight.mHashes[probe];
+            int rightRow = inRight.mRows[probe];
+            T rightValue = (T) inRight.mValues[rightRow];
+
+            for (int entry = heads[(hash * SPREADING_MULTIPLIER) >>> shift] - 1; entry >= 0; entry = next[entry] - 1)
+            {
+                int leftRow = inLeft.mRows[entry];
+
+                if (inLeft.mHashes[entry] == hash && mKey.matches((T) inLeft.mValues[leftRow], rightValue))
+                    pairs.add(((long) leftRow << Integer.SIZE) | rightRow);
+            }
+        }
+
+        return(pairs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void hash(Side inMdSide, int inFrom, int inTo)
+    {
+        for (int row = inFrom; row < inTo; row++)
+        {
+            if (inMdSide.mValues[row] == null)
+                throw new IllegalArgumentException("Row " + row + " is null, which cannot be matched");
+
+            inMdSide.mHashes[row] = mKey.hashCode((T) inMdSide.mValues[row]);
+        }
+    }
+
+    private Callable<Object> hashTask(final Side inMdSide, int inThread, int inThreads)
+    {
+        int length = inMdSide.mValues.length;
+        final int from = (int) ((long) length * inThread / inThreads);
+        final int to = (int) ((long) length * (inThread + 1) / inThreads);
+
+        return(new Callable<Object>()
+        {
+            public Object call()
+            {
+                hash(inMdSide, from, to);
+                return(inMdSide);
+            }
+        });
+    }
+
+    private static <V> List<V> invokeAll(ExecutorService inExecutor, List<Callable<V>> inTasks)
+    {
+        List<V> results = new ArrayList<V>(inTasks.size());
+
+        try
+        {
+            for (Future<V> future : inExecutor.invokeAll(inTasks))
+                results.add(future.get());
+        }
+        catch (InterruptedException ie)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while matching", ie);
+        }
+        catch (ExecutionException ee)
+        {
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ee.getCause();
+
+            if (ee.getCause() instanceof Error)
+                throw (Error) ee.getCause();
+
+            throw new IllegalStateException("Matching failed", ee.getCause());
+        }
+
+        return(results);
+    }
+
+    /*
+     * The values of one list, with the hash code of each, and the rows of the list that a partition of it holds.
+     */
+    private static final class Side
+    {
+        private final Object[] mValues;
+        private final int[] mHashes;
+        private final int[] mRows;
+
+        Side(Object[] inValues)
+        {
+            this(inValues, new int[inValues.length], null);
+        }
+
+        private Side(Object[] inValues, int[] inHashes, int[] inRows)
+        {
+            mValues = inValues;
+            mHashes = inHashes;
+            mRows = inRows == null ? identity(inValues.length) : inRows;
+        }
+
+        /*
+         * Splits the rows by the top bits of their hash codes, once spread, keeping them in order within each partition, so that
+         * matching values always fall in the same partition.
+         */
+        Side[] partition(int inBits)
+        {
+            int partitions = 1 << inBits;
+            int[] counts = new int[partitions];
+
+            for (int row = 0; row < mValues.length; row++)
+                counts[partition(mHashes[row], inBits)]++;
+
+            int[][] rows = new int[partitions][];
+            int[][] hashes = new int[partitions][];
+
+            for (int partition = 0; partition < partitions; partition++)
+            {
+                rows[partition] = new int[counts[partition]];
+                hashes[partition] = new int[counts[partition]];
+                counts[partition] = 0;
+            }
+
+            for (int row = 0; row < mValues.length; row++)
+            {
+                int partition = partition(mHashes[row], inBits);
+                rows[partition][counts[partition]] = row;
+                hashes[partition][counts[partition]++] = mHashes[row];
+            }
+
+            Side[] sides = new Side[partitions];
+
+            for (int partition = 0; partition < partitions; partition++)
+                sides[partition] = new Side(mValues, hashes[partition], rows[partition]);
+
+            return(sides);
+        }
+
+        private static int partition(int inHash, int inBits)
+        {
+            return(inBits == 0 ? 0 : (inHash * PARTITION_MULTIPLIER) >>> (Integer.SIZE - inBits));
+        }
+    }
+
+    private static int[] identity(int inLength)
+    {
+        int[] rows = new int[inLength];
+
+        for (int row = 0; row < inLength; row++)
+            rows[row] = row;
+
+        return(rows);
+    }
+
+    /*
+     * A growable array of packed pairs.
+     */
+    private static final class Pairs
+    {
+        private long[] mPairs;
+        private int mSize;
+
+        Pairs(int inCapacity)
+        {
+            mPairs = new long[inCapacity];
+        }
+
+        void add(long inPair)
+        {
+            if (mSize == mPairs.length)
+                grow(mSize + 1);
+
+            mPairs[mSize++] = inPair;
+        }
+
+        void addAll(Pairs inPairs)
+        {
+            if (mSize + inPairs.mSize > mPairs.length)
+                grow(mSize + inPairs.mSize);
+
+            System.arraycopy(inPairs.mPairs, 0, mPairs, mSize, inPairs.mSize);
+            mSize += inPairs.mSize;
+        }
+
+        long[] toArray()
+        {
+            long[] pairs = new long[mSize];
+            System.arraycopy(mPairs, 0, pairs, 0, mSize);
+            return(pairs);
+        }
+
+        private void grow(int inMinCapacity)
+        {
+            long[] pairs = new long[Math.max(mPairs.length * 2, inMinCapacity)];
+            System.arraycopy(mPairs, 0, pairs, 0, mSize);
+            mPairs = pairs;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.connectcv.coding.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A message pattern that is parsed once, when it is compiled, into its literal text and its argument slots, so that rendering
+ * a message only copies the literals and arguments into an output of exactly the right size:
+ * </p>
+ *
+ * <pre>
+ * private static final MessageTemplate PLACING = MessageTemplate.compile("{0} was in first place, {1} came second");
+ * ...
+ * return(PLACING.format(first, second));
+ * </pre>
+ *
+ * <p>
+ * An argument slot is the index of an argument in braces, and a slot may appear more than once. A literal brace is written
+ * twice, as {@code {{} or {@code }}}. A malformed pattern fails when it is compiled, rather than when it is first rendered, so a
+ * template held in a constant fails as its class is loaded.
+ * </p>
+ * <p>
+ * Arguments are rendered as {@link String#valueOf(Object)} renders them, except that a {@link CharSequence} is copied as it
+ * is. Unlike {@link String#format(String, Object...)} and {@link java.text.MessageFormat}, rendering neither parses the
+ * pattern nor formats numbers or dates by locale. Templates are immutable and so can be shared between threads.
+ * </p>
+ */
+public final class MessageTemplate
+{
+    private static final char OPEN = '{';
+
+    private static final char CLOSE = '}';
+
+    private static final int MAX_ONE_BYTE = 0x7F;
+
+    private static final int MAX_TWO_BYTES = 0x7FF;
+
+    private static final byte UNPAIRED_SURROGATE = '?';
+
+    private final String mPattern;
+    private final String[] mLiterals;
+    private final byte[][] mEncodedLiterals;
+    private final int[] mSlots;
+    private final int mLiteralLength;
+    private final int mEncodedLiteralLength;
+    private final int mArguments;
+
+    private MessageTemplate(String inPattern, List<String> inLiterals, List<Integer> inSlots)
+    {
+        mPattern = inPattern;
+        mLiterals = inLiterals.toArray(new String[inLiterals.size()]);
+        mEncodedLiterals = new byte[mLiterals.length][];
+        mSlots = new int[inSlots.size()];
+
+        int literalLength = 0;
+        int encodedLiteralLength = 0;
+        int arguments = 0;
+
+        for (int idx = 0; idx < mLiterals.length; idx++)
+        {
+            mEncodedLiterals[idx] = new byte[utf8Length(mLiterals[idx])];
+            encodeUtf8(mLiterals[idx], mEncodedLiterals[idx], 0);
+            literalLength += mLiterals[idx].length();
+            encodedLiteralLength += mEncodedLiterals[idx].length;
+        }
+
+        for (int idx = 0; idx < mSlots.length; idx++)
+        {
+            mSlots[idx] = inSlots.get(idx).intValue();
+            arguments = Math.max(arguments, mSlots[idx] + 1);
+        }
+
+        mLiteralLength = literalLength;
+        mEncodedLiteralLength = encodedLiteralLength;
+        mArguments = arguments;
+    }
+
+    /**
+     * Parses {@code inPattern} into a template.
+     *
+     * @throws IllegalArgumentException if the pattern is malformed.
+     */
+    public static MessageTemplate compile(String inPattern)
+    {
+        List<String> literals = new ArrayList<String>();
+        List<Integer> slots = new ArrayList<Integer>();
+        StringBuilder literal = new StringBuilder(inPattern.length());
+        int idx = 0;
+
+        while (idx < inPattern.length())
+        {
+            char ch = inPattern.charAt(idx);
+
+            if (ch == OPEN && idx + 1 < inPattern.length() && inPattern.charAt(idx + 1) == OPEN)
+            {
+                literal.append(OPEN);
+                idx += 2;
+            }
+            else if (ch == CLOSE)
+            {
+                if (idx + 1 >= inPattern.length() || inPattern.charAt(idx + 1) != CLOSE)
+                    throw parseError(inPattern, idx, "an unmatched '}'");
+
+                literal.append(CLOSE);
+                idx += 2;
+            }
+            else if (ch == OPEN)
+            {
+                int close = inPattern.indexOf(CLOSE, idx);
+
+                if (close < 0)
+                    throw parseError(inPattern, idx, "an unclosed '{'");
+
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(Integer.valueOf(slot(inPattern, idx + 1, close)));
+                idx = close + 1;
+            }
+            else
+            {
+                literal.append(ch);
+                idx++;
+            }
+        }
+
+        literals.add(literal.toString());
+
+        return(new MessageTemplate(inPattern, literals, slots));
+    }
+
+    /**
+     * Returns the message with {@code inArguments} in its slots.
+     */
+    public String format(Object... inArguments)
+    {
+        Object[] arguments = arguments(inArguments);
+        char[] chars = new char[length(arguments)];
+        int offset = 0;
+
+        for (int idx = 0; idx < mSlots.length; idx++)
+        {
+            offset = copy(mLiterals[idx], chars, offset);
+            offset = copy((CharSequence) arguments[mSlots[idx]], chars, offset);
+        }
+
+        copy(mLiterals[mSlots.length], chars, offset);
+
+        return(new String(chars));
+    }
+
+    /**
+     * Appends the message with {@code inArguments} in its slots to {@code inMdBuffer}, having grown it, at most once, to the
+     * exact size needed.
+     */
+    public StringBuilder appendTo(StringBuilder inMdBuffer, Object... inArguments)
+    {
+        Object[] arguments = arguments(inArguments);
+
+        inMdBuffer.ensureCapacity(inMdBuffer.length() + length(arguments));
+
+        for (int idx = 0; idx < mSlots.length; idx++)
+        {
+            inMdBuffer.append(mLiterals[idx]);
+            inMdBuffer.append((CharSequence) arguments[mSlots[idx]]);
+        }
+
+        inMdBuffer.append(mLiterals[mSlots.length]);
+
+        return(inMdBuffer);
+    }
+
+    /**
+     * Encodes the message with {@code inArguments} in its slots as UTF-8 into {@code inMdBytes} from {@code inOffset}, and
+     * returns the number of bytes written. The literals are encoded when the template is compiled.
+     *
+     * @throws IllegalArgumentException if the message does not fit, in which case nothing is written.
+     */
+    public int encodeTo(byte[] inMdBytes, int inOffset, Object... inArguments)
+    {
+        Object[] arguments = arguments(inArguments);
+        int length = mEncodedLiteralLength;
+
+        for (int slot : mSlots)
+            length += utf8Length((CharSequence) arguments[slot]);
+
+        if (inOffset < 0 || inOffset + length > inMdBytes.length)
+            throw new IllegalArgumentException("The message needs " + length + " bytes from offset " + inOffset + ", but the " +
+                                               "array holds " + inMdBytes.length);
+
+        int offset = inOffset;
+
+        for (int idx = 0; idx < mSlots.length; idx++)
+        {
+            System.arraycopy(mEncodedLiterals[idx], 0, inMdBytes, offset, mEncodedLiterals[idx].length);
+            offset += mEncodedLiterals[idx].length;
+            offset = encodeUtf8((CharSequence) arguments[mSlots[idx]], inMdBytes, offset);
+        }
+
+        byte[] last = mEncodedLiterals[mSlots.length];
+        System.arraycopy(last, 0, inMdBytes, offset, last.length);
+
+        return(length);
+    }
+
+    /**
+     * Returns the number of arguments that the template takes, which is one more than the highest index of its slots.
+     */
+    public int getArguments()
+    {
+        return(mArguments);
+    }
+
+    @Override
+    public String toString()
+    {
+        return(mPattern);
+    }
+
+    /*
+     * Returns the arguments, each a CharSequence, which are those given unless any has to be converted to a string.
+     */
+    private Object[] arguments(Object[] inArguments)
+    {
+        if (inArguments.length < mArguments)
+            throw new IllegalArgumentException("The template \"" + mPattern + "\" takes " + mArguments + " arguments, not " +
+                                               inArguments.length);
+
+        Object[] arguments = inArguments;
+
+        for (int idx = 0; idx < inArguments.length; idx++)
+        {
+            if (!(inArguments[idx] instanceof CharSequence))
+            {
+                if (arguments == inArguments)
+                {
+                    arguments = new Object[inArguments.length];
+                    System.arraycopy(inArguments, 0, arguments, 0, inArguments.length);
+                }
+
+                arguments[idx] = String.valueOf(inArguments[idx]);
+            }
+        }
+
+        return(arguments);
+    }
+
+    private int length(Object[] inArguments)
+    {
+        int length = mLiteralLength;
+
+        for (int slot : mSlots)
+            length += ((CharSequence) inArguments[slot]).length();
+
+        return(length);
+    }
+
+    private static int copy(CharSequence inText, char[] inMdChars, int inOffset)
+    {
+        int length = inText.length();
+
+        if (inText instanceof String)
+            ((String) inText).getChars(0, length, inMdChars, inOffset);
+        else
+        {
+            for (int idx = 0; idx < length; idx++)
+                inMdChars[inOffset + idx] = inText.charAt(idx);
+        }
+
+        return(inOffset + length);
+    }
+
+    private static int slot(String inPattern, int inStart, int inEnd)
+    {
+        if (inStart == inEnd)
+            throw parseError(inPattern, inStart - 1, "an empty argument slot");
+
+        int slot = 0;
+
+        for (int idx = inStart; idx < inEnd; idx++)
+        {
+            int digit = Character.digit(inPattern.charAt(idx), 10);
+
+            if (digit < 0)
+                throw parseError(inPattern, idx, "an argument slot that is not a number");
+
+            slot = slot * 10 + digit;
+
+            if (slot > Short.MAX_VALUE)
+                throw parseError(inPattern, inStart, "an argument index that is too large");
+        }
+
+        return(slot);
+    }
+
+    private static IllegalArgumentException parseError(String inPattern, int inIndex, String inProblem)
+    {
+        return(new IllegalArgumentException("The template \"" + inPattern + "\" has " + inProblem + " at index " + inIndex));
+    }
+
+    private static int utf8Length(CharSequence inText)
+    {
+        int length = 0;
+
+        for (int idx = 0; idx < inText.length(); idx++)
+        {
+            char ch = inText.charAt(idx);
+
+            if (ch <= MAX_ONE_BYTE)
+                length++;
+            else if (ch <= MAX_TWO_BYTES)
+                length += 2;
+            else if (Character.isHighSurrogate(ch) && idx + 1 < inText.length() &&
+                     Character.isLowSurrogate(inText.charAt(idx + 1)))
+            {
+                length += 4;
+                idx++;
+            }
+            else if (ch >= Character.MIN_SURROGATE && ch <= Character.MAX_SURROGATE)
+                length++;
+            else
+                length += 3;
+        }
+
+        return(length);
+    }
+
+    /*
+     * Encodes inText as UTF-8, writing an unpaired surrogate as a question mark as String.getBytes() does, and returns the
+     * offset after it.
+     */
+    private static int encodeUtf8(CharSequence inText, byte[] inMdBytes, int inOffset)
+    {
+        int offset = inOffset;
+
+        for (int idx = 0; idx < inText.length(); idx++)
+        {
+            int ch = inText.charAt(idx);
+
+            if (ch <= MAX_ONE_BYTE)
+                inMdBytes[offset++] = (byte) ch;
+            else if (ch <= MAX_TWO_BYTES)
+            {
+                inMdBytes[offset++] = (byte) (0xC0 | (ch >> 6));
+                inMdBytes[offset++] = (byte) (0x80 | (ch & 0x3F));
+            }
+            else if (Character.isHighSurrogate((char) ch) && idx + 1 < inText.length() &&
+                     Character.isLowSurrogate(inText.charAt(idx + 1)))
+            {
+                int codePoint = Character.toCodePoint((char) ch, inText.charAt(++idx));
+
+                inMdBytes[offset++] = (byte) (0xF0 | (codePoint >> 18));
+                inMdBytes[offset++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                inMdBytes[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                inMdBytes[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else if (ch >= Character.MIN_SURROGATE && ch <= Character.MAX_SURROGATE)
+                inMdBytes[offset++] = UNPAIRED_SURROGATE;
+            else
+            {
+                inMdBytes[offset++] = (byte) (0xE0 | (ch >> 12));
+                inMdBytes[offset++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                inMdBytes[offset++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+
+        return(offset);
+    }
+}
@@ -0,0 +1,25 @@
+package com.connectcv.coding.util;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * An object that can write its text form straight to an {@link Appendable}, such as the buffer of a log line, rather than
+ * returning it as a new {@code String} that is then copied.
+ * </p>
+ * <p>
+ * {@link #appendTo(Appendable)} must append exactly the text that {@code toString()} returns, so that the two can be used
+ * interchangeably. The simplest way to keep them in step is to implement {@code toString()} with
+ * {@link Rendering#toString(Renderable)}. An implementation should hand nested objects the same {@code Appendable}, with
+ * {@link Rendering#append(Appendable, Object)}, so that the whole object graph streams into one buffer.
+ * </p>
+ */
+public interface Renderable
+{
+    /**
+     * Appends the text form of this object to {@code inMdAppendable}.
+     *
+     * @throws IOException if {@code inMdAppendable} does.
+     */
+    void appendTo(Appendable inMdAppendable) throws IOException;
+}
@@ -0,0 +1,118 @@
+package com.connectcv.coding.util;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * Helpers for {@link Renderable} objects.
+ * </p>
+ * <p>
+ * A logger that takes message parameters only calls {@code toString()} on them once it has decided to write the line, but a
+ * message built with {@code +} is rendered whether or not it is written. {@link #deferred(Object...)} keeps the parts of such a
+ * message apart until it is needed:
+ * </p>
+ *
+ * <pre>
+ * log.debug(Rendering.deferred("Booking ", booking, " for ", customer));
+ * </pre>
+ *
+ * <p>
+ * and then renders them, and any {@code Renderable} among them, into a single buffer.
+ * </p>
+ */
+public final class Rendering
+{
+    private static final String NULL_TEXT = "null";
+
+    private Rendering()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    /**
+     * Returns the text that {@code inRenderable} appends, for use as its {@code toString()}.
+     */
+    public static String toString(Renderable inRenderable)
+    {
+        StringBuilder buffer = new StringBuilder(64);
+
+        appendTo(buffer, inRenderable);
+
+        return(buffer.toString());
+    }
+
+    /**
+     * Appends {@code inValue} to {@code inMdBuffer} as {@link StringBuilder#append(Object)} would, but without creating a
+     * {@code String} for a {@link Renderable}.
+     */
+    public static StringBuilder append(StringBuilder inMdBuffer, Object inValue)
+    {
+        if (inValue instanceof Renderable)
+            appendTo(inMdBuffer, (Renderable) inValue);
+        else
+            inMdBuffer.append(inValue);
+
+        return(inMdBuffer);
+    }
+
+    /**
+     * Appends {@code inValue} to {@code inMdAppendable} as {@code String.valueOf()} would render it, but without creating a
+     * {@code String} for a {@link Renderable} or a {@link CharSequence}.
+     */
+    public static Appendable append(Appendable inMdAppendable, Object inValue) throws IOException
+    {
+        if (inValue instanceof Renderable)
+            ((Renderable) inValue).appendTo(inMdAppendable);
+        else if (inValue instanceof CharSequence)
+            inMdAppendable.append((CharSequence) inValue);
+        else if (inValue == null)
+            inMdAppendable.append(NULL_TEXT);
+        else
+            inMdAppendable.append(inValue.toString());
+
+        return(inMdAppendable);
+    }
+
+    /**
+     * Returns a {@link Renderable} that renders the concatenation of {@code inParts} when it is rendered, and not before.
+     */
+    public static Renderable deferred(Object... inParts)
+    {
+        return(new Deferred(inParts));
+    }
+
+    /*
+     * A StringBuilder never throws an IOException, so there is no need to make callers handle one.
+     */
+    private static void appendTo(StringBuilder inMdBuffer, Renderable inRenderable)
+    {
+        try
+        {
+            inRenderable.appendTo(inMdBuffer);
+        }
+        catch (IOException ioe)
+        {
+            throw new IllegalStateException("A StringBuilder cannot fail to append", ioe);
+        }
+    }
+
+    private static final class Deferred implements Renderable
+    {
+        private final Object[] mParts;
+
+        Deferred(Object[] inParts)
+        {
+            mParts = inParts;
+        }
+
+        public void appendTo(Appendable inMdAppendable) throws IOException
+        {
+            for (Object part : mParts)
+                append(inMdAppendable, part);
+        }
+
+        @Override
+        public String toString()
+        {
+            return(Rendering.toString(this));
+        }
+    }
+}
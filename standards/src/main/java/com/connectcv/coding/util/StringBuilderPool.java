@@ -0,0 +1,199 @@
+package com.connectcv.coding.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * A pool of {@link StringBuilder}s for code that builds many short-lived strings, in place of a builder shared through a
+ * static variable, which is unsafe once two threads use it, or a new builder for every string:
+ * </p>
+ *
+ * <pre>
+ * StringBuilder builder = BUILDERS.acquire();
+ * builder.append(...);
+ * return(BUILDERS.toStringAndRelease(builder));
+ * </pre>
+ *
+ * <p>
+ * The pool has a slot for a builder in each of a fixed number of stripes, about four for each processor, and a thread always
+ * uses the same stripe, so that a thread usually gets back the builder it last released without contending with any other.
+ * A builder that has grown beyond the maximum retained capacity is dropped when it is released, so that building one huge
+ * string does not hold its memory for ever, and the pool never holds more than one builder of at most that capacity for each
+ * stripe.
+ * </p>
+ * <p>
+ * Nothing is held for a thread, unlike in a {@code ThreadLocal}, so the pool is as safe for virtual threads as for platform
+ * threads: a virtual thread that is unmounted while it holds a builder keeps it to itself, and millions of virtual threads
+ * share the same few builders rather than each retaining one.
+ * </p>
+ */
+public final class StringBuilderPool
+{
+    /** The capacity beyond which a released builder is dropped, by default. */
+    public static final int DEFAULT_MAX_RETAINED_CAPACITY = 8 * 1024;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+    private static final int SPREADING_MULTIPLIER = 0x9E3779B9;
+
+    /*
+     * Each stripe takes a cache line of each array, so that threads using adjacent stripes do not contend for it.
+     */
+    private static final int SLOT_SPACING = 16;
+
+    private static final int COUNTER_SPACING = 8;
+
+    private static final int ACQUISITIONS = 0;
+
+    private static final int ALLOCATIONS = 1;
+
+    private static final int DISCARDS = 2;
+
+    private static final int BYTES_PER_CHAR = 2;
+
+    private final int mInitialCapacity;
+    private final int mMaxRetainedCapacity;
+    private final int mStripeShift;
+    private final int mStripes;
+    private final AtomicReferenceArray<StringBuilder> mSlots;
+    private final AtomicLongArray mCounters;
+
+    public StringBuilderPool()
+    {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    public StringBuilderPool(int inInitialCapacity, int inMaxRetainedCapacity)
+    {
+        if (inInitialCapacity > inMaxRetainedCapacity)
+            throw new IllegalArgumentException("The initial capacity " + inInitialCapacity + " is more than the maximum retained " +
+                                               "capacity " + inMaxRetainedCapacity);
+
+        int stripes = 1;
+
+        while (stripes < Runtime.getRuntime().availableProcessors() * 4)
+            stripes <<= 1;
+
+        mInitialCapacity = inInitialCapacity;
+        mMaxRetainedCapacity = inMaxRetainedCapacity;
+        mStripes = stripes;
+        mStripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(stripes);
+        mSlots = new AtomicReferenceArray<StringBuilder>(stripes * SLOT_SPACING);
+        mCounters = new AtomicLongArray(stripes * COUNTER_SPACING);
+    }
+
+    /**
+     * Returns an empty builder, which the caller has to itself until it releases it.
+     */
+    public StringBuilder acquire()
+    {
+        int stripe = stripe();
+        StringBuilder builder = mSlots.getAndSet(stripe * SLOT_SPACING, null);
+
+        mCounters.incrementAndGet(stripe * COUNTER_SPACING + ACQUISITIONS);
+
+        if (builder == null)
+        {
+            mCounters.incrementAndGet(stripe * COUNTER_SPACING + ALLOCATIONS);
+            builder = new StringBuilder(mInitialCapacity);
+        }
+
+        return(builder);
+    }
+
+    /**
+     * Returns {@code inBuilder} to the pool, after which the caller must not use it. The builder is dropped if it has grown
+     * beyond the maximum retained capacity, or if the stripe of the calling thread already holds one.
+     */
+    public void release(StringBuilder inBuilder)
+    {
+        int stripe = stripe();
+
+        if (inBuilder.capacity() > mMaxRetainedCapacity)
+        {
+            mCounters.incrementAndGet(stripe * COUNTER_SPACING + DISCARDS);
+            return;
+        }
+
+        inBuilder.setLength(0);
+        mSlots.compareAndSet(stripe * SLOT_SPACING, null, inBuilder);
+    }
+
+    /**
+     * Returns the contents of {@code inBuilder} and releases it.
+     */
+    public String toStringAndRelease(StringBuilder inBuilder)
+    {
+        String result = inBuilder.toString();
+
+        release(inBuilder);
+
+        return(result);
+    }
+
+    /**
+     * Returns the number of builders acquired.
+     */
+    public long getAcquisitions()
+    {
+        return(sum(ACQUISITIONS));
+    }
+
+    /**
+     * Returns the number of builders created because there was none to reuse. The difference from
+     * {@link #getAcquisitions()} is the churn that the pool has saved.
+     */
+    public long getAllocations()
+    {
+        return(sum(ALLOCATIONS));
+    }
+
+    /**
+     * Returns the number of builders dropped on release for having grown beyond the maximum retained capacity.
+     */
+    public long getDiscards()
+    {
+        return(sum(DISCARDS));
+    }
+
+    /**
+     * Returns the memory held by the builders in the pool, at two bytes for each character of their capacity.
+     */
+    public long getRetainedBytes()
+    {
+        long chars = 0;
+
+        for (int stripe = 0; stripe < mStripes; stripe++)
+        {
+            StringBuilder builder = mSlots.get(stripe * SLOT_SPACING);
+
+            if (builder != null)
+                chars += builder.capacity();
+        }
+
+        return(chars * BYTES_PER_CHAR);
+    }
+
+    public int getMaxRetainedCapacity()
+    {
+        return(mMaxRetainedCapacity);
+    }
+
+    private int stripe()
+    {
+        int id = (int) Thread.currentThread().getId();
+
+        return(mStripeShift == Integer.SIZE ? 0 : (id * SPREADING_MULTIPLIER) >>> mStripeShift);
+    }
+
+    private long sum(int inCounter)
+    {
+        long sum = 0;
+
+        for (int stripe = 0; stripe < mStripes; stripe++)
+            sum += mCounters.get(stripe * COUNTER_SPACING + inCounter);
+
+        return(sum);
+    }
+}
@@ -0,0 +1,119 @@
+package com.connectcv.coding.util;
+
+/**
+ * <p>
+ * Encodes strings as small, dense integer codes, giving each distinct string the next code in turn, so that a column of
+ * strings with many repeats can be held as an {@code int[]} of codes and compared by code instead of by {@code equals()}.
+ * </p>
+ * <p>
+ * The codes are kept in an open addressed table of {@code int}s rather than a {@code HashMap}, so that the dictionary costs one
+ * reference and about two {@code int}s per distinct string. Like the collections, it is not thread safe.
+ * </p>
+ */
+public final class StringDictionary
+{
+    /** The code that {@link #find(String)} returns for a string that has none. */
+    public static final int NO_CODE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int SPREADING_MULTIPLIER = 0x9E3779B9;
+
+    private String[] mValues;
+    private int mSize;
+
+    /*
+     * Each slot holds a code plus one, so that zero marks an empty slot. Kept at most half full.
+     */
+    private int[] mSlots;
+    private int mShift;
+
+    public StringDictionary()
+    {
+        mValues = new String[INITIAL_CAPACITY];
+        mSlots = new int[INITIAL_CAPACITY * 2];
+        mShift = Integer.SIZE - Integer.numberOfTrailingZeros(mSlots.length);
+    }
+
+    /**
+     * Returns the code of {@code inValue}, giving it the next code if it has none.
+     */
+    public int encode(String inValue)
+    {
+        if (inValue == null)
+            throw new IllegalArgumentException("Only strings can be encoded, not null");
+
+        int slot = slot(inValue);
+
+        if (mSlots[slot] != 0)
+            return(mSlots[slot] - 1);
+
+        if (mSize == mValues.length)
+        {
+            grow();
+            slot = slot(inValue);
+        }
+
+        mValues[mSize] = inValue;
+        mSlots[slot] = ++mSize;
+
+        return(mSize - 1);
+    }
+
+    /**
+     * Returns the code of {@code inValue}, or {@link #NO_CODE} if it has none, which is also the case for {@code null}.
+     */
+    public int find(String inValue)
+    {
+        if (inValue == null)
+            return(NO_CODE);
+
+        return(mSlots[slot(inValue)] - 1);
+    }
+
+    /**
+     * Returns the string with the code {@code inCode}.
+     */
+    public String decode(int inCode)
+    {
+        if (inCode < 0 || inCode >= mSize)
+            throw new IndexOutOfBoundsException("No string has the code " + inCode);
+
+        return(mValues[inCode]);
+    }
+
+    /**
+     * Returns the number of distinct strings encoded, which is also the next code to be given.
+     */
+    public int size()
+    {
+        return(mSize);
+    }
+
+    /*
+     * Returns the slot holding the code of inValue, or the empty slot where it belongs.
+     */
+    private int slot(String inValue)
+    {
+        int mask = mSlots.length - 1;
+        int slot = (inValue.hashCode() * SPREADING_MULTIPLIER) >>> mShift;
+
+        while (mSlots[slot] != 0 && !mValues[mSlots[slot] - 1].equals(inValue))
+            slot = (slot + 1) & mask;
+
+        return(slot);
+    }
+
+    private void grow()
+    {
+        String[] values = new String[mValues.length * 2];
+        System.arraycopy(mValues, 0, values, 0, mSize);
+
+        mValues = values;
+        mSlots = new int[values.length * 2];
+        mShift = Integer.SIZE - Integer.numberOfTrailingZeros(mSlots.length);
+
+        for (int code = 0; code < mSize; code++)
+            mSlots[slot(mValues[code])] = code + 1;
+    }
+}
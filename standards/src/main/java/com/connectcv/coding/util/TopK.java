@@ -0,0 +1,262 @@
+package com.connectcv.coding.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Keeps the {@code K} entries with the highest scores out of a stream of scored entries, in memory proportional to {@code K}
+ * however long the stream is, such as the leaders of a competition with millions of entrants:
+ * </p>
+ *
+ * <pre>
+ * TopK&lt;String&gt; leaders = new TopK&lt;String&gt;(3);
+ *
+ * for (Entrant entrant : entrants)
+ *     leaders.offer(entrant.getName(), entrant.getPoints());
+ *
+ * practices.printPlacingSummary(leaders);
+ * </pre>
+ *
+ * <p>
+ * The entries are kept in a binary heap with the lowest score at its root, held in parallel arrays, so that the scores are
+ * compared without unboxing and an entry that does not make the top {@code K} costs a single comparison. Of entries with equal
+ * scores, the one offered first ranks higher.
+ * </p>
+ * <p>
+ * Like the collections, it is not thread safe. Use a {@link ConcurrentTopK} to offer entries from several threads.
+ * </p>
+ */
+public final class TopK<T>
+{
+    private final int mCapacity;
+    private final long[] mScores;
+    private final long[] mSequences;
+    private final Object[] mEntries;
+    private int mSize;
+    private long mOffered;
+    private long mNextSequence;
+
+    public TopK(int inCapacity)
+    {
+        if (inCapacity < 1)
+            throw new IllegalArgumentException("At least one entry must be kept, not " + inCapacity);
+
+        mCapacity = inCapacity;
+        mScores = new long[inCapacity];
+        mSequences = new long[inCapacity];
+        mEntries = new Object[inCapacity];
+    }
+
+    /**
+     * Offers {@code inEntry} with the score {@code inScore}, and returns whether it is now among the best.
+     */
+    public boolean offer(T inEntry, long inScore)
+    {
+        return(offer(inEntry, inScore, mNextSequence++));
+    }
+
+    /**
+     * Offers every entry that {@code inOther} keeps, each with the place in order of offering that it had there, so that of
+     * its entries with equal scores the one offered first still ranks higher. Entries offered here afterwards rank below
+     * every entry of {@code inOther} with an equal score.
+     */
+    @SuppressWarnings("unchecked")
+    public void offerAll(TopK<? extends T> inOther)
+    {
+        for (int idx = 0; idx < inOther.mSize; idx++)
+            offer((T) inOther.mEntries[idx], inOther.mScores[idx], inOther.mSequences[idx]);
+
+        mNextSequence = Math.max(mNextSequence, inOther.mNextSequence);
+    }
+
+    /**
+     * Returns the entries kept, best first.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> best()
+    {
+        int[] order = order();
+        List<T> best = new ArrayList<T>(order.length);
+
+        for (int idx : order)
+            best.add((T) mEntries[idx]);
+
+        return(best);
+    }
+
+    /**
+     * Returns the scores of the entries kept, in the same order as {@link #best()}.
+     */
+    public long[] bestScores()
+    {
+        int[] order = order();
+        long[] scores = new long[order.length];
+
+        for (int idx = 0; idx < order.length; idx++)
+            scores[idx] = mScores[order[idx]];
+
+        return(scores);
+    }
+
+    /**
+     * Returns the lowest score kept, which an entry must beat to be kept once the structure is full, or
+     * {@link Long#MIN_VALUE} if it is not yet full.
+     */
+    public long threshold()
+    {
+        return(mSize < mCapacity ? Long.MIN_VALUE : mScores[0]);
+    }
+
+    /**
+     * Returns the number of entries kept, which is at most {@link #capacity()}.
+     */
+    public int size()
+    {
+        return(mSize);
+    }
+
+    public int capacity()
+    {
+        return(mCapacity);
+    }
+
+    /**
+     * Returns the number of entries offered in all.
+     */
+    public long offered()
+    {
+        return(mOffered);
+    }
+
+    private boolean offer(Object inEntry, long inScore, long inSequence)
+    {
+        mOffered++;
+
+        if (mSize < mCapacity)
+        {
+            set(mSize, inEntry, inScore, inSequence);
+            siftUp(mSize++);
+            return(true);
+        }
+
+        if (!isWorse(mScores[0], mSequences[0], inScore, inSequence))
+            return(false);
+
+        set(0, inEntry, inScore, inSequence);
+        siftDown(0);
+
+        return(true);
+    }
+
+    private void set(int inIndex, Object inEntry, long inScore, long inSequence)
+    {
+        mEntries[inIndex] = inEntry;
+        mScores[inIndex] = inScore;
+        mSequences[inIndex] = inSequence;
+    }
+
+    private void siftUp(int inIndex)
+    {
+        int idx = inIndex;
+
+        while (idx > 0)
+        {
+            int parent = (idx - 1) >>> 1;
+
+            if (!isWorse(mScores[idx], mSequences[idx], mScores[parent], mSequences[parent]))
+                break;
+
+            swap(idx, parent);
+            idx = parent;
+        }
+    }
+
+    private void siftDown(int inIndex)
+    {
+        int idx = inIndex;
+
+        while (true)
+        {
+            int worst = idx;
+            int left = idx * 2 + 1;
+            int right = left + 1;
+
+            if (left < mSize && isWorse(mScores[left], mSequences[left], mScores[worst], mSequences[worst]))
+                worst = left;
+
+            if (right < mSize && isWorse(mScores[right], mSequences[right], mScores[worst], mSequences[worst]))
+                worst = right;
+
+            if (worst == idx)
+                return;
+
+            swap(idx, worst);
+            idx = worst;
+        }
+    }
+
+    private void swap(int inFirst, int inSecond)
+    {
+        long score = mScores[inFirst];
+        long sequence = mSequences[inFirst];
+        Object entry = mEntries[inFirst];
+
+        set(inFirst, mEntries[inSecond], mScores[inSecond], mSequences[inSecond]);
+        set(inSecond, entry, score, sequence);
+    }
+
+    /*
+     * Returns the indexes of the heap in order, best first, by heap sorting a copy of them.
+     */
+    private int[] order()
+    {
+        int[] heap = new int[mSize];
+
+        for (int idx = 0; idx < mSize; idx++)
+            heap[idx] = idx;
+
+        int[] order = new int[mSize];
+
+        for (int size = mSize; size > 0; size--)
+        {
+            order[size - 1] = heap[0];
+            heap[0] = heap[size - 1];
+
+            int idx = 0;
+
+            while (true)
+            {
+                int worst = idx;
+                int left = idx * 2 + 1;
+                int right = left + 1;
+
+                if (left < size - 1 && isWorse(heap[left], heap[worst]))
+                    worst = left;
+
+                if (right < size - 1 && isWorse(heap[right], heap[worst]))
+                    worst = right;
+
+                if (worst == idx)
+                    break;
+
+                int swapped = heap[idx];
+                heap[idx] = heap[worst];
+                heap[worst] = swapped;
+                idx = worst;
+            }
+        }
+
+        return(order);
+    }
+
+    private boolean isWorse(int inFirst, int inSecond)
+    {
+        return(isWorse(mScores[inFirst], mSequences[inFirst], mScores[inSecond], mSequences[inSecond]));
+    }
+
+    private static boolean isWorse(long inScore, long inSequence, long inOtherScore, long inOtherSequence)
+    {
+        return(inScore < inOtherScore || (inScore == inOtherScore && inSequence > inOtherSequence));
+    }
+}
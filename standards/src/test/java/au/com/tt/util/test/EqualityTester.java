@@ -0,0 +1,161 @@
+package au.com.tt.util.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * Checks that the {@code equals()} and {@code hashCode()} of a class keep their contract, over as many generated instances as
+ * required. For each instance the tester checks that:
+ * <ul>
+ * <li>it is equal to itself, and not to {@code null} or to an instance of another class;</li>
+ * <li>it is equal to an instance generated from the same random numbers, in both directions, and has the same hash code;</li>
+ * <li>it is equal to the instance generated before it exactly when that instance is equal to it, and when so has the same hash
+ * code;</li>
+ * <li>both it and its equal twin agree on whether the instance generated before is equal, which checks transitivity;</li>
+ * <li>none of these calls throws an exception.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The instances are split across a thread for each processor, and are generated from a fixed seed, so that a failure can be
+ * reproduced. The first violation found fails the test with an {@link AssertionError} that describes it:
+ * </p>
+ *
+ * <pre>
+ * new EqualityTester&lt;DataClass&gt;(new DataClassGenerator()).test(1000000);
+ * </pre>
+ */
+public final class EqualityTester<T>
+{
+    private static final long DEFAULT_SEED = 0x5eed;
+
+    private static final Object FOREIGN = new Object();
+
+    private final KeyGenerator<T> mGenerator;
+    private final long mSeed;
+    private final int mThreads;
+
+    public EqualityTester(KeyGenerator<T> inGenerator)
+    {
+        this(inGenerator, DEFAULT_SEED, Runtime.getRuntime().availableProcessors());
+    }
+
+    public EqualityTester(KeyGenerator<T> inGenerator, long inSeed, int inThreads)
+    {
+        if (inThreads < 1)
+            throw new IllegalArgumentException("At least one thread is needed, not " + inThreads);
+
+        mGenerator = inGenerator;
+        mSeed = inSeed;
+        mThreads = inThreads;
+    }
+
+    /**
+     * Checks {@code inInstances} generated instances, and throws an {@link AssertionError} for the first that breaks the
+     * contract.
+     */
+    public void test(int inInstances)
+    {
+        final AtomicReference<AssertionError> failure = new AtomicReference<AssertionError>();
+        List<Thread> threads = new ArrayList<Thread>(mThreads);
+
+        for (int idx = 0; idx < mThreads; idx++)
+        {
+            final long seed = mSeed + idx;
+            final int count = inInstances / mThreads + (idx < inInstances % mThreads ? 1 : 0);
+
+            Thread thread = new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    test(seed, count, failure);
+                }
+            }, "EqualityTester-" + idx);
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads)
+        {
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while testing equality", ie);
+            }
+        }
+
+        if (failure.get() != null)
+            throw failure.get();
+    }
+
+    private void test(long inSeed, int inCount, AtomicReference<AssertionError> inMdFailure)
+    {
+        Random random = new Random(inSeed);
+        Random twinRandom = new Random(inSeed);
+        T previous = null;
+
+        for (int idx = 0; idx < inCount && inMdFailure.get() == null; idx++)
+        {
+            T instance = mGenerator.generate(random);
+            T twin = mGenerator.generate(twinRandom);
+
+            try
+            {
+                check(instance, twin, previous);
+            }
+            catch (AssertionError ae)
+            {
+                inMdFailure.compareAndSet(null, failure(ae.getMessage(), inSeed, idx, instance, previous));
+            }
+            catch (RuntimeException re)
+            {
+                AssertionError error = failure("Exception thrown: " + re, inSeed, idx, instance, previous);
+                error.initCause(re);
+                inMdFailure.compareAndSet(null, error);
+            }
+
+            previous = instance;
+        }
+    }
+
+    private static void check(Object inInstance, Object inTwin, Object inPrevious)
+    {
+        verify(inInstance.equals(inInstance), "not equal to itself");
+        verify(!inInstance.equals(null), "equal to null");
+        verify(!inInstance.equals(FOREIGN), "equal to an Object");
+        verify(inInstance.hashCode() == inInstance.hashCode(), "hash code changed between calls");
+
+        verify(inInstance.equals(inTwin), "not equal to an instance generated from the same numbers");
+        verify(inTwin.equals(inInstance), "equality with an equal instance is not symmetric");
+        verify(inInstance.hashCode() == inTwin.hashCode(), "equal instances have different hash codes");
+
+        if (inPrevious != null)
+        {
+            boolean isEqual = inInstance.equals(inPrevious);
+
+            verify(isEqual == inPrevious.equals(inInstance), "equality with the previous instance is not symmetric");
+            verify(isEqual == inTwin.equals(inPrevious), "equality with the previous instance is not transitive");
+            verify(!isEqual || inInstance.hashCode() == inPrevious.hashCode(),
+                   "equal to the previous instance, but with a different hash code");
+        }
+    }
+
+    private static void verify(boolean inIsHolding, String inMessage)
+    {
+        if (!inIsHolding)
+            throw new AssertionError(inMessage);
+    }
+
+    private static AssertionError failure(String inMessage, long inSeed, int inIndex, Object inInstance, Object inPrevious)
+    {
+        return(new AssertionError("Instance " + inIndex + " generated with seed " + inSeed + " is " + inMessage + ": " +
+                                  inInstance + " (previous instance: " + inPrevious + ")"));
+    }
+}
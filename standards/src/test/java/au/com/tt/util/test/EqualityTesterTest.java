@@ -0,0 +1,108 @@
+package au.com.tt.util.test;
+
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+@Test
+public class EqualityTesterTest
+{
+    private static final int INSTANCES = 10000;
+
+    public void correctClassTest()
+    {
+        // Exercise component and verify
+        new EqualityTester<Key>(new KeyGenerator<Key>()
+        {
+            public Key generate(Random inRandom)
+            {
+                return(new Key(inRandom.nextInt(10), false));
+            }
+        }).test(INSTANCES);
+    }
+
+    public void inconsistentHashCodeTest()
+    {
+        // Set up
+        EqualityTester<Key> tester = new EqualityTester<Key>(new KeyGenerator<Key>()
+        {
+            public Key generate(Random inRandom)
+            {
+                return(new Key(inRandom.nextInt(10), true));
+            }
+        });
+
+        try
+        {
+            // Exercise component
+            tester.test(INSTANCES);
+
+            fail("Expected AssertionError");
+        }
+        catch (AssertionError ae)
+        {
+            // Verify
+            assertTrue(ae.getMessage(), ae.getMessage().contains("equal instances have different hash codes"));
+        }
+    }
+
+    public void equalsThrowsTest()
+    {
+        // Set up
+        EqualityTester<Object> tester = new EqualityTester<Object>(new KeyGenerator<Object>()
+        {
+            public Object generate(Random inRandom)
+            {
+                return(new Object()
+                {
+                    @Override
+                    public boolean equals(Object inObject)
+                    {
+                        return(((String) inObject).length() > 0);
+                    }
+                });
+            }
+        }, 1, 1);
+
+        try
+        {
+            // Exercise component
+            tester.test(INSTANCES);
+
+            fail("Expected AssertionError");
+        }
+        catch (AssertionError ae)
+        {
+            // Verify
+            assertTrue(ae.getMessage(), ae.getMessage().contains("Exception thrown"));
+            assertTrue(ae.getCause() instanceof ClassCastException);
+        }
+    }
+
+    private static final class Key
+    {
+        private final int mValue;
+        private final boolean mIsHashBroken;
+
+        Key(int inValue, boolean inIsHashBroken)
+        {
+            mValue = inValue;
+            mIsHashBroken = inIsHashBroken;
+        }
+
+        @Override
+        public boolean equals(Object inObject)
+        {
+            return(inObject instanceof Key && ((Key) inObject).mValue == mValue);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return(mIsHashBroken ? System.identityHashCode(this) : mValue);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package au.com.tt.util.test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>
+ * Measures how well the {@code hashCode()} of a class spreads a set of keys, so that a test can fail when the hash codes of
+ * the keys a class is actually used with cluster:
+ * </p>
+ *
+ * <pre>
+ * HashQualityReport report = HashQualityAnalyser.analyse(keys, new DataClassMutator());
+ * assertTrue(report.toString(), report.getBucketCollisionRatio() &lt; 1.5);
+ * </pre>
+ *
+ * <p>
+ * The keys are placed in buckets as a {@link java.util.HashMap} would place them, after it has spread the high bits of each
+ * hash code into the low bits, in a table just large enough to hold them all at the default load factor. Clustering that
+ * survives that spreading is what costs lookups in practice. The avalanche score, which is measured only when a
+ * {@link KeyMutator} is given, looks at the raw hash codes instead, and shows how close keys land in the hash space.
+ * </p>
+ */
+public final class HashQualityAnalyser
+{
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final long MUTATION_SEED = 0xa5a5;
+
+    private HashQualityAnalyser()
+    { }          // Suppress default constructor to prevent instantiation.
+
+    /**
+     * Analyses the distinct keys among {@code inKeys}, without measuring avalanche.
+     */
+    public static HashQualityReport analyse(Collection<?> inKeys)
+    {
+        return(analyse(inKeys, null));
+    }
+
+    /**
+     * Analyses the distinct keys among {@code inKeys}, measuring avalanche with {@code inMutator} if it is not {@code null}.
+     */
+    public static <T> HashQualityReport analyse(Collection<? extends T> inKeys, KeyMutator<T> inMutator)
+    {
+        Set<T> keys = new HashSet<T>(inKeys);
+        int[] hashes = new int[keys.size()];
+        int count = 0;
+
+        for (T key : keys)
+            hashes[count++] = key.hashCode();
+
+        int buckets = tableSize(count);
+        int[] chains = new int[buckets];
+        int occupied = 0;
+        int maxChain = 0;
+
+        for (int hash : hashes)
+        {
+            int bucket = (hash ^ (hash >>> 16)) & (buckets - 1);
+
+            if (chains[bucket]++ == 0)
+                occupied++;
+
+            maxChain = Math.max(maxChain, chains[bucket]);
+        }
+
+        // Under uniform hashing each bucket is empty with probability (1 - 1/m)^n
+        double expectedOccupied = buckets * (1 - Math.pow(1 - 1.0 / buckets, count));
+        double expectedCollisions = count - expectedOccupied;
+        double collisionRatio = expectedCollisions < 1 ? (count - occupied) : (count - occupied) / expectedCollisions;
+
+        return(new HashQualityReport(count,
+                                     distinct(hashes),
+                                     buckets,
+                                     occupied,
+                                     maxChain,
+                                     collisionRatio,
+                                     inMutator == null ? Double.NaN : avalanche(keys, inMutator)));
+    }
+
+    private static <T> double avalanche(Set<T> inKeys, KeyMutator<T> inMutator)
+    {
+        Random random = new Random(MUTATION_SEED);
+        long flipped = 0;
+        long pairs = 0;
+
+        for (T key : inKeys)
+        {
+            T mutated = inMutator.mutate(key, random);
+
+            if (!key.equals(mutated))
+            {
+                flipped += Integer.bitCount(key.hashCode() ^ mutated.hashCode());
+                pairs++;
+            }
+        }
+
+        return(pairs == 0 ? Double.NaN : flipped / (pairs * (double) Integer.SIZE));
+    }
+
+    private static int distinct(int[] inHashes)
+    {
+        int[] sorted = inHashes.clone();
+        Arrays.sort(sorted);
+
+        int distinct = 0;
+
+        for (int idx = 0; idx < sorted.length; idx++)
+        {
+            if (idx == 0 || sorted[idx] != sorted[idx - 1])
+                distinct++;
+        }
+
+        return(distinct);
+    }
+
+    /*
+     * The table size of a HashMap once it holds inCount keys: the smallest power of two that keeps it within its load factor.
+     */
+    private static int tableSize(int inCount)
+    {
+        int size = 16;
+
+        while (size * LOAD_FACTOR < inCount)
+            size <<= 1;
+
+        return(size);
+    }
+}
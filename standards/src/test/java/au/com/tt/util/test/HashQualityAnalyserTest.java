@@ -0,0 +1,99 @@
+package au.com.tt.util.test;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+@Test
+public class HashQualityAnalyserTest
+{
+    private static final int KEYS = 50000;
+
+    public void randomHashCodesTest()
+    {
+        // Set up
+        Random random = new Random(7);
+        List<Integer> keys = new ArrayList<Integer>(KEYS);
+
+        for (int idx = 0; idx < KEYS; idx++)
+            keys.add(Integer.valueOf(random.nextInt()));
+
+        // Exercise component
+        HashQualityReport report = HashQualityAnalyser.analyse(keys);
+
+        // Verify
+        assertTrue(report.toString(), report.getBucketCollisionRatio() > 0.9 && report.getBucketCollisionRatio() < 1.1);
+        assertTrue(Double.isNaN(report.getAvalancheScore()));
+    }
+
+    public void clusteredHashCodesTest()
+    {
+        // Set up
+        List<Clustered> keys = new ArrayList<Clustered>(KEYS);
+
+        for (int idx = 0; idx < KEYS; idx++)
+            keys.add(new Clustered(idx));
+
+        // Exercise component
+        HashQualityReport report = HashQualityAnalyser.analyse(keys, new KeyMutator<Clustered>()
+        {
+            public Clustered mutate(Clustered inKey, Random inRandom)
+            {
+                return(new Clustered(inKey.mValue + 1));
+            }
+        });
+
+        // Verify
+        assertEquals(KEYS, report.getKeys());
+        assertEquals(KEYS / 16, report.getDistinctHashes());
+        assertEquals(16, report.getMaxChainLength());
+        assertTrue(report.toString(), report.getBucketCollisionRatio() > 5);
+        assertTrue(report.toString(), report.getAvalancheScore() < 0.1);
+    }
+
+    public void duplicateKeysTest()
+    {
+        // Set up
+        List<String> keys = new ArrayList<String>();
+
+        for (int idx = 0; idx < 10; idx++)
+            keys.add("key");
+
+        // Exercise component
+        HashQualityReport report = HashQualityAnalyser.analyse(keys);
+
+        // Verify
+        assertEquals(1, report.getKeys());
+        assertEquals(1, report.getOccupiedBuckets());
+    }
+
+    /*
+     * Sixteen consecutive values share each hash code.
+     */
+    private static final class Clustered
+    {
+        private final int mValue;
+
+        Clustered(int inValue)
+        {
+            mValue = inValue;
+        }
+
+        @Override
+        public boolean equals(Object inObject)
+        {
+            return(inObject instanceof Clustered && ((Clustered) inObject).mValue == mValue);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return(mValue >> 4);
+        }
+    }
+}
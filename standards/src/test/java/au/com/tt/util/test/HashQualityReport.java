@@ -0,0 +1,124 @@
+package au.com.tt.util.test;
+
+/**
+ * <p>
+ * How well the hash codes of a set of distinct keys would spread in a {@link java.util.HashMap}, as measured by
+ * {@link HashQualityAnalyser}.
+ * </p>
+ * <p>
+ * The ratios compare the keys with what ideal, uniformly random hash codes would give for the same number of keys, so that a
+ * ratio of 1.0 is as good as can be expected and, for example, 3.0 is three times as many collisions as random hash codes
+ * would have. The ratios do not depend on the number of keys, and so can be checked against a fixed limit in a test.
+ * </p>
+ */
+public final class HashQualityReport
+{
+    private final int mKeys;
+    private final int mDistinctHashes;
+    private final int mBuckets;
+    private final int mOccupiedBuckets;
+    private final int mMaxChainLength;
+    private final double mBucketCollisionRatio;
+    private final double mAvalancheScore;
+
+    HashQualityReport(int inKeys,
+                      int inDistinctHashes,
+                      int inBuckets,
+                      int inOccupiedBuckets,
+                      int inMaxChainLength,
+                      double inBucketCollisionRatio,
+                      double inAvalancheScore)
+    {
+        mKeys = inKeys;
+        mDistinctHashes = inDistinctHashes;
+        mBuckets = inBuckets;
+        mOccupiedBuckets = inOccupiedBuckets;
+        mMaxChainLength = inMaxChainLength;
+        mBucketCollisionRatio = inBucketCollisionRatio;
+        mAvalancheScore = inAvalancheScore;
+    }
+
+    /**
+     * Returns the number of distinct keys analysed.
+     */
+    public int getKeys()
+    {
+        return(mKeys);
+    }
+
+    /**
+     * Returns the number of distinct hash codes among the keys. Keys that share a hash code can never be told apart by a hash
+     * table, whatever its size.
+     */
+    public int getDistinctHashes()
+    {
+        return(mDistinctHashes);
+    }
+
+    /**
+     * Returns the fraction of keys whose hash code is shared with another key.
+     */
+    public double getHashCollisionRate()
+    {
+        return(mKeys == 0 ? 0 : (mKeys - mDistinctHashes) / (double) mKeys);
+    }
+
+    /**
+     * Returns the size of the table of a {@code HashMap} holding the keys.
+     */
+    public int getBuckets()
+    {
+        return(mBuckets);
+    }
+
+    public int getOccupiedBuckets()
+    {
+        return(mOccupiedBuckets);
+    }
+
+    /**
+     * Returns the number of keys in the fullest bucket, which bounds the cost of a lookup.
+     */
+    public int getMaxChainLength()
+    {
+        return(mMaxChainLength);
+    }
+
+    /**
+     * Returns the mean number of keys in an occupied bucket, which is the expected cost of a successful lookup.
+     */
+    public double getMeanChainLength()
+    {
+        return(mOccupiedBuckets == 0 ? 0 : mKeys / (double) mOccupiedBuckets);
+    }
+
+    /**
+     * Returns the number of keys that share their bucket with an earlier key, as a multiple of the number expected of random
+     * hash codes.
+     */
+    public double getBucketCollisionRatio()
+    {
+        return(mBucketCollisionRatio);
+    }
+
+    /**
+     * Returns the mean fraction of the 32 bits of the hash code that change when a key is changed as little as possible, or
+     * {@link Double#NaN} if it was not measured. An ideal hash code changes half of its bits, for a score of 0.5.
+     */
+    public double getAvalancheScore()
+    {
+        return(mAvalancheScore);
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder str = new StringBuilder(256);
+        str.append(mKeys).append(" keys, ").append(mDistinctHashes).append(" distinct hash codes; ");
+        str.append(mOccupiedBuckets).append(" of ").append(mBuckets).append(" buckets occupied, longest chain ");
+        str.append(mMaxChainLength).append(", mean chain ").append(String.format("%.2f", Double.valueOf(getMeanChainLength())));
+        str.append("; bucket collision ratio ").append(String.format("%.2f", Double.valueOf(mBucketCollisionRatio)));
+        str.append("; avalanche score ").append(String.format("%.3f", Double.valueOf(mAvalancheScore)));
+        return(str.toString());
+    }
+}
@@ -0,0 +1,18 @@
+package au.com.tt.util.test;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Generates instances of a class for {@link EqualityTester} and {@link HashQualityAnalyser}.
+ * </p>
+ * <p>
+ * {@link #generate(Random)} must depend on nothing but the numbers it draws from the {@code Random}, so that two generators
+ * driven by {@code Random}s with the same seed produce equal instances. It is called from several threads at once, and so must
+ * not keep any state of its own.
+ * </p>
+ */
+public interface KeyGenerator<T>
+{
+    T generate(Random inRandom);
+}
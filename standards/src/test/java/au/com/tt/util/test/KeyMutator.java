@@ -0,0 +1,17 @@
+package au.com.tt.util.test;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Makes the smallest change to an instance that still makes it unequal, such as adding one to a number or changing one
+ * character of a {@code String}, so that {@link HashQualityAnalyser} can measure how much a hash code changes with its input.
+ * </p>
+ */
+public interface KeyMutator<T>
+{
+    /**
+     * Returns a new instance that differs from {@code inKey} in as little as possible, without changing {@code inKey}.
+     */
+    T mutate(T inKey, Random inRandom);
+}
@@ -0,0 +1,175 @@
+package com.connectcv.coding.examples;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.examples.ClassWithFewPropertiesTable.Property;
+
+@Test
+public class ClassWithFewPropertiesTableTest
+{
+    private static final int RECORDS = 10000;
+
+    private static final int DISTINCT_VALUES = 20;
+
+    public void viewMatchesRecordTest()
+    {
+        // Set up
+        ClassWithFewPropertiesTable table = new ClassWithFewPropertiesTable(1);
+        ClassWithFewProperties record = new ClassWithFewProperties("id", "state", null);
+        record.setOptionalMutableProperty("note");
+
+        // Exercise component
+        int row = table.add(record);
+        ClassWithFewProperties view = table.get(row);
+
+        // Verify
+        assertEquals("id", view.getRequiredImmutableProperty());
+        assertEquals("state", view.getRequiredMutableProperty());
+        assertNull(view.getOptionalImmutableProperty());
+        assertEquals("note", view.getOptionalMutableProperty());
+        assertFalse(table.isSet(row, Property.OPTIONAL_IMMUTABLE));
+        assertTrue(table.isSet(row, Property.OPTIONAL_MUTABLE));
+    }
+
+    public void viewSettersWriteTableTest()
+    {
+        // Set up
+        ClassWithFewPropertiesTable table = new ClassWithFewPropertiesTable();
+        int row = table.add("id", "state", "fixed");
+        ClassWithFewProperties view = table.get(row);
+
+        // Exercise component
+        view.setRequiredMutableProperty("changed");
+        view.setOptionalMutableProperty("note");
+        view.setOptionalMutableProperty(null);
+
+        // Verify
+        assertEquals("changed", table.get(row).getRequiredMutableProperty());
+        assertNull(table.get(row).getOptionalMutableProperty());
+        assertEquals(1, table.count(Property.OPTIONAL_MUTABLE, null));
+        assertEquals(0, table.countSet(Property.OPTIONAL_MUTABLE));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void requiredPropertyTest()
+    {
+        // Set up
+        ClassWithFewPropertiesTable table = new ClassWithFewPropertiesTable();
+        int row = table.add("id", "state", null);
+
+        // Exercise component
+        table.get(row).setRequiredMutableProperty(null);
+    }
+
+    public void rejectedAddLeavesNoRowTest()
+    {
+        // Set up
+        ClassWithFewPropertiesTable table = new ClassWithFewPropertiesTable();
+        table.add("a", "b", null);
+
+        // Exercise component
+        try
+        {
+            table.add("x", null, "y");
+            fail("A null required property was accepted");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // Expected
+        }
+
+        // Verify
+        assertEquals(1, table.size());
+        assertEquals(0, table.count(Property.OPTIONAL_IMMUTABLE, "y"));
+        assertEquals(1, table.count(Property.OPTIONAL_IMMUTABLE, null));
+        assertEquals(1, table.select(Property.OPTIONAL_IMMUTABLE, null).length);
+        assertEquals(1, table.add("x", "z", "y"));
+        assertEquals("z", table.get(1).getRequiredMutableProperty());
+    }
+
+    public void scansMatchRecordsTest()
+    {
+        // Set up
+        Random random = new Random(RECORDS);
+        ClassWithFewPropertiesTable table = new ClassWithFewPropertiesTable(1);
+        List<ClassWithFewProperties> records = new ArrayList<ClassWithFewProperties>(RECORDS);
+
+        for (int idx = 0; idx < RECORDS; idx++)
+        {
+            ClassWithFewProperties record = new ClassWithFewProperties("id" + idx, value(random), optional(random));
+            record.setOptionalMutableProperty(optional(random));
+
+            records.add(record);
+            assertEquals(idx, table.add(record));
+        }
+
+        // Exercise component and verify
+        assertEquals(RECORDS, table.size());
+        assertEquals(RECORDS, table.distinctValues(Property.REQUIRED_IMMUTABLE));
+
+        for (Property property : Property.values())
+        {
+            String[] values = { null, "value0", "value7", "missing" };
+
+            for (String value : values)
+            {
+                List<Integer> expected = new ArrayList<Integer>();
+
+                for (int idx = 0; idx < RECORDS; idx++)
+                {
+                    String actual = property(records.get(idx), property);
+
+                    if (value == null ? actual == null : value.equals(actual))
+                        expected.add(Integer.valueOf(idx));
+                }
+
+                int[] selected = table.select(property, value);
+                List<Integer> actual = new ArrayList<Integer>(selected.length);
+
+                for (int row : selected)
+                    actual.add(Integer.valueOf(row));
+
+                assertEquals(property + " " + value, expected, actual);
+                assertEquals(expected.size(), table.count(property, value));
+            }
+
+            for (int idx = 0; idx < RECORDS; idx++)
+                assertEquals(property(records.get(idx), property), table.get(idx, property));
+        }
+    }
+
+    private static String value(Random inRandom)
+    {
+        return("value" + inRandom.nextInt(DISTINCT_VALUES));
+    }
+
+    private static String optional(Random inRandom)
+    {
+        return(inRandom.nextBoolean() ? null : value(inRandom));
+    }
+
+    private static String property(ClassWithFewProperties inRecord, Property inProperty)
+    {
+        switch (inProperty)
+        {
+            case REQUIRED_IMMUTABLE:
+                return(inRecord.getRequiredImmutableProperty());
+            case REQUIRED_MUTABLE:
+                return(inRecord.getRequiredMutableProperty());
+            case OPTIONAL_IMMUTABLE:
+                return(inRecord.getOptionalImmutableProperty());
+            default:
+                return(inRecord.getOptionalMutableProperty());
+        }
+    }
+}
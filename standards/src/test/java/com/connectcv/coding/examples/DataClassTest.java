@@ -0,0 +1,184 @@
+package com.connectcv.coding.examples;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import au.com.tt.util.test.EqualityTester;
+import au.com.tt.util.test.HashQualityAnalyser;
+import au.com.tt.util.test.HashQualityReport;
+import au.com.tt.util.test.KeyGenerator;
+import au.com.tt.util.test.KeyMutator;
+
+import com.connectcv.coding.processor.ValueObject;
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+@Test
+public class DataClassTest
+{
+    private static final int FUZZED_INSTANCES = 1000000;
+
+    private static final int ANALYSED_KEYS = 100000;
+
+    private static final int MAX_INT_VALUE = 100;
+
+    private static final int MAX_STRING_LENGTH = 3;
+
+    /*
+     * Generates a small int with a short string, or sometimes no string at all.
+     */
+    private static final KeyGenerator<DataClass> GENERATOR = new KeyGenerator<DataClass>()
+    {
+        public DataClass generate(Random inRandom)
+        {
+            int intValue = inRandom.nextInt(MAX_INT_VALUE);
+            int length = inRandom.nextInt(MAX_STRING_LENGTH + 1);
+            char[] chars = new char[length];
+
+            for (int idx = 0; idx < length; idx++)
+                chars[idx] = (char) ('A' + inRandom.nextInt(26));
+
+            return(dataClass(intValue, length == 0 ? null : new String(chars)));
+        }
+    };
+
+    private static final KeyMutator<DataClass> MUTATOR = new KeyMutator<DataClass>()
+    {
+        public DataClass mutate(DataClass inKey, Random inRandom)
+        {
+            return(dataClass(inKey.getIntValue() + 1, inKey.getStringValue()));
+        }
+    };
+
+    private static final Field INT_VALUE = field("mIntValue");
+
+    private static final Field STRING_VALUE = field("mStringValue");
+
+    public void generatedEqualsTest()
+    {
+        // Set up
+        DataClass value = dataClass(7, "seven");
+        DataClass same = dataClass(7, "seven");
+        DataClass nullString = dataClass(7, null);
+
+        // Exercise component and verify
+        assertTrue(value.equals(same));
+        assertTrue(value.equals(value));
+        assertTrue(nullString.equals(dataClass(7, null)));
+        assertFalse(value.equals(dataClass(8, "seven")));
+        assertFalse(value.equals(nullString));
+        assertFalse(nullString.equals(value));
+        assertFalse(value.equals(null));
+        assertFalse(value.equals("seven"));
+    }
+
+    public void generatedHashCodeTest()
+    {
+        // Set up
+        DataClass value = dataClass(7, "seven");
+        DataClass nullString = dataClass(7, null);
+        int multiplier = ValueObject.SPREADING_MULTIPLIER;
+
+        // Exercise component and verify
+        assertEquals(multiplier * (multiplier + 7) + "seven".hashCode(), value.hashCode());
+        assertEquals(multiplier * (multiplier + 7), nullString.hashCode());
+    }
+
+    public void equalityContractTest()
+    {
+        // Exercise component and verify
+        new EqualityTester<DataClass>(GENERATOR).test(FUZZED_INSTANCES);
+    }
+
+    /*
+     * Small ints with short strings, which 31 as the hash multiplier gives three times as many collisions as random hash codes.
+     */
+    public void hashQualityTest()
+    {
+        // Set up
+        List<DataClass> keys = new ArrayList<DataClass>(ANALYSED_KEYS);
+        Random random = new Random(1);
+
+        for (int idx = 0; idx < ANALYSED_KEYS; idx++)
+            keys.add(GENERATOR.generate(random));
+
+        // Exercise component
+        HashQualityReport report = HashQualityAnalyser.analyse(keys, MUTATOR);
+
+        // Verify
+        assertEquals(report.toString(), report.getKeys(), report.getDistinctHashes());
+        assertTrue(report.toString(), report.getBucketCollisionRatio() < 1.25);
+        assertTrue(report.toString(), report.getMaxChainLength() <= 8);
+        assertTrue(report.toString(), report.getAvalancheScore() > 0.4);
+    }
+
+    public void generatedMatchesTest() throws Exception
+    {
+        // Set up
+        ProgrammingPractices.MatchingObject first = new ProgrammingPractices.MatchingObject();
+        ProgrammingPractices.MatchingObject second = new ProgrammingPractices.MatchingObject();
+
+        // Exercise component and verify
+        assertTrue(first.matches(second));
+
+        set(second, "mObject", "object");
+        assertFalse(first.matches(second));
+        assertFalse(second.matches(first));
+
+        set(first, "mObject", "object");
+        set(first, "mIsBoolean", Boolean.TRUE);
+        assertFalse(first.matches(second));
+
+        set(second, "mIsBoolean", Boolean.TRUE);
+        assertTrue(first.matches(second));
+    }
+
+    /*
+     * DataClass has no setters, so its fields are set directly.
+     */
+    private static DataClass dataClass(int inIntValue, String inStringValue)
+    {
+        DataClass value = new DataClass();
+
+        try
+        {
+            INT_VALUE.setInt(value, inIntValue);
+            STRING_VALUE.set(value, inStringValue);
+        }
+        catch (IllegalAccessException iae)
+        {
+            throw new IllegalStateException(iae);
+        }
+
+        return(value);
+    }
+
+    private static Field field(String inName)
+    {
+        try
+        {
+            Field field = DataClass.class.getDeclaredField(inName);
+            field.setAccessible(true);
+
+            return(field);
+        }
+        catch (NoSuchFieldException nsfe)
+        {
+            throw new IllegalStateException(nsfe);
+        }
+    }
+
+    private static void set(Object inMdObject, String inField, Object inValue) throws Exception
+    {
+        Field field = inMdObject.getClass().getDeclaredField(inField);
+        field.setAccessible(true);
+        field.set(inMdObject, inValue);
+    }
+}
@@ -0,0 +1,109 @@
+package com.connectcv.coding.examples;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.nio.CharBuffer;
+
+import org.apache.commons.lang.StringUtils;
+import org.testng.annotations.Test;
+
+@Test
+public class UtilityClassTest
+{
+    private static final String[] TEXTS =
+        { null, "", " ", " \t\n", "a", "A", "abc", "ABC", "aBc", "ab", "a,b,,c", ",a,", ",,,", "[@`{", "{@`[", "\u00e9T\u00c9",
+          "\u00c9t\u00e9", "\u0130", "i", "\u03a3", "\u03c2", "\u03c3", "\u00a0", "\u2003" };
+
+    private static final int RANGES = 8;
+
+    public void isEmptyAndBlankTest()
+    {
+        for (String text : TEXTS)
+        {
+            for (CharSequence sequence : sequences(text))
+            {
+                // Exercise component and verify
+                assertEquals(text, StringUtils.isEmpty(text), UtilityClass.isEmpty(sequence));
+                assertEquals(text, StringUtils.isEmpty(text), UtilityClass.utilityMethod(sequence));
+                assertEquals(text, StringUtils.isBlank(text), UtilityClass.isBlank(sequence));
+            }
+        }
+    }
+
+    public void equalsIgnoreCaseTest()
+    {
+        for (String text1 : TEXTS)
+        {
+            for (String text2 : TEXTS)
+            {
+                for (CharSequence sequence : sequences(text2))
+                {
+                    // Exercise component and verify
+                    assertEquals(text1 + " " + text2, StringUtils.equalsIgnoreCase(text1, text2),
+                                 UtilityClass.equalsIgnoreCase(text1, sequence));
+                }
+            }
+        }
+    }
+
+    public void indexOfTest()
+    {
+        for (String text : TEXTS)
+        {
+            for (CharSequence sequence : sequences(text))
+            {
+                // Exercise component and verify
+                assertEquals(StringUtils.indexOf(text, ','), UtilityClass.indexOf(sequence, ','));
+                assertEquals(StringUtils.indexOf(text, 'c', 1), UtilityClass.indexOf(sequence, 'c', 1));
+                assertEquals(StringUtils.indexOf(text, 'a', -1), UtilityClass.indexOf(sequence, 'a', -1));
+            }
+        }
+    }
+
+    public void splitTest()
+    {
+        for (String text : TEXTS)
+        {
+            for (CharSequence sequence : sequences(text))
+            {
+                // Set up
+                int[] ranges = new int[RANGES];
+                String[] expected = StringUtils.split(text, ',');
+
+                // Exercise component
+                int tokens = UtilityClass.split(sequence, ',', ranges);
+
+                // Verify
+                assertEquals(expected == null ? 0 : expected.length, tokens);
+
+                for (int token = 0; token < tokens; token++)
+                    assertEquals(expected[token], sequence.subSequence(ranges[2 * token], ranges[2 * token + 1]).toString());
+            }
+        }
+    }
+
+    public void splitOverflowTest()
+    {
+        // Set up
+        int[] ranges = new int[2];
+
+        // Exercise component
+        int tokens = UtilityClass.split("one,two", ',', ranges);
+
+        // Verify
+        assertEquals(2, tokens);
+        assertEquals(0, ranges[0]);
+        assertEquals(3, ranges[1]);
+    }
+
+    /*
+     * The text as a String, a StringBuilder and a CharBuffer, or null.
+     */
+    private static CharSequence[] sequences(String inText)
+    {
+        if (inText == null)
+            return(new CharSequence[] { null });
+
+        return(new CharSequence[] { inText, new StringBuilder(inText), CharBuffer.wrap(inText) });
+    }
+}
@@ -0,0 +1,85 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+import org.joda.time.chrono.GJChronology;
+import org.testng.annotations.Test;
+
+@Test
+public class CoarseClockTest
+{
+    private static final long GRANULARITY_MILLIS = 5;
+
+    private static final long WAIT_MILLIS = 50;
+
+    private static final long[] INSTANTS =
+        { 0, 1, 999, 1000, 1001, -1, -999, -1000, -1001, 1312155785120L, 1312155785999L, 1312155786000L, -62135596800001L };
+
+    private static final String[] ZONES = { "UTC", "Europe/London", "Australia/Adelaide", "America/St_Johns" };
+
+    public void formatMatchesDateTimeTest()
+    {
+        for (String id : ZONES)
+        {
+            // Set up
+            DateTimeZone zone = DateTimeZone.forID(id);
+            IsoTimestampCache timestamps = new IsoTimestampCache(zone);
+
+            // Exercise component and verify
+            for (long instant : INSTANTS)
+            {
+                assertEquals(new DateTime(instant, zone).toString(), timestamps.format(instant));
+                assertEquals(new DateTime(instant, zone).toString(), timestamps.format(new DateTime(instant, zone)));
+            }
+        }
+    }
+
+    public void otherChronologyTest()
+    {
+        // Set up
+        IsoTimestampCache timestamps = new IsoTimestampCache(DateTimeZone.UTC);
+        DateTime gregorianJulian = new DateTime(INSTANTS[INSTANTS.length - 1], GJChronology.getInstanceUTC());
+        DateTime otherZone = new DateTime(INSTANTS[INSTANTS.length - 1], DateTimeZone.forID(ZONES[1]));
+
+        // Exercise component and verify
+        assertEquals(gregorianJulian.toString(), timestamps.format(gregorianJulian));
+        assertEquals(otherZone.toString(), timestamps.format(otherZone));
+    }
+
+    public void clockTest() throws InterruptedException
+    {
+        // Set up
+        CoarseClock clock = new CoarseClock(GRANULARITY_MILLIS, DateTimeZone.UTC);
+        long started = clock.getMillis();
+
+        // Exercise component
+        Thread.sleep(WAIT_MILLIS);
+        clock.stop();
+        Thread.sleep(GRANULARITY_MILLIS * 2);
+        long stopped = clock.getMillis();
+
+        // Verify
+        assertTrue(stopped > started);
+        assertTrue(stopped <= System.currentTimeMillis());
+        assertEquals(new DateTime(stopped, DateTimeZone.UTC).toString(), clock.getIsoString());
+
+        try
+        {
+            clock.install();
+            assertEquals(stopped, DateTimeUtils.currentTimeMillis());
+            assertEquals(stopped, new DateTime().getMillis());
+            assertEquals(new LocalDateTime(stopped), new LocalDateTime());
+        }
+        finally
+        {
+            clock.uninstall();
+        }
+
+        assertTrue(DateTimeUtils.currentTimeMillis() >= stopped);
+    }
+}
@@ -0,0 +1,65 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ProgrammingPractices.EnumWithField;
+import com.connectcv.coding.standards.WhitespaceAndIndentation.Weather;
+
+@Test
+public class EnumIndexTest
+{
+    public void enumValuesTest()
+    {
+        // Exercise component
+        EnumValues<Weather> weathers = EnumValues.of(Weather.class);
+
+        // Verify
+        assertSame(weathers, EnumValues.of(Weather.class));
+        assertEquals(Arrays.asList(Weather.values()), weathers.asList());
+        assertEquals(Weather.values().length, weathers.size());
+        assertSame(Weather.HURRICANE, weathers.get(Weather.HURRICANE.ordinal()));
+
+        try
+        {
+            weathers.asList().set(0, Weather.WINDY);
+            fail("Changed the constants");
+        }
+        catch (UnsupportedOperationException uoe)
+        {
+            // Expected
+        }
+    }
+
+    public void enumIndexTest()
+    {
+        // Exercise component and verify
+        for (EnumWithField constant : EnumWithField.values())
+            assertSame(constant, EnumWithField.forField(constant.getField()));
+
+        assertNull(EnumWithField.forField("Three"));
+        assertNull(EnumWithField.forField(null));
+
+        try
+        {
+            new EnumIndex<Weather, Integer>(Weather.class, new EnumIndex.Key<Weather, Integer>()
+            {
+                public Integer keyOf(Weather inWeather)
+                {
+                    return(Integer.valueOf(inWeather.name().length()));
+                }
+            });
+            fail("Indexed constants with the same key");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // Expected
+        }
+    }
+}
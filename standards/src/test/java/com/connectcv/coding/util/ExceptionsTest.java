@@ -0,0 +1,94 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+@Test
+public class ExceptionsTest
+{
+    private static final int MESSAGES = 1000;
+
+    public void cachedTest()
+    {
+        // Exercise component
+        IllegalStateException first = Exceptions.cached(IllegalStateException.class, "first");
+        Exception cached = ProgrammingPractices.newCachedException("first");
+
+        // Verify
+        assertSame(first, Exceptions.cached(IllegalStateException.class, "first"));
+        assertNotSame(first, Exceptions.cached(IllegalStateException.class, "second"));
+        assertEquals("first", first.getMessage());
+        assertEquals(0, first.getStackTrace().length);
+        assertSame(cached, ProgrammingPractices.newCachedException("first"));
+        assertEquals(Exception.class, cached.getClass());
+
+        IllegalStateException noMessage = Exceptions.cached(IllegalStateException.class, null);
+        assertNull(noMessage.getMessage());
+        assertSame(noMessage, Exceptions.cached(IllegalStateException.class, null));
+    }
+
+    public void debugTest()
+    {
+        // Set up
+        Exception cached = ProgrammingPractices.newCachedException("debug");
+
+        try
+        {
+            // Exercise component
+            Exceptions.setDebug(true);
+            Exception debug = ProgrammingPractices.newCachedException("debug");
+
+            // Verify
+            assertNotSame(cached, debug);
+            assertTrue(debug.getStackTrace().length > 0);
+            assertTrue(new ControlFlowException().getStackTrace().length > 0);
+        }
+        finally
+        {
+            Exceptions.setDebug(false);
+        }
+
+        assertEquals(0, new ControlFlowException("stackless").getStackTrace().length);
+        assertSame(cached, ProgrammingPractices.newCachedException("debug"));
+    }
+
+    public void variableMessagesTest()
+    {
+        // Exercise component
+        for (int idx = 0; idx < MESSAGES; idx++)
+            assertEquals("message " + idx, Exceptions.cached(UnsupportedOperationException.class, "message " + idx).getMessage());
+
+        // Verify
+        assertSame(Exceptions.cached(UnsupportedOperationException.class, "message 0"),
+                   Exceptions.cached(UnsupportedOperationException.class, "message 0"));
+        assertNotSame(Exceptions.cached(UnsupportedOperationException.class, "message " + (MESSAGES - 1)),
+                      Exceptions.cached(UnsupportedOperationException.class, "message " + (MESSAGES - 1)));
+    }
+
+    public void uncreatableTypeTest()
+    {
+        // Exercise component and verify
+        try
+        {
+            Exceptions.cached(Uncreatable.class, "message");
+            fail("Created an exception without a public constructor");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            assertTrue(iae.getMessage().contains(Uncreatable.class.getName()));
+        }
+    }
+
+    private static final class Uncreatable extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,146 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+@Test
+public class InternPoolTest
+{
+    private static final int THREADS = 8;
+
+    private static final int DISTINCT_VALUES = 10000;
+
+    private static final int MAX_GC_ATTEMPTS = 50;
+
+    public void internReturnsFirstInstanceTest()
+    {
+        // Set up
+        InternPool<String> pool = new InternPool<String>();
+        String first = new String("value");
+        String second = new String("value");
+
+        // Exercise component
+        String internedFirst = pool.intern(first);
+        String internedSecond = pool.intern(second);
+
+        // Verify
+        assertSame(first, internedFirst);
+        assertSame(first, internedSecond);
+        assertNull(pool.intern(null));
+        assertEquals(1, pool.size());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(0.5, pool.getHitRate(), 0);
+        assertEquals(40, pool.getBytesSaved(40));
+    }
+
+    public void manyValuesTest()
+    {
+        // Set up
+        InternPool<String> pool = new InternPool<String>();
+        List<String> canonical = new ArrayList<String>(DISTINCT_VALUES);
+
+        for (int idx = 0; idx < DISTINCT_VALUES; idx++)
+            canonical.add(pool.intern(String.valueOf(idx)));
+
+        // Exercise component and verify
+        for (int idx = 0; idx < DISTINCT_VALUES; idx++)
+            assertSame(canonical.get(idx), pool.intern(new String(String.valueOf(idx))));
+
+        assertEquals(DISTINCT_VALUES, pool.size());
+        assertEquals(DISTINCT_VALUES, pool.getHits());
+    }
+
+    public void boundedPoolRejectsWhenFullTest()
+    {
+        // Set up
+        InternPool<String> pool = new InternPool<String>(1);
+        List<String> values = new ArrayList<String>(DISTINCT_VALUES);
+
+        // Exercise component
+        for (int idx = 0; idx < DISTINCT_VALUES; idx++)
+            values.add(pool.intern(String.valueOf(idx)));
+
+        // Verify
+        assertTrue(pool.size() < DISTINCT_VALUES);
+        assertEquals(DISTINCT_VALUES, pool.size() + pool.getRejections());
+    }
+
+    public void collectedValuesAreReplacedTest()
+    {
+        // Set up
+        InternPool<String> pool = new InternPool<String>();
+        WeakReference<String> reference = new WeakReference<String>(pool.intern(new String("transient")));
+
+        for (int attempt = 0; attempt < MAX_GC_ATTEMPTS && reference.get() != null; attempt++)
+            System.gc();
+
+        // Exercise component
+        String replacement = new String("transient");
+        String interned = pool.intern(replacement);
+
+        // Verify
+        assertNull("The value was not collected", reference.get());
+        assertSame(replacement, interned);
+        assertSame(replacement, pool.intern(new String("transient")));
+    }
+
+    public void concurrentInternAgreesTest() throws InterruptedException
+    {
+        // Set up
+        final InternPool<String> pool = new InternPool<String>();
+        final String[][] results = new String[THREADS][DISTINCT_VALUES];
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>(THREADS);
+
+        // Exercise component
+        for (int idx = 0; idx < THREADS; idx++)
+        {
+            final String[] result = results[idx];
+
+            Thread thread = new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        for (int value = 0; value < DISTINCT_VALUES; value++)
+                            result[value] = pool.intern(String.valueOf(value));
+                    }
+                    catch (Throwable t)
+                    {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        // Verify
+        assertNull(String.valueOf(failure.get()), failure.get());
+
+        for (int value = 0; value < DISTINCT_VALUES; value++)
+        {
+            for (int idx = 1; idx < THREADS; idx++)
+                assertSame(results[0][value], results[idx][value]);
+        }
+
+        assertEquals(DISTINCT_VALUES, pool.size());
+        assertEquals(DISTINCT_VALUES, pool.getMisses());
+        assertEquals((THREADS - 1) * (long) DISTINCT_VALUES, pool.getHits());
+    }
+}
@@ -0,0 +1,161 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+@Test
+public class LineStreamTest
+{
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int LINES = 5000;
+
+    private static final int BYTES_PER_WRITE = 37;
+
+    public void reusingStringBuilderTest() throws IOException
+    {
+        // Set up
+        ProgrammingPractices practices = new ProgrammingPractices();
+        StringWriter writer = new StringWriter();
+
+        // Exercise component
+        List<String> lines = practices.reusingStringBuilder();
+        practices.streamingStringBuilder(writer);
+
+        // Verify
+        assertEquals(99, lines.size());
+        assertEquals("99 bottles of beer on the wall,99 bottles of beer. Take one down and pass it around, 98 bottles of beer on " +
+                     "the wall.", lines.get(0));
+        assertEquals("1 bottles of beer on the wall,1 bottles of beer. Take one down and pass it around, 0 bottles of beer " +
+                     "on the wall.", lines.get(98));
+        assertEquals(joined(lines), writer.toString());
+    }
+
+    public void writerMatchesCollectTest() throws IOException
+    {
+        // Set up
+        StringWriter writer = new StringWriter();
+        LineStream stream = new LineStream(new Numbered(LINES), 100, UTF_8);
+
+        // Exercise component
+        stream.writeTo(writer);
+
+        // Verify
+        assertEquals(joined(new LineStream(new Numbered(LINES)).collect()), writer.toString());
+        assertEquals(LINES, stream.getLines());
+    }
+
+    public void slowChannelTest() throws IOException
+    {
+        // Set up
+        ThrottledChannel channel = new ThrottledChannel();
+        LineStream stream = new LineStream(new Numbered(LINES), 64, UTF_8);
+        int calls = 0;
+
+        // Exercise component
+        while (!stream.writeTo(channel))
+        {
+            calls++;
+            assertTrue("Lines were generated ahead of the channel", stream.getLines() * 12 < channel.mWritten.size() + 400);
+        }
+
+        // Verify
+        assertTrue(calls > 0);
+        assertEquals(joined(new LineStream(new Numbered(LINES)).collect()), new String(channel.mWritten.toByteArray(), "UTF-8"));
+        assertTrue(stream.writeTo(channel));
+    }
+
+    public void emptySourceTest() throws IOException
+    {
+        // Set up
+        ThrottledChannel channel = new ThrottledChannel();
+        StringWriter writer = new StringWriter();
+
+        // Exercise component and verify
+        new LineStream(new Numbered(0)).writeTo(writer);
+        assertEquals("", writer.toString());
+
+        LineStream stream = new LineStream(new Numbered(0));
+        assertTrue(stream.writeTo(channel) || stream.writeTo(channel));
+        assertEquals(0, channel.mWritten.size());
+        assertFalse(new LineStream(new Numbered(0)).collect().iterator().hasNext());
+    }
+
+    private static String joined(List<String> inLines)
+    {
+        StringBuilder joined = new StringBuilder();
+
+        for (String line : inLines)
+            joined.append(line).append('\n');
+
+        return(joined.toString());
+    }
+
+    /*
+     * Lines that include characters encoded as more than one byte.
+     */
+    private static final class Numbered implements LineSource
+    {
+        private final int mLines;
+        private int mNext;
+
+        Numbered(int inLines)
+        {
+            mLines = inLines;
+        }
+
+        public boolean appendNextLine(StringBuilder inMdLine)
+        {
+            if (mNext == mLines)
+                return(false);
+
+            inMdLine.append("line ").append(mNext++).append(" \u00e9\u20ac");
+            return(true);
+        }
+    }
+
+    /*
+     * A non-blocking channel that accepts a few bytes, then nothing, in turn.
+     */
+    private static final class ThrottledChannel implements WritableByteChannel
+    {
+        private final ByteArrayOutputStream mWritten = new ByteArrayOutputStream();
+        private boolean mIsFull;
+
+        public int write(ByteBuffer inMdBuffer)
+        {
+            mIsFull = !mIsFull;
+
+            if (mIsFull)
+                return(0);
+
+            int length = Math.min(inMdBuffer.remaining(), BYTES_PER_WRITE);
+
+            for (int idx = 0; idx < length; idx++)
+                mWritten.write(inMdBuffer.get());
+
+            return(length);
+        }
+
+        public boolean isOpen()
+        {
+            return(true);
+        }
+
+        public void close()
+        { }
+    }
+}
@@ -0,0 +1,156 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ProgrammingPractices.MatchingObject;
+
+@Test
+public class MatchingEngineTest
+{
+    private static final int LEFT_SIZE = 3000;
+
+    private static final int RIGHT_SIZE = 2000;
+
+    private static final int MAX_INT = 50;
+
+    private static final String[] OBJECTS = { null, "a", "b", "c" };
+
+    /*
+     * Matches as MatchingObject does, but gives every object the same hash code, so that everything collides.
+     */
+    private static final MatchKey<MatchingObject> COLLIDING_KEY = new MatchKey<MatchingObject>()
+    {
+        public boolean matches(MatchingObject inFirst, MatchingObject inSecond)
+        {
+            return(inFirst.matches(inSecond));
+        }
+
+        public int hashCode(MatchingObject inValue)
+        {
+            return(0);
+        }
+    };
+
+    public void matchEqualsPairwiseTest()
+    {
+        // Set up
+        Random random = new Random(LEFT_SIZE);
+        List<MatchingObject> left = objects(random, LEFT_SIZE);
+        List<MatchingObject> right = objects(random, RIGHT_SIZE);
+        MatchingEngine<MatchingObject> engine = new MatchingEngine<MatchingObject>(MatchingObject.MATCH_KEY);
+
+        // Exercise component
+        long[] pairs = engine.match(left, right);
+
+        // Verify
+        long[] expected = pairwise(left, right);
+        assertTrue(expected.length > 0);
+        assertTrue(Arrays.equals(expected, pairs));
+    }
+
+    public void matchParallelEqualsPairwiseTest()
+    {
+        // Set up
+        Random random = new Random(RIGHT_SIZE);
+        List<MatchingObject> left = objects(random, LEFT_SIZE);
+        List<MatchingObject> right = objects(random, RIGHT_SIZE);
+        MatchingEngine<MatchingObject> engine = new MatchingEngine<MatchingObject>(MatchingObject.MATCH_KEY);
+        long[] expected = pairwise(left, right);
+        List<MatchingObject> linkedRight = new LinkedList<MatchingObject>(right);
+
+        // Exercise component and verify
+        for (int threads = 1; threads <= 5; threads++)
+            assertTrue("With " + threads + " threads", Arrays.equals(expected, engine.matchParallel(left, linkedRight, threads)));
+    }
+
+    public void collidingHashCodesTest()
+    {
+        // Set up
+        Random random = new Random(MAX_INT);
+        List<MatchingObject> left = objects(random, LEFT_SIZE / 10);
+        List<MatchingObject> right = objects(random, RIGHT_SIZE / 10);
+        MatchingEngine<MatchingObject> engine = new MatchingEngine<MatchingObject>(COLLIDING_KEY);
+
+        // Exercise component and verify
+        long[] expected = pairwise(left, right);
+        assertTrue(Arrays.equals(expected, engine.match(left, right)));
+        assertTrue(Arrays.equals(expected, engine.matchParallel(left, right, 3)));
+    }
+
+    public void emptyListsTest()
+    {
+        // Set up
+        List<MatchingObject> empty = new ArrayList<MatchingObject>();
+        List<MatchingObject> one = Arrays.asList(new MatchingObject(1, true, "a"));
+        MatchingEngine<MatchingObject> engine = new MatchingEngine<MatchingObject>(MatchingObject.MATCH_KEY);
+
+        // Exercise component and verify
+        assertEquals(0, engine.match(empty, one).length);
+        assertEquals(0, engine.match(one, empty).length);
+        assertEquals(0, engine.matchParallel(empty, empty, 2).length);
+
+        long[] pairs = engine.match(one, one);
+        assertEquals(1, pairs.length);
+        assertEquals(0, MatchingEngine.leftIndex(pairs[0]));
+        assertEquals(0, MatchingEngine.rightIndex(pairs[0]));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void nullValueTest()
+    {
+        // Set up
+        List<MatchingObject> values = Arrays.asList(new MatchingObject(), null);
+
+        // Exercise component
+        new MatchingEngine<MatchingObject>(MatchingObject.MATCH_KEY).match(values, values);
+    }
+
+    private static List<MatchingObject> objects(Random inRandom, int inCount)
+    {
+        List<MatchingObject> objects = new ArrayList<MatchingObject>(inCount);
+
+        for (int idx = 0; idx < inCount; idx++)
+        {
+            String object = OBJECTS[inRandom.nextInt(OBJECTS.length)];
+
+            objects.add(new MatchingObject(inRandom.nextInt(MAX_INT),
+                                           inRandom.nextBoolean(),
+                                           object == null ? null : new String(object)));
+        }
+
+        return(objects);
+    }
+
+    /*
+     * The pairs that comparing every pair finds, in the order that it finds them.
+     */
+    private static long[] pairwise(List<MatchingObject> inLeft, List<MatchingObject> inRight)
+    {
+        List<Long> pairs = new ArrayList<Long>();
+
+        for (int leftIdx = 0; leftIdx < inLeft.size(); leftIdx++)
+        {
+            for (int rightIdx = 0; rightIdx < inRight.size(); rightIdx++)
+            {
+                if (inLeft.get(leftIdx).matches(inRight.get(rightIdx)))
+                    pairs.add(Long.valueOf(((long) leftIdx << Integer.SIZE) | rightIdx));
+            }
+        }
+
+        long[] result = new long[pairs.size()];
+
+        for (int idx = 0; idx < result.length; idx++)
+            result[idx] = pairs.get(idx).longValue();
+
+        return(result);
+    }
+}
@@ -0,0 +1,115 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+@Test
+public class MessageTemplateTest
+{
+    private static final int BUFFER_SIZE = 64;
+
+    private static final int OFFSET = 3;
+
+    public void formatTest()
+    {
+        // Set up
+        MessageTemplate template = MessageTemplate.compile("{1} and {0}, {{not a slot}}, then {1} again");
+
+        // Exercise component
+        String message = template.format("first", new StringBuilder("second"));
+
+        // Verify
+        assertEquals("second and first, {not a slot}, then second again", message);
+        assertEquals(2, template.getArguments());
+        assertEquals("null", MessageTemplate.compile("{0}").format((Object) null));
+        assertEquals("no slots", MessageTemplate.compile("no slots").format());
+    }
+
+    public void programmingPracticesTest()
+    {
+        // Set up
+        ProgrammingPractices practices = new ProgrammingPractices();
+
+        // Exercise component and verify
+        assertEquals("Alice was in first place, Bob came second, followed by Carol",
+                     practices.printPlacingSummary(new String[] { "Alice", "Bob", "Carol" }));
+        assertEquals("The first parameter is: aThe second parameter is: b", practices.stringProcessing("a", "b"));
+        assertNull(practices.stringProcessing("a", "a"));
+    }
+
+    public void appendToTest()
+    {
+        // Set up
+        MessageTemplate template = MessageTemplate.compile("[{0}]");
+        StringBuilder buffer = new StringBuilder("start ");
+
+        // Exercise component
+        template.appendTo(buffer, Integer.valueOf(1));
+        template.appendTo(buffer, "two");
+
+        // Verify
+        assertEquals("start [1][two]", buffer.toString());
+    }
+
+    public void encodeToTest() throws UnsupportedEncodingException
+    {
+        // Set up
+        MessageTemplate template = MessageTemplate.compile("caf\u00e9 {0} \u20ac{1}");
+        String expected = "caf\u00e9 \ud83d\ude00 \u20ac\ud800!";
+        byte[] bytes = new byte[BUFFER_SIZE];
+
+        // Exercise component
+        int length = template.encodeTo(bytes, OFFSET, "\ud83d\ude00", "\ud800!");
+
+        // Verify
+        byte[] encoded = new byte[length];
+        System.arraycopy(bytes, OFFSET, encoded, 0, length);
+        assertTrue(Arrays.equals(expected.getBytes("UTF-8"), encoded));
+
+        try
+        {
+            template.encodeTo(new byte[length - 1], 0, "\ud83d\ude00", "\ud800!");
+            fail("The message does not fit");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // Expected
+        }
+    }
+
+    public void malformedPatternTest()
+    {
+        // Exercise component and verify
+        for (String pattern : new String[] { "{0", "0}", "{}", "{a}", "{-1}", "{99999999999}" })
+        {
+            try
+            {
+                MessageTemplate.compile(pattern);
+                fail("Compiled " + pattern);
+            }
+            catch (IllegalArgumentException iae)
+            {
+                assertTrue(iae.getMessage().contains(pattern));
+            }
+        }
+
+        try
+        {
+            MessageTemplate.compile("{0} {2}").format("one", "two");
+            fail("Formatted with too few arguments");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.apache.commons.lang.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ToStringMethods;
+
+@Test
+public class RenderingTest
+{
+    public void appendToMatchesToStringTest() throws IOException
+    {
+        Object[] objects = { new ToStringMethods.SimpleValueObjectWithNaturalForm(),
+                             new ToStringMethods.SimpleObject(),
+                             new ToStringMethods.ComplexObject() };
+
+        for (Object object : objects)
+        {
+            // Set up
+            StringWriter writer = new StringWriter();
+
+            // Exercise component
+            Rendering.append(writer, object);
+
+            // Verify
+            assertEquals(object.toString(), writer.toString());
+        }
+    }
+
+    public void nestedRenderableStreamsTest() throws IOException
+    {
+        // Set up
+        Counted counted = new Counted();
+        Holder holder = new Holder(counted);
+        StringWriter writer = new StringWriter();
+
+        // Exercise component
+        ToStringRenderer.appendTo(writer, holder, ToStringStyle.MULTI_LINE_STYLE);
+
+        // Verify
+        assertEquals(ReflectionToStringBuilder.toString(holder, ToStringStyle.MULTI_LINE_STYLE), writer.toString());
+        assertEquals(1, counted.mAppends);
+        assertEquals(1, counted.mToStrings);
+    }
+
+    public void complexObjectMatchesReflectionTest() throws IOException
+    {
+        // Set up
+        ToStringMethods.ComplexObject complex = new ToStringMethods.ComplexObject();
+        StringWriter writer = new StringWriter();
+
+        // Exercise component
+        complex.appendTo(writer);
+
+        // Verify
+        assertEquals(ReflectionToStringBuilder.toString(complex, ToStringStyle.MULTI_LINE_STYLE), writer.toString());
+    }
+
+    public void deferredTest()
+    {
+        // Set up
+        Counted counted = new Counted();
+
+        // Exercise component
+        Renderable message = Rendering.deferred("Value ", counted, " of ", Integer.valueOf(3), null);
+
+        // Verify
+        assertEquals(0, counted.mAppends);
+        assertEquals("Value counted of 3null", message.toString());
+        assertEquals(1, counted.mAppends);
+        assertEquals(0, counted.mToStrings);
+    }
+
+    private static class Counted implements Renderable
+    {
+        private int mAppends;
+        private int mToStrings;
+
+        public void appendTo(Appendable inMdAppendable) throws IOException
+        {
+            mAppends++;
+            inMdAppendable.append("counted");
+        }
+
+        @Override
+        public String toString()
+        {
+            mToStrings++;
+            return("counted");
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Holder
+    {
+        private String mName = "holder";
+        private Counted mCounted;
+
+        Holder(Counted inCounted)
+        {
+            mCounted = inCounted;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+@Test
+public class StringBuilderPoolTest
+{
+    private static final int MAX_RETAINED_CAPACITY = 128;
+
+    private static final int THREADS = 8;
+
+    private static final int ACQUISITIONS_PER_THREAD = 10000;
+
+    public void reusesReleasedBuilderTest()
+    {
+        // Set up
+        StringBuilderPool pool = new StringBuilderPool(16, MAX_RETAINED_CAPACITY);
+        StringBuilder first = pool.acquire();
+        first.append("first");
+
+        // Exercise component
+        assertEquals("first", pool.toStringAndRelease(first));
+        StringBuilder second = pool.acquire();
+
+        // Verify
+        assertSame(first, second);
+        assertEquals(0, second.length());
+        assertEquals(2, pool.getAcquisitions());
+        assertEquals(1, pool.getAllocations());
+        assertEquals(0, pool.getRetainedBytes());
+
+        pool.release(second);
+        assertEquals(second.capacity() * 2, pool.getRetainedBytes());
+    }
+
+    public void nestedAcquireGetsOwnBuilderTest()
+    {
+        // Set up
+        StringBuilderPool pool = new StringBuilderPool();
+
+        // Exercise component
+        StringBuilder outer = pool.acquire();
+        StringBuilder inner = pool.acquire();
+
+        // Verify
+        assertNotSame(outer, inner);
+
+        pool.release(inner);
+        pool.release(outer);
+        assertSame(inner, pool.acquire());
+    }
+
+    public void oversizedBuilderIsDroppedTest()
+    {
+        // Set up
+        StringBuilderPool pool = new StringBuilderPool(16, MAX_RETAINED_CAPACITY);
+        StringBuilder builder = pool.acquire();
+
+        for (int idx = 0; idx <= MAX_RETAINED_CAPACITY; idx++)
+            builder.append('x');
+
+        // Exercise component
+        pool.release(builder);
+
+        // Verify
+        assertEquals(1, pool.getDiscards());
+        assertEquals(0, pool.getRetainedBytes());
+        assertNotSame(builder, pool.acquire());
+    }
+
+    public void concurrentUseTest() throws InterruptedException
+    {
+        // Set up
+        final StringBuilderPool pool = new StringBuilderPool(16, MAX_RETAINED_CAPACITY);
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        List<Thread> threads = new ArrayList<Thread>(THREADS);
+
+        // Exercise component
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            final String name = "thread" + thread;
+
+            threads.add(new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    for (int idx = 0; idx < ACQUISITIONS_PER_THREAD; idx++)
+                    {
+                        StringBuilder builder = pool.acquire();
+                        String expected = name + idx;
+
+                        if (!expected.equals(pool.toStringAndRelease(builder.append(name).append(idx))))
+                            failure.compareAndSet(null, expected);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads)
+            thread.start();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        // Verify
+        assertNull(failure.get());
+        assertEquals(THREADS * ACQUISITIONS_PER_THREAD, pool.getAcquisitions());
+        assertTrue(pool.getRetainedBytes() <= THREADS * MAX_RETAINED_CAPACITY * 2);
+    }
+}
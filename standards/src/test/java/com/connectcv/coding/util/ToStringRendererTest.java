@@ -0,0 +1,160 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ToStringMethods;
+
+@Test
+public class ToStringRendererTest
+{
+    private static final ToStringStyle[] STYLES = { ToStringStyle.SIMPLE_STYLE, ToStringStyle.MULTI_LINE_STYLE };
+
+    public void primitivesTest()
+    {
+        verifySameAsReflection(new Primitives());
+    }
+
+    public void nullsTest()
+    {
+        verifySameAsReflection(null);
+        verifySameAsReflection(new References());
+    }
+
+    public void referencesTest()
+    {
+        References references = new References();
+        references.mText = "text,";
+        references.mNumber = Long.valueOf(42);
+        references.mList = new ArrayList<Object>(Arrays.asList("one", null, Integer.valueOf(3)));
+        references.mMap = new LinkedHashMap<String, Object>();
+        references.mMap.put("key", "value");
+        references.mObjects = new Object[] { "a", null, new int[] { 1, 2 }, new Primitives() };
+        references.mChars = new char[] { 'x', 'y' };
+        references.mDoubles = new double[] { 1.5, Double.NaN };
+        references.mNested = new References();
+
+        verifySameAsReflection(references);
+    }
+
+    public void inheritanceTest()
+    {
+        verifySameAsReflection(new Subclass());
+    }
+
+    public void emptyTest()
+    {
+        verifySameAsReflection(new Empty());
+    }
+
+    public void innerClassTest()
+    {
+        verifySameAsReflection(new Inner());
+    }
+
+    public void cycleTest()
+    {
+        References first = new References();
+        References second = new References();
+        first.mNested = second;
+        second.mNested = first;
+        first.mObjects = new Object[] { first };
+
+        verifySameAsReflection(first);
+    }
+
+    public void standardsExamplesTest()
+    {
+        verifySameAsReflection(new ToStringMethods.SimpleObject());
+        verifySameAsReflection(new ToStringMethods.ComplexObject());
+
+        assertEquals(ReflectionToStringBuilder.toString(new ToStringMethods.SimpleObject(), ToStringStyle.SIMPLE_STYLE),
+                     new ToStringMethods.SimpleObject().toString());
+    }
+
+    public void appendToTest()
+    {
+        // Set up
+        StringBuilder buffer = new StringBuilder("prefix:");
+        Primitives primitives = new Primitives();
+
+        // Exercise component
+        ToStringRenderer.appendTo(buffer, primitives, ToStringStyle.SIMPLE_STYLE);
+        ToStringRenderer.appendTo(buffer, new Empty(), ToStringStyle.SIMPLE_STYLE);
+
+        // Verify
+        assertEquals("prefix:" + ReflectionToStringBuilder.toString(primitives, ToStringStyle.SIMPLE_STYLE), buffer.toString());
+    }
+
+    public void otherStylesTest()
+    {
+        // Set up
+        References references = new References();
+        references.mText = "text";
+
+        // Exercise component
+        String text = ToStringRenderer.toString(references, ToStringStyle.SHORT_PREFIX_STYLE);
+
+        // Verify
+        assertEquals(ReflectionToStringBuilder.toString(references, ToStringStyle.SHORT_PREFIX_STYLE), text);
+    }
+
+    private static void verifySameAsReflection(Object inObject)
+    {
+        for (ToStringStyle style : STYLES)
+            assertEquals(ReflectionToStringBuilder.toString(inObject, style), ToStringRenderer.toString(inObject, style));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Primitives
+    {
+        private static int sIgnored = 7;
+
+        private int mInt = -12;
+        private long mLong = Long.MAX_VALUE;
+        private boolean mIsBoolean = true;
+        private char mChar = 'c';
+        private byte mByte = 3;
+        private short mShort = -4;
+        private float mFloat = 1.25f;
+        private double mDouble = 1e-10;
+        private transient int mTransient = 9;
+    }
+
+    @SuppressWarnings("unused")
+    private static class References
+    {
+        private String mText;
+        private Long mNumber;
+        private List<Object> mList;
+        private Map<String, Object> mMap;
+        private Object[] mObjects;
+        private char[] mChars;
+        private double[] mDoubles;
+        private References mNested;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Subclass extends Primitives
+    {
+        private String mOwn = "own";
+    }
+
+    private static class Empty
+    { }
+
+    @SuppressWarnings("unused")
+    private class Inner
+    {
+        private int mValue = 1;
+    }
+}
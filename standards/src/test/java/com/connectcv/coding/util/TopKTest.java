@@ -0,0 +1,171 @@
+package com.connectcv.coding.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.connectcv.coding.standards.ProgrammingPractices;
+
+@Test
+public class TopKTest
+{
+    private static final int ENTRANTS = 100000;
+
+    private static final int CAPACITY = 100;
+
+    private static final int THREADS = 4;
+
+    public void keepsBestTest()
+    {
+        // Set up
+        Random random = new Random(ENTRANTS);
+        TopK<Integer> topK = new TopK<Integer>(CAPACITY);
+        long[] scores = new long[ENTRANTS];
+
+        // Exercise component
+        for (int idx = 0; idx < ENTRANTS; idx++)
+        {
+            scores[idx] = random.nextInt(ENTRANTS);
+            topK.offer(Integer.valueOf(idx), scores[idx]);
+        }
+
+        // Verify
+        long[] sorted = scores.clone();
+        Arrays.sort(sorted);
+
+        long[] best = topK.bestScores();
+        List<Integer> entries = topK.best();
+
+        assertEquals(CAPACITY, topK.size());
+        assertEquals(ENTRANTS, topK.offered());
+        assertEquals(sorted[ENTRANTS - CAPACITY], topK.threshold());
+
+        for (int idx = 0; idx < CAPACITY; idx++)
+        {
+            assertEquals(sorted[ENTRANTS - 1 - idx], best[idx]);
+            assertEquals(best[idx], scores[entries.get(idx).intValue()]);
+        }
+    }
+
+    public void equalScoresKeepFirstOfferedTest()
+    {
+        // Set up
+        TopK<String> topK = new TopK<String>(2);
+
+        // Exercise component
+        assertTrue(topK.offer("first", 5));
+        assertTrue(topK.offer("second", 5));
+        assertFalse(topK.offer("third", 5));
+        assertTrue(topK.offer("fourth", 6));
+
+        // Verify
+        assertEquals(Arrays.asList("fourth", "first"), topK.best());
+        assertEquals(Long.MIN_VALUE, new TopK<String>(1).threshold());
+    }
+
+    public void offerAllKeepsOrderOfOfferingTest()
+    {
+        // Set up
+        TopK<String> other = new TopK<String>(3);
+        other.offer("first", 5);
+        other.offer("second", 5);
+        other.offer("best", 6);
+        TopK<String> merged = new TopK<String>(2);
+
+        // Exercise component
+        merged.offerAll(other);
+        boolean isLaterKept = merged.offer("later", 5);
+
+        // Verify
+        assertFalse(isLaterKept);
+        assertEquals(Arrays.asList("best", "first"), merged.best());
+        assertEquals(4, merged.offered());
+    }
+
+    public void concurrentOffersTest() throws InterruptedException
+    {
+        // Set up
+        final ConcurrentTopK<Integer> topK = new ConcurrentTopK<Integer>(CAPACITY);
+        List<Thread> threads = new ArrayList<Thread>(THREADS);
+
+        // Exercise component
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            final int first = thread;
+
+            threads.add(new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    for (int idx = first; idx < ENTRANTS; idx += THREADS)
+                        topK.offer(Integer.valueOf(idx), idx);
+                }
+            }));
+        }
+
+        for (Thread thread : threads)
+            thread.start();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        // Verify
+        List<Integer> expected = new ArrayList<Integer>(CAPACITY);
+
+        for (int idx = ENTRANTS - 1; idx >= ENTRANTS - CAPACITY; idx--)
+            expected.add(Integer.valueOf(idx));
+
+        TopK<Integer> snapshot = topK.snapshot();
+        assertEquals(expected, snapshot.best());
+        assertEquals(THREADS * CAPACITY, snapshot.offered());
+    }
+
+    public void printPlacingSummaryTest()
+    {
+        // Set up
+        TopK<String> leaders = new TopK<String>(3);
+        List<String> names = new ArrayList<String>();
+
+        for (int idx = 0; idx < ENTRANTS; idx++)
+            names.add("entrant" + idx);
+
+        Collections.shuffle(names, new Random(ENTRANTS));
+
+        // Exercise component
+        for (String name : names)
+            leaders.offer(name, Integer.parseInt(name.substring("entrant".length())));
+
+        // Verify
+        assertEquals("entrant99999 was in first place, entrant99998 came second, followed by entrant99997",
+                     new ProgrammingPractices().printPlacingSummary(leaders));
+    }
+
+    public void printPlacingSummaryNeedsThreeLeadersTest()
+    {
+        // Set up
+        TopK<String> leaders = new TopK<String>(3);
+        leaders.offer("entrant1", 1);
+        leaders.offer("entrant2", 2);
+
+        try
+        {
+            // Exercise component
+            new ProgrammingPractices().printPlacingSummary(leaders);
+            fail();
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // Verify
+            assertTrue(iae.getMessage().contains("not 2"));
+        }
+    }
+}